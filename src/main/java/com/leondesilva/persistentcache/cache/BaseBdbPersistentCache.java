@@ -1,23 +1,60 @@
 package com.leondesilva.persistentcache.cache;
 
 import com.sleepycat.je.*;
+import com.leondesilva.persistentcache.cache.model.pojo.BulkLoadStats;
+import com.leondesilva.persistentcache.cache.model.pojo.ChunkResult;
+import com.leondesilva.persistentcache.cache.model.pojo.KeyFilterStats;
 import com.leondesilva.persistentcache.error.PersistentCacheException;
 import com.leondesilva.persistentcache.lock.ReEntrantReadWriteLockProvider;
 import com.leondesilva.persistentcache.lock.ReadWriteLockProvider;
+import com.leondesilva.persistentcache.serializer.ByteArraySerializer;
+import com.leondesilva.persistentcache.serializer.ChunkedRecord;
+import com.leondesilva.persistentcache.serializer.CacheObjectSerializer;
+import com.leondesilva.persistentcache.serializer.ClassRegistrySerializer;
+import com.leondesilva.persistentcache.serializer.DataBuffer;
+import com.leondesilva.persistentcache.serializer.DeflateCompressor;
+import com.leondesilva.persistentcache.serializer.OrderPreservingSerializer;
+import com.leondesilva.persistentcache.serializer.RecordHeader;
+import com.leondesilva.persistentcache.serializer.Serializer;
 import org.apache.commons.collections.CollectionUtils;
-import org.apache.commons.lang3.SerializationUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Implementation of the PersistentCache for Berkeley db operations.
@@ -25,12 +62,34 @@ import java.util.concurrent.atomic.AtomicBoolean;
 public abstract class BaseBdbPersistentCache<K extends Serializable, V extends Serializable> implements PersistentCache<K, V> {
     protected Environment dbEnvironment;
     protected Database database;
+    protected Serializer<K> keySerializer;
+    protected Serializer<V> valueSerializer;
+    protected CacheObjectSerializer<V> cacheObjectSerializer;
     private AtomicBoolean isOpen = new AtomicBoolean(false);
 
     private String dbName;
     private String dbFilePath;
     private long maxLogFileSize;
     private ReadWriteLockProvider lockProvider;
+    private PersistentCacheConfig<K, V> config;
+    private BdbCompressionDictionaries compressionDictionaries;
+    private BdbClassRegistry classRegistry;
+    private BdbChunkStore chunkStore;
+    private NearCache<V> nearCache;
+    private OffHeapStore offHeapStore;
+    private BdbKeyFilter keyFilter;
+    private ForkJoinPool scanPool;
+    private ForkJoinPool bulkWritePool;
+    private Database bulkLoadDatabase;
+    private BulkLoadSorter bulkLoadSorter;
+    private WriteBehindBuffer writeBehindBuffer;
+    private ScheduledExecutorService logSyncExecutor;
+    private LockMode readLockMode;
+    private CursorConfig readCursorConfig;
+    private LockMode cachingReadLockMode;
+    private CursorConfig cachingReadCursorConfig;
+    private final ThreadLocal<EntryBuffers> entryBuffers = ThreadLocal.withInitial(EntryBuffers::new);
+    private final ThreadLocal<Map<ByteBuffer, PrefetchedRecord>> prefetchedRecords = new ThreadLocal<>();
 
     private static Logger LOGGER = LoggerFactory.getLogger(BaseBdbPersistentCache.class.getName());
 
@@ -48,7 +107,14 @@ public abstract class BaseBdbPersistentCache<K extends Serializable, V extends S
     private static final String BDB_CURSOR_CLOSE_ERROR = "BDB Error occurred while closing read cursor.";
     private static final String BDB_TRUNCATE_ERROR = "BDB Error occurred while truncating database.";
     private static final String BDB_RE_OPEN_ERROR = "BDB Error occurred while re-opening database.";
+    private static final String BDB_LOG_SYNC_ERROR = "BDB Error occurred while flushing the log to disk.";
+    private static final String BDB_WRITE_BEHIND_FLUSH_ERROR = "BDB Error occurred while flushing the write-behind buffer, buffered records are kept.";
+    private static final String BDB_WRITE_BEHIND_CLOSE_ERROR = "BDB Error occurred while flushing the write-behind buffer on close, buffered records are lost.";
     private static final long MIN_LOG_FILE_SIZE = 1000000;
+    private static final int MIN_SCAN_TASK_SIZE = 16;
+    private static final int DELETE_BATCH_SIZE = 1000;
+    private static final int BULK_LOAD_PROGRESS_INTERVAL = 100000;
+    private static final long BULK_LOAD_RUN_SIZE = 64L * 1024 * 1024;
 
     /**
      * Constructor to instantiate a BdbCacheImpl
@@ -59,16 +125,106 @@ public abstract class BaseBdbPersistentCache<K extends Serializable, V extends S
      * @throws PersistentCacheException If an error occurs while creating the persistent cache.
      */
     public BaseBdbPersistentCache(String dbName, String dbFilePath, long maxLogFileSize) throws PersistentCacheException {
+        this(dbName, dbFilePath, maxLogFileSize, new PersistentCacheConfig<>());
+    }
+
+    /**
+     * Constructor to instantiate a BdbCacheImpl with the given configurations
+     *
+     * @param dbName         Database name.
+     * @param dbFilePath     Path to store/open database.
+     * @param maxLogFileSize Max log file size in bytes. Minimum allowed is 1,000,000 bytes (1MB).
+     * @param config         Configurations of the cache.
+     * @throws PersistentCacheException If an error occurs while creating the persistent cache.
+     */
+    public BaseBdbPersistentCache(String dbName, String dbFilePath, long maxLogFileSize, PersistentCacheConfig<K, V> config) throws PersistentCacheException {
         this.dbName = dbName;
         this.dbFilePath = dbFilePath;
         this.maxLogFileSize = maxLogFileSize;
+        this.keySerializer = config.getKeySerializer();
+        this.valueSerializer = config.getValueSerializer();
+        this.config = config;
 
         if (maxLogFileSize < MIN_LOG_FILE_SIZE) {
             throw new PersistentCacheException("Minimum log file size allowed is " + MIN_LOG_FILE_SIZE);
         }
 
+        if (config.isChunkingEnabled() && config.getChunkSize() <= 0) {
+            throw new PersistentCacheException("Chunk size must be greater than zero.");
+        }
+
+        if (config.isNearCacheEnabled()) {
+            if (config.getNearCacheMaximumSize() <= 0) {
+                throw new PersistentCacheException("Near cache maximum size must be greater than zero.");
+            }
+
+            nearCache = new NearCache<>(config.getNearCacheMaximumSize());
+        }
+
+        if (config.isKeyFilterEnabled() && (config.getKeyFilterExpectedKeys() <= 0 || config.getKeyFilterFalsePositiveRate() <= 0 || config.getKeyFilterFalsePositiveRate() >= 1)) {
+            throw new PersistentCacheException("Key filter expected keys must be greater than zero and false positive rate must be between 0 and 1.");
+        }
+
+        if (config.isOffHeapCacheEnabled()) {
+            if (config.getOffHeapSlabSize() <= 0 || config.getOffHeapCapacity() < config.getOffHeapSlabSize()) {
+                throw new PersistentCacheException("Off-heap slab size must be greater than zero and not greater than the off-heap capacity.");
+            }
+
+            offHeapStore = new OffHeapStore(config.getOffHeapCapacity(), config.getOffHeapSlabSize());
+        }
+
+        if (config.getReadConsistency() == null) {
+            throw new PersistentCacheException("Read consistency must not be null.");
+        }
+
+        boolean readUncommitted = config.getReadConsistency() == ReadConsistency.READ_UNCOMMITTED;
+        readLockMode = readUncommitted ? LockMode.READ_UNCOMMITTED : LockMode.READ_COMMITTED;
+        readCursorConfig = readUncommitted ? CursorConfig.READ_UNCOMMITTED : CursorConfig.READ_COMMITTED;
+        // Values read without locks could belong to writes which are rolled back after they are kept in memory.
+        boolean cachingReads = nearCache != null || offHeapStore != null;
+        cachingReadLockMode = cachingReads ? LockMode.READ_COMMITTED : readLockMode;
+        cachingReadCursorConfig = cachingReads ? CursorConfig.READ_COMMITTED : readCursorConfig;
+
+        if (config.getScanParallelism() <= 0) {
+            throw new PersistentCacheException("Scan parallelism must be greater than zero.");
+        }
+
+        if (config.getScanParallelism() > 1) {
+            scanPool = new ForkJoinPool(config.getScanParallelism());
+        }
+
+        if (config.isWriteBehindEnabled() && (config.getWriteBehindBufferSize() <= 0 || config.getWriteBehindFlushSize() <= 0 || config.getWriteBehindFlushIntervalMillis() <= 0)) {
+            throw new PersistentCacheException("Write-behind buffer size, flush size and flush interval must be greater than zero.");
+        }
+
+        if (config.getBulkWriteParallelism() <= 0) {
+            throw new PersistentCacheException("Bulk write parallelism must be greater than zero.");
+        }
+
+        if (config.getBulkWriteParallelism() > 1) {
+            bulkWritePool = new ForkJoinPool(config.getBulkWriteParallelism());
+        }
+
+        if (config.getDurabilityPolicy() == null || config.getLogSyncIntervalMillis() < 0) {
+            throw new PersistentCacheException("Durability policy must not be null and log sync interval must not be negative.");
+        }
+
         lockProvider = new ReEntrantReadWriteLockProvider();
         open();
+
+        if (config.getLogSyncIntervalMillis() > 0) {
+            logSyncExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "persistent-cache-log-sync-" + dbName);
+                thread.setDaemon(true);
+                return thread;
+            });
+            logSyncExecutor.scheduleWithFixedDelay(this::syncLog, config.getLogSyncIntervalMillis(), config.getLogSyncIntervalMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        if (config.isWriteBehindEnabled()) {
+            writeBehindBuffer = new WriteBehindBuffer("persistent-cache-write-behind-" + dbName, config.getWriteBehindBufferSize(),
+                    config.getWriteBehindFlushSize(), config.getWriteBehindFlushIntervalMillis(), this::writeBufferedRecords);
+        }
     }
 
     /**
@@ -84,12 +240,28 @@ public abstract class BaseBdbPersistentCache<K extends Serializable, V extends S
             envConfig.setConfigParam(EnvironmentConfig.LOG_FILE_MAX, Long.toString(maxLogFileSize));
 
             envConfig.setAllowCreate(true);
+            envConfig.setDurability(toDurability(config.getDurabilityPolicy()));
 
             dbEnvironment = new Environment(new File(dbFilePath), envConfig);
             DatabaseConfig dbConfig = new DatabaseConfig();
             dbConfig.setAllowCreate(true);
             dbConfig.setTransactional(true);
             database = dbEnvironment.openDatabase(null, dbName, dbConfig);
+
+            if (config.isClassRegistryEnabled()) {
+                classRegistry = new BdbClassRegistry(dbEnvironment, dbName);
+                valueSerializer = new ClassRegistrySerializer<>(classRegistry, config.getSchemaEvolutionHandler());
+            }
+
+            if (config.isChunkingEnabled() || BdbChunkStore.exists(dbEnvironment, dbName)) {
+                chunkStore = new BdbChunkStore(dbEnvironment, dbName, config.getChunkSize());
+            }
+
+            if (config.isKeyFilterEnabled()) {
+                keyFilter = new BdbKeyFilter(dbEnvironment, dbName, database, config.getKeyFilterExpectedKeys(), config.getKeyFilterFalsePositiveRate());
+            }
+
+            cacheObjectSerializer = createCacheObjectSerializer();
             setToOpenState();
         } catch (Exception e) {
             throw new PersistentCacheException("Error occurred while creating persistent cache.", e);
@@ -109,6 +281,7 @@ public abstract class BaseBdbPersistentCache<K extends Serializable, V extends S
         checkCacheIsOpen();
         checkKeyIsNull(key);
         boolean result = false;
+        awaitWriteBehindCapacity();
 
         try {
             lockProvider.acquireReadLock();
@@ -116,6 +289,49 @@ public abstract class BaseBdbPersistentCache<K extends Serializable, V extends S
         } catch (Exception e) {
             LOGGER.error(BDB_WRITE_ERROR_MSG, e);
         } finally {
+            invalidateNearCache(key);
+            lockProvider.releaseReadLock();
+        }
+
+        return result;
+    }
+
+    /**
+     * Method to store data in a transaction committed with the given durability policy. The write is not buffered
+     * by the write-behind buffer, which is flushed first so that it does not overwrite the value later.
+     *
+     * @param key              Key to store.
+     * @param value            Value to store.
+     * @param durabilityPolicy Durability policy of the commit or null to use the durability policy of the cache.
+     * @return true if success and False if failed.
+     * @throws PersistentCacheException if an error occurs while storing data
+     */
+    @Override
+    public boolean put(K key, V value, DurabilityPolicy durabilityPolicy) throws PersistentCacheException {
+        checkCacheIsOpen();
+        checkKeyIsNull(key);
+        boolean result = false;
+        flushWriteBehind();
+
+        try {
+            lockProvider.acquireReadLock();
+            Transaction transaction = beginTransaction(durabilityPolicy);
+
+            try {
+                if (processAndStoreData(transaction, key, value, true)) {
+                    commitTransaction(transaction);
+                    result = true;
+                } else {
+                    abortTransaction(transaction);
+                }
+            } catch (Exception e) {
+                LOGGER.error(BDB_WRITE_ERROR_MSG, e);
+                abortTransaction(transaction);
+            }
+        } catch (DatabaseException e) {
+            LOGGER.error(BDB_TRX_CREATION_ERROR, e);
+        } finally {
+            invalidateNearCache(key);
             lockProvider.releaseReadLock();
         }
 
@@ -137,6 +353,7 @@ public abstract class BaseBdbPersistentCache<K extends Serializable, V extends S
         checkCacheIsOpen();
         checkKeyIsNull(key);
         boolean result = false;
+        awaitWriteBehindCapacity();
 
         try {
             lockProvider.acquireReadLock();
@@ -144,6 +361,7 @@ public abstract class BaseBdbPersistentCache<K extends Serializable, V extends S
         } catch (Exception e) {
             LOGGER.error(BDB_WRITE_ERROR_MSG, e);
         } finally {
+            invalidateNearCache(key);
             lockProvider.releaseReadLock();
         }
 
@@ -163,6 +381,7 @@ public abstract class BaseBdbPersistentCache<K extends Serializable, V extends S
         checkCacheIsOpen();
         checkKeyIsNull(key);
         boolean result = false;
+        flushWriteBehind();
 
         try {
             lockProvider.acquireReadLock();
@@ -170,6 +389,7 @@ public abstract class BaseBdbPersistentCache<K extends Serializable, V extends S
         } catch (Exception e) {
             LOGGER.error(BDB_WRITE_ERROR_MSG, e);
         } finally {
+            invalidateNearCache(key);
             lockProvider.releaseReadLock();
         }
 
@@ -191,6 +411,7 @@ public abstract class BaseBdbPersistentCache<K extends Serializable, V extends S
         checkCacheIsOpen();
         checkKeyIsNull(key);
         boolean result = false;
+        flushWriteBehind();
 
         try {
             lockProvider.acquireReadLock();
@@ -198,6 +419,7 @@ public abstract class BaseBdbPersistentCache<K extends Serializable, V extends S
         } catch (Exception e) {
             LOGGER.error(BDB_WRITE_ERROR_MSG, e);
         } finally {
+            invalidateNearCache(key);
             lockProvider.releaseReadLock();
         }
 
@@ -213,22 +435,294 @@ public abstract class BaseBdbPersistentCache<K extends Serializable, V extends S
      */
     @Override
     public boolean putAll(Map<K, V> data) throws PersistentCacheException {
+        return putAll(data, null);
+    }
+
+    /**
+     * Method to store data in a single transaction committed with the given durability policy.
+     *
+     * @param data             Data to be stored as a map.
+     * @param durabilityPolicy Durability policy of the commit or null to use the durability policy of the cache.
+     * @return true if success and False if failed.
+     * @throws PersistentCacheException if an error occurs while storing data
+     */
+    @Override
+    public boolean putAll(Map<K, V> data, DurabilityPolicy durabilityPolicy) throws PersistentCacheException {
         checkCacheIsOpen();
         boolean result = false;
+        flushWriteBehind();
 
         try {
             lockProvider.acquireReadLock();
-            Transaction transaction = dbEnvironment.beginTransaction(null, null);
+            Transaction transaction = beginTransaction(durabilityPolicy);
             result = storeDataUsingTransaction(transaction, data);
         } catch (DatabaseException e) {
             LOGGER.error(BDB_TRX_CREATION_ERROR, e);
         } finally {
+            invalidateNearCache(data.keySet());
             lockProvider.releaseReadLock();
         }
 
         return result;
     }
 
+    /**
+     * Method to store data in chunks, each written in its own transaction. The records are sorted by their serialized
+     * keys and split into chunks of consecutive keys, so that each transaction writes neighbouring records of the
+     * B-tree and parallel transactions write different parts of it. When the bulk write parallelism is greater than
+     * 1, the chunks are committed in parallel by the bulk write pool of the cache. A chunk with a record which
+     * cannot be written is aborted without affecting the other chunks.
+     *
+     * @param data      Data to be stored as a map.
+     * @param chunkSize Max number of records of a chunk.
+     * @return the results of the chunks in the order of their keys.
+     * @throws PersistentCacheException if the cache is closed, the chunk size is not positive or a key is null
+     */
+    @Override
+    public List<ChunkResult<K>> putAllInChunks(Map<K, V> data, int chunkSize) throws PersistentCacheException {
+        checkCacheIsOpen();
+
+        if (chunkSize <= 0) {
+            throw new PersistentCacheException("Chunk size of a bulk write must be greater than zero.");
+        }
+
+        List<ChunkResult<K>> results = new ArrayList<>();
+
+        if (data == null || data.isEmpty()) {
+            return results;
+        }
+
+        List<Map.Entry<K, V>> entries = sortBySerializedKey(data.entrySet());
+        List<ForkJoinTask<ChunkResult<K>>> tasks = new ArrayList<>();
+        flushWriteBehind();
+
+        for (int from = 0; from < entries.size(); from += chunkSize) {
+            int chunkIndex = from / chunkSize;
+            List<Map.Entry<K, V>> chunk = entries.subList(from, Math.min(entries.size(), from + chunkSize));
+
+            if (bulkWritePool != null) {
+                tasks.add(bulkWritePool.submit(() -> writeChunk(chunkIndex, chunk)));
+            } else {
+                results.add(writeChunk(chunkIndex, chunk));
+            }
+        }
+
+        for (ForkJoinTask<ChunkResult<K>> task : tasks) {
+            results.add(task.join());
+        }
+
+        return results;
+    }
+
+    /**
+     * Method to load records into an empty cache. The database is reopened in deferred write mode without
+     * transactions, so that records are written to the log only when the cache of the environment is full and at the
+     * end of the load, instead of once per commit. Records are inserted in the order of their serialized keys, which
+     * is the order of the B-tree. When all records are loaded, the database is synced, the environment is
+     * checkpointed once and the database is opened again in transactional mode.
+     *
+     * Records which are not sorted are sorted with an external merge sort. Runs of records which fit in memory are
+     * sorted and written to temporary files in the directory of the cache, which needs free space for the serialized
+     * records, and the runs are merged when all records are read. A key given more than once is stored with its last
+     * value. Records which are given as sorted are inserted as they are read, and the load fails as soon as a key is
+     * not after the key before it in the order of the serialized keys.
+     *
+     * The write lock of the cache is held during the load, so that no other operation reads or writes the database
+     * while it is not transactional. Values are not stored in chunks. If the load fails, the records loaded before
+     * the failure may be kept and the cache can be truncated before loading again.
+     *
+     * @param records  the records to load
+     * @param sorted   true if the records are sorted by their serialized keys, without duplicate keys
+     * @param listener the listener of the progress of the load or null
+     * @return the number of records read and the time spent
+     * @throws PersistentCacheException if the cache is closed or not empty, a key is null, the records are given as
+     *                                  sorted and are not sorted or the load fails
+     */
+    @Override
+    public BulkLoadStats bulkLoad(Iterator<Map.Entry<K, V>> records, boolean sorted, BulkLoadListener listener) throws PersistentCacheException {
+        checkCacheIsOpen();
+        flushWriteBehind();
+        long startNanos = System.nanoTime();
+        BulkLoadStats stats = new BulkLoadStats();
+        boolean databaseClosed = false;
+        BulkLoadSorter sorter = null;
+
+        try {
+            lockProvider.acquireWriteLock();
+
+            if (database.count() > 0) {
+                throw new PersistentCacheException("Bulk load requires an empty cache.");
+            }
+
+            DatabaseConfig dbConfig = new DatabaseConfig();
+            dbConfig.setTransactional(false);
+            dbConfig.setDeferredWrite(true);
+            database.close();
+            databaseClosed = true;
+            bulkLoadDatabase = dbEnvironment.openDatabase(null, dbName, dbConfig);
+
+            if (!sorted) {
+                sorter = new BulkLoadSorter(dbEnvironment.getHome(), BULK_LOAD_RUN_SIZE);
+                bulkLoadSorter = sorter;
+            }
+
+            byte[] previousKey = null;
+
+            while (records.hasNext()) {
+                Map.Entry<K, V> record = records.next();
+                checkKeyIsNull(record.getKey());
+
+                if (sorted) {
+                    byte[] key = serializeKey(record.getKey());
+
+                    if (previousKey != null && compareKeys(previousKey, key) >= 0) {
+                        throw new PersistentCacheException("Bulk load records are not sorted by their serialized keys at key : " + record.getKey());
+                    }
+
+                    previousKey = key;
+                }
+
+                if (!processAndStoreData(null, record.getKey(), record.getValue(), true)) {
+                    throw new PersistentCacheException("Error occurred while bulk loading key : " + record.getKey());
+                }
+
+                stats.setRecordCount(stats.getRecordCount() + 1);
+
+                if (listener != null && stats.getRecordCount() % BULK_LOAD_PROGRESS_INTERVAL == 0) {
+                    stats.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+                    listener.onProgress(stats);
+                }
+            }
+
+            if (sorter != null) {
+                bulkLoadSorter = null;
+
+                if (!sorter.writeSorted((key, record) -> loadRecord(new DatabaseEntry(key), new DatabaseEntry(record)))) {
+                    throw new PersistentCacheException("Error occurred while bulk loading the sorted records.");
+                }
+            }
+
+            bulkLoadDatabase.sync();
+            CheckpointConfig checkpointConfig = new CheckpointConfig();
+            checkpointConfig.setForce(true);
+            dbEnvironment.checkpoint(checkpointConfig);
+        } catch (DatabaseException | IOException e) {
+            throw new PersistentCacheException("Error occurred while bulk loading the cache.", e);
+        } finally {
+            bulkLoadSorter = null;
+
+            if (sorter != null) {
+                sorter.close();
+            }
+
+            if (bulkLoadDatabase != null) {
+                closeBulkLoadDatabase();
+            }
+
+            if (databaseClosed) {
+                reopenDatabase();
+            }
+
+            lockProvider.releaseWriteLock();
+        }
+
+        stats.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+
+        if (listener != null) {
+            listener.onProgress(stats);
+        }
+
+        return stats;
+    }
+
+    /**
+     * Method to close the deferred write database of a bulk load, which writes the records which are not synced yet.
+     */
+    private void closeBulkLoadDatabase() {
+        try {
+            bulkLoadDatabase.close();
+        } catch (DatabaseException e) {
+            LOGGER.error(BDB_CLOSE_ERROR_MSG, e);
+        } finally {
+            bulkLoadDatabase = null;
+        }
+    }
+
+    /**
+     * Method to get entries sorted by their serialized keys.
+     *
+     * @param data the entries
+     * @return the sorted entries
+     * @throws PersistentCacheException if a key is null or cannot be serialized
+     */
+    private List<Map.Entry<K, V>> sortBySerializedKey(Collection<Map.Entry<K, V>> data) throws PersistentCacheException {
+        List<Map.Entry<byte[], Map.Entry<K, V>>> keyedEntries = new ArrayList<>(data.size());
+
+        for (Map.Entry<K, V> entry : data) {
+            checkKeyIsNull(entry.getKey());
+            keyedEntries.add(new AbstractMap.SimpleImmutableEntry<>(serializeKey(entry.getKey()), entry));
+        }
+
+        keyedEntries.sort((entry1, entry2) -> compareKeys(entry1.getKey(), entry2.getKey()));
+        List<Map.Entry<K, V>> entries = new ArrayList<>(keyedEntries.size());
+
+        for (Map.Entry<byte[], Map.Entry<K, V>> keyedEntry : keyedEntries) {
+            entries.add(keyedEntry.getValue());
+        }
+
+        return entries;
+    }
+
+    /**
+     * Method to write a chunk of a bulk write in a single transaction. The read lock is taken by the thread which
+     * writes the chunk, so that a chunk written by the bulk write pool does not depend on the lock of the caller.
+     *
+     * @param chunkIndex the index of the chunk
+     * @param chunk      the records of the chunk
+     * @return the result of the chunk
+     */
+    private ChunkResult<K> writeChunk(int chunkIndex, List<Map.Entry<K, V>> chunk) {
+        List<K> keys = new ArrayList<>(chunk.size());
+        boolean result = false;
+
+        for (Map.Entry<K, V> entry : chunk) {
+            keys.add(entry.getKey());
+        }
+
+        try {
+            lockProvider.acquireReadLock();
+
+            if (isOpen.get()) {
+                Transaction transaction = dbEnvironment.beginTransaction(null, null);
+
+                try {
+                    for (Map.Entry<K, V> entry : chunk) {
+                        if (!processAndStoreData(transaction, entry.getKey(), entry.getValue(), true)) {
+                            throw new IllegalStateException("Record of a bulk write chunk was not written.");
+                        }
+                    }
+
+                    commitTransaction(transaction);
+                    result = true;
+                } catch (Exception e) {
+                    LOGGER.error(BDB_WRITE_ERROR_MSG, e);
+                    abortTransaction(transaction);
+                }
+            }
+        } catch (DatabaseException e) {
+            LOGGER.error(BDB_TRX_CREATION_ERROR, e);
+        } finally {
+            invalidateNearCache(keys);
+            lockProvider.releaseReadLock();
+        }
+
+        ChunkResult<K> chunkResult = new ChunkResult<>();
+        chunkResult.setChunkIndex(chunkIndex);
+        chunkResult.setKeys(keys);
+        chunkResult.setSuccessful(result);
+        return chunkResult;
+    }
+
     /**
      * Method to get a value for a given key.
      *
@@ -242,9 +736,17 @@ public abstract class BaseBdbPersistentCache<K extends Serializable, V extends S
         checkKeyIsNull(key);
         V value = null;
 
+        if (nearCache != null) {
+            value = nearCache.get(toNearCacheKey(key), System.currentTimeMillis());
+
+            if (value != null) {
+                return value;
+            }
+        }
+
         try {
             lockProvider.acquireReadLock();
-            value = processAndGetData(key);
+            value = nearCache != null ? processAndGetDataUsingNearCache(key) : processAndGetData(key);
         } catch (Exception e) {
             LOGGER.error(BDB_READ_ERROR_MSG, e);
         } finally {
@@ -254,6 +756,71 @@ public abstract class BaseBdbPersistentCache<K extends Serializable, V extends S
         return value;
     }
 
+    /**
+     * Method to get the values of the given keys. The keys are serialized once and the records which are not in
+     * memory are read with a single cursor in the order of the serialized keys, so that neighbouring keys share the
+     * same path of the B-tree. Each key is then processed as by {@link #get(Serializable)}, so that expired records
+     * and loading behave the same.
+     *
+     * @param keys the keys to retrieve the values
+     * @return map of the keys which have values to their values, in the order of the given keys
+     * @throws PersistentCacheException if the cache is closed or a key is null
+     */
+    @Override
+    public Map<K, V> getAll(Collection<K> keys) throws PersistentCacheException {
+        checkCacheIsOpen();
+        Map<K, V> records = new LinkedHashMap<>();
+
+        if (CollectionUtils.isEmpty(keys)) {
+            return records;
+        }
+
+        List<K> pendingKeys = new ArrayList<>(keys.size());
+
+        for (K key : new LinkedHashSet<>(keys)) {
+            checkKeyIsNull(key);
+            V value = nearCache != null ? nearCache.get(toNearCacheKey(key), System.currentTimeMillis()) : null;
+            records.put(key, value);
+
+            if (value == null) {
+                pendingKeys.add(key);
+            }
+        }
+
+        long[] nearCacheStamps = new long[pendingKeys.size()];
+
+        for (int i = 0; nearCache != null && i < pendingKeys.size(); i++) {
+            nearCacheStamps[i] = nearCache.getStamp(toNearCacheKey(pendingKeys.get(i)));
+        }
+
+        try {
+            lockProvider.acquireReadLock();
+            prefetchedRecords.set(prefetchRecords(pendingKeys));
+
+            for (int i = 0; i < pendingKeys.size(); i++) {
+                K key = pendingKeys.get(i);
+
+                try {
+                    V value = nearCache != null ? processAndGetDataUsingNearCache(key, nearCacheStamps[i]) : processAndGetData(key);
+
+                    if (value != null) {
+                        records.put(key, value);
+                    }
+                } catch (Exception e) {
+                    LOGGER.error(BDB_READ_ERROR_MSG, e);
+                }
+            }
+        } catch (Exception e) {
+            LOGGER.error(BDB_READ_ERROR_MSG, e);
+        } finally {
+            prefetchedRecords.remove();
+            lockProvider.releaseReadLock();
+        }
+
+        records.values().removeIf(Objects::isNull);
+        return records;
+    }
+
     /**
      * Method to get the value for a given for a given key and delete after retrieving.
      *
@@ -268,6 +835,10 @@ public abstract class BaseBdbPersistentCache<K extends Serializable, V extends S
         checkKeyIsNull(key);
         V value = null;
 
+        if (deleteRecordAfterRetrieving) {
+            flushWriteBehind();
+        }
+
         try {
             lockProvider.acquireReadLock();
             value = processAndGetData(key);
@@ -275,6 +846,7 @@ public abstract class BaseBdbPersistentCache<K extends Serializable, V extends S
             if (value != null) {
                 if (deleteRecordAfterRetrieving) {
                     deleteRecord(key);
+                    invalidateNearCache(key);
                 }
             }
 
@@ -288,50 +860,58 @@ public abstract class BaseBdbPersistentCache<K extends Serializable, V extends S
     }
 
     /**
-     * Method to get all records.
+     * Method to get the serialized bytes of the value of a given key, without de-serializing the value.
      *
-     * @return All records in the cache as a map.
-     * @throws PersistentCacheException if an error occurs while retrieving data
+     * @param key Key to retrieve the value.
+     * @return Buffer holding the serialized value or null if the key does not exist.
+     * @throws PersistentCacheException if an error occurs while retrieving data from cache
      */
-    @Override
-    public Map<K, V> getAll() throws PersistentCacheException {
+    protected ByteBuffer getValueBuffer(K key) throws PersistentCacheException {
         checkCacheIsOpen();
-        Map<K, V> records = new LinkedHashMap<>();
+        checkKeyIsNull(key);
+        ByteBuffer value = null;
 
         try {
             lockProvider.acquireReadLock();
-            Map<DatabaseEntry, DatabaseEntry> databaseEntryMap = getDatabaseEntriesMapFromBDB();
-            records.putAll(generateMapOfRecordsFromDatabaseEntries(databaseEntryMap));
+            DatabaseEntry valueEntry = processAndGetDataEntry(key);
+
+            if (valueEntry != null) {
+                byte[] record = readChunkedRecord(valueEntry);
+
+                value = record != null ? cacheObjectSerializer.deserializeValueBuffer(record, 0, record.length)
+                        : cacheObjectSerializer.deserializeValueBuffer(valueEntry.getData(), valueEntry.getOffset(), valueEntry.getSize());
+            }
         } catch (Exception e) {
             LOGGER.error(BDB_READ_ERROR_MSG, e);
         } finally {
             lockProvider.releaseReadLock();
         }
 
-        return records;
+        return value;
     }
 
     /**
-     * Method to check whether the cache contains the key.
+     * Method to store a given key and a value which is already serialized by the value serializer of the cache.
      *
-     * @param key the key to check
-     * @return true if the key is available and false if not
-     * @throws PersistentCacheException if error occurs while checking for the key
+     * @param key             the key to store
+     * @param serializedValue the serialized value, read from its position to its limit
+     * @return true if success and false if not
+     * @throws PersistentCacheException if an error occurs while storing data
      */
     @Override
-    public boolean containsKey(K key) throws PersistentCacheException {
+    public boolean putSerialized(K key, ByteBuffer serializedValue) throws PersistentCacheException {
         checkCacheIsOpen();
         checkKeyIsNull(key);
         boolean result = false;
+        awaitWriteBehindCapacity();
 
         try {
             lockProvider.acquireReadLock();
-            DatabaseEntry keyEntry = createDatabaseEntry(key);
-            DatabaseEntry valueEntry = createDatabaseEntry(null);
-            result = (keyEntry != null) && (database.get(null, keyEntry, valueEntry, LockMode.DEFAULT) == OperationStatus.SUCCESS);
+            result = storeSerializedData(key, serializedValue, true);
         } catch (Exception e) {
-            LOGGER.error(BDB_READ_ERROR_MSG, e);
+            LOGGER.error(BDB_WRITE_ERROR_MSG, e);
         } finally {
+            invalidateNearCache(key);
             lockProvider.releaseReadLock();
         }
 
@@ -339,22 +919,28 @@ public abstract class BaseBdbPersistentCache<K extends Serializable, V extends S
     }
 
     /**
-     * Method to delete a record for a given key.
+     * Method to store a given key and a value which is already serialized by the value serializer of the cache,
+     * if the key is absent.
      *
-     * @param key Key to delete record.
-     * @return true if success and False if failed.
-     * @throws PersistentCacheException if an error occurs while deleting the data
+     * @param key             the key to store
+     * @param serializedValue the serialized value, read from its position to its limit
+     * @return true if success and false if not
+     * @throws PersistentCacheException if an error occurs while storing data
      */
     @Override
-    public boolean delete(K key) throws PersistentCacheException {
+    public boolean putSerializedIfAbsent(K key, ByteBuffer serializedValue) throws PersistentCacheException {
         checkCacheIsOpen();
         checkKeyIsNull(key);
         boolean result = false;
+        flushWriteBehind();
 
         try {
             lockProvider.acquireReadLock();
-            result = deleteRecord(key);
+            result = storeSerializedData(key, serializedValue, false);
+        } catch (Exception e) {
+            LOGGER.error(BDB_WRITE_ERROR_MSG, e);
         } finally {
+            invalidateNearCache(key);
             lockProvider.releaseReadLock();
         }
 
@@ -362,47 +948,275 @@ public abstract class BaseBdbPersistentCache<K extends Serializable, V extends S
     }
 
     /**
-     * Method to delete the given list of keys.
+     * Method to copy the serialized value of a given key into a buffer.
      *
-     * @param keys list of keys to delete
-     * @return true if success and false if not
-     * @throws PersistentCacheException if an error occurs while deleting the data
+     * @param key    Key to retrieve the value.
+     * @param target Buffer to copy the serialized value to.
+     * @return Length of the serialized value or -1 if the key does not exist.
+     * @throws PersistentCacheException if an error occurs while retrieving data from cache
      */
     @Override
-    public boolean delete(List<K> keys) throws PersistentCacheException {
+    public int get(K key, ByteBuffer target) throws PersistentCacheException {
+        ByteBuffer value = getValueBuffer(key);
+
+        if (value == null) {
+            return -1;
+        }
+
+        int length = value.remaining();
+
+        if (length <= target.remaining()) {
+            target.put(value);
+        }
+
+        return length;
+    }
+
+    /**
+     * Method to write the serialized value of a given key to a channel.
+     * The value is written after the read lock is released, from the array read from the database or, for a value
+     * stored in chunks, one chunk at a time.
+     *
+     * @param key     Key to retrieve the value.
+     * @param channel Channel to write the serialized value to.
+     * @return Number of bytes written or -1 if the key does not exist.
+     * @throws PersistentCacheException if an error occurs while retrieving data or writing to the channel
+     */
+    @Override
+    public long transferTo(K key, WritableByteChannel channel) throws PersistentCacheException {
+        if (chunkStore == null) {
+            return write(getValueBuffer(key), channel);
+        }
+
+        InputStream in = getInputStream(key);
+
+        if (in == null) {
+            return -1;
+        }
+
+        long written = 0;
+
+        try (ReadableByteChannel source = Channels.newChannel(in)) {
+            ByteBuffer buffer = ByteBuffer.allocate(config.getChunkSize());
+
+            while (source.read(buffer) >= 0) {
+                buffer.flip();
+                written += write(buffer, channel);
+                buffer.clear();
+            }
+        } catch (IOException e) {
+            throw new PersistentCacheException("Error occurred while writing value to channel.", e);
+        }
+
+        return written;
+    }
+
+    /**
+     * Method to write a buffer fully to a channel.
+     *
+     * @param value   Buffer to write or null if the key does not exist.
+     * @param channel Channel to write to.
+     * @return Number of bytes written or -1 if the buffer is null.
+     * @throws PersistentCacheException if an error occurs while writing to the channel
+     */
+    private static long write(ByteBuffer value, WritableByteChannel channel) throws PersistentCacheException {
+        if (value == null) {
+            return -1;
+        }
+
+        long written = 0;
+
+        try {
+            while (value.hasRemaining()) {
+                written += channel.write(value);
+            }
+        } catch (IOException e) {
+            throw new PersistentCacheException("Error occurred while writing value to channel.", e);
+        }
+
+        return written;
+    }
+
+    /**
+     * Method to get a stream of the serialized value of a given key, without de-serializing the value.
+     * A value stored in chunks is read one chunk at a time while the stream is read, so that it is never fully held
+     * in memory. Reading such a stream fails if the value is changed or deleted before the stream is fully read.
+     *
+     * @param key Key to retrieve the value.
+     * @return Stream of the serialized value or null if the key does not exist.
+     * @throws PersistentCacheException if an error occurs while retrieving data from cache
+     */
+    @Override
+    public InputStream getInputStream(K key) throws PersistentCacheException {
         checkCacheIsOpen();
-        boolean result = false;
+        checkKeyIsNull(key);
+        InputStream value = null;
 
         try {
             lockProvider.acquireReadLock();
-            Transaction transaction = dbEnvironment.beginTransaction(null, null);
-            result = deleteRecordsUsingTransaction(transaction, keys);
-        } catch (DatabaseException e) {
-            LOGGER.error(BDB_TRX_CREATION_ERROR, e);
+            DatabaseEntry valueEntry = processAndGetDataEntry(key);
+
+            if (valueEntry != null) {
+                byte[] data = valueEntry.getData();
+                int offset = valueEntry.getOffset();
+                InputStream body = null;
+
+                if (chunkStore != null && ChunkedRecord.isChunked(data, offset, valueEntry.getSize())) {
+                    body = chunkStore.openStream(ChunkedRecord.getBlobId(data, offset), ChunkedRecord.getBodyLength(data, offset));
+                }
+
+                value = cacheObjectSerializer.deserializeValueStream(data, offset, valueEntry.getSize(), body);
+            }
+        } catch (Exception e) {
+            LOGGER.error(BDB_READ_ERROR_MSG, e);
         } finally {
             lockProvider.releaseReadLock();
         }
 
-        return result;
+        return value;
     }
 
     /**
-     * Method to delete all records.
+     * Method to get a channel of the serialized value of a given key, without de-serializing the value.
      *
-     * @return true if success and False if failed
-     * @throws PersistentCacheException if an error occurs while deleting the data
+     * @param key Key to retrieve the value.
+     * @return Channel of the serialized value or null if the key does not exist.
+     * @throws PersistentCacheException if an error occurs while retrieving data from cache
+     * @see #getInputStream(Serializable)
      */
     @Override
-    public boolean deleteAll() throws PersistentCacheException {
+    public ReadableByteChannel getChannel(K key) throws PersistentCacheException {
+        InputStream in = getInputStream(key);
+        return in != null ? Channels.newChannel(in) : null;
+    }
+
+    /**
+     * Method to get all records.
+     *
+     * @return All records in the cache as a map.
+     * @throws PersistentCacheException if an error occurs while retrieving data
+     */
+    @Override
+    public Map<K, V> getAll() throws PersistentCacheException {
         checkCacheIsOpen();
-        boolean result = false;
+        Map<K, V> records = new LinkedHashMap<>();
+
+        try (CloseableIterator<Map.Entry<K, V>> iterator = iterator()) {
+            while (iterator.hasNext()) {
+                Map.Entry<K, V> entry = iterator.next();
+                records.put(entry.getKey(), entry.getValue());
+            }
+        } catch (Exception e) {
+            LOGGER.error(BDB_READ_ERROR_MSG, e);
+        }
+
+        return records;
+    }
+
+    /**
+     * Method to get an iterator of all records, which reads and de-serializes the records in batches as it is
+     * consumed. Each batch is read with a new cursor which is closed before the records are returned, so that no
+     * cursor or lock is held while the caller consumes the records.
+     *
+     * @return the iterator of the records in the order of their serialized keys
+     * @throws PersistentCacheException if the cache is closed
+     */
+    @Override
+    public CloseableIterator<Map.Entry<K, V>> iterator() throws PersistentCacheException {
+        checkCacheIsOpen();
+        flushWriteBehind();
+        return new RecordIterator(Math.max(1, config.getIteratorBatchSize()), null, null);
+    }
+
+    /**
+     * Method to get a stream of all records, backed by {@link #iterator()}. Closing the stream closes the iterator.
+     *
+     * @return the stream of the records in the order of their serialized keys
+     * @throws PersistentCacheException if the cache is closed
+     */
+    @Override
+    public Stream<Map.Entry<K, V>> stream() throws PersistentCacheException {
+        return toStream(iterator());
+    }
+
+    /**
+     * Method to get a stream of the records whose keys are from a given key, inclusive, to a given key, exclusive.
+     * The records are read in batches with a cursor positioned at the first key of the range, and expired records
+     * are skipped as by {@link #iterator()}. The key serializer must be an {@link OrderPreservingSerializer}, so that
+     * the order of the serialized keys is the order of the keys.
+     *
+     * @param fromKey the first key of the range or null to start from the first record
+     * @param toKey   the key after the range or null to end at the last record
+     * @return the stream of the records in the order of their keys
+     * @throws PersistentCacheException if the cache is closed or the key serializer does not preserve order
+     */
+    @Override
+    public Stream<Map.Entry<K, V>> scanRange(K fromKey, K toKey) throws PersistentCacheException {
+        checkCacheIsOpen();
+        checkKeySerializerPreservesOrder();
+        flushWriteBehind();
+        byte[] startKey = fromKey != null ? serializeKey(fromKey) : null;
+        byte[] endKey = toKey != null ? serializeKey(toKey) : null;
+
+        if (startKey != null && endKey != null && compareKeys(startKey, endKey) >= 0) {
+            return Stream.empty();
+        }
+
+        return toStream(new RecordIterator(Math.max(1, config.getIteratorBatchSize()), startKey, endKey));
+    }
+
+    /**
+     * Method to get a stream of the records whose serialized keys start with the serialized bytes of a given prefix,
+     * such as the string keys starting with a given string. The key serializer must be an
+     * {@link OrderPreservingSerializer}.
+     *
+     * @param prefix the prefix of the keys
+     * @return the stream of the records in the order of their keys
+     * @throws PersistentCacheException if the cache is closed, the prefix is null or the key serializer does not
+     *                                  preserve order
+     */
+    @Override
+    public Stream<Map.Entry<K, V>> scanPrefix(K prefix) throws PersistentCacheException {
+        checkCacheIsOpen();
+        checkKeyIsNull(prefix);
+        checkKeySerializerPreservesOrder();
+        flushWriteBehind();
+        byte[] startKey = serializeKey(prefix);
+        return toStream(new RecordIterator(Math.max(1, config.getIteratorBatchSize()), startKey, getPrefixEndKey(startKey)));
+    }
+
+    /**
+     * Method to get a stream of all keys, which are read in batches with a cursor without reading their values.
+     * Keys of expired records are skipped by reading only the header of each record.
+     *
+     * @return the stream of the keys in the order of their serialized keys
+     * @throws PersistentCacheException if the cache is closed
+     */
+    @Override
+    public Stream<K> keys() throws PersistentCacheException {
+        checkCacheIsOpen();
+        flushWriteBehind();
+        return toStream(new KeyIterator(Math.max(1, config.getIteratorBatchSize())));
+    }
+
+    /**
+     * Method to get the exact number of stored records. The records are counted by walking the internal nodes of
+     * the database, without reading any record. Expired records which are not deleted yet are counted.
+     *
+     * @return the number of records
+     * @throws PersistentCacheException if the cache is closed
+     */
+    @Override
+    public long count() throws PersistentCacheException {
+        checkCacheIsOpen();
+        long result = 0;
+        flushWriteBehind();
 
         try {
             lockProvider.acquireReadLock();
-            Transaction transaction = dbEnvironment.beginTransaction(null, null);
-            result = deleteAllRecordsUsingTransaction(transaction);
-        } catch (DatabaseException e) {
-            LOGGER.error(BDB_TRX_CREATION_ERROR, e);
+            result = database.count();
+        } catch (Exception e) {
+            LOGGER.error(BDB_READ_ERROR_MSG, e);
         } finally {
             lockProvider.releaseReadLock();
         }
@@ -411,230 +1225,1333 @@ public abstract class BaseBdbPersistentCache<K extends Serializable, V extends S
     }
 
     /**
-     * Method to truncate.
+     * Method to get the number of stored records without counting them when possible. When the key filter is
+     * enabled, the number of keys it holds is returned, which may be higher than the number of records after
+     * failed writes. Otherwise the records are counted as by {@link #count()}.
      *
-     * @return true if success, false if not
-     * @throws PersistentCacheException if an error occurs while truncating
+     * @return the estimated number of records
+     * @throws PersistentCacheException if the cache is closed
      */
     @Override
-    public boolean truncate() throws PersistentCacheException {
+    public long estimatedSize() throws PersistentCacheException {
         checkCacheIsOpen();
-        boolean result = false;
+        flushWriteBehind();
 
-        try {
-            lockProvider.acquireWriteLock();
-            database.close();
-            dbEnvironment.truncateDatabase(null, this.dbName, false);
-            result = true;
-            setToCloseState();
-        } catch (DatabaseException e) {
-            LOGGER.error(BDB_TRUNCATE_ERROR, e);
-        } finally {
-            reopenDatabase();
-            lockProvider.releaseWriteLock();
+        if (keyFilter != null) {
+            return keyFilter.getKeyCount();
         }
 
-        return result;
+        return count();
     }
 
     /**
-     * Method to close the database.
+     * Method to get a stream backed by an iterator. Closing the stream closes the iterator.
      *
-     * @throws PersistentCacheException If an error occurs while closing the cache.
+     * @param iterator the iterator
+     * @return the stream
+     */
+    private <T> Stream<T> toStream(CloseableIterator<T> iterator) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(iterator::close);
+    }
+
+    /**
+     * Method to check whether the key serializer keeps the serialized keys in the order of the keys.
+     *
+     * @throws PersistentCacheException if the key serializer does not preserve order
+     */
+    private void checkKeySerializerPreservesOrder() throws PersistentCacheException {
+        if (!(keySerializer instanceof OrderPreservingSerializer)) {
+            throw new PersistentCacheException("Key range scans require an order preserving key serializer.");
+        }
+    }
+
+    /**
+     * Method to get a copy of the serialized bytes of a key.
+     *
+     * @param key the key
+     * @return the serialized key
+     * @throws PersistentCacheException if the key cannot be serialized
+     */
+    private byte[] serializeKey(K key) throws PersistentCacheException {
+        DatabaseEntry keyEntry = createKeyEntry(key);
+
+        if (keyEntry == null) {
+            throw new PersistentCacheException("Error occurred while serializing key.");
+        }
+
+        return Arrays.copyOfRange(keyEntry.getData(), keyEntry.getOffset(), keyEntry.getOffset() + keyEntry.getSize());
+    }
+
+    /**
+     * Method to get the first serialized key after all keys starting with a given prefix, which is the prefix with
+     * its last byte that is not 0xFF incremented.
+     *
+     * @param prefix the serialized prefix
+     * @return the first key after the keys with the prefix or null if there is no such key
+     */
+    private static byte[] getPrefixEndKey(byte[] prefix) {
+        for (int i = prefix.length - 1; i >= 0; i--) {
+            if (prefix[i] != (byte) 0xFF) {
+                byte[] endKey = Arrays.copyOf(prefix, i + 1);
+                endKey[i]++;
+                return endKey;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Method to check whether the cache contains the key. Only the header of the record is read from the database,
+     * and a key whose record is expired is not contained.
+     *
+     * @param key the key to check
+     * @return true if the key is available and not expired and false if not
+     * @throws PersistentCacheException if error occurs while checking for the key
      */
     @Override
-    public void close() throws PersistentCacheException {
+    public boolean containsKey(K key) throws PersistentCacheException {
         checkCacheIsOpen();
+        checkKeyIsNull(key);
+        boolean result = false;
 
         try {
-            if (database != null) {
-                database.close();
+            lockProvider.acquireReadLock();
+            if (nearCache != null && nearCache.get(toNearCacheKey(key), System.currentTimeMillis()) != null) {
+                return true;
             }
 
-            if (dbEnvironment != null) {
-                dbEnvironment.close();
+            DatabaseEntry keyEntry = createKeyEntry(key);
+
+            if (keyEntry == null) {
+                return false;
             }
 
-            setToCloseState();
-        } catch (DatabaseException e) {
-            throw new PersistentCacheException("Error occurred while closing cache.", e);
+            DatabaseEntry bufferedEntry = getBufferedEntry(keyEntry);
+
+            if (bufferedEntry != null) {
+                return !isRecordExpired(bufferedEntry);
+            }
+
+            if (keyFilter != null && !keyFilter.lookup(keyEntry)) {
+                return false;
+            }
+
+            DatabaseEntry headerEntry = new DatabaseEntry();
+            headerEntry.setPartial(0, RecordHeader.HEADER_LENGTH, true);
+
+            if (database.get(null, keyEntry, headerEntry, readLockMode) != OperationStatus.SUCCESS) {
+                if (keyFilter != null) {
+                    keyFilter.recordFalsePositive();
+                }
+
+                return false;
+            }
+
+            result = !isRecordHeaderExpired(keyEntry, headerEntry);
+        } catch (Exception e) {
+            LOGGER.error(BDB_READ_ERROR_MSG, e);
+        } finally {
+            lockProvider.releaseReadLock();
         }
+
+        return result;
     }
 
     /**
-     * Method to store data.
+     * Method to delete a record for a given key.
      *
-     * @param key       key to store.
-     * @param value     value to store.
-     * @param overwrite overwrite value if exists.
-     * @return true if success and false if not.
+     * @param key Key to delete record.
+     * @return true if success and False if failed.
+     * @throws PersistentCacheException if an error occurs while deleting the data
+     */
+    @Override
+    public boolean delete(K key) throws PersistentCacheException {
+        return delete(key, null);
+    }
+
+    /**
+     * Method to delete a record for a given key in a transaction committed with the given durability policy.
+     *
+     * @param key              Key to delete record.
+     * @param durabilityPolicy Durability policy of the commit or null to use the durability policy of the cache.
+     * @return true if success and False if failed.
+     * @throws PersistentCacheException if an error occurs while deleting the data
      */
-    protected <T extends Serializable> boolean storeData(Transaction transaction, K key, T value, boolean overwrite) {
+    @Override
+    public boolean delete(K key, DurabilityPolicy durabilityPolicy) throws PersistentCacheException {
+        checkCacheIsOpen();
+        checkKeyIsNull(key);
         boolean result = false;
+        flushWriteBehind();
 
-        if (key == null || value == null) {
-            return true;
+        try {
+            lockProvider.acquireReadLock();
+            result = deleteRecordUsingTransaction(beginTransaction(durabilityPolicy), key);
+        } catch (DatabaseException e) {
+            LOGGER.error(BDB_TRX_CREATION_ERROR, e);
+        } finally {
+            invalidateNearCache(key);
+            lockProvider.releaseReadLock();
         }
 
-        DatabaseEntry keyEntry = createDatabaseEntry(key);
-        DatabaseEntry valueEntry = createDatabaseEntry(value);
-
-        if (keyEntry == null || valueEntry == null) {
-            return result;
-        }
+        return result;
+    }
 
-        if (overwrite) {
-            result = database.put(transaction, keyEntry, valueEntry) == OperationStatus.SUCCESS;
-        } else {
-            result = database.putNoOverwrite(transaction, keyEntry, valueEntry) == OperationStatus.SUCCESS;
+    /**
+     * Method to delete the given list of keys.
+     *
+     * @param keys list of keys to delete
+     * @return true if success and false if not
+     * @throws PersistentCacheException if an error occurs while deleting the data
+     */
+    @Override
+    public boolean delete(List<K> keys) throws PersistentCacheException {
+        checkCacheIsOpen();
+        boolean result = false;
+        flushWriteBehind();
+
+        try {
+            lockProvider.acquireReadLock();
+            Transaction transaction = dbEnvironment.beginTransaction(null, null);
+            result = deleteRecordsUsingTransaction(transaction, keys);
+        } catch (DatabaseException e) {
+            LOGGER.error(BDB_TRX_CREATION_ERROR, e);
+        } finally {
+            invalidateNearCache(keys);
+            lockProvider.releaseReadLock();
+        }
+
+        return result;
+    }
+
+    /**
+     * Method to delete all records.
+     *
+     * @return true if success and False if failed
+     * @throws PersistentCacheException if an error occurs while deleting the data
+     */
+    @Override
+    public boolean deleteAll() throws PersistentCacheException {
+        checkCacheIsOpen();
+        boolean result = false;
+        clearWriteBehind();
+
+        try {
+            lockProvider.acquireReadLock();
+            result = deleteAllRecords();
+        } finally {
+            invalidateNearCache();
+            lockProvider.releaseReadLock();
+        }
+
+        return result;
+    }
+
+    /**
+     * Method to write the records kept in the write-behind buffer to the store. The records are written in batches,
+     * each in a single transaction.
+     *
+     * @return true if all buffered records are written or write-behind is not enabled and false if a batch failed
+     * @throws PersistentCacheException if the cache is closed
+     */
+    @Override
+    public boolean flush() throws PersistentCacheException {
+        checkCacheIsOpen();
+        return writeBehindBuffer == null || writeBehindBuffer.flush();
+    }
+
+    /**
+     * Method to get the statistics of the key filter.
+     *
+     * @return the statistics or null if the key filter is not enabled
+     */
+    @Override
+    public KeyFilterStats getKeyFilterStats() {
+        return keyFilter != null ? keyFilter.getStats() : null;
+    }
+
+    /**
+     * Method to truncate.
+     *
+     * @return true if success, false if not
+     * @throws PersistentCacheException if an error occurs while truncating
+     */
+    @Override
+    public boolean truncate() throws PersistentCacheException {
+        checkCacheIsOpen();
+        boolean result = false;
+        clearWriteBehind();
+
+        try {
+            lockProvider.acquireWriteLock();
+            database.close();
+            dbEnvironment.truncateDatabase(null, this.dbName, false);
+
+            if (chunkStore != null) {
+                chunkStore.truncate();
+            }
+
+            invalidateNearCache();
+
+            if (offHeapStore != null) {
+                offHeapStore.clear();
+            }
+
+            if (keyFilter != null) {
+                keyFilter.clear();
+            }
+
+            result = true;
+            setToCloseState();
+        } catch (DatabaseException e) {
+            LOGGER.error(BDB_TRUNCATE_ERROR, e);
+        } finally {
+            reopenDatabase();
+            lockProvider.releaseWriteLock();
+        }
+
+        return result;
+    }
+
+    /**
+     * Method to close the database.
+     *
+     * @throws PersistentCacheException If an error occurs while closing the cache.
+     */
+    @Override
+    public void close() throws PersistentCacheException {
+        checkCacheIsOpen();
+
+        if (writeBehindBuffer != null && !writeBehindBuffer.close()) {
+            LOGGER.error(BDB_WRITE_BEHIND_CLOSE_ERROR);
+        }
+
+        stopLogSync();
+
+        try {
+            if (database != null) {
+                database.close();
+            }
+
+            if (compressionDictionaries != null) {
+                compressionDictionaries.close();
+            }
+
+            if (classRegistry != null) {
+                classRegistry.close();
+            }
+
+            if (chunkStore != null) {
+                chunkStore.close();
+            }
+
+            if (keyFilter != null) {
+                keyFilter.close();
+            }
+
+            if (dbEnvironment != null) {
+                dbEnvironment.close();
+            }
+
+            if (scanPool != null) {
+                scanPool.shutdown();
+            }
+
+            if (bulkWritePool != null) {
+                bulkWritePool.shutdown();
+            }
+
+            setToCloseState();
+        } catch (DatabaseException e) {
+            throw new PersistentCacheException("Error occurred while closing cache.", e);
+        }
+    }
+
+    /**
+     * Method to store data.
+     *
+     * @param key        key to store.
+     * @param value      value to store.
+     * @param serializer serializer to be used for the value.
+     * @param overwrite  overwrite value if exists.
+     * @return true if success and false if not.
+     */
+    protected <T> boolean storeData(Transaction transaction, K key, T value, Serializer<T> serializer, boolean overwrite) {
+        boolean result = false;
+
+        if (key == null || value == null) {
+            return true;
+        }
+
+        DatabaseEntry keyEntry = createKeyEntry(key);
+        DatabaseEntry valueEntry = createValueEntry(value, serializer);
+
+        if (keyEntry == null || valueEntry == null) {
+            return result;
+        }
+
+        return storeEntries(transaction, keyEntry, valueEntry, overwrite);
+    }
+
+    /**
+     * Method to store a value which is already serialized, with the default expiry date time of the cache.
+     *
+     * @param key             key to store.
+     * @param serializedValue serialized value to store.
+     * @param overwrite       overwrite value if exists.
+     * @return true if success and false if not.
+     */
+    protected boolean storeSerializedData(K key, ByteBuffer serializedValue, boolean overwrite) {
+        if (serializedValue == null) {
+            return true;
+        }
+
+        DatabaseEntry keyEntry = createKeyEntry(key);
+        DatabaseEntry valueEntry = null;
+
+        try {
+            EntryBuffers buffers = entryBuffers.get();
+            DataBuffer buffer = buffers.getValueBuffer();
+            buffer.reset();
+            cacheObjectSerializer.serializeValueBuffer(serializedValue, getDefaultCacheExpiryDateTime(), buffer);
+            valueEntry = buffers.getValueEntry();
+            valueEntry.setData(buffer.getData(), 0, buffer.size());
+        } catch (Exception e) {
+            LOGGER.error(BDB_ENTRY_CREATION_ERROR, e);
+        }
+
+        if (keyEntry == null || valueEntry == null) {
+            return false;
+        }
+
+        return storeEntries(null, keyEntry, valueEntry, overwrite);
+    }
+
+    /**
+     * Method to store a serialized key and value.
+     * During a bulk load, the record is added to the sorter of the load or written to its deferred write database.
+     * When the write-behind buffer is used, a write which overwrites the value and is not part of a transaction is
+     * buffered and written later by the flusher thread of the buffer.
+     * When chunks are used, a record with a large value is stored in chunks and the chunks of the replaced record are
+     * deleted in the same transaction.
+     *
+     * @param transaction transaction to be used or null to auto commit.
+     * @param keyEntry    database entry of the key.
+     * @param valueEntry  database entry of the record.
+     * @param overwrite   overwrite value if exists.
+     * @return true if success and false if not.
+     */
+    protected boolean storeEntries(Transaction transaction, DatabaseEntry keyEntry, DatabaseEntry valueEntry, boolean overwrite) {
+        if (bulkLoadDatabase != null) {
+            return loadEntries(keyEntry, valueEntry);
+        }
+
+        try {
+            if (writeBehindBuffer != null && transaction == null && overwrite) {
+                writeBehindBuffer.put(keyEntry.getData(), keyEntry.getOffset(), keyEntry.getSize(), valueEntry.getData(), valueEntry.getOffset(), valueEntry.getSize());
+                return true;
+            }
+
+            return writeEntries(transaction, keyEntry, valueEntry, overwrite);
+        } finally {
+            invalidateOffHeap(keyEntry);
+        }
+    }
+
+    /**
+     * Method to add a serialized key and value to the sorter of a bulk load, or to write it to the deferred write
+     * database of the load if the records are sorted.
+     *
+     * @param keyEntry   database entry of the key.
+     * @param valueEntry database entry of the record.
+     * @return true if success and false if not.
+     */
+    private boolean loadEntries(DatabaseEntry keyEntry, DatabaseEntry valueEntry) {
+        if (bulkLoadSorter == null) {
+            return loadRecord(keyEntry, valueEntry);
+        }
+
+        try {
+            bulkLoadSorter.add(keyEntry.getData(), keyEntry.getOffset(), keyEntry.getSize(), valueEntry.getData(), valueEntry.getOffset(), valueEntry.getSize());
+            return true;
+        } catch (IOException e) {
+            LOGGER.error(BDB_WRITE_ERROR_MSG, e);
+            return false;
+        }
+    }
+
+    /**
+     * Method to write a serialized key and value to the deferred write database of a bulk load.
+     *
+     * @param keyEntry   database entry of the key.
+     * @param valueEntry database entry of the record.
+     * @return true if success and false if not.
+     */
+    private boolean loadRecord(DatabaseEntry keyEntry, DatabaseEntry valueEntry) {
+        if (keyFilter != null) {
+            keyFilter.add(keyEntry);
+        }
+
+        return bulkLoadDatabase.put(null, keyEntry, valueEntry) == OperationStatus.SUCCESS;
+    }
+
+    /**
+     * Method to write a serialized key and value to the database, storing a large value in chunks if chunks are used.
+     *
+     * @param transaction transaction to be used or null to auto commit.
+     * @param keyEntry    database entry of the key.
+     * @param valueEntry  database entry of the record.
+     * @param overwrite   overwrite value if exists.
+     * @return true if success and false if not.
+     */
+    private boolean writeEntries(Transaction transaction, DatabaseEntry keyEntry, DatabaseEntry valueEntry, boolean overwrite) {
+        if (chunkStore == null && (keyFilter == null || !keyFilter.mightContain(keyEntry))) {
+            if (keyFilter != null) {
+                keyFilter.add(keyEntry);
+            }
+
+            if (overwrite) {
+                return database.put(transaction, keyEntry, valueEntry) == OperationStatus.SUCCESS;
+            }
+
+            return database.putNoOverwrite(transaction, keyEntry, valueEntry) == OperationStatus.SUCCESS;
+        }
+
+        Transaction chunkTransaction = transaction != null ? transaction : dbEnvironment.beginTransaction(null, null);
+
+        try {
+            DatabaseEntry existingEntry = createChunkedRecordEntry();
+            boolean exists = database.get(chunkTransaction, keyEntry, existingEntry, LockMode.RMW) == OperationStatus.SUCCESS;
+            boolean result = false;
+
+            if (overwrite || !exists) {
+                DatabaseEntry recordEntry = valueEntry;
+                byte[] data = valueEntry.getData();
+                int offset = valueEntry.getOffset();
+                int size = valueEntry.getSize();
+
+                if (config.isChunkingEnabled() && size - ChunkedRecord.LENGTH >= config.getChunkingThreshold()) {
+                    long blobId = chunkStore.write(chunkTransaction, data, offset + RecordHeader.HEADER_LENGTH, size - RecordHeader.HEADER_LENGTH);
+                    recordEntry = new DatabaseEntry(ChunkedRecord.write(data, offset, size, blobId));
+                }
+
+                if (exists && chunkStore != null) {
+                    deleteChunks(chunkTransaction, existingEntry);
+                }
+
+                result = database.put(chunkTransaction, keyEntry, recordEntry) == OperationStatus.SUCCESS;
+
+                if (result && !exists && keyFilter != null) {
+                    keyFilter.add(keyEntry);
+                }
+            }
+
+            if (transaction == null) {
+                chunkTransaction.commit();
+            }
+
+            return result;
+        } catch (RuntimeException e) {
+            if (transaction == null) {
+                abortTransaction(chunkTransaction);
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Method to check whether the records of the cache may have an expiry time, in which case expiry is checked
+     * by operations which do not read the values of the records.
+     *
+     * @return true if records may expire and false if not
+     */
+    protected boolean isRecordExpiryEnabled() {
+        return true;
+    }
+
+    /**
+     * Method to get the expiry date time of the records stored without a per row expiry time.
+     *
+     * @return the expiry date time or null if the records do not expire
+     */
+    protected LocalDateTime getDefaultCacheExpiryDateTime() {
+        return null;
+    }
+
+    /**
+     * Method to get data.
+     *
+     * @param key        key to retrieve the value.
+     * @param serializer serializer to be used for the value.
+     * @return value for the given key.
+     */
+    protected <T> T getData(K key, Serializer<T> serializer) {
+        T value = null;
+        DatabaseEntry keyEntry = createKeyEntry(key);
+        DatabaseEntry valueEntry = new DatabaseEntry();
+
+        if ((keyEntry != null) && (database.get(null, keyEntry, valueEntry, readLockMode) == OperationStatus.SUCCESS)) {
+            value = deserialize(valueEntry, serializer);
+        }
+
+        return value;
+    }
+
+    /**
+     * Method to get the raw database entry of the record for a given key.
+     * The returned entry is reused by the next read of the same thread and must not be kept.
+     *
+     * @param key key to retrieve the record.
+     * @return database entry of the record or null if the key does not exist.
+     */
+    protected DatabaseEntry getDataEntry(K key) {
+        DatabaseEntry keyEntry = createKeyEntry(key);
+        DatabaseEntry valueEntry = entryBuffers.get().getReadEntry();
+
+        if (keyEntry == null) {
+            return null;
+        }
+
+        DatabaseEntry bufferedEntry = getBufferedEntry(keyEntry);
+
+        if (bufferedEntry != null) {
+            return bufferedEntry;
+        }
+
+        if (keyFilter != null && !keyFilter.lookup(keyEntry)) {
+            return null;
+        }
+
+        DatabaseEntry result;
+        PrefetchedRecord prefetchedRecord = takePrefetchedRecord(keyEntry);
+
+        if (prefetchedRecord != null) {
+            result = prefetchedRecord.valueEntry;
+
+            if (result != null && offHeapStore != null && prefetchedRecord.readFromDatabase) {
+                offHeapStore.put(keyEntry.getData(), keyEntry.getOffset(), keyEntry.getSize(), result.getData(), result.getOffset(), result.getSize(), prefetchedRecord.offHeapStamp);
+            }
+        } else if (offHeapStore != null) {
+            result = getDataEntryUsingOffHeap(keyEntry, valueEntry);
+        } else {
+            result = database.get(null, keyEntry, valueEntry, cachingReadLockMode) == OperationStatus.SUCCESS ? valueEntry : null;
+        }
+
+        if (result == null && keyFilter != null) {
+            keyFilter.recordFalsePositive();
+        }
+
+        return result;
+    }
+
+    /**
+     * Method to get the record of a serialized key from the off-heap store, or from the database if it is not kept
+     * off-heap, in which case the record read from the database is added to the off-heap store.
+     *
+     * @param keyEntry   database entry of the key.
+     * @param valueEntry database entry to read the record into.
+     * @return database entry of the record or null if the key does not exist.
+     */
+    private DatabaseEntry getDataEntryUsingOffHeap(DatabaseEntry keyEntry, DatabaseEntry valueEntry) {
+        byte[] key = keyEntry.getData();
+        int keyOffset = keyEntry.getOffset();
+        int keySize = keyEntry.getSize();
+        byte[] record = offHeapStore.get(key, keyOffset, keySize);
+
+        if (record != null) {
+            valueEntry.setData(record);
+            return valueEntry;
+        }
+
+        long stamp = offHeapStore.getStamp(key, keyOffset, keySize);
+
+        if (database.get(null, keyEntry, valueEntry, cachingReadLockMode) == OperationStatus.SUCCESS) {
+            offHeapStore.put(key, keyOffset, keySize, valueEntry.getData(), valueEntry.getOffset(), valueEntry.getSize(), stamp);
+            return valueEntry;
+        }
+
+        return null;
+    }
+
+    /**
+     * Method to read the records of the given keys ahead of processing them. Records kept off-heap are taken from
+     * the off-heap store, and the others are read with a single cursor in the order of their serialized keys.
+     * Keys rejected by the key filter are not read.
+     *
+     * @param keys the keys to read
+     * @return map of the serialized keys to their records
+     */
+    private Map<ByteBuffer, PrefetchedRecord> prefetchRecords(List<K> keys) {
+        Map<ByteBuffer, PrefetchedRecord> records = new HashMap<>();
+        List<byte[]> serializedKeys = new ArrayList<>(keys.size());
+        Map<ByteBuffer, Long> offHeapStamps = new HashMap<>();
+
+        for (K key : keys) {
+            DatabaseEntry keyEntry = createKeyEntry(key);
+
+            if (keyEntry == null || (keyFilter != null && !keyFilter.mightContain(keyEntry))) {
+                continue;
+            }
+
+            byte[] serializedKey = Arrays.copyOfRange(keyEntry.getData(), keyEntry.getOffset(), keyEntry.getOffset() + keyEntry.getSize());
+
+            if (offHeapStore != null) {
+                byte[] record = offHeapStore.get(serializedKey, 0, serializedKey.length);
+
+                if (record != null) {
+                    records.put(ByteBuffer.wrap(serializedKey), new PrefetchedRecord(new DatabaseEntry(record), false, 0));
+                    continue;
+                }
+
+                offHeapStamps.put(ByteBuffer.wrap(serializedKey), offHeapStore.getStamp(serializedKey, 0, serializedKey.length));
+            }
+
+            serializedKeys.add(serializedKey);
+        }
+
+        serializedKeys.sort(BaseBdbPersistentCache::compareKeys);
+        Cursor cursor = database.openCursor(null, cachingReadCursorConfig);
+
+        try {
+            for (byte[] serializedKey : serializedKeys) {
+                ByteBuffer key = ByteBuffer.wrap(serializedKey);
+                DatabaseEntry valueEntry = new DatabaseEntry();
+                boolean found = cursor.getSearchKey(new DatabaseEntry(serializedKey), valueEntry, LockMode.DEFAULT) == OperationStatus.SUCCESS;
+                Long offHeapStamp = offHeapStamps.get(key);
+                records.put(key, new PrefetchedRecord(found ? valueEntry : null, true, offHeapStamp != null ? offHeapStamp : 0));
+            }
+        } finally {
+            cursor.close();
+        }
+
+        return records;
+    }
+
+    /**
+     * Method to take the record of a serialized key read ahead by the current thread. A record is taken only once,
+     * so that the key is read again from the store if it is looked up again after being written.
+     *
+     * @param keyEntry database entry of the key.
+     * @return the record read ahead or null if the key was not read ahead
+     */
+    private PrefetchedRecord takePrefetchedRecord(DatabaseEntry keyEntry) {
+        Map<ByteBuffer, PrefetchedRecord> records = prefetchedRecords.get();
+
+        if (records == null) {
+            return null;
+        }
+
+        return records.remove(ByteBuffer.wrap(keyEntry.getData(), keyEntry.getOffset(), keyEntry.getSize()));
+    }
+
+    /**
+     * Method to compare serialized keys in the order of the database, which is the unsigned byte order.
+     *
+     * @param key1 the first key
+     * @param key2 the second key
+     * @return negative, zero or positive as the first key is before, the same as or after the second key
+     */
+    static int compareKeys(byte[] key1, byte[] key2) {
+        return compareKeys(key1, 0, key1.length, key2);
+    }
+
+    /**
+     * Method to compare a serialized key held in a part of an array with another serialized key, in the order of
+     * the database.
+     *
+     * @param key1    the array holding the first key
+     * @param offset1 offset of the first key
+     * @param length1 length of the first key
+     * @param key2    the second key
+     * @return negative, zero or positive as the first key is before, the same as or after the second key
+     */
+    private static int compareKeys(byte[] key1, int offset1, int length1, byte[] key2) {
+        for (int i = 0; i < Math.min(length1, key2.length); i++) {
+            int result = (key1[offset1 + i] & 0xFF) - (key2[i] & 0xFF);
+
+            if (result != 0) {
+                return result;
+            }
+        }
+
+        return length1 - key2.length;
+    }
+
+    /**
+     * Method to get the raw database entry of the record for a given key, deleting the record if it is expired.
+     *
+     * @param key key to retrieve the record.
+     * @return database entry of the record or null if the key does not exist or is expired.
+     */
+    protected DatabaseEntry processAndGetDataEntry(K key) {
+        DatabaseEntry valueEntry = getDataEntry(key);
+
+        if (valueEntry != null && isRecordExpired(valueEntry)) {
+            deleteRecord(key);
+            return null;
+        }
+
+        return valueEntry;
+    }
+
+    /**
+     * Method to check whether a stored record is expired by reading the record header.
+     * The value of the record is not de-serialized.
+     *
+     * @param valueEntry database entry of the record.
+     * @return true if expired and false if not.
+     */
+    protected boolean isRecordExpired(DatabaseEntry valueEntry) {
+        try {
+            return cacheObjectSerializer.isExpired(valueEntry.getData(), valueEntry.getOffset(), valueEntry.getSize(), System.currentTimeMillis());
+        } catch (Exception e) {
+            LOGGER.error(BDB_VALUE_DESERIALIZATION_ERROR, e);
+        }
+
+        return false;
+    }
+
+    /**
+     * Method to check whether a stored record is expired using its header, read with a partial database entry.
+     * Records written by previous versions have no header, so the full record is read for them.
+     *
+     * @param keyEntry    database entry of the key.
+     * @param headerEntry partial database entry holding the first bytes of the record.
+     * @return true if expired and false if not.
+     */
+    private boolean isRecordHeaderExpired(DatabaseEntry keyEntry, DatabaseEntry headerEntry) {
+        if (RecordHeader.hasHeader(headerEntry.getData(), headerEntry.getOffset(), headerEntry.getSize())) {
+            return RecordHeader.isExpired(headerEntry.getData(), headerEntry.getOffset(), System.currentTimeMillis());
+        }
+
+        DatabaseEntry valueEntry = new DatabaseEntry();
+        return database.get(null, keyEntry, valueEntry, readLockMode) == OperationStatus.SUCCESS && isRecordExpired(valueEntry);
+    }
+
+    /**
+     * Method to store data using a transaction.
+     *
+     * @param transaction Transaction to be used.
+     * @param data        Data to be stored as a map.
+     * @return True if success and False if not.
+     */
+    protected boolean storeDataUsingTransaction(Transaction transaction, Map<K, V> data) {
+        boolean result = false;
+        try {
+            for (Map.Entry<K, V> kv : data.entrySet()) {
+                processAndStoreData(transaction, kv.getKey(), kv.getValue(), true);
+            }
+
+            commitTransaction(transaction);
+            result = true;
+        } catch (Exception e) {
+            LOGGER.error(BDB_WRITE_ERROR_MSG, e);
+            abortTransaction(transaction);
+        }
+
+        return result;
+    }
+
+    /**
+     * Method to delete a record.
+     *
+     * @param key the key to delete
+     * @return true if success, false if not
+     */
+    protected boolean deleteRecord(K key) {
+        boolean result = false;
+
+        try {
+            Transaction transaction = dbEnvironment.beginTransaction(null, null);
+            result = deleteRecordUsingTransaction(transaction, key);
+        } catch (DatabaseException e) {
+            LOGGER.error(BDB_TRX_CREATION_ERROR, e);
+        }
+
+        return result;
+    }
+
+    /**
+     * Method to delete a record for a given serialized key.
+     *
+     * @param keyEntry the database entry of the key to delete
+     * @return true if success, false if not
+     */
+    protected boolean deleteRecord(DatabaseEntry keyEntry) {
+        boolean result = false;
+
+        try {
+            Transaction transaction = dbEnvironment.beginTransaction(null, null);
+
+            try {
+                deleteEntry(transaction, keyEntry);
+                commitTransaction(transaction);
+                result = true;
+            } catch (Exception e) {
+                LOGGER.error(BDB_DELETE_ERROR_MSG, e);
+                abortTransaction(transaction);
+            }
+        } catch (DatabaseException e) {
+            LOGGER.error(BDB_TRX_CREATION_ERROR, e);
+        }
+
+        return result;
+    }
+
+    /**
+     * Method to delete a record of given key using a transaction.
+     *
+     * @param transaction Transaction to be used.
+     * @param key         Key to delete record.
+     * @return True if success and False if not.
+     */
+    protected boolean deleteRecordUsingTransaction(Transaction transaction, K key) {
+        boolean result = false;
+        DatabaseEntry keyEntry = createKeyEntry(key);
+        try {
+            if (keyEntry != null) {
+                deleteEntry(transaction, keyEntry);
+                commitTransaction(transaction);
+                result = true;
+            }
+        } catch (Exception e) {
+            LOGGER.error(BDB_DELETE_ERROR_MSG, e);
+            abortTransaction(transaction);
+        }
+
+        return result;
+    }
+
+    /**
+     * Method to delete record using a transaction.
+     *
+     * @param transaction the transaction to be used when deleting data
+     * @param keyList     the key list to delete data
+     * @return true if success and false if not
+     */
+    protected boolean deleteRecordsUsingTransaction(Transaction transaction, List<K> keyList) {
+        boolean result = true;
+
+        if (CollectionUtils.isEmpty(keyList)) {
+            return result;
+        }
+
+        try {
+            for (K key : keyList) {
+                DatabaseEntry keyEntry = createKeyEntry(key);
+
+                if (keyEntry != null) {
+                    deleteEntry(transaction, keyEntry);
+                }
+            }
+
+            commitTransaction(transaction);
+        } catch (Exception e) {
+            LOGGER.error(BDB_DELETE_ERROR_MSG, e);
+            abortTransaction(transaction);
+            result = false;
+        }
+
+        return result;
+    }
+
+    /**
+     * Method to delete all records with a cursor over the serialized keys, in transactions of a bounded number of
+     * records, so that no record is de-serialized and no transaction holds the locks of all records. Only the keys
+     * are read, and the chunk references of the records when chunks are used. Each batch continues from the last key
+     * deleted by the previous batch, so a record written concurrently with a key before that position is not deleted
+     * and is kept after deleteAll returns. If a batch fails, the records deleted by the previous batches stay
+     * deleted.
+     *
+     * @return true if success and False if not.
+     */
+    protected boolean deleteAllRecords() {
+        byte[] lastKey = null;
+        int deletedCount = DELETE_BATCH_SIZE;
+
+        while (deletedCount == DELETE_BATCH_SIZE) {
+            Transaction transaction = null;
+            deletedCount = 0;
+
+            try {
+                transaction = dbEnvironment.beginTransaction(null, null);
+                Cursor cursor = database.openCursor(transaction, null);
+
+                try {
+                    DatabaseEntry keyEntry = lastKey != null ? new DatabaseEntry(lastKey) : new DatabaseEntry();
+                    DatabaseEntry recordEntry = chunkStore != null ? createChunkedRecordEntry() : new DatabaseEntry();
+
+                    if (chunkStore == null) {
+                        recordEntry.setPartial(0, 0, true);
+                    }
+
+                    OperationStatus status = lastKey != null ? cursor.getSearchKeyRange(keyEntry, recordEntry, LockMode.RMW)
+                            : cursor.getFirst(keyEntry, recordEntry, LockMode.RMW);
+
+                    while (status == OperationStatus.SUCCESS) {
+                        if (chunkStore != null) {
+                            deleteChunks(transaction, recordEntry);
+                        }
+
+                        cursor.delete();
+
+                        if (keyFilter != null) {
+                            keyFilter.removeOnCommit(keyEntry);
+                        }
+
+                        invalidateOffHeap(keyEntry);
+                        lastKey = Arrays.copyOfRange(keyEntry.getData(), keyEntry.getOffset(), keyEntry.getOffset() + keyEntry.getSize());
+                        status = ++deletedCount < DELETE_BATCH_SIZE ? cursor.getNext(keyEntry, recordEntry, LockMode.RMW) : OperationStatus.NOTFOUND;
+                    }
+                } finally {
+                    cursor.close();
+                }
+
+                commitTransaction(transaction);
+            } catch (Exception e) {
+                LOGGER.error(BDB_DELETE_ERROR_MSG, e);
+                abortTransaction(transaction);
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Method to get the value of a given key from the store and add it to the near cache with the expiry time of its
+     * record. The value is not added if the key is written after the read started.
+     *
+     * @param key key to retrieve the value.
+     * @return value for the given key.
+     */
+    private V processAndGetDataUsingNearCache(K key) {
+        return processAndGetDataUsingNearCache(key, nearCache.getStamp(toNearCacheKey(key)));
+    }
+
+    /**
+     * Method to get the value of a given key from the store and add it to the near cache with the expiry time of its
+     * record, unless the key is written after the given stamp was taken.
+     *
+     * @param key   key to retrieve the value.
+     * @param stamp near cache stamp of the key taken before the record was read.
+     * @return value for the given key.
+     */
+    private V processAndGetDataUsingNearCache(K key, long stamp) {
+        DatabaseEntry valueEntry = processAndGetDataEntry(key);
+
+        if (valueEntry == null) {
+            return null;
+        }
+
+        long expiryMillis = cacheObjectSerializer.getExpiryMillis(valueEntry.getData(), valueEntry.getOffset(), valueEntry.getSize());
+        V value = deserializeValue(valueEntry);
+
+        if (value != null) {
+            nearCache.put(key instanceof byte[] ? ByteBuffer.wrap(((byte[]) key).clone()) : key, value, expiryMillis, stamp);
+        }
+
+        return value;
+    }
+
+    /**
+     * Method to get the key used in the near cache for a given key. Byte array keys are compared by their contents.
+     *
+     * @param key the key
+     * @return the near cache key
+     */
+    private static Object toNearCacheKey(Object key) {
+        return key instanceof byte[] ? ByteBuffer.wrap((byte[]) key) : key;
+    }
+
+    /**
+     * Method to remove a key from the near cache after it is written or deleted.
+     *
+     * @param key the key
+     */
+    private void invalidateNearCache(K key) {
+        if (nearCache != null && key != null) {
+            nearCache.invalidate(toNearCacheKey(key));
+        }
+    }
+
+    /**
+     * Method to remove the given keys from the near cache after they are written or deleted.
+     *
+     * @param keys the keys
+     */
+    private void invalidateNearCache(Collection<K> keys) {
+        if (nearCache != null && keys != null) {
+            keys.forEach(this::invalidateNearCache);
+        }
+    }
+
+    /**
+     * Method to remove all keys from the near cache after all records are deleted.
+     */
+    private void invalidateNearCache() {
+        if (nearCache != null) {
+            nearCache.invalidateAll();
+        }
+    }
+
+    /**
+     * Method to delete the record of a serialized key, deleting its chunks as well if it is stored in chunks.
+     *
+     * @param transaction the transaction to be used
+     * @param keyEntry    the database entry of the key to delete
+     * @return the status of the delete
+     */
+    protected OperationStatus deleteEntry(Transaction transaction, DatabaseEntry keyEntry) {
+        try {
+            if (chunkStore != null) {
+                DatabaseEntry existingEntry = createChunkedRecordEntry();
+
+                if (database.get(transaction, keyEntry, existingEntry, LockMode.RMW) == OperationStatus.SUCCESS) {
+                    deleteChunks(transaction, existingEntry);
+                }
+            }
+
+            OperationStatus status = database.delete(transaction, keyEntry);
+
+            if (status == OperationStatus.SUCCESS && keyFilter != null) {
+                keyFilter.removeOnCommit(keyEntry);
+
+                if (transaction == null) {
+                    keyFilter.commitRemovals();
+                }
+            }
+
+            return status;
+        } finally {
+            invalidateOffHeap(keyEntry);
+        }
+    }
+
+    /**
+     * Method to remove the record of a serialized key from the off-heap store after it is written or deleted.
+     * The write holds the lock of the record until it is committed, so that a read which misses the off-heap store
+     * after this call waits for the commit instead of adding the previous record again.
+     *
+     * @param keyEntry database entry of the key.
+     */
+    private void invalidateOffHeap(DatabaseEntry keyEntry) {
+        if (offHeapStore != null) {
+            offHeapStore.invalidate(keyEntry.getData(), keyEntry.getOffset(), keyEntry.getSize());
+        }
+    }
+
+    /**
+     * Method to wait until the write-behind buffer is not full, before taking the lock of a put.
+     */
+    private void awaitWriteBehindCapacity() {
+        if (writeBehindBuffer != null) {
+            writeBehindBuffer.awaitCapacity();
+        }
+    }
+
+    /**
+     * Method to write the records of the write-behind buffer before an operation which reads or writes the store
+     * directly, so that the operation sees the buffered writes. This must be called before taking the lock of the
+     * operation, which is also needed by the flush.
+     *
+     * @throws PersistentCacheException if a batch could not be written, in which case the operation must not run
+     *                                  against a store which is missing the buffered writes
+     */
+    private void flushWriteBehind() throws PersistentCacheException {
+        if (writeBehindBuffer != null && !writeBehindBuffer.flush()) {
+            LOGGER.error(BDB_WRITE_BEHIND_FLUSH_ERROR);
+            throw new PersistentCacheException(BDB_WRITE_BEHIND_FLUSH_ERROR);
+        }
+    }
+
+    /**
+     * Method to discard the records of the write-behind buffer before all records are deleted. This must be called
+     * before taking the lock of the operation, which is also needed by a flush in progress.
+     */
+    private void clearWriteBehind() {
+        if (writeBehindBuffer != null) {
+            writeBehindBuffer.clear();
+        }
+    }
+
+    /**
+     * Method to get the record of a serialized key which is kept in the write-behind buffer.
+     *
+     * @param keyEntry database entry of the key.
+     * @return database entry of the record or null if the key is not buffered.
+     */
+    private DatabaseEntry getBufferedEntry(DatabaseEntry keyEntry) {
+        byte[] record = writeBehindBuffer != null ? writeBehindBuffer.get(keyEntry.getData(), keyEntry.getOffset(), keyEntry.getSize()) : null;
+        return record != null ? new DatabaseEntry(record) : null;
+    }
+
+    /**
+     * Method to write a batch of records of the write-behind buffer in a single transaction.
+     *
+     * @param writes the buffered records
+     * @return true if the transaction is committed and false if not
+     */
+    private boolean writeBufferedRecords(List<WriteBehindBuffer.PendingWrite> writes) {
+        boolean result = false;
+
+        try {
+            lockProvider.acquireReadLock();
+
+            if (!isOpen.get()) {
+                return false;
+            }
+
+            Transaction transaction = dbEnvironment.beginTransaction(null, null);
+
+            try {
+                for (WriteBehindBuffer.PendingWrite write : writes) {
+                    if (!storeEntries(transaction, new DatabaseEntry(write.key), new DatabaseEntry(write.record), true)) {
+                        throw new IllegalStateException("Record of the write-behind buffer was not written.");
+                    }
+                }
+
+                commitTransaction(transaction);
+                result = true;
+            } catch (Exception e) {
+                LOGGER.error(BDB_WRITE_ERROR_MSG, e);
+                abortTransaction(transaction);
+            }
+        } catch (DatabaseException e) {
+            LOGGER.error(BDB_TRX_CREATION_ERROR, e);
+        } finally {
+            lockProvider.releaseReadLock();
         }
 
         return result;
     }
 
     /**
-     * Method to get data.
+     * Method to read the full record of a record stored in chunks.
      *
-     * @param key key to retrieve the value.
-     * @return value for the given key.
+     * @param valueEntry database entry of the record.
+     * @return the full record or null if the record is not stored in chunks.
+     * @throws IOException if an error occurs while reading the chunks
      */
-    protected <T extends Serializable> T getData(K key) {
-        T value = null;
-        DatabaseEntry keyEntry = createDatabaseEntry(key);
-        DatabaseEntry valueEntry = createDatabaseEntry(null);
+    protected byte[] readChunkedRecord(DatabaseEntry valueEntry) throws IOException {
+        byte[] data = valueEntry.getData();
+        int offset = valueEntry.getOffset();
 
-        if ((keyEntry != null) && (database.get(null, keyEntry, valueEntry, LockMode.DEFAULT) == OperationStatus.SUCCESS)) {
-            byte[] data = valueEntry.getData();
-            value = deserialize(data);
+        if (chunkStore == null || !ChunkedRecord.isChunked(data, offset, valueEntry.getSize())) {
+            return null;
         }
 
-        return value;
+        byte[] record = ChunkedRecord.createRecord(data, offset);
+        chunkStore.read(ChunkedRecord.getBlobId(data, offset), record, RecordHeader.HEADER_LENGTH, record.length - RecordHeader.HEADER_LENGTH);
+        return record;
     }
 
     /**
-     * Method to store data using a transaction.
+     * Method to create an entry to read only the part of a record which refers to its chunks.
      *
-     * @param transaction Transaction to be used.
-     * @param data        Data to be stored as a map.
-     * @return True if success and False if not.
+     * @return the partial database entry
      */
-    protected boolean storeDataUsingTransaction(Transaction transaction, Map<K, V> data) {
-        boolean result = false;
-        try {
-            for (Map.Entry<K, V> kv : data.entrySet()) {
-                processAndStoreData(transaction, kv.getKey(), kv.getValue(), true);
-            }
+    private static DatabaseEntry createChunkedRecordEntry() {
+        DatabaseEntry entry = new DatabaseEntry();
+        entry.setPartial(0, ChunkedRecord.LENGTH, true);
+        return entry;
+    }
 
-            transaction.commit();
-            result = true;
-        } catch (Exception e) {
-            LOGGER.error(BDB_WRITE_ERROR_MSG, e);
-            abortTransaction(transaction);
+    /**
+     * Method to delete the chunks of a record read with {@link #createChunkedRecordEntry()}, if it is stored in chunks.
+     *
+     * @param transaction the transaction to be used
+     * @param recordEntry the partial database entry of the record
+     */
+    private void deleteChunks(Transaction transaction, DatabaseEntry recordEntry) {
+        if (ChunkedRecord.isChunked(recordEntry.getData(), recordEntry.getOffset(), recordEntry.getSize())) {
+            chunkStore.delete(transaction, ChunkedRecord.getBlobId(recordEntry.getData(), recordEntry.getOffset()));
         }
-
-        return result;
     }
 
     /**
-     * Method to delete a record.
+     * Method to begin a transaction committed with a given durability policy.
      *
-     * @param key the key to delete
-     * @return true if success, false if not
+     * @param durabilityPolicy durability policy of the commit or null to use the durability policy of the cache.
+     * @return the transaction.
      */
-    protected boolean deleteRecord(K key) {
-        boolean result = false;
+    private Transaction beginTransaction(DurabilityPolicy durabilityPolicy) {
+        TransactionConfig transactionConfig = null;
 
-        try {
-            Transaction transaction = dbEnvironment.beginTransaction(null, null);
-            result = deleteRecordUsingTransaction(transaction, key);
-        } catch (DatabaseException e) {
-            LOGGER.error(BDB_TRX_CREATION_ERROR, e);
+        if (durabilityPolicy != null) {
+            transactionConfig = new TransactionConfig();
+            transactionConfig.setDurability(toDurability(durabilityPolicy));
         }
 
-        return result;
+        return dbEnvironment.beginTransaction(null, transactionConfig);
     }
 
     /**
-     * Method to delete a record of given key using a transaction.
+     * Method to get the Berkeley DB durability of a durability policy. Replicas are not used, so only the local sync
+     * policy applies.
      *
-     * @param transaction Transaction to be used.
-     * @param key         Key to delete record.
-     * @return True if success and False if not.
+     * @param durabilityPolicy the durability policy.
+     * @return the durability.
      */
-    protected boolean deleteRecordUsingTransaction(Transaction transaction, K key) {
-        boolean result = false;
-        DatabaseEntry keyEntry = createDatabaseEntry(key);
+    private static Durability toDurability(DurabilityPolicy durabilityPolicy) {
+        switch (durabilityPolicy) {
+            case WRITE_NO_SYNC:
+                return Durability.COMMIT_WRITE_NO_SYNC;
+            case NO_SYNC:
+                return Durability.COMMIT_NO_SYNC;
+            default:
+                return Durability.COMMIT_SYNC;
+        }
+    }
+
+    /**
+     * Method to write and flush the log to disk, which is run periodically when a log sync interval is configured.
+     */
+    private void syncLog() {
         try {
-            if (keyEntry != null) {
-                database.delete(transaction, keyEntry);
-                transaction.commit();
-                result = true;
+            lockProvider.acquireReadLock();
+
+            if (isOpen.get()) {
+                dbEnvironment.flushLog(true);
             }
         } catch (Exception e) {
-            LOGGER.error(BDB_DELETE_ERROR_MSG, e);
-            abortTransaction(transaction);
+            LOGGER.error(BDB_LOG_SYNC_ERROR, e);
+        } finally {
+            lockProvider.releaseReadLock();
         }
-
-        return result;
     }
 
     /**
-     * Method to delete record using a transaction.
-     *
-     * @param transaction the transaction to be used when deleting data
-     * @param keyList     the key list to delete data
-     * @return true if success and false if not
+     * Method to stop the periodic log sync and wait for a sync in progress, before the environment is closed.
      */
-    protected boolean deleteRecordsUsingTransaction(Transaction transaction, List<K> keyList) {
-        boolean result = true;
-
-        if (CollectionUtils.isEmpty(keyList)) {
-            return result;
+    private void stopLogSync() {
+        if (logSyncExecutor == null) {
+            return;
         }
 
-        try {
-            for (K key : keyList) {
-                DatabaseEntry keyEntry = createDatabaseEntry(key);
-
-                if (keyEntry != null) {
-                    database.delete(transaction, keyEntry);
-                }
-            }
+        logSyncExecutor.shutdown();
 
-            transaction.commit();
-        } catch (Exception e) {
-            LOGGER.error(BDB_DELETE_ERROR_MSG, e);
-            abortTransaction(transaction);
-            result = false;
+        try {
+            logSyncExecutor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
-
-        return result;
     }
 
     /**
-     * Method to be used to delete all records using a transaction.
+     * Method to commit a given transaction, removing the keys it deleted from the key filter afterwards.
      *
-     * @param transaction transaction to be used.
-     * @return true if success and False if not.
+     * @param transaction transaction to be committed.
      */
-    protected boolean deleteAllRecordsUsingTransaction(Transaction transaction) {
-        boolean result = true;
-        try {
-            Map<K, V> records = getAll();
-            for (K entryKey : records.keySet()) {
-                DatabaseEntry keyEntry = createDatabaseEntry(entryKey);
-                if (keyEntry != null) {
-                    database.delete(transaction, keyEntry);
-                }
-            }
-            transaction.commit();
-        } catch (Exception e) {
-            LOGGER.error(BDB_DELETE_ERROR_MSG, e);
-            abortTransaction(transaction);
-            result = false;
-        }
+    protected void commitTransaction(Transaction transaction) {
+        transaction.commit();
 
-        return result;
+        if (keyFilter != null) {
+            keyFilter.commitRemovals();
+        }
     }
 
     /**
@@ -643,6 +2560,10 @@ public abstract class BaseBdbPersistentCache<K extends Serializable, V extends S
      * @param transaction transaction to be aborted.
      */
     protected void abortTransaction(Transaction transaction) {
+        if (keyFilter != null) {
+            keyFilter.discardRemovals();
+        }
+
         if (transaction != null) {
             try {
                 transaction.abort();
@@ -653,18 +2574,19 @@ public abstract class BaseBdbPersistentCache<K extends Serializable, V extends S
     }
 
     /**
-     * Method to de-serialize a a given array of bytes to an object.
+     * Method to de-serialize the data of a given database entry to an object.
      *
-     * @param data Array of bytes to be de-serialized.
+     * @param databaseEntry Database entry to be de-serialized.
+     * @param serializer    Serializer to be used.
      * @return De-serialized object.
      */
-    protected <T> T deserialize(byte[] data) {
-        if (data == null) {
+    protected <T> T deserialize(DatabaseEntry databaseEntry, Serializer<T> serializer) {
+        if (databaseEntry == null || databaseEntry.getData() == null) {
             return null;
         }
 
         try {
-            return SerializationUtils.deserialize(data);
+            return serializer.deserialize(databaseEntry.getData(), databaseEntry.getOffset(), databaseEntry.getSize());
         } catch (Exception e) {
             LOGGER.error(BDB_VALUE_DESERIALIZATION_ERROR, e);
         }
@@ -673,25 +2595,95 @@ public abstract class BaseBdbPersistentCache<K extends Serializable, V extends S
     }
 
     /**
-     * Method to create database entry from an object.
+     * Method to de-serialize the value of a stored record, without creating the cache object.
      *
-     * @param entry Entry to be used for creating the database entry.
-     * @return Database entry.
-     * @throws IOException If an error occurs while serializing.
+     * @param valueEntry Database entry of the record.
+     * @return De-serialized value.
      */
-    protected <T extends Serializable> DatabaseEntry createDatabaseEntry(T entry) {
-        DatabaseEntry databaseEntry = null;
+    protected V deserializeValue(DatabaseEntry valueEntry) {
+        if (valueEntry == null || valueEntry.getData() == null) {
+            return null;
+        }
+
         try {
-            if (entry != null) {
-                databaseEntry = new DatabaseEntry(SerializationUtils.serialize(entry));
-            } else {
-                databaseEntry = new DatabaseEntry();
+            byte[] record = readChunkedRecord(valueEntry);
+
+            if (record != null) {
+                return cacheObjectSerializer.deserializeValue(record, 0, record.length);
             }
+
+            return cacheObjectSerializer.deserializeValue(valueEntry.getData(), valueEntry.getOffset(), valueEntry.getSize());
+        } catch (Exception e) {
+            LOGGER.error(BDB_VALUE_DESERIALIZATION_ERROR, e);
+        }
+
+        return null;
+    }
+
+    /**
+     * Method to de-serialize the key of a given database entry.
+     *
+     * @param keyEntry Database entry of the key.
+     * @return De-serialized key.
+     */
+    protected K deserializeKey(DatabaseEntry keyEntry) {
+        return deserialize(keyEntry, keySerializer);
+    }
+
+    /**
+     * Method to create database entry from an object. The object is serialized into the given buffer and the
+     * given database entry is pointed to the serialized bytes, so that no new arrays are allocated.
+     *
+     * @param entry         Entry to be used for creating the database entry.
+     * @param serializer    Serializer to be used.
+     * @param buffer        Buffer to serialize the entry into.
+     * @param databaseEntry Database entry to be reused.
+     * @return Database entry.
+     */
+    protected <T> DatabaseEntry createDatabaseEntry(T entry, Serializer<T> serializer, DataBuffer buffer, DatabaseEntry databaseEntry) {
+        try {
+            buffer.reset();
+            serializer.serialize(entry, buffer);
+            databaseEntry.setData(buffer.getData(), 0, buffer.size());
+            return databaseEntry;
         } catch (Exception e) {
             LOGGER.error(BDB_ENTRY_CREATION_ERROR, e);
         }
 
-        return databaseEntry;
+        return null;
+    }
+
+    /**
+     * Method to create database entry from a key.
+     * The returned entry is reused by the next key of the same thread and must not be kept.
+     *
+     * @param key Key to be used for creating the database entry.
+     * @return Database entry.
+     */
+    protected DatabaseEntry createKeyEntry(K key) {
+        EntryBuffers buffers = entryBuffers.get();
+
+        // Byte array keys are stored as they are, so the entry can point to the key without copying it.
+        if (keySerializer instanceof ByteArraySerializer) {
+            DatabaseEntry keyEntry = buffers.getKeyEntry();
+            keyEntry.setData((byte[]) key);
+            return keyEntry;
+        }
+
+        return createDatabaseEntry(key, keySerializer, buffers.getKeyBuffer(), buffers.getKeyEntry());
+    }
+
+    /**
+     * Method to create database entry from a value.
+     * The returned entry is reused by the next value of the same thread and must not be kept.
+     *
+     * @param value      Value to be used for creating the database entry.
+     * @param serializer Serializer to be used.
+     * @return Database entry.
+     */
+    protected <T> DatabaseEntry createValueEntry(T value, Serializer<T> serializer) {
+        EntryBuffers buffers = entryBuffers.get();
+        return createDatabaseEntry(value, serializer, buffers.getValueBuffer(), buffers.getValueEntry());
     }
 
     /**
@@ -749,12 +2741,85 @@ public abstract class BaseBdbPersistentCache<K extends Serializable, V extends S
     protected abstract V processAndGetData(K key);
 
     /**
-     * Method to generate map of records from database entries.
+     * Method to process a record read while iterating and get its entry.
+     *
+     * @param keyEntry   database entry of the key
+     * @param valueEntry database entry of the record
+     * @return the entry or null if the record is to be skipped
+     */
+    protected abstract Map.Entry<K, V> processAndGetEntry(DatabaseEntry keyEntry, DatabaseEntry valueEntry);
+
+    /**
+     * Method to de-serialize the key and the value of a record into an entry.
+     *
+     * @param keyEntry   database entry of the key
+     * @param valueEntry database entry of the record
+     * @return the entry or null if the key or the value cannot be de-serialized
+     */
+    protected Map.Entry<K, V> createEntry(DatabaseEntry keyEntry, DatabaseEntry valueEntry) {
+        K key = deserializeKey(keyEntry);
+        V value = deserializeValue(valueEntry);
+        return key != null && value != null ? new AbstractMap.SimpleImmutableEntry<>(key, value) : null;
+    }
+
+    /**
+     * Method to create the serializer of the stored records for the configurations of the cache.
+     * The compression dictionaries are opened if dictionary compression is enabled or if records were compressed
+     * against a dictionary before, so that those records can still be read.
+     *
+     * @return the cache object serializer
+     * @throws DatabaseException if an error occurs while opening the compression dictionaries
+     */
+    private CacheObjectSerializer<V> createCacheObjectSerializer() throws DatabaseException {
+        boolean dictionaryCompressionEnabled = config.isDictionaryCompressionEnabled();
+
+        if (dictionaryCompressionEnabled || BdbCompressionDictionaries.exists(dbEnvironment, dbName)) {
+            compressionDictionaries = new BdbCompressionDictionaries(dbEnvironment, dbName, dictionaryCompressionEnabled, config.getDictionarySampleCount(), config.getDictionarySize());
+        }
+
+        if (!config.isCompressionEnabled() && !dictionaryCompressionEnabled) {
+            return new CacheObjectSerializer<>(valueSerializer, null, 0, compressionDictionaries);
+        }
+
+        CacheObjectSerializer<V> serializer = new CacheObjectSerializer<>(valueSerializer, new DeflateCompressor(config.getCompressionLevel()), config.getCompressionThreshold(), compressionDictionaries);
+
+        if (compressionDictionaries != null && compressionDictionaries.isTrainingPending()) {
+            sampleStoredValues(serializer);
+        }
+
+        return serializer;
+    }
+
+    /**
+     * Method to offer the values already stored in the cache as samples for training the compression dictionary.
      *
-     * @param databaseEntryMap the database entry map
-     * @return generated key value map
+     * @param serializer the cache object serializer
      */
-    protected abstract Map<K, V> generateMapOfRecordsFromDatabaseEntries(Map<DatabaseEntry, DatabaseEntry> databaseEntryMap);
+    private void sampleStoredValues(CacheObjectSerializer<V> serializer) {
+        Cursor cursor = null;
+
+        try {
+            cursor = database.openCursor(null, null);
+            DatabaseEntry keyEntry = new DatabaseEntry();
+            DatabaseEntry dataEntry = new DatabaseEntry();
+            int count = 0;
+
+            while (count++ < config.getDictionarySampleCount() && compressionDictionaries.isTrainingPending()
+                    && cursor.getNext(keyEntry, dataEntry, LockMode.READ_UNCOMMITTED) == OperationStatus.SUCCESS) {
+                serializer.addDictionarySample(dataEntry.getData(), dataEntry.getOffset(), dataEntry.getSize());
+            }
+        } catch (Exception e) {
+            LOGGER.error(BDB_READ_ERROR_MSG, e);
+        } finally {
+            try {
+                if (cursor != null) {
+                    cursor.close();
+                }
+            } catch (DatabaseException e) {
+                LOGGER.error(BDB_CURSOR_CLOSE_ERROR, e);
+            }
+        }
+    }
 
     /**
      * Method to re open database.
@@ -809,37 +2874,281 @@ public abstract class BaseBdbPersistentCache<K extends Serializable, V extends S
     }
 
     /**
-     * Method to get database entries map from berkeley db.
-     *
-     * @return database entries map from berkeley db
+     * Record of a key read ahead by getAll of given keys, or a null entry if the key was not found.
      */
-    private Map<DatabaseEntry, DatabaseEntry> getDatabaseEntriesMapFromBDB() {
-        Cursor cursor = null;
-        Map<DatabaseEntry, DatabaseEntry> databaseEntryMap = new LinkedHashMap<>();
+    private static final class PrefetchedRecord {
+        private final DatabaseEntry valueEntry;
+        private final boolean readFromDatabase;
+        private final long offHeapStamp;
+
+        private PrefetchedRecord(DatabaseEntry valueEntry, boolean readFromDatabase, long offHeapStamp) {
+            this.valueEntry = valueEntry;
+            this.readFromDatabase = readFromDatabase;
+            this.offHeapStamp = offHeapStamp;
+        }
+    }
 
-        try {
-            cursor = database.openCursor(null, null);
-            DatabaseEntry keyEntry = createDatabaseEntry(null);
-            DatabaseEntry dataEntry = createDatabaseEntry(null);
+    /**
+     * Task to de-serialize and check the expiry of a range of records of a batch, which is split in halves until the
+     * ranges are small enough to be processed by a single thread.
+     */
+    private class ProcessEntriesTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<DatabaseEntry[]> records;
+        private final Map.Entry<K, V>[] results;
+        private final int from;
+        private final int to;
+        private final int taskSize;
+
+        private ProcessEntriesTask(List<DatabaseEntry[]> records, Map.Entry<K, V>[] results, int from, int to, int taskSize) {
+            this.records = records;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+            this.taskSize = taskSize;
+        }
 
-            while (cursor.getNext(keyEntry, dataEntry, LockMode.DEFAULT) == OperationStatus.SUCCESS) {
-                databaseEntryMap.put(keyEntry, dataEntry);
-                keyEntry = createDatabaseEntry(null);
-                dataEntry = createDatabaseEntry(null);
+        @Override
+        protected void compute() {
+            if (to - from <= taskSize) {
+                for (int i = from; i < to; i++) {
+                    results[i] = processAndGetEntry(records.get(i)[0], records.get(i)[1]);
+                }
+
+                return;
             }
-        } catch (Exception e) {
-            LOGGER.error(BDB_READ_ERROR_MSG, e);
-        } finally {
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new ProcessEntriesTask(records, results, from, middle, taskSize),
+                    new ProcessEntriesTask(records, results, middle, to, taskSize));
+        }
+    }
+
+    /**
+     * Iterator which reads the records of the cache in batches of the serialized key order.
+     * Each batch starts after the last key of the previous batch, so that records written or deleted between batches
+     * do not break the iteration. The iteration can be limited to a range of serialized keys.
+     */
+    private abstract class BatchIterator<T> implements CloseableIterator<T> {
+        private final int batchSize;
+        private final byte[] startKey;
+        private final byte[] endKey;
+        private final Deque<T> entries = new ArrayDeque<>();
+        private byte[] lastKey;
+        private boolean exhausted;
+
+        /**
+         * Constructor to instantiate a BatchIterator
+         *
+         * @param batchSize the number of records read at a time
+         * @param startKey  the first serialized key, inclusive, or null to start from the first record
+         * @param endKey    the last serialized key, exclusive, or null to end at the last record
+         */
+        private BatchIterator(int batchSize, byte[] startKey, byte[] endKey) {
+            this.batchSize = batchSize;
+            this.startKey = startKey;
+            this.endKey = endKey;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (entries.isEmpty() && !exhausted) {
+                readBatch();
+            }
+
+            return !entries.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            return entries.poll();
+        }
+
+        @Override
+        public void close() {
+            exhausted = true;
+            entries.clear();
+        }
+
+        /**
+         * Method to create the database entry to read a record into, which may be partial to read only a part of it.
+         *
+         * @return the database entry
+         */
+        protected DatabaseEntry createValueEntry() {
+            return new DatabaseEntry();
+        }
+
+        /**
+         * Method to process a batch of records after the cursor which read them is closed, adding the results to be
+         * returned by the iterator.
+         *
+         * @param records the key and value entries of the records
+         * @param entries the results of the iterator
+         */
+        protected abstract void processBatch(List<DatabaseEntry[]> records, Deque<T> entries);
+
+        /**
+         * Method to read the next batch of records after the last key read.
+         *
+         * @throws IllegalStateException if the cache is closed
+         */
+        private void readBatch() {
+            List<DatabaseEntry[]> records = new ArrayList<>(batchSize);
+
             try {
-                if (cursor != null) {
+                lockProvider.acquireReadLock();
+
+                if (!isOpen.get()) {
+                    throw new IllegalStateException("Persistent cache is in closed state.");
+                }
+
+                Cursor cursor = database.openCursor(null, readCursorConfig);
+
+                try {
+                    DatabaseEntry keyEntry = new DatabaseEntry();
+                    DatabaseEntry valueEntry = createValueEntry();
+                    OperationStatus status;
+
+                    if (lastKey == null && startKey != null) {
+                        keyEntry.setData(startKey);
+                        status = cursor.getSearchKeyRange(keyEntry, valueEntry, LockMode.DEFAULT);
+                    } else if (lastKey == null) {
+                        status = cursor.getFirst(keyEntry, valueEntry, LockMode.DEFAULT);
+                    } else {
+                        keyEntry.setData(lastKey);
+                        status = cursor.getSearchKeyRange(keyEntry, valueEntry, LockMode.DEFAULT);
+
+                        if (status == OperationStatus.SUCCESS && isLastKey(keyEntry)) {
+                            status = cursor.getNext(keyEntry, valueEntry, LockMode.DEFAULT);
+                        }
+                    }
+
+                    if (status == OperationStatus.SUCCESS && isAfterRange(keyEntry)) {
+                        status = OperationStatus.NOTFOUND;
+                    }
+
+                    while (status == OperationStatus.SUCCESS && records.size() < batchSize) {
+                        records.add(new DatabaseEntry[]{keyEntry, valueEntry});
+                        keyEntry = new DatabaseEntry();
+                        valueEntry = createValueEntry();
+
+                        if (records.size() < batchSize) {
+                            status = cursor.getNext(keyEntry, valueEntry, LockMode.DEFAULT);
+
+                            if (status == OperationStatus.SUCCESS && isAfterRange(keyEntry)) {
+                                status = OperationStatus.NOTFOUND;
+                            }
+                        }
+                    }
+
+                    exhausted = status != OperationStatus.SUCCESS;
+                } finally {
                     cursor.close();
                 }
 
-            } catch (DatabaseException e) {
-                LOGGER.error(BDB_CURSOR_CLOSE_ERROR, e);
+                if (!records.isEmpty()) {
+                    DatabaseEntry last = records.get(records.size() - 1)[0];
+                    lastKey = Arrays.copyOfRange(last.getData(), last.getOffset(), last.getOffset() + last.getSize());
+                }
+
+                processBatch(records, entries);
+            } finally {
+                lockProvider.releaseReadLock();
+            }
+        }
+
+        private boolean isAfterRange(DatabaseEntry keyEntry) {
+            return endKey != null && compareKeys(keyEntry.getData(), keyEntry.getOffset(), keyEntry.getSize(), endKey) >= 0;
+        }
+
+        private boolean isLastKey(DatabaseEntry keyEntry) {
+            return keyEntry.getSize() == lastKey.length
+                    && Arrays.equals(lastKey, Arrays.copyOfRange(keyEntry.getData(), keyEntry.getOffset(), keyEntry.getOffset() + keyEntry.getSize()));
+        }
+    }
+
+    /**
+     * Iterator of the records of the cache, which de-serializes and checks the expiry of each batch of records,
+     * using the scan pool if it is enabled.
+     */
+    private class RecordIterator extends BatchIterator<Map.Entry<K, V>> {
+
+        private RecordIterator(int batchSize, byte[] startKey, byte[] endKey) {
+            super(batchSize, startKey, endKey);
+        }
+
+        @Override
+        protected void processBatch(List<DatabaseEntry[]> records, Deque<Map.Entry<K, V>> entries) {
+            if (scanPool != null && records.size() > MIN_SCAN_TASK_SIZE) {
+                Map.Entry<K, V>[] results = processEntriesInParallel(records);
+
+                for (Map.Entry<K, V> entry : results) {
+                    if (entry != null) {
+                        entries.add(entry);
+                    }
+                }
+            } else {
+                for (DatabaseEntry[] record : records) {
+                    Map.Entry<K, V> entry = processAndGetEntry(record[0], record[1]);
+
+                    if (entry != null) {
+                        entries.add(entry);
+                    }
+                }
             }
         }
 
-        return databaseEntryMap;
+        /**
+         * Method to de-serialize and check the expiry of a batch of records with the scan pool.
+         *
+         * @param records the key and value entries of the records
+         * @return the entries of the records in the order of the given records, with null for records not returned
+         */
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Map.Entry<K, V>[] processEntriesInParallel(List<DatabaseEntry[]> records) {
+            Map.Entry<K, V>[] results = new Map.Entry[records.size()];
+            int taskSize = Math.max(MIN_SCAN_TASK_SIZE, records.size() / (scanPool.getParallelism() * 4));
+            scanPool.invoke(new ProcessEntriesTask(records, results, 0, records.size(), taskSize));
+            return results;
+        }
+    }
+
+    /**
+     * Iterator of the keys of the cache, which reads no value. When records of the cache may expire, only the
+     * header of each record is read to skip the keys of expired records.
+     */
+    private class KeyIterator extends BatchIterator<K> {
+
+        private KeyIterator(int batchSize) {
+            super(batchSize, null, null);
+        }
+
+        @Override
+        protected DatabaseEntry createValueEntry() {
+            DatabaseEntry valueEntry = new DatabaseEntry();
+            valueEntry.setPartial(0, isRecordExpiryEnabled() ? RecordHeader.HEADER_LENGTH : 0, true);
+            return valueEntry;
+        }
+
+        @Override
+        protected void processBatch(List<DatabaseEntry[]> records, Deque<K> entries) {
+            for (DatabaseEntry[] record : records) {
+                if (isRecordExpiryEnabled() && isRecordHeaderExpired(record[0], record[1])) {
+                    continue;
+                }
+
+                K key = deserializeKey(record[0]);
+
+                if (key != null) {
+                    entries.add(key);
+                }
+            }
+        }
     }
 }
@@ -0,0 +1,271 @@
+package com.leondesilva.persistentcache.cache;
+
+import com.leondesilva.persistentcache.serializer.BinaryUtils;
+import com.sleepycat.je.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Store of the bodies of large records, kept in fixed size chunks in a side database of the same environment.
+ * Each body is stored as a blob with a unique id, the chunks of which are keyed by the blob id and the chunk index,
+ * so that the chunks of a blob are stored next to each other and can be read one at a time.
+ *
+ */
+class BdbChunkStore {
+    private static final String DATABASE_NAME_SUFFIX = "__chunks";
+    private static final int CHUNK_KEY_LENGTH = 12;
+
+    private final Environment environment;
+    private final String databaseName;
+    private final int chunkSize;
+    private final AtomicLong lastBlobId = new AtomicLong();
+    private Database database;
+
+    /**
+     * Constructor to instantiate a BdbChunkStore
+     *
+     * @param environment the environment of the cache
+     * @param dbName      database name of the cache
+     * @param chunkSize   size of the chunks in bytes
+     * @throws DatabaseException if an error occurs while opening the side database
+     */
+    BdbChunkStore(Environment environment, String dbName, int chunkSize) throws DatabaseException {
+        this.environment = environment;
+        this.databaseName = getDatabaseName(dbName);
+        this.chunkSize = chunkSize;
+        open();
+    }
+
+    /**
+     * Method to check whether a cache has stored chunks.
+     *
+     * @param environment the environment of the cache
+     * @param dbName      database name of the cache
+     * @return true if the side database of the chunks exists and false if not
+     * @throws DatabaseException if an error occurs while reading the database names
+     */
+    static boolean exists(Environment environment, String dbName) throws DatabaseException {
+        return environment.getDatabaseNames().contains(getDatabaseName(dbName));
+    }
+
+    /**
+     * Method to store a given body as a new blob.
+     *
+     * @param transaction the transaction to be used
+     * @param data        the array holding the body
+     * @param offset      offset of the body
+     * @param length      length of the body
+     * @return the id of the blob
+     * @throws DatabaseException if an error occurs while storing the chunks
+     */
+    long write(Transaction transaction, byte[] data, int offset, int length) throws DatabaseException {
+        long blobId = lastBlobId.incrementAndGet();
+        DatabaseEntry keyEntry = new DatabaseEntry(new byte[CHUNK_KEY_LENGTH]);
+        DatabaseEntry chunkEntry = new DatabaseEntry();
+        BinaryUtils.writeLong(keyEntry.getData(), 0, blobId);
+
+        for (int index = 0, position = 0; position < length; index++, position += chunkSize) {
+            BinaryUtils.writeInt(keyEntry.getData(), 8, index);
+            chunkEntry.setData(data, offset + position, Math.min(chunkSize, length - position));
+            database.put(transaction, keyEntry, chunkEntry);
+        }
+
+        return blobId;
+    }
+
+    /**
+     * Method to read a blob into a given array.
+     *
+     * @param blobId the id of the blob
+     * @param target the array to read into
+     * @param offset offset in the array to read to
+     * @param length length of the blob
+     * @throws IOException if a chunk of the blob is missing or cannot be read
+     */
+    void read(long blobId, byte[] target, int offset, int length) throws IOException {
+        ChunkInputStream in = new ChunkInputStream(blobId, length);
+
+        for (int position = 0; position < length; ) {
+            int read = in.read(target, offset + position, length - position);
+
+            if (read < 0) {
+                throw new IOException("Blob " + blobId + " ended before its length.");
+            }
+
+            position += read;
+        }
+    }
+
+    /**
+     * Method to open a stream of a blob. Chunks are read one at a time while the stream is read.
+     * Reading fails if the record of the blob is changed or deleted while it is being read.
+     *
+     * @param blobId the id of the blob
+     * @param length length of the blob
+     * @return stream of the blob
+     */
+    InputStream openStream(long blobId, int length) {
+        return new ChunkInputStream(blobId, length);
+    }
+
+    /**
+     * Method to delete all chunks of a blob.
+     *
+     * @param transaction the transaction to be used
+     * @param blobId      the id of the blob
+     * @throws DatabaseException if an error occurs while deleting the chunks
+     */
+    void delete(Transaction transaction, long blobId) throws DatabaseException {
+        Cursor cursor = database.openCursor(transaction, null);
+
+        try {
+            DatabaseEntry keyEntry = new DatabaseEntry(new byte[CHUNK_KEY_LENGTH]);
+            DatabaseEntry chunkEntry = new DatabaseEntry();
+            chunkEntry.setPartial(0, 0, true);
+            BinaryUtils.writeLong(keyEntry.getData(), 0, blobId);
+            OperationStatus status = cursor.getSearchKeyRange(keyEntry, chunkEntry, LockMode.RMW);
+
+            while (status == OperationStatus.SUCCESS && BinaryUtils.readLong(keyEntry.getData(), keyEntry.getOffset()) == blobId) {
+                cursor.delete();
+                status = cursor.getNext(keyEntry, chunkEntry, LockMode.RMW);
+            }
+        } finally {
+            cursor.close();
+        }
+    }
+
+    /**
+     * Method to delete all chunks. This must only be called while no other operation is using the store.
+     *
+     * @throws DatabaseException if an error occurs while truncating the side database
+     */
+    void truncate() throws DatabaseException {
+        database.close();
+        environment.truncateDatabase(null, databaseName, false);
+        open();
+    }
+
+    /**
+     * Method to close the side database.
+     *
+     * @throws DatabaseException if an error occurs while closing
+     */
+    void close() throws DatabaseException {
+        database.close();
+    }
+
+    /**
+     * Method to open the side database and continue the blob ids after the last stored blob.
+     *
+     * @throws DatabaseException if an error occurs while opening the side database
+     */
+    private void open() throws DatabaseException {
+        DatabaseConfig dbConfig = new DatabaseConfig();
+        dbConfig.setAllowCreate(true);
+        dbConfig.setTransactional(true);
+        database = environment.openDatabase(null, databaseName, dbConfig);
+        Cursor cursor = database.openCursor(null, null);
+
+        try {
+            DatabaseEntry keyEntry = new DatabaseEntry();
+            DatabaseEntry chunkEntry = new DatabaseEntry();
+            chunkEntry.setPartial(0, 0, true);
+
+            if (cursor.getLast(keyEntry, chunkEntry, LockMode.READ_UNCOMMITTED) == OperationStatus.SUCCESS) {
+                lastBlobId.set(Math.max(lastBlobId.get(), BinaryUtils.readLong(keyEntry.getData(), keyEntry.getOffset())));
+            }
+        } finally {
+            cursor.close();
+        }
+    }
+
+    private static String getDatabaseName(String dbName) {
+        return dbName + DATABASE_NAME_SUFFIX;
+    }
+
+    /**
+     * Stream of a blob which reads the chunks of the blob one at a time.
+     */
+    private class ChunkInputStream extends InputStream {
+        private final long blobId;
+        private final DatabaseEntry keyEntry = new DatabaseEntry(new byte[CHUNK_KEY_LENGTH]);
+        private final DatabaseEntry chunkEntry = new DatabaseEntry();
+        private int remaining;
+        private int index;
+        private byte[] chunk;
+        private int chunkPosition;
+        private int chunkEnd;
+
+        private ChunkInputStream(long blobId, int length) {
+            this.blobId = blobId;
+            this.remaining = length;
+            BinaryUtils.writeLong(keyEntry.getData(), 0, blobId);
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!fill()) {
+                return -1;
+            }
+
+            remaining--;
+            return chunk[chunkPosition++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+
+            if (!fill()) {
+                return -1;
+            }
+
+            int read = Math.min(length, chunkEnd - chunkPosition);
+            System.arraycopy(chunk, chunkPosition, target, offset, read);
+            chunkPosition += read;
+            remaining -= read;
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return chunk != null ? chunkEnd - chunkPosition : 0;
+        }
+
+        /**
+         * Method to read the next chunk if the current chunk is fully read.
+         *
+         * @return true if there are bytes to read and false if the end of the blob is reached
+         * @throws IOException if the next chunk is missing or cannot be read
+         */
+        private boolean fill() throws IOException {
+            if (remaining <= 0) {
+                return false;
+            }
+
+            if (chunk != null && chunkPosition < chunkEnd) {
+                return true;
+            }
+
+            BinaryUtils.writeInt(keyEntry.getData(), 8, index);
+
+            try {
+                if (database.get(null, keyEntry, chunkEntry, LockMode.DEFAULT) != OperationStatus.SUCCESS) {
+                    throw new IOException("Chunk " + index + " of blob " + blobId + " is missing. The record may have been changed or deleted while it was read.");
+                }
+            } catch (DatabaseException | IllegalStateException e) {
+                throw new IOException("Error occurred while reading chunk " + index + " of blob " + blobId, e);
+            }
+
+            index++;
+            chunk = chunkEntry.getData();
+            chunkPosition = chunkEntry.getOffset();
+            chunkEnd = chunkEntry.getOffset() + Math.min(chunkEntry.getSize(), remaining);
+            return chunkPosition < chunkEnd;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.leondesilva.persistentcache.cache;
+
+import com.leondesilva.persistentcache.serializer.BinaryUtils;
+import com.leondesilva.persistentcache.serializer.ClassDescriptor;
+import com.leondesilva.persistentcache.serializer.ClassRegistry;
+import com.sleepycat.je.*;
+import org.apache.commons.lang3.SerializationException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the class layouts of the values of a cache, kept in a side database of the same environment.
+ * All layouts are loaded when the cache is opened, as records can refer to any previous layout of a class.
+ *
+ */
+class BdbClassRegistry implements ClassRegistry {
+    private static final String DATABASE_NAME_SUFFIX = "__classes";
+
+    private final Database database;
+    private final Map<Integer, ClassDescriptor> descriptors = new ConcurrentHashMap<>();
+    private int lastId;
+
+    /**
+     * Constructor to instantiate a BdbClassRegistry
+     *
+     * @param environment the environment of the cache
+     * @param dbName      database name of the cache
+     * @throws DatabaseException if an error occurs while opening the side database
+     */
+    BdbClassRegistry(Environment environment, String dbName) throws DatabaseException {
+        DatabaseConfig dbConfig = new DatabaseConfig();
+        dbConfig.setAllowCreate(true);
+        dbConfig.setTransactional(true);
+        database = environment.openDatabase(null, dbName + DATABASE_NAME_SUFFIX, dbConfig);
+        loadDescriptors();
+    }
+
+    /**
+     * Method to register a class layout. A new layout is committed before its id is returned, so that no record
+     * refers to a layout which is not stored.
+     *
+     * @param descriptor the descriptor of the layout, the id of which is ignored
+     * @return the registered descriptor with its id
+     * @throws SerializationException if an error occurs while storing the layout
+     */
+    @Override
+    public synchronized ClassDescriptor register(ClassDescriptor descriptor) {
+        for (ClassDescriptor registered : descriptors.values()) {
+            if (registered.hasSameLayout(descriptor)) {
+                return registered;
+            }
+        }
+
+        ClassDescriptor registered = descriptor.withId(lastId + 1);
+        DatabaseEntry keyEntry = new DatabaseEntry(new byte[4]);
+        BinaryUtils.writeInt(keyEntry.getData(), 0, registered.getId());
+
+        try {
+            if (database.put(null, keyEntry, new DatabaseEntry(registered.toBytes())) != OperationStatus.SUCCESS) {
+                throw new SerializationException("Failed to register class " + descriptor.getClassName());
+            }
+        } catch (DatabaseException e) {
+            throw new SerializationException("Error occurred while registering class " + descriptor.getClassName(), e);
+        }
+
+        lastId = registered.getId();
+        descriptors.put(lastId, registered);
+        return registered;
+    }
+
+    @Override
+    public ClassDescriptor getDescriptor(int id) {
+        return descriptors.get(id);
+    }
+
+    /**
+     * Method to close the side database.
+     *
+     * @throws DatabaseException if an error occurs while closing
+     */
+    void close() throws DatabaseException {
+        database.close();
+    }
+
+    /**
+     * Method to load the registered layouts.
+     *
+     * @throws DatabaseException if an error occurs while reading the layouts
+     */
+    private void loadDescriptors() throws DatabaseException {
+        Cursor cursor = database.openCursor(null, null);
+
+        try {
+            DatabaseEntry keyEntry = new DatabaseEntry();
+            DatabaseEntry dataEntry = new DatabaseEntry();
+
+            while (cursor.getNext(keyEntry, dataEntry, LockMode.DEFAULT) == OperationStatus.SUCCESS) {
+                int id = BinaryUtils.readInt(keyEntry.getData(), keyEntry.getOffset());
+                descriptors.put(id, ClassDescriptor.fromBytes(id, dataEntry.getData(), dataEntry.getOffset(), dataEntry.getSize()));
+                lastId = Math.max(lastId, id);
+            }
+        } finally {
+            cursor.close();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.leondesilva.persistentcache.cache;
+
+import com.leondesilva.persistentcache.serializer.BinaryUtils;
+import com.leondesilva.persistentcache.serializer.CompressionDictionaries;
+import com.leondesilva.persistentcache.serializer.CompressionDictionary;
+import com.leondesilva.persistentcache.serializer.DictionaryTrainer;
+import com.sleepycat.je.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Store of the compression dictionaries of a cache, kept in a side database of the same environment.
+ * All dictionaries are loaded when the cache is opened, as records can refer to any previous dictionary.
+ * When training is enabled and there is no dictionary yet, a dictionary is trained once enough samples are collected.
+ *
+ */
+class BdbCompressionDictionaries implements CompressionDictionaries {
+    private static final String DATABASE_NAME_SUFFIX = "__dictionaries";
+    private static final String DICTIONARY_TRAINING_ERROR = "Error occurred while training compression dictionary.";
+
+    private static Logger LOGGER = LoggerFactory.getLogger(BdbCompressionDictionaries.class.getName());
+
+    private final Database database;
+    private final Map<Integer, CompressionDictionary> dictionaries = new ConcurrentHashMap<>();
+    private final boolean trainingEnabled;
+    private final int sampleCount;
+    private final int dictionarySize;
+    private final List<byte[]> samples = new ArrayList<>();
+    private volatile CompressionDictionary activeDictionary;
+
+    /**
+     * Constructor to instantiate a BdbCompressionDictionaries
+     *
+     * @param environment     the environment of the cache
+     * @param dbName          database name of the cache
+     * @param trainingEnabled true to train and compress against a dictionary, false to only read existing records
+     * @param sampleCount     number of values sampled for training
+     * @param dictionarySize  max size of the dictionary in bytes
+     * @throws DatabaseException if an error occurs while opening the side database
+     */
+    BdbCompressionDictionaries(Environment environment, String dbName, boolean trainingEnabled, int sampleCount, int dictionarySize) throws DatabaseException {
+        this.trainingEnabled = trainingEnabled;
+        this.sampleCount = sampleCount;
+        this.dictionarySize = dictionarySize;
+
+        DatabaseConfig dbConfig = new DatabaseConfig();
+        dbConfig.setAllowCreate(true);
+        dbConfig.setTransactional(true);
+        database = environment.openDatabase(null, getDatabaseName(dbName), dbConfig);
+        loadDictionaries();
+    }
+
+    /**
+     * Method to check whether a cache has stored compression dictionaries.
+     *
+     * @param environment the environment of the cache
+     * @param dbName      database name of the cache
+     * @return true if the side database of the dictionaries exists and false if not
+     * @throws DatabaseException if an error occurs while reading the database names
+     */
+    static boolean exists(Environment environment, String dbName) throws DatabaseException {
+        return environment.getDatabaseNames().contains(getDatabaseName(dbName));
+    }
+
+    @Override
+    public CompressionDictionary getActiveDictionary() {
+        return activeDictionary;
+    }
+
+    @Override
+    public CompressionDictionary getDictionary(int id) {
+        return dictionaries.get(id);
+    }
+
+    @Override
+    public void addSample(byte[] data, int offset, int length) {
+        if (!trainingEnabled || activeDictionary != null) {
+            return;
+        }
+
+        synchronized (samples) {
+            if (activeDictionary != null) {
+                return;
+            }
+
+            samples.add(Arrays.copyOfRange(data, offset, offset + length));
+
+            if (samples.size() >= sampleCount) {
+                train();
+            }
+        }
+    }
+
+    /**
+     * Method to check whether a dictionary is still to be trained.
+     *
+     * @return true if training is enabled and there is no dictionary yet
+     */
+    boolean isTrainingPending() {
+        return trainingEnabled && activeDictionary == null;
+    }
+
+    /**
+     * Method to close the side database.
+     *
+     * @throws DatabaseException if an error occurs while closing
+     */
+    void close() throws DatabaseException {
+        database.close();
+    }
+
+    /**
+     * Method to train a dictionary from the collected samples and store it with the next id.
+     * The dictionary is committed before it is used, so that no record refers to a dictionary which is not stored.
+     */
+    private void train() {
+        try {
+            byte[] data = DictionaryTrainer.train(samples, dictionarySize);
+            int id = dictionaries.keySet().stream().mapToInt(Integer::intValue).max().orElse(0) + 1;
+            DatabaseEntry keyEntry = new DatabaseEntry(new byte[4]);
+            BinaryUtils.writeInt(keyEntry.getData(), 0, id);
+
+            if (database.put(null, keyEntry, new DatabaseEntry(data)) == OperationStatus.SUCCESS) {
+                CompressionDictionary dictionary = new CompressionDictionary(id, data);
+                dictionaries.put(id, dictionary);
+                activeDictionary = dictionary;
+            }
+        } catch (Exception e) {
+            LOGGER.error(DICTIONARY_TRAINING_ERROR, e);
+        } finally {
+            samples.clear();
+        }
+    }
+
+    /**
+     * Method to load the stored dictionaries. The dictionary with the highest id is the active one.
+     *
+     * @throws DatabaseException if an error occurs while reading the dictionaries
+     */
+    private void loadDictionaries() throws DatabaseException {
+        Cursor cursor = database.openCursor(null, null);
+
+        try {
+            DatabaseEntry keyEntry = new DatabaseEntry();
+            DatabaseEntry dataEntry = new DatabaseEntry();
+
+            while (cursor.getNext(keyEntry, dataEntry, LockMode.DEFAULT) == OperationStatus.SUCCESS) {
+                int id = BinaryUtils.readInt(keyEntry.getData(), keyEntry.getOffset());
+                CompressionDictionary dictionary = new CompressionDictionary(id, Arrays.copyOfRange(dataEntry.getData(), dataEntry.getOffset(), dataEntry.getOffset() + dataEntry.getSize()));
+                dictionaries.put(id, dictionary);
+
+                if (trainingEnabled) {
+                    activeDictionary = dictionary;
+                }
+            }
+        } finally {
+            cursor.close();
+        }
+    }
+
+    private static String getDatabaseName(String dbName) {
+        return dbName + DATABASE_NAME_SUFFIX;
+    }
+}
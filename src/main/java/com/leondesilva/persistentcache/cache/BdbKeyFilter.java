@@ -0,0 +1,232 @@
+package com.leondesilva.persistentcache.cache;
+
+import com.leondesilva.persistentcache.cache.model.pojo.KeyFilterStats;
+import com.sleepycat.je.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Filter of the keys stored in a cache, used to answer lookups of keys which are not stored without reading the
+ * database. The filter is kept in a side database of the same environment while the cache is closed.
+ *
+ * The stored filter is deleted when the cache is opened and written again when the cache is closed, so that a filter
+ * which missed writes because the process stopped without closing the cache is never loaded. When there is no stored
+ * filter, it is rebuilt from the keys of the database.
+ *
+ * Keys are added to the filter before the write which stores them is committed, and removed only after the delete is
+ * committed, so that the filter never rejects a key which is stored. Removals are kept per thread until the
+ * transaction of the delete is committed or aborted.
+ *
+ */
+class BdbKeyFilter {
+    private static final String DATABASE_NAME_SUFFIX = "__keyfilter";
+    private static final byte[] FILTER_KEY = "filter".getBytes(StandardCharsets.UTF_8);
+
+    private final Database database;
+    private final CountingBloomFilter filter;
+    private final ThreadLocal<PendingRemovals> pendingRemovals = ThreadLocal.withInitial(PendingRemovals::new);
+    private final AtomicLong lookupCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong falsePositiveCount = new AtomicLong();
+
+    /**
+     * Constructor to instantiate a BdbKeyFilter, loading the stored filter or rebuilding it from the keys of the cache.
+     *
+     * @param environment       the environment of the cache
+     * @param dbName            database name of the cache
+     * @param cacheDatabase     the database of the cache
+     * @param expectedKeys      the expected number of keys
+     * @param falsePositiveRate the false positive probability when the filter holds the expected number of keys
+     * @throws DatabaseException if an error occurs while opening the side database or reading the keys
+     */
+    BdbKeyFilter(Environment environment, String dbName, Database cacheDatabase, long expectedKeys, double falsePositiveRate) throws DatabaseException {
+        DatabaseConfig dbConfig = new DatabaseConfig();
+        dbConfig.setAllowCreate(true);
+        dbConfig.setTransactional(true);
+        database = environment.openDatabase(null, dbName + DATABASE_NAME_SUFFIX, dbConfig);
+
+        DatabaseEntry keyEntry = new DatabaseEntry(FILTER_KEY);
+        DatabaseEntry filterEntry = new DatabaseEntry();
+        CountingBloomFilter storedFilter = null;
+
+        if (database.get(null, keyEntry, filterEntry, LockMode.DEFAULT) == OperationStatus.SUCCESS) {
+            storedFilter = CountingBloomFilter.fromBytes(filterEntry.getData(), filterEntry.getOffset(), filterEntry.getSize());
+            database.delete(null, keyEntry);
+        }
+
+        if (storedFilter != null && storedFilter.hasSameSize(expectedKeys, falsePositiveRate)) {
+            filter = storedFilter;
+        } else {
+            filter = new CountingBloomFilter(expectedKeys, falsePositiveRate);
+            addKeys(cacheDatabase);
+        }
+    }
+
+    /**
+     * Method to check whether a serialized key may be stored.
+     *
+     * @param keyEntry database entry of the key
+     * @return false if the key is not stored and true if it may be stored
+     */
+    boolean mightContain(DatabaseEntry keyEntry) {
+        return filter.mightContain(hash(keyEntry));
+    }
+
+    /**
+     * Method to check whether a serialized key which is looked up may be stored, counting the lookup in the statistics.
+     *
+     * @param keyEntry database entry of the key
+     * @return false if the key is not stored and true if it may be stored
+     */
+    boolean lookup(DatabaseEntry keyEntry) {
+        lookupCount.incrementAndGet();
+
+        if (mightContain(keyEntry)) {
+            return true;
+        }
+
+        rejectedCount.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Method to record that a key passed by the filter was not found in the database.
+     */
+    void recordFalsePositive() {
+        falsePositiveCount.incrementAndGet();
+    }
+
+    /**
+     * Method to add a serialized key which is being stored. This must be called before the write is committed.
+     *
+     * @param keyEntry database entry of the key
+     */
+    void add(DatabaseEntry keyEntry) {
+        filter.add(hash(keyEntry));
+    }
+
+    /**
+     * Method to remove a serialized key which was deleted in a transaction of the current thread, once the
+     * transaction is committed.
+     *
+     * @param keyEntry database entry of the key
+     */
+    void removeOnCommit(DatabaseEntry keyEntry) {
+        pendingRemovals.get().add(hash(keyEntry));
+    }
+
+    /**
+     * Method to remove the keys deleted by the current thread, after its transaction is committed.
+     */
+    void commitRemovals() {
+        PendingRemovals removals = pendingRemovals.get();
+
+        for (int i = 0; i < removals.size; i++) {
+            filter.remove(removals.hashes[i]);
+        }
+
+        removals.clear();
+    }
+
+    /**
+     * Method to keep the keys deleted by the current thread, after its transaction is aborted.
+     */
+    void discardRemovals() {
+        pendingRemovals.get().clear();
+    }
+
+    /**
+     * Method to remove all keys after all records are deleted.
+     */
+    void clear() {
+        filter.clear();
+    }
+
+    /**
+     * Method to get the number of keys added to the filter and not removed.
+     *
+     * @return the number of keys
+     */
+    long getKeyCount() {
+        return filter.getKeyCount();
+    }
+
+    /**
+     * Method to get the statistics of the filter.
+     *
+     * @return the statistics
+     */
+    KeyFilterStats getStats() {
+        KeyFilterStats stats = new KeyFilterStats();
+        stats.setLookupCount(lookupCount.get());
+        stats.setRejectedCount(rejectedCount.get());
+        stats.setFalsePositiveCount(falsePositiveCount.get());
+        stats.setExpectedFalsePositiveRate(filter.getExpectedFalsePositiveRate());
+        return stats;
+    }
+
+    /**
+     * Method to store the filter and close the side database.
+     *
+     * @throws DatabaseException if an error occurs while storing the filter or closing
+     */
+    void close() throws DatabaseException {
+        try {
+            database.put(null, new DatabaseEntry(FILTER_KEY), new DatabaseEntry(filter.toBytes()));
+        } finally {
+            database.close();
+        }
+    }
+
+    /**
+     * Method to add all keys of the cache database to the filter.
+     *
+     * @param cacheDatabase the database of the cache
+     * @throws DatabaseException if an error occurs while reading the keys
+     */
+    private void addKeys(Database cacheDatabase) throws DatabaseException {
+        Cursor cursor = cacheDatabase.openCursor(null, null);
+
+        try {
+            DatabaseEntry keyEntry = new DatabaseEntry();
+            DatabaseEntry dataEntry = new DatabaseEntry();
+            dataEntry.setPartial(0, 0, true);
+
+            while (cursor.getNext(keyEntry, dataEntry, LockMode.READ_UNCOMMITTED) == OperationStatus.SUCCESS) {
+                add(keyEntry);
+            }
+        } finally {
+            cursor.close();
+        }
+    }
+
+    private static long hash(DatabaseEntry keyEntry) {
+        return CountingBloomFilter.hash(keyEntry.getData(), keyEntry.getOffset(), keyEntry.getSize());
+    }
+
+    /**
+     * Hashes of the keys deleted in the current transaction of a thread.
+     */
+    private static final class PendingRemovals {
+        private long[] hashes = new long[16];
+        private int size;
+
+        private void add(long hash) {
+            if (size == hashes.length) {
+                hashes = Arrays.copyOf(hashes, size * 2);
+            }
+
+            hashes[size++] = hash;
+        }
+
+        private void clear() {
+            if (hashes.length > 1024) {
+                hashes = new long[16];
+            }
+
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.leondesilva.persistentcache.cache;
+
+import com.leondesilva.persistentcache.cache.model.pojo.BulkLoadStats;
+import com.leondesilva.persistentcache.cache.model.pojo.ChunkResult;
+import com.leondesilva.persistentcache.cache.model.pojo.KeyFilterStats;
+import com.leondesilva.persistentcache.error.PersistentCacheException;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of the PersistentBytesCache on top of a Berkeley db persistent cache of byte arrays.
+ * The underlying cache decides the expiry behaviour, so that the same implementation is used for the basic,
+ * TTL, per-row TTL and loading caches.
+ *
+ */
+public class BdbPersistentBytesCacheImpl implements PersistentBytesCache {
+    private final BaseBdbPersistentCache<byte[], byte[]> cache;
+
+    /**
+     * Constructor to instantiate a BdbPersistentBytesCacheImpl
+     *
+     * @param cache the underlying cache, which must use byte array serializers for keys and values
+     */
+    BdbPersistentBytesCacheImpl(BaseBdbPersistentCache<byte[], byte[]> cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public boolean put(byte[] key, byte[] value) throws PersistentCacheException {
+        return cache.put(key, value);
+    }
+
+    @Override
+    public boolean put(byte[] key, byte[] value, DurabilityPolicy durabilityPolicy) throws PersistentCacheException {
+        return cache.put(key, value, durabilityPolicy);
+    }
+
+    @Override
+    public boolean put(byte[] key, byte[] value, long cacheExpiryTime, ChronoUnit cacheExpiryTimeUnit) throws PersistentCacheException {
+        return cache.put(key, value, cacheExpiryTime, cacheExpiryTimeUnit);
+    }
+
+    @Override
+    public boolean putIfAbsent(byte[] key, byte[] value) throws PersistentCacheException {
+        return cache.putIfAbsent(key, value);
+    }
+
+    @Override
+    public boolean putIfAbsent(byte[] key, byte[] value, long cacheExpiryTime, ChronoUnit cacheExpiryTimeUnit) throws PersistentCacheException {
+        return cache.putIfAbsent(key, value, cacheExpiryTime, cacheExpiryTimeUnit);
+    }
+
+    @Override
+    public boolean putAll(Map<byte[], byte[]> data) throws PersistentCacheException {
+        return cache.putAll(data);
+    }
+
+    @Override
+    public boolean putAll(Map<byte[], byte[]> data, DurabilityPolicy durabilityPolicy) throws PersistentCacheException {
+        return cache.putAll(data, durabilityPolicy);
+    }
+
+    @Override
+    public List<ChunkResult<byte[]>> putAllInChunks(Map<byte[], byte[]> data, int chunkSize) throws PersistentCacheException {
+        return cache.putAllInChunks(data, chunkSize);
+    }
+
+    @Override
+    public BulkLoadStats bulkLoad(Iterator<Map.Entry<byte[], byte[]>> records, boolean sorted, BulkLoadListener listener) throws PersistentCacheException {
+        return cache.bulkLoad(records, sorted, listener);
+    }
+
+    @Override
+    public byte[] get(byte[] key) throws PersistentCacheException {
+        return cache.get(key);
+    }
+
+    @Override
+    public byte[] get(byte[] key, boolean deleteRecordAfterRetrieving) throws PersistentCacheException {
+        return cache.get(key, deleteRecordAfterRetrieving);
+    }
+
+    @Override
+    public boolean putSerialized(byte[] key, ByteBuffer serializedValue) throws PersistentCacheException {
+        return cache.putSerialized(key, serializedValue);
+    }
+
+    @Override
+    public boolean putSerializedIfAbsent(byte[] key, ByteBuffer serializedValue) throws PersistentCacheException {
+        return cache.putSerializedIfAbsent(key, serializedValue);
+    }
+
+    @Override
+    public int get(byte[] key, ByteBuffer target) throws PersistentCacheException {
+        return cache.get(key, target);
+    }
+
+    @Override
+    public long transferTo(byte[] key, WritableByteChannel channel) throws PersistentCacheException {
+        return cache.transferTo(key, channel);
+    }
+
+    @Override
+    public InputStream getInputStream(byte[] key) throws PersistentCacheException {
+        return cache.getInputStream(key);
+    }
+
+    @Override
+    public ReadableByteChannel getChannel(byte[] key) throws PersistentCacheException {
+        return cache.getChannel(key);
+    }
+
+    @Override
+    public Map<byte[], byte[]> getAll() throws PersistentCacheException {
+        return cache.getAll();
+    }
+
+    @Override
+    public Map<byte[], byte[]> getAll(Collection<byte[]> keys) throws PersistentCacheException {
+        return cache.getAll(keys);
+    }
+
+    @Override
+    public Stream<Map.Entry<byte[], byte[]>> scanRange(byte[] fromKey, byte[] toKey) throws PersistentCacheException {
+        return cache.scanRange(fromKey, toKey);
+    }
+
+    @Override
+    public Stream<Map.Entry<byte[], byte[]>> scanPrefix(byte[] prefix) throws PersistentCacheException {
+        return cache.scanPrefix(prefix);
+    }
+
+    @Override
+    public Stream<byte[]> keys() throws PersistentCacheException {
+        return cache.keys();
+    }
+
+    @Override
+    public long count() throws PersistentCacheException {
+        return cache.count();
+    }
+
+    @Override
+    public long estimatedSize() throws PersistentCacheException {
+        return cache.estimatedSize();
+    }
+
+    @Override
+    public CloseableIterator<Map.Entry<byte[], byte[]>> iterator() throws PersistentCacheException {
+        return cache.iterator();
+    }
+
+    @Override
+    public Stream<Map.Entry<byte[], byte[]>> stream() throws PersistentCacheException {
+        return cache.stream();
+    }
+
+    @Override
+    public boolean containsKey(byte[] key) throws PersistentCacheException {
+        return cache.containsKey(key);
+    }
+
+    @Override
+    public boolean delete(byte[] key) throws PersistentCacheException {
+        return cache.delete(key);
+    }
+
+    @Override
+    public boolean delete(byte[] key, DurabilityPolicy durabilityPolicy) throws PersistentCacheException {
+        return cache.delete(key, durabilityPolicy);
+    }
+
+    @Override
+    public boolean delete(List<byte[]> keys) throws PersistentCacheException {
+        return cache.delete(keys);
+    }
+
+    @Override
+    public boolean deleteAll() throws PersistentCacheException {
+        return cache.deleteAll();
+    }
+
+    @Override
+    public boolean flush() throws PersistentCacheException {
+        return cache.flush();
+    }
+
+    @Override
+    public boolean truncate() throws PersistentCacheException {
+        return cache.truncate();
+    }
+
+    @Override
+    public void close() throws PersistentCacheException {
+        cache.close();
+    }
+
+    @Override
+    public boolean put(ByteBuffer key, ByteBuffer value) throws PersistentCacheException {
+        return cache.putSerialized(toByteArray(key), value);
+    }
+
+    @Override
+    public boolean put(ByteBuffer key, ByteBuffer value, long cacheExpiryTime, ChronoUnit cacheExpiryTimeUnit) throws PersistentCacheException {
+        return cache.put(toByteArray(key), toByteArray(value), cacheExpiryTime, cacheExpiryTimeUnit);
+    }
+
+    @Override
+    public boolean putIfAbsent(ByteBuffer key, ByteBuffer value) throws PersistentCacheException {
+        return cache.putSerializedIfAbsent(toByteArray(key), value);
+    }
+
+    @Override
+    public ByteBuffer get(ByteBuffer key) throws PersistentCacheException {
+        return cache.getValueBuffer(toByteArray(key));
+    }
+
+    @Override
+    public boolean containsKey(ByteBuffer key) throws PersistentCacheException {
+        return cache.containsKey(toByteArray(key));
+    }
+
+    @Override
+    public boolean delete(ByteBuffer key) throws PersistentCacheException {
+        return cache.delete(toByteArray(key));
+    }
+
+    /**
+     * Method to get the bytes of a buffer from its position to its limit. The backing array is used as it is
+     * when it holds exactly those bytes, otherwise the bytes are copied.
+     *
+     * @param buffer the buffer
+     * @return the bytes of the buffer or null if the buffer is null
+     */
+    private static byte[] toByteArray(ByteBuffer buffer) {
+        if (buffer == null) {
+            return null;
+        }
+
+        if (buffer.hasArray() && buffer.arrayOffset() == 0 && buffer.position() == 0 && buffer.remaining() == buffer.array().length) {
+            return buffer.array();
+        }
+
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+
+    @Override
+    public KeyFilterStats getKeyFilterStats() {
+        return cache.getKeyFilterStats();
+    }
+}
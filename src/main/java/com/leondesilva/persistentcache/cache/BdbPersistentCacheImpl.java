@@ -2,11 +2,11 @@ package com.leondesilva.persistentcache.cache;
 
 import com.sleepycat.je.DatabaseEntry;
 import com.sleepycat.je.Transaction;
+import com.leondesilva.persistentcache.cache.model.pojo.CacheObject;
 import com.leondesilva.persistentcache.error.PersistentCacheException;
 
 import java.io.Serializable;
 import java.time.temporal.ChronoUnit;
-import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -27,6 +27,19 @@ public class BdbPersistentCacheImpl<K extends Serializable, V extends Serializab
         super(dbName, dbFilePath, maxLogFileSize);
     }
 
+    /**
+     * Constructor to instantiate a BdbCacheImpl with the given configurations
+     *
+     * @param dbName         Database name.
+     * @param dbFilePath     Path to store/open database.
+     * @param maxLogFileSize Max log file size in bytes. Minimum allowed is 1,000,000 bytes (1MB).
+     * @param config         Configurations of the cache.
+     * @throws PersistentCacheException If an error occurs while creating the persistent cache.
+     */
+    public BdbPersistentCacheImpl(String dbName, String dbFilePath, long maxLogFileSize, PersistentCacheConfig<K, V> config) throws PersistentCacheException {
+        super(dbName, dbFilePath, maxLogFileSize, config);
+    }
+
     /**
      * Method to put store data with cache expiry time ( NOT SUPPORTED !!! )
      *
@@ -68,7 +81,15 @@ public class BdbPersistentCacheImpl<K extends Serializable, V extends Serializab
      */
     @Override
     protected boolean processAndStoreData(Transaction transaction, K key, V value, boolean overwrite) {
-        return storeData(transaction, key, value, overwrite);
+        // Null values are not stored, same as for the other data.
+        if (value == null) {
+            return true;
+        }
+
+        CacheObject<V> cacheObject = new CacheObject<>();
+        cacheObject.setValueObject(value);
+
+        return storeData(transaction, key, cacheObject, cacheObjectSerializer, overwrite);
     }
 
     /**
@@ -94,28 +115,29 @@ public class BdbPersistentCacheImpl<K extends Serializable, V extends Serializab
      */
     @Override
     protected V processAndGetData(K key) {
-        return getData(key);
+        return deserializeValue(processAndGetDataEntry(key));
     }
 
     /**
-     * Method to generate map of records from database entries.
+     * Method to get the entry of a record read while iterating.
      *
-     * @param databaseEntryMap the database entry map
-     * @return generated key value map
+     * @param keyEntry   database entry of the key
+     * @param valueEntry database entry of the record
+     * @return the entry or null if the record cannot be read
      */
     @Override
-    protected Map<K, V> generateMapOfRecordsFromDatabaseEntries(Map<DatabaseEntry, DatabaseEntry> databaseEntryMap) {
-        Map<K, V> records = new LinkedHashMap<>();
-
-        for (Map.Entry<DatabaseEntry, DatabaseEntry> keyValue : databaseEntryMap.entrySet()) {
-            K key = deserialize(keyValue.getKey().getData());
-            V value = deserialize(keyValue.getValue().getData());
-
-            if (key != null && value != null) {
-                records.put(key, value);
-            }
-        }
+    protected Map.Entry<K, V> processAndGetEntry(DatabaseEntry keyEntry, DatabaseEntry valueEntry) {
+        return createEntry(keyEntry, valueEntry);
+    }
 
-        return records;
+    /**
+     * Method to check whether the records of the cache may have an expiry time.
+     * Records of a cache without TTL never expire.
+     *
+     * @return false
+     */
+    @Override
+    protected boolean isRecordExpiryEnabled() {
+        return false;
     }
 }
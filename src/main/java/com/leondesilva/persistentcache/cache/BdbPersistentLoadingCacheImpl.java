@@ -3,13 +3,17 @@ package com.leondesilva.persistentcache.cache;
 import com.sleepycat.je.DatabaseEntry;
 import com.sleepycat.je.Transaction;
 import com.leondesilva.persistentcache.cache.loaders.CacheLoader;
+import com.leondesilva.persistentcache.cache.model.pojo.BulkLoadStats;
 import com.leondesilva.persistentcache.cache.model.pojo.CacheObject;
+import com.leondesilva.persistentcache.cache.model.pojo.ChunkResult;
 import com.leondesilva.persistentcache.error.PersistentCacheException;
 
 import java.io.Serializable;
-import java.time.LocalDateTime;
+import java.nio.ByteBuffer;
 import java.time.temporal.ChronoUnit;
-import java.util.LinkedHashMap;
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -32,7 +36,23 @@ public class BdbPersistentLoadingCacheImpl<K extends Serializable, V extends Ser
      * @throws PersistentCacheException If an error occurs while creating the persistent cache.
      */
     public BdbPersistentLoadingCacheImpl(String dbName, String dbFilePath, long maxLogFileSize, long cacheExpiryTime, ChronoUnit cacheExpiryTimeUnit, CacheLoader<K,V> cacheLoader) throws PersistentCacheException {
-        super(dbName, dbFilePath, maxLogFileSize);
+        this(dbName, dbFilePath, maxLogFileSize, cacheExpiryTime, cacheExpiryTimeUnit, cacheLoader, new PersistentCacheConfig<>());
+    }
+
+    /**
+     * Constructor to instantiate a BdbCacheImpl with the given configurations
+     *
+     * @param dbName              Database name.
+     * @param dbFilePath          Path to store/open database.
+     * @param maxLogFileSize      Max log file size in bytes. Minimum allowed is 1,000,000 bytes (1MB).
+     * @param cacheExpiryTime     Cache expiry time.
+     * @param cacheExpiryTimeUnit Cache expiry time unit.
+     * @param cacheLoader         Cache loader.
+     * @param config              Configurations of the cache.
+     * @throws PersistentCacheException If an error occurs while creating the persistent cache.
+     */
+    public BdbPersistentLoadingCacheImpl(String dbName, String dbFilePath, long maxLogFileSize, long cacheExpiryTime, ChronoUnit cacheExpiryTimeUnit, CacheLoader<K,V> cacheLoader, PersistentCacheConfig<K, V> config) throws PersistentCacheException {
+        super(dbName, dbFilePath, maxLogFileSize, config);
         this.cacheExpiryTime = cacheExpiryTime;
         this.cacheExpiryTimeUnit = cacheExpiryTimeUnit;
         this.cacheLoader = cacheLoader;
@@ -51,6 +71,19 @@ public class BdbPersistentLoadingCacheImpl<K extends Serializable, V extends Ser
         throw new UnsupportedOperationException(PUT_IS_NOT_SUPPORTED_IN_LOADING_CACHE_ERROR_MSG);
     }
 
+    /**
+     * Method to store a given key and a value with a durability policy. ( NOT SUPPORTED !!! )
+     *
+     * @param key              the key to store
+     * @param value            the value to store
+     * @param durabilityPolicy the durability policy of the commit
+     * @return true if success, false if the operation is failed
+     */
+    @Override
+    public boolean put(K key, V value, DurabilityPolicy durabilityPolicy) {
+        throw new UnsupportedOperationException(PUT_IS_NOT_SUPPORTED_IN_LOADING_CACHE_ERROR_MSG);
+    }
+
     /**
      * Method to store a given key and a value with cache expiry time. ( NOT SUPPORTED !!! )
      *
@@ -99,13 +132,38 @@ public class BdbPersistentLoadingCacheImpl<K extends Serializable, V extends Ser
         throw new UnsupportedOperationException(PUT_IS_NOT_SUPPORTED_IN_LOADING_CACHE_ERROR_MSG);
     }
 
+    @Override
+    public boolean putAll(Map<K, V> data, DurabilityPolicy durabilityPolicy) {
+        throw new UnsupportedOperationException(PUT_IS_NOT_SUPPORTED_IN_LOADING_CACHE_ERROR_MSG);
+    }
+
+    @Override
+    public List<ChunkResult<K>> putAllInChunks(Map<K, V> data, int chunkSize) {
+        throw new UnsupportedOperationException(PUT_IS_NOT_SUPPORTED_IN_LOADING_CACHE_ERROR_MSG);
+    }
+
+    @Override
+    public BulkLoadStats bulkLoad(Iterator<Map.Entry<K, V>> records, boolean sorted, BulkLoadListener listener) {
+        throw new UnsupportedOperationException(PUT_IS_NOT_SUPPORTED_IN_LOADING_CACHE_ERROR_MSG);
+    }
+
+    @Override
+    public boolean putSerialized(K key, ByteBuffer serializedValue) {
+        throw new UnsupportedOperationException(PUT_IS_NOT_SUPPORTED_IN_LOADING_CACHE_ERROR_MSG);
+    }
+
+    @Override
+    public boolean putSerializedIfAbsent(K key, ByteBuffer serializedValue) {
+        throw new UnsupportedOperationException(PUT_IS_NOT_SUPPORTED_IN_LOADING_CACHE_ERROR_MSG);
+    }
+
     @Override
     protected boolean processAndStoreData(Transaction transaction, K key, V value, boolean overwrite) {
         CacheObject<V> cacheObject = new CacheObject<>();
         cacheObject.setValueObject(value);
         cacheObject.setCachedDatetime(generateCacheExpiryDateTime(this.cacheExpiryTime, this.cacheExpiryTimeUnit));
 
-        return storeData(transaction, key, cacheObject, overwrite);
+        return storeData(transaction, key, cacheObject, cacheObjectSerializer, overwrite);
     }
 
     @Override
@@ -120,51 +178,54 @@ public class BdbPersistentLoadingCacheImpl<K extends Serializable, V extends Ser
 
     @Override
     protected V processAndGetData(K key) {
-        CacheObject<V> cacheObject = getData(key);
+        DatabaseEntry valueEntry = getDataEntry(key);
 
-        if (cacheObject == null) {
+        if (valueEntry == null) {
             return loadAndStoreToCache(key);
         }
 
-        LocalDateTime cachedDateTime = cacheObject.getCachedDatetime();
-
-        if (cachedDateTime != null && isCacheObjectOutDated(cachedDateTime)) {
+        if (isRecordExpired(valueEntry)) {
             deleteRecord(key);
             return loadAndStoreToCache(key);
         }
 
-        return cacheObject.getValueObject();
-    }
+        V value = deserializeValue(valueEntry);
 
-    @Override
-    protected Map<K, V> generateMapOfRecordsFromDatabaseEntries(Map<DatabaseEntry, DatabaseEntry> databaseEntryMap) {
-        Map<K, V> records = new LinkedHashMap<>();
+        if (value == null) {
+            return loadAndStoreToCache(key);
+        }
 
-        for (Map.Entry<DatabaseEntry, DatabaseEntry> keyValue : databaseEntryMap.entrySet()) {
-            K key = deserialize(keyValue.getKey().getData());
-            V value;
-            CacheObject<V> cacheObject = deserialize(keyValue.getValue().getData());
+        return value;
+    }
 
-            if (cacheObject == null) {
-                continue;
-            }
+    /**
+     * Method to get the database entry of the record for a given key, loading the value if it is absent or expired.
+     *
+     * @param key the key to get the record
+     * @return database entry of the record or null if the loader did not return a value
+     */
+    @Override
+    protected DatabaseEntry processAndGetDataEntry(K key) {
+        DatabaseEntry valueEntry = super.processAndGetDataEntry(key);
 
-            LocalDateTime cachedDateTime = cacheObject.getCachedDatetime();
+        if (valueEntry == null && loadAndStoreToCache(key) != null) {
+            valueEntry = getDataEntry(key);
+        }
 
-            if (cachedDateTime != null && isCacheObjectOutDated(cachedDateTime)) {
-                deleteRecord(key); // TODO : Check !!!!! can also be overwritten without delete.
-                value = cacheLoader.load(key);
-                processAndStoreData(null, key, value, true);
-            } else {
-                value = cacheObject.getValueObject();
-            }
+        return valueEntry;
+    }
 
-            if (key != null && value != null) {
-                records.put(key, value);
-            }
+    @Override
+    protected Map.Entry<K, V> processAndGetEntry(DatabaseEntry keyEntry, DatabaseEntry valueEntry) {
+        if (!isRecordExpired(valueEntry)) {
+            return createEntry(keyEntry, valueEntry);
         }
 
-        return records;
+        K key = deserializeKey(keyEntry);
+        deleteRecord(keyEntry); // TODO : Check !!!!! can also be overwritten without delete.
+        V value = cacheLoader.load(key);
+        processAndStoreData(null, key, value, true);
+        return key != null && value != null ? new AbstractMap.SimpleImmutableEntry<>(key, value) : null;
     }
 
     private V loadAndStoreToCache(K key) {
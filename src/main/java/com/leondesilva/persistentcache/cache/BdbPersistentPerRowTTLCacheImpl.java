@@ -6,11 +6,7 @@ import com.leondesilva.persistentcache.cache.model.pojo.CacheObject;
 import com.leondesilva.persistentcache.error.PersistentCacheException;
 
 import java.io.Serializable;
-import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.LinkedHashMap;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -31,6 +27,19 @@ public class BdbPersistentPerRowTTLCacheImpl<K extends Serializable, V extends S
         super(dbName, dbFilePath, maxLogFileSize);
     }
 
+    /**
+     * Constructor to instantiate a BdbCacheImpl with the given configurations
+     *
+     * @param dbName         Database name.
+     * @param dbFilePath     Path to store/open database.
+     * @param maxLogFileSize Max log file size in bytes. Minimum allowed is 1,000,000 bytes (1MB).
+     * @param config         Configurations of the cache.
+     * @throws PersistentCacheException If an error occurs while creating the persistent cache.
+     */
+    public BdbPersistentPerRowTTLCacheImpl(String dbName, String dbFilePath, long maxLogFileSize, PersistentCacheConfig<K, V> config) throws PersistentCacheException {
+        super(dbName, dbFilePath, maxLogFileSize, config);
+    }
+
     @Override
     protected boolean processAndStoreData(Transaction transaction, K key, V value, boolean overwrite) {
         CacheObject<V> cacheObject = new CacheObject<>();
@@ -42,7 +51,7 @@ public class BdbPersistentPerRowTTLCacheImpl<K extends Serializable, V extends S
          */
         cacheObject.setCachedDatetime(null);
 
-        return storeData(transaction, key, cacheObject, overwrite);
+        return storeData(transaction, key, cacheObject, cacheObjectSerializer, overwrite);
     }
 
     @Override
@@ -51,54 +60,20 @@ public class BdbPersistentPerRowTTLCacheImpl<K extends Serializable, V extends S
         cacheObject.setValueObject(value);
         cacheObject.setCachedDatetime(generateCacheExpiryDateTime(cacheExpiryTime, cacheExpiryTimeUnit));
 
-        return storeData(null, key, cacheObject, overwrite);
+        return storeData(null, key, cacheObject, cacheObjectSerializer, overwrite);
     }
 
     @Override
     protected V processAndGetData(K key) {
-        CacheObject<V> cacheObject = getData(key);
-
-        if (cacheObject == null) {
-            return null;
-        }
-
-        LocalDateTime cachedDateTime = cacheObject.getCachedDatetime();
-
-        if (cachedDateTime != null && isCacheObjectOutDated(cachedDateTime)) {
-            deleteRecord(key);
-            return null;
-        }
-
-        return cacheObject.getValueObject();
+        return deserializeValue(processAndGetDataEntry(key));
     }
 
     @Override
-    protected Map<K, V> generateMapOfRecordsFromDatabaseEntries(Map<DatabaseEntry, DatabaseEntry> databaseEntryMap) {
-        Map<K, V> records = new LinkedHashMap<>();
-        List<K> expiredKeys = new LinkedList<>();
-
-        for (Map.Entry<DatabaseEntry, DatabaseEntry> keyValue : databaseEntryMap.entrySet()) {
-            K key = deserialize(keyValue.getKey().getData());
-            CacheObject<V> cacheObject = deserialize(keyValue.getValue().getData());
-
-            if (cacheObject == null) {
-                continue;
-            }
-
-            LocalDateTime cachedDateTime = cacheObject.getCachedDatetime();
-
-            if (cachedDateTime != null && isCacheObjectOutDated(cachedDateTime)) {
-                expiredKeys.add(key);
-
-            } else {
-                V value = cacheObject.getValueObject();
-
-                if (key != null && value != null) {
-                    records.put(key, value);
-                }
-            }
+    protected Map.Entry<K, V> processAndGetEntry(DatabaseEntry keyEntry, DatabaseEntry valueEntry) {
+        if (isRecordExpired(valueEntry)) {
+            return null;
         }
 
-        return records;
+        return createEntry(keyEntry, valueEntry);
     }
 }
@@ -8,7 +8,6 @@ import com.leondesilva.persistentcache.error.PersistentCacheException;
 import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -30,7 +29,22 @@ public class BdbPersistentTTLCacheImpl<K extends Serializable, V extends Seriali
      * @throws PersistentCacheException If an error occurs while creating the persistent cache.
      */
     public BdbPersistentTTLCacheImpl(String dbName, String dbFilePath, long maxLogFileSize, long cacheExpiryTime, ChronoUnit cacheExpiryTimeUnit) throws PersistentCacheException {
-        super(dbName, dbFilePath, maxLogFileSize);
+        this(dbName, dbFilePath, maxLogFileSize, cacheExpiryTime, cacheExpiryTimeUnit, new PersistentCacheConfig<>());
+    }
+
+    /**
+     * Constructor to instantiate a BdbCacheImpl with the given configurations
+     *
+     * @param dbName              Database name.
+     * @param dbFilePath          Path to store/open database.
+     * @param maxLogFileSize      Max log file size in bytes. Minimum allowed is 1,000,000 bytes (1MB).
+     * @param cacheExpiryTime     Cache expiry time.
+     * @param cacheExpiryTimeUnit Cache expiry time unit.
+     * @param config              Configurations of the cache.
+     * @throws PersistentCacheException If an error occurs while creating the persistent cache.
+     */
+    public BdbPersistentTTLCacheImpl(String dbName, String dbFilePath, long maxLogFileSize, long cacheExpiryTime, ChronoUnit cacheExpiryTimeUnit, PersistentCacheConfig<K, V> config) throws PersistentCacheException {
+        super(dbName, dbFilePath, maxLogFileSize, config);
         this.cacheExpiryTime = cacheExpiryTime;
         this.cacheExpiryTimeUnit = cacheExpiryTimeUnit;
     }
@@ -51,7 +65,12 @@ public class BdbPersistentTTLCacheImpl<K extends Serializable, V extends Seriali
         cacheObject.setValueObject(value);
         cacheObject.setCachedDatetime(generateCacheExpiryDateTime(this.cacheExpiryTime, this.cacheExpiryTimeUnit));
 
-        return storeData(transaction, key, cacheObject, overwrite);
+        return storeData(transaction, key, cacheObject, cacheObjectSerializer, overwrite);
+    }
+
+    @Override
+    protected LocalDateTime getDefaultCacheExpiryDateTime() {
+        return generateCacheExpiryDateTime(this.cacheExpiryTime, this.cacheExpiryTimeUnit);
     }
 
     @Override
@@ -61,47 +80,17 @@ public class BdbPersistentTTLCacheImpl<K extends Serializable, V extends Seriali
 
     @Override
     protected V processAndGetData(K key) {
-        CacheObject<V> cacheObject = getData(key);
-
-        if (cacheObject == null) {
-            return null;
-        }
-
-        LocalDateTime cachedDateTime = cacheObject.getCachedDatetime();
-
-        if (cachedDateTime != null && isCacheObjectOutDated(cachedDateTime)) {
-            deleteRecord(key);
-            return null;
-        }
-
-        return cacheObject.getValueObject();
+        return deserializeValue(processAndGetDataEntry(key));
     }
 
     @Override
-    protected Map<K, V> generateMapOfRecordsFromDatabaseEntries(Map<DatabaseEntry, DatabaseEntry> databaseEntryMap) {
-        Map<K, V> records = new LinkedHashMap<>();
-
-        for (Map.Entry<DatabaseEntry, DatabaseEntry> keyValue : databaseEntryMap.entrySet()) {
-            K key = deserialize(keyValue.getKey().getData());
-            CacheObject<V> cacheObject = deserialize(keyValue.getValue().getData());
-
-            if (cacheObject == null) {
-                continue;
-            }
-
-            LocalDateTime cachedDateTime = cacheObject.getCachedDatetime();
-
-            if (cachedDateTime != null && isCacheObjectOutDated(cachedDateTime)) {
-                deleteRecord(key);
-            } else {
-                V value = cacheObject.getValueObject();
-
-                if (key != null && value != null) {
-                    records.put(key, value);
-                }
-            }
+    protected Map.Entry<K, V> processAndGetEntry(DatabaseEntry keyEntry, DatabaseEntry valueEntry) {
+        // Expired records are deleted using the header, without de-serializing the key or the value.
+        if (isRecordExpired(valueEntry)) {
+            deleteRecord(keyEntry);
+            return null;
         }
 
-        return records;
+        return createEntry(keyEntry, valueEntry);
     }
 }
@@ -0,0 +1,18 @@
+package com.leondesilva.persistentcache.cache;
+
+import com.leondesilva.persistentcache.cache.model.pojo.BulkLoadStats;
+
+/**
+ * Listener of the progress of a bulk load of a cache.
+ *
+ */
+@FunctionalInterface
+public interface BulkLoadListener {
+
+    /**
+     * Method called each time a batch of records is loaded.
+     *
+     * @param stats the number of records loaded so far and the time spent
+     */
+    public void onProgress(BulkLoadStats stats);
+}
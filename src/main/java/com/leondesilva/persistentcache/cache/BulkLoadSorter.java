@@ -0,0 +1,307 @@
+package com.leondesilva.persistentcache.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * External sort of the serialized keys and records of a bulk load, so that records given in any order are inserted
+ * in the order of the B-tree however many there are.
+ *
+ * Records are kept in memory until they hold the max run size, and are then sorted by their serialized keys and
+ * written to a run file. When all records are added, the runs are merged and the records are written in the order
+ * of their keys. If all records fit in memory, they are sorted and written without run files.
+ *
+ * A key which was added more than once is written once with the record which was added last, as if the records
+ * were put one after the other.
+ *
+ */
+class BulkLoadSorter {
+    private static final String RUN_FILE_PREFIX = "bulk-load-run-";
+    private static final String RUN_FILE_SUFFIX = ".tmp";
+    private static final int ENTRY_OVERHEAD = 64;
+    private static final int RUN_BUFFER_SIZE = 64 * 1024;
+
+    private final File directory;
+    private final long maxRunSize;
+    private final List<SortEntry> entries = new ArrayList<>();
+    private final List<Run> runs = new ArrayList<>();
+    private long entriesSize;
+    private long sequence;
+
+    /**
+     * Constructor to instantiate a BulkLoadSorter.
+     *
+     * @param directory  the directory of the run files
+     * @param maxRunSize the max number of bytes of records kept in memory before they are written to a run file
+     */
+    BulkLoadSorter(File directory, long maxRunSize) {
+        this.directory = directory;
+        this.maxRunSize = maxRunSize;
+    }
+
+    /**
+     * Method to add a copy of a serialized key and record.
+     *
+     * @param key          the array holding the key
+     * @param keyOffset    offset of the key
+     * @param keyLength    length of the key
+     * @param record       the array holding the record
+     * @param recordOffset offset of the record
+     * @param recordLength length of the record
+     * @throws IOException if an error occurs while writing a run file
+     */
+    void add(byte[] key, int keyOffset, int keyLength, byte[] record, int recordOffset, int recordLength) throws IOException {
+        entries.add(new SortEntry(Arrays.copyOfRange(key, keyOffset, keyOffset + keyLength),
+                Arrays.copyOfRange(record, recordOffset, recordOffset + recordLength), sequence++));
+        entriesSize += keyLength + recordLength + ENTRY_OVERHEAD;
+
+        if (entriesSize >= maxRunSize) {
+            writeRun();
+        }
+    }
+
+    /**
+     * Method to get the number of run files written so far.
+     *
+     * @return the number of runs
+     */
+    int getRunCount() {
+        return runs.size();
+    }
+
+    /**
+     * Method to write all added records in the order of their serialized keys.
+     *
+     * @param writer the writer of the records
+     * @return true if all records were written and false if a record could not be written
+     * @throws IOException if an error occurs while writing or reading a run file
+     */
+    boolean writeSorted(RecordWriter writer) throws IOException {
+        Iterator<SortEntry> sortedEntries;
+
+        if (runs.isEmpty()) {
+            entries.sort(SortEntry.ORDER);
+            sortedEntries = entries.iterator();
+        } else {
+            if (!entries.isEmpty()) {
+                writeRun();
+            }
+
+            sortedEntries = new MergeIterator(runs);
+        }
+
+        try {
+            SortEntry pending = null;
+
+            while (sortedEntries.hasNext()) {
+                SortEntry entry = sortedEntries.next();
+
+                if (pending != null && !Arrays.equals(pending.key, entry.key) && !writer.write(pending.key, pending.record)) {
+                    return false;
+                }
+
+                pending = entry;
+            }
+
+            return pending == null || writer.write(pending.key, pending.record);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            if (sortedEntries instanceof MergeIterator) {
+                ((MergeIterator) sortedEntries).close();
+            }
+        }
+    }
+
+    /**
+     * Method to discard the records kept in memory and delete the run files.
+     */
+    void close() {
+        entries.clear();
+
+        for (Run run : runs) {
+            if (!run.file.delete()) {
+                run.file.deleteOnExit();
+            }
+        }
+
+        runs.clear();
+    }
+
+    /**
+     * Method to sort the records kept in memory and write them to a new run file.
+     *
+     * @throws IOException if an error occurs while writing the run file
+     */
+    private void writeRun() throws IOException {
+        entries.sort(SortEntry.ORDER);
+        File file = File.createTempFile(RUN_FILE_PREFIX, RUN_FILE_SUFFIX, directory);
+        runs.add(new Run(file, entries.size()));
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), RUN_BUFFER_SIZE))) {
+            for (SortEntry entry : entries) {
+                out.writeInt(entry.key.length);
+                out.write(entry.key);
+                out.writeInt(entry.record.length);
+                out.write(entry.record);
+                out.writeLong(entry.sequence);
+            }
+        }
+
+        entries.clear();
+        entriesSize = 0;
+    }
+
+    /**
+     * Writer of the sorted records of a bulk load.
+     */
+    interface RecordWriter {
+
+        /**
+         * Method to write a serialized key and record.
+         *
+         * @param key    the key
+         * @param record the record
+         * @return true if the record is written and false if not
+         */
+        boolean write(byte[] key, byte[] record);
+    }
+
+    /**
+     * Serialized key and record with the position in which it was added, which orders records of the same key.
+     */
+    private static final class SortEntry {
+        private static final Comparator<SortEntry> ORDER = (entry1, entry2) -> {
+            int result = BaseBdbPersistentCache.compareKeys(entry1.key, entry2.key);
+            return result != 0 ? result : Long.compare(entry1.sequence, entry2.sequence);
+        };
+
+        private final byte[] key;
+        private final byte[] record;
+        private final long sequence;
+
+        private SortEntry(byte[] key, byte[] record, long sequence) {
+            this.key = key;
+            this.record = record;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * Run file holding sorted records.
+     */
+    private static final class Run {
+        private final File file;
+        private final int size;
+
+        private Run(File file, int size) {
+            this.file = file;
+            this.size = size;
+        }
+    }
+
+    /**
+     * Reader of the records of a run file, holding the record which is next in the run.
+     */
+    private static final class RunReader {
+        private final DataInputStream in;
+        private int remaining;
+        private SortEntry current;
+
+        private RunReader(Run run) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(new FileInputStream(run.file), RUN_BUFFER_SIZE));
+            this.remaining = run.size;
+        }
+
+        private boolean advance() throws IOException {
+            if (remaining == 0) {
+                current = null;
+                return false;
+            }
+
+            byte[] key = new byte[in.readInt()];
+            in.readFully(key);
+            byte[] record = new byte[in.readInt()];
+            in.readFully(record);
+            current = new SortEntry(key, record, in.readLong());
+            remaining--;
+            return true;
+        }
+    }
+
+    /**
+     * Iterator of the records of all runs in the order of their keys, merged with a priority queue holding the next
+     * record of each run.
+     */
+    private static final class MergeIterator implements Iterator<SortEntry> {
+        private final PriorityQueue<RunReader> queue = new PriorityQueue<>(
+                (reader1, reader2) -> SortEntry.ORDER.compare(reader1.current, reader2.current));
+        private final List<RunReader> readers = new ArrayList<>();
+
+        private MergeIterator(List<Run> runs) throws IOException {
+            try {
+                for (Run run : runs) {
+                    RunReader reader = new RunReader(run);
+                    readers.add(reader);
+
+                    if (reader.advance()) {
+                        queue.add(reader);
+                    }
+                }
+            } catch (IOException e) {
+                close();
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !queue.isEmpty();
+        }
+
+        @Override
+        public SortEntry next() {
+            RunReader reader = queue.poll();
+
+            if (reader == null) {
+                throw new NoSuchElementException();
+            }
+
+            SortEntry entry = reader.current;
+
+            try {
+                if (reader.advance()) {
+                    queue.add(reader);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            return entry;
+        }
+
+        private void close() {
+            for (RunReader reader : readers) {
+                try {
+                    reader.in.close();
+                } catch (IOException e) {
+                    // The run file is deleted after the merge.
+                }
+            }
+        }
+    }
+}
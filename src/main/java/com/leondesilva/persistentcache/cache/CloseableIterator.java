@@ -0,0 +1,16 @@
+package com.leondesilva.persistentcache.cache;
+
+import java.util.Iterator;
+
+/**
+ * Interface for an iterator which holds resources until it is fully read or closed.
+ * An iterator which is not fully read should be closed, for example using try-with-resources.
+ *
+ */
+public interface CloseableIterator<T> extends Iterator<T>, AutoCloseable {
+    /**
+     * Method to close the iterator. Calling hasNext after closing returns false.
+     */
+    @Override
+    public void close();
+}
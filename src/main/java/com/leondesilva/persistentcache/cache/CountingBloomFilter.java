@@ -0,0 +1,244 @@
+package com.leondesilva.persistentcache.cache;
+
+import com.leondesilva.persistentcache.serializer.BinaryUtils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counting Bloom filter of serialized keys, made of 4-bit counters so that keys can be removed as well as added.
+ * A key which was added and not removed is always reported as possibly contained, and a key which was never added
+ * is reported as possibly contained only with the false positive probability of the filter.
+ *
+ * A counter which reaches its max value is never decremented again, so that removing other keys never makes a key
+ * which is still contained look absent. Counters are updated atomically, so that the filter can be used by
+ * concurrent threads.
+ *
+ */
+class CountingBloomFilter {
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_LENGTH = 25;
+    private static final long MAX_COUNT = 15;
+    private static final long MAX_COUNTER_COUNT = 1L << 32;
+
+    private final AtomicLongArray counters;
+    private final long counterCount;
+    private final int hashCount;
+    private final AtomicLong keyCount = new AtomicLong();
+
+    /**
+     * Constructor to instantiate a CountingBloomFilter sized for the given number of keys and false positive probability.
+     *
+     * @param expectedKeys      the expected number of keys
+     * @param falsePositiveRate the false positive probability when the filter holds the expected number of keys
+     */
+    CountingBloomFilter(long expectedKeys, double falsePositiveRate) {
+        this(counterCount(expectedKeys, falsePositiveRate), hashCount(expectedKeys, counterCount(expectedKeys, falsePositiveRate)));
+    }
+
+    private CountingBloomFilter(long counterCount, int hashCount) {
+        this.counters = new AtomicLongArray((int) ((counterCount + 15) / 16));
+        this.counterCount = counters.length() * 16L;
+        this.hashCount = hashCount;
+    }
+
+    /**
+     * Method to get the hash of a serialized key, which is used to add, remove and look up the key.
+     *
+     * @param key    the array holding the key
+     * @param offset offset of the key
+     * @param length length of the key
+     * @return the hash of the key
+     */
+    static long hash(byte[] key, int offset, int length) {
+        long hash = 0xcbf29ce484222325L;
+
+        for (int i = offset; i < offset + length; i++) {
+            hash = (hash ^ (key[i] & 0xFF)) * 0x100000001b3L;
+        }
+
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    /**
+     * Method to check whether a key may have been added.
+     *
+     * @param hash the hash of the key
+     * @return false if the key is not contained and true if it may be contained
+     */
+    boolean mightContain(long hash) {
+        for (int i = 0; i < hashCount; i++) {
+            if (getCounter(counterIndex(hash, i)) == 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Method to add a key.
+     *
+     * @param hash the hash of the key
+     */
+    void add(long hash) {
+        for (int i = 0; i < hashCount; i++) {
+            updateCounter(counterIndex(hash, i), 1);
+        }
+
+        keyCount.incrementAndGet();
+    }
+
+    /**
+     * Method to remove a key, which must have been added before.
+     *
+     * @param hash the hash of the key
+     */
+    void remove(long hash) {
+        for (int i = 0; i < hashCount; i++) {
+            updateCounter(counterIndex(hash, i), -1);
+        }
+
+        keyCount.decrementAndGet();
+    }
+
+    /**
+     * Method to remove all keys.
+     */
+    void clear() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+
+        keyCount.set(0);
+    }
+
+    /**
+     * Method to get the number of keys added and not removed.
+     *
+     * @return the number of keys
+     */
+    long getKeyCount() {
+        return Math.max(0, keyCount.get());
+    }
+
+    /**
+     * Method to get the false positive probability for the number of keys the filter currently holds.
+     *
+     * @return the expected false positive rate
+     */
+    double getExpectedFalsePositiveRate() {
+        double keys = Math.max(0, keyCount.get());
+        return Math.pow(1 - Math.exp(-hashCount * keys / counterCount), hashCount);
+    }
+
+    /**
+     * Method to check whether the filter has the same size as a filter created with the given configurations.
+     *
+     * @param expectedKeys      the expected number of keys
+     * @param falsePositiveRate the false positive probability
+     * @return true if the sizes are the same and false if not
+     */
+    boolean hasSameSize(long expectedKeys, double falsePositiveRate) {
+        long otherCounterCount = counterCount(expectedKeys, falsePositiveRate);
+        return counterCount == (otherCounterCount + 15) / 16 * 16 && hashCount == hashCount(expectedKeys, otherCounterCount);
+    }
+
+    /**
+     * Method to write the filter to an array.
+     *
+     * @return the array holding the filter
+     */
+    byte[] toBytes() {
+        byte[] data = new byte[HEADER_LENGTH + counters.length() * 8];
+        data[0] = FORMAT_VERSION;
+        BinaryUtils.writeLong(data, 1, counterCount);
+        BinaryUtils.writeInt(data, 9, hashCount);
+        BinaryUtils.writeLong(data, 13, keyCount.get());
+        BinaryUtils.writeInt(data, 21, counters.length());
+
+        for (int i = 0; i < counters.length(); i++) {
+            BinaryUtils.writeLong(data, HEADER_LENGTH + i * 8, counters.get(i));
+        }
+
+        return data;
+    }
+
+    /**
+     * Method to read a filter written by {@link #toBytes()}.
+     *
+     * @param data   the array holding the filter
+     * @param offset offset of the filter
+     * @param length length of the filter
+     * @return the filter or null if the data is not a filter of a known format
+     */
+    static CountingBloomFilter fromBytes(byte[] data, int offset, int length) {
+        if (length < HEADER_LENGTH || data[offset] != FORMAT_VERSION) {
+            return null;
+        }
+
+        int wordCount = BinaryUtils.readInt(data, offset + 21);
+
+        if (wordCount <= 0 || length != HEADER_LENGTH + wordCount * 8L || BinaryUtils.readLong(data, offset + 1) != wordCount * 16L) {
+            return null;
+        }
+
+        CountingBloomFilter filter = new CountingBloomFilter(BinaryUtils.readLong(data, offset + 1), BinaryUtils.readInt(data, offset + 9));
+        filter.keyCount.set(BinaryUtils.readLong(data, offset + 13));
+
+        for (int i = 0; i < wordCount; i++) {
+            filter.counters.set(i, BinaryUtils.readLong(data, offset + HEADER_LENGTH + i * 8));
+        }
+
+        return filter;
+    }
+
+    private long counterIndex(long hash, int i) {
+        long combined = (hash >>> 32) + i * (hash & 0xFFFFFFFFL | 1);
+        return (combined & Long.MAX_VALUE) % counterCount;
+    }
+
+    private long getCounter(long index) {
+        return (counters.get((int) (index >>> 4)) >>> counterShift(index)) & MAX_COUNT;
+    }
+
+    /**
+     * Method to increment or decrement a counter, unless it is at its max value or would become negative.
+     *
+     * @param index the index of the counter
+     * @param delta 1 to increment and -1 to decrement
+     */
+    private void updateCounter(long index, int delta) {
+        int wordIndex = (int) (index >>> 4);
+        int shift = counterShift(index);
+
+        while (true) {
+            long word = counters.get(wordIndex);
+            long count = (word >>> shift) & MAX_COUNT;
+
+            if (count == MAX_COUNT || (count == 0 && delta < 0)) {
+                return;
+            }
+
+            if (counters.compareAndSet(wordIndex, word, word + ((long) delta << shift))) {
+                return;
+            }
+        }
+    }
+
+    private static int counterShift(long index) {
+        return (int) (index & 15) << 2;
+    }
+
+    private static long counterCount(long expectedKeys, double falsePositiveRate) {
+        double keys = Math.max(1, expectedKeys);
+        long counterCount = (long) Math.ceil(-keys * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        return Math.min(MAX_COUNTER_COUNT, Math.max(64, counterCount));
+    }
+
+    private static int hashCount(long expectedKeys, long counterCount) {
+        return Math.max(1, (int) Math.round((double) counterCount / Math.max(1, expectedKeys) * Math.log(2)));
+    }
+}
@@ -0,0 +1,25 @@
+package com.leondesilva.persistentcache.cache;
+
+/**
+ * Durability of the writes of a persistent cache when the process or the machine crashes.
+ *
+ */
+public enum DurabilityPolicy {
+    /**
+     * A commit waits until the log is written and flushed to disk, so that committed writes survive a crash of the
+     * machine.
+     */
+    SYNC,
+
+    /**
+     * A commit waits until the log is written to the file system without flushing it to disk, so that committed
+     * writes survive a crash of the process but may be lost if the machine crashes.
+     */
+    WRITE_NO_SYNC,
+
+    /**
+     * A commit does not wait for the log to be written, so that committed writes which are still in the log buffer
+     * are lost if the process crashes. This gives the highest write throughput.
+     */
+    NO_SYNC
+}
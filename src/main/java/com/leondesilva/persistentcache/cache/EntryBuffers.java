@@ -0,0 +1,63 @@
+package com.leondesilva.persistentcache.cache;
+
+import com.leondesilva.persistentcache.serializer.DataBuffer;
+import com.sleepycat.je.DatabaseEntry;
+
+/**
+ * Class to hold the serialization buffers and database entries reused by a single thread.
+ * Berkeley DB copies the data of an entry when it is written, so the same buffers can be used for every operation.
+ * Records are read into a new array allocated by Berkeley DB, so only the read entry itself is reused.
+ *
+ */
+class EntryBuffers {
+    private final DataBuffer keyBuffer = new DataBuffer();
+    private final DataBuffer valueBuffer = new DataBuffer();
+    private final DatabaseEntry keyEntry = new DatabaseEntry();
+    private final DatabaseEntry valueEntry = new DatabaseEntry();
+    private final DatabaseEntry readEntry = new DatabaseEntry();
+
+    /**
+     * Method to get the key buffer.
+     *
+     * @return the key buffer
+     */
+    DataBuffer getKeyBuffer() {
+        return keyBuffer;
+    }
+
+    /**
+     * Method to get the value buffer.
+     *
+     * @return the value buffer
+     */
+    DataBuffer getValueBuffer() {
+        return valueBuffer;
+    }
+
+    /**
+     * Method to get the key entry.
+     *
+     * @return the key entry
+     */
+    DatabaseEntry getKeyEntry() {
+        return keyEntry;
+    }
+
+    /**
+     * Method to get the value entry.
+     *
+     * @return the value entry
+     */
+    DatabaseEntry getValueEntry() {
+        return valueEntry;
+    }
+
+    /**
+     * Method to get the entry used to read records.
+     *
+     * @return the read entry
+     */
+    DatabaseEntry getReadEntry() {
+        return readEntry;
+    }
+}
@@ -0,0 +1,95 @@
+package com.leondesilva.persistentcache.cache;
+
+/**
+ * Count-min sketch of 4-bit counters used to estimate how often keys were accessed recently.
+ * All counters are halved once the number of additions reaches the sample size, so that the estimates follow
+ * the recent access pattern instead of the whole history. This class is not thread safe.
+ *
+ */
+class FrequencySketch {
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAX_COUNT = 15;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int additions;
+
+    /**
+     * Constructor to instantiate a FrequencySketch
+     *
+     * @param maximumSize the max number of entries of the cache the frequencies are estimated for
+     */
+    FrequencySketch(int maximumSize) {
+        int length = Integer.highestOneBit(Math.max(16, Math.min(maximumSize, 1 << 30)) - 1) << 1;
+        table = new long[length];
+        tableMask = length - 1;
+        sampleSize = 10 * length;
+    }
+
+    /**
+     * Method to get the estimated number of recent accesses of a key.
+     *
+     * @param hash the hash code of the key
+     * @return the estimated frequency, at most 15
+     */
+    int frequency(int hash) {
+        int frequency = MAX_COUNT;
+
+        for (int i = 0; i < SEEDS.length; i++) {
+            long counterHash = counterHash(hash, i);
+            frequency = Math.min(frequency, (int) ((table[tableIndex(counterHash)] >>> counterShift(counterHash)) & MAX_COUNT));
+        }
+
+        return frequency;
+    }
+
+    /**
+     * Method to record an access of a key.
+     *
+     * @param hash the hash code of the key
+     */
+    void increment(int hash) {
+        boolean added = false;
+
+        for (int i = 0; i < SEEDS.length; i++) {
+            long counterHash = counterHash(hash, i);
+            int index = tableIndex(counterHash);
+            int shift = counterShift(counterHash);
+
+            if (((table[index] >>> shift) & MAX_COUNT) < MAX_COUNT) {
+                table[index] += 1L << shift;
+                added = true;
+            }
+        }
+
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * Method to halve all counters.
+     */
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+
+        additions >>>= 1;
+    }
+
+    private static long counterHash(int hash, int depth) {
+        long result = (hash + SEEDS[depth]) * SEEDS[depth];
+        return result ^ (result >>> 32);
+    }
+
+    private int tableIndex(long counterHash) {
+        return (int) (counterHash >>> 4) & tableMask;
+    }
+
+    private static int counterShift(long counterHash) {
+        return ((int) counterHash & 15) << 2;
+    }
+}
@@ -0,0 +1,323 @@
+package com.leondesilva.persistentcache.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded in-memory tier of de-serialized values kept in front of the Berkeley DB store.
+ *
+ * Entries are admitted and evicted with the W-TinyLFU policy. New entries go to a small LRU window, and an entry
+ * leaving the window only replaces the LRU entry of the main segmented LRU if it has been accessed more often
+ * according to a {@link FrequencySketch}. This keeps the frequently read keys in memory even when many keys are
+ * read only once.
+ *
+ * Lookups read a concurrent map without locking. Accesses are recorded in the eviction order only if the lock is
+ * free, so that contended reads do not wait for each other. Each entry keeps the expiry time of its record and is
+ * not returned after it expires.
+ *
+ * Writes to the store invalidate the entries of their keys. A value read from the store is only added if no key of
+ * the same stripe was invalidated since the read started, so that a value read before a concurrent write is not
+ * added after the write has invalidated the entry.
+ *
+ */
+class NearCache<V> {
+    private static final int STAMP_STRIPES = 64;
+    private static final int WINDOW_PERCENTAGE = 1;
+    private static final int PROTECTED_PERCENTAGE = 80;
+
+    private final Map<Object, Node<V>> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicLongArray stamps = new AtomicLongArray(STAMP_STRIPES);
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final FrequencySketch sketch;
+    private final int maximumSize;
+    private final int windowMaximumSize;
+    private final int protectedMaximumSize;
+    private final Node<V> window = new Node<>();
+    private final Node<V> probation = new Node<>();
+    private final Node<V> protectedSegment = new Node<>();
+    private int windowSize;
+    private int protectedSize;
+
+    /**
+     * Constructor to instantiate a NearCache
+     *
+     * @param maximumSize the max number of entries
+     */
+    NearCache(int maximumSize) {
+        this.maximumSize = maximumSize;
+        this.windowMaximumSize = Math.max(1, maximumSize * WINDOW_PERCENTAGE / 100);
+        this.protectedMaximumSize = (maximumSize - windowMaximumSize) * PROTECTED_PERCENTAGE / 100;
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    /**
+     * Method to get the value of a key, if it is in memory and not expired.
+     *
+     * @param key       the key
+     * @param nowMillis the current time as epoch millis
+     * @return the value or null if the key is not in memory or is expired
+     */
+    V get(Object key, long nowMillis) {
+        Node<V> node = entries.get(key);
+        boolean hit = node != null && node.expiryMillis >= nowMillis;
+
+        if (lock.tryLock()) {
+            try {
+                sketch.increment(key.hashCode());
+
+                if (hit && node.segment != null) {
+                    onAccess(node);
+                } else if (node != null && node.segment != null && !hit) {
+                    remove(node);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        if (hit) {
+            hitCount.incrementAndGet();
+            return node.value;
+        }
+
+        missCount.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Method to get the invalidation stamp of a key, to be taken before its value is read from the store.
+     *
+     * @param key the key
+     * @return the stamp
+     */
+    long getStamp(Object key) {
+        return stamps.get(stripe(key));
+    }
+
+    /**
+     * Method to add a value read from the store, unless a key of the same stripe was invalidated after the given
+     * stamp was taken.
+     *
+     * @param key          the key
+     * @param value        the value
+     * @param expiryMillis the expiry time of the record as epoch millis
+     * @param stamp        the stamp taken before the value was read
+     */
+    void put(Object key, V value, long expiryMillis, long stamp) {
+        lock.lock();
+
+        try {
+            if (stamps.get(stripe(key)) != stamp) {
+                return;
+            }
+
+            Node<V> node = entries.get(key);
+
+            if (node != null) {
+                node.value = value;
+                node.expiryMillis = expiryMillis;
+                onAccess(node);
+                return;
+            }
+
+            node = new Node<>(key, value, expiryMillis);
+            entries.put(key, node);
+            addFirst(window, node);
+            windowSize++;
+            evict();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method to remove the entry of a key. This must be called after the write to the store is committed.
+     *
+     * @param key the key
+     */
+    void invalidate(Object key) {
+        lock.lock();
+
+        try {
+            stamps.incrementAndGet(stripe(key));
+            Node<V> node = entries.get(key);
+
+            if (node != null) {
+                remove(node);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method to remove all entries. This must be called after the write to the store is committed.
+     */
+    void invalidateAll() {
+        lock.lock();
+
+        try {
+            for (int i = 0; i < STAMP_STRIPES; i++) {
+                stamps.incrementAndGet(i);
+            }
+
+            entries.clear();
+            clear(window);
+            clear(probation);
+            clear(protectedSegment);
+            windowSize = 0;
+            protectedSize = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method to get the number of entries.
+     *
+     * @return the number of entries
+     */
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Method to get the number of lookups which found a value.
+     *
+     * @return the hit count
+     */
+    long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Method to get the number of lookups which did not find a value.
+     *
+     * @return the miss count
+     */
+    long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Method to move an accessed entry in the eviction order. An entry of the probation segment is promoted to the
+     * protected segment, demoting the LRU entry of the protected segment if it is full.
+     *
+     * @param node the accessed entry
+     */
+    private void onAccess(Node<V> node) {
+        if (node.segment == probation) {
+            unlink(node);
+            addFirst(protectedSegment, node);
+            protectedSize++;
+
+            if (protectedSize > protectedMaximumSize) {
+                Node<V> demoted = protectedSegment.previous;
+                unlink(demoted);
+                protectedSize--;
+                addFirst(probation, demoted);
+            }
+        } else {
+            Node<V> segment = node.segment;
+            unlink(node);
+            addFirst(segment, node);
+        }
+    }
+
+    /**
+     * Method to move the entries leaving the window to the probation segment and evict entries until the cache
+     * is within its max size. The entry which left the window is evicted instead of the LRU entry of the probation
+     * segment unless it has been accessed more often.
+     */
+    private void evict() {
+        while (windowSize > windowMaximumSize) {
+            Node<V> candidate = window.previous;
+            unlink(candidate);
+            windowSize--;
+            addFirst(probation, candidate);
+
+            if (entries.size() > maximumSize) {
+                Node<V> victim = probation.previous;
+
+                if (victim != candidate && sketch.frequency(candidate.key.hashCode()) > sketch.frequency(victim.key.hashCode())) {
+                    remove(victim);
+                } else {
+                    remove(candidate);
+                }
+            }
+        }
+
+        while (entries.size() > maximumSize) {
+            Node<V> victim = probation.previous != probation ? probation.previous : protectedSegment.previous;
+            remove(victim);
+        }
+    }
+
+    private void remove(Node<V> node) {
+        entries.remove(node.key, node);
+
+        if (node.segment == window) {
+            windowSize--;
+        } else if (node.segment == protectedSegment) {
+            protectedSize--;
+        }
+
+        unlink(node);
+    }
+
+    private static <V> void addFirst(Node<V> segment, Node<V> node) {
+        node.segment = segment;
+        node.previous = segment;
+        node.next = segment.next;
+        segment.next.previous = node;
+        segment.next = node;
+    }
+
+    private static <V> void unlink(Node<V> node) {
+        node.previous.next = node.next;
+        node.next.previous = node.previous;
+        node.previous = null;
+        node.next = null;
+        node.segment = null;
+    }
+
+    private static <V> void clear(Node<V> segment) {
+        segment.next = segment;
+        segment.previous = segment;
+    }
+
+    private static int stripe(Object key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (STAMP_STRIPES - 1);
+    }
+
+    /**
+     * Entry of the cache, linked in the LRU order of its segment. The head node of each segment links to itself
+     * when the segment is empty.
+     */
+    private static final class Node<V> {
+        private final Object key;
+        private volatile V value;
+        private volatile long expiryMillis;
+        private Node<V> segment;
+        private Node<V> previous;
+        private Node<V> next;
+
+        private Node() {
+            this.key = null;
+            this.previous = this;
+            this.next = this;
+        }
+
+        private Node(Object key, V value, long expiryMillis) {
+            this.key = key;
+            this.value = value;
+            this.expiryMillis = expiryMillis;
+        }
+    }
+}
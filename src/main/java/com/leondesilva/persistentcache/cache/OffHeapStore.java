@@ -0,0 +1,356 @@
+package com.leondesilva.persistentcache.cache;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Off-heap tier of serialized records kept in front of the Berkeley DB store, sized independently of the heap.
+ *
+ * Records are appended with their keys to fixed size slabs of direct memory, which are used as a ring. When the ring
+ * is full, the oldest slab is reused and all of its records are evicted, so that there is no fragmentation and no
+ * per record allocation. Records are found through an open addressing hash index kept in two arrays, which holds the
+ * hash of each key and the address of its record in the slabs without creating an object per record.
+ *
+ * Writes to the store invalidate the records of their keys. A record read from the store is only added if no key of
+ * the same stripe was invalidated since the read started, so that a record read before a concurrent write is not
+ * added after the write has invalidated the key.
+ *
+ */
+class OffHeapStore {
+    private static final int ENTRY_HEADER_LENGTH = 8;
+    private static final int STAMP_STRIPES = 64;
+    private static final int INITIAL_INDEX_CAPACITY = 1024;
+
+    private final ByteBuffer[] slabs;
+    private final int[] slabEnds;
+    private final int slabSize;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicLongArray stamps = new AtomicLongArray(STAMP_STRIPES);
+    private int currentSlab;
+    private int writeOffset;
+    private int[] hashes;
+    private long[] addresses;
+    private int indexMask;
+    private int size;
+
+    /**
+     * Constructor to instantiate an OffHeapStore. Slabs are allocated when they are first written.
+     *
+     * @param capacity the total size of the slabs in bytes
+     * @param slabSize the size of a slab in bytes, which is also the max size of a key and its record
+     */
+    OffHeapStore(long capacity, int slabSize) {
+        int slabCount = (int) Math.max(2, Math.min(Integer.MAX_VALUE, capacity / slabSize));
+        this.slabs = new ByteBuffer[slabCount];
+        this.slabEnds = new int[slabCount];
+        this.slabSize = slabSize;
+        resetIndex(INITIAL_INDEX_CAPACITY);
+    }
+
+    /**
+     * Method to get a copy of the record of a serialized key.
+     *
+     * @param key    the array holding the key
+     * @param offset offset of the key
+     * @param length length of the key
+     * @return the record or null if the key is not in the store
+     */
+    byte[] get(byte[] key, int offset, int length) {
+        int hash = hash(key, offset, length);
+        lock.readLock().lock();
+
+        try {
+            int slot = findSlot(hash, key, offset, length);
+
+            if (slot < 0) {
+                return null;
+            }
+
+            long address = addresses[slot] - 1;
+            ByteBuffer slab = slabs[slabOf(address)].duplicate();
+            int entryOffset = offsetOf(address);
+            byte[] record = new byte[slab.getInt(entryOffset + 4)];
+            slab.position(entryOffset + ENTRY_HEADER_LENGTH + length);
+            slab.get(record);
+            return record;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Method to get the invalidation stamp of a serialized key, to be taken before its record is read from the store.
+     *
+     * @param key    the array holding the key
+     * @param offset offset of the key
+     * @param length length of the key
+     * @return the stamp
+     */
+    long getStamp(byte[] key, int offset, int length) {
+        return stamps.get(stripe(hash(key, offset, length)));
+    }
+
+    /**
+     * Method to add a record read from the store, unless a key of the same stripe was invalidated after the given stamp
+     * was taken. Records which do not fit into a slab are not added.
+     *
+     * @param key          the array holding the key
+     * @param keyOffset    offset of the key
+     * @param keyLength    length of the key
+     * @param record       the array holding the record
+     * @param recordOffset offset of the record
+     * @param recordLength length of the record
+     * @param stamp        the stamp taken before the record was read
+     */
+    void put(byte[] key, int keyOffset, int keyLength, byte[] record, int recordOffset, int recordLength, long stamp) {
+        int entryLength = ENTRY_HEADER_LENGTH + keyLength + recordLength;
+
+        if (entryLength > slabSize) {
+            return;
+        }
+
+        int hash = hash(key, keyOffset, keyLength);
+        lock.writeLock().lock();
+
+        try {
+            if (stamps.get(stripe(hash)) != stamp) {
+                return;
+            }
+
+            int slot = findSlot(hash, key, keyOffset, keyLength);
+
+            if (slot >= 0) {
+                removeSlot(slot);
+            }
+
+            if (writeOffset + entryLength > slabSize) {
+                slabEnds[currentSlab] = writeOffset;
+                currentSlab = (currentSlab + 1) % slabs.length;
+                writeOffset = 0;
+                evictSlab(currentSlab);
+            }
+
+            if (slabs[currentSlab] == null) {
+                slabs[currentSlab] = ByteBuffer.allocateDirect(slabSize);
+            }
+
+            ByteBuffer slab = slabs[currentSlab].duplicate();
+            slab.position(writeOffset);
+            slab.putInt(keyLength);
+            slab.putInt(recordLength);
+            slab.put(key, keyOffset, keyLength);
+            slab.put(record, recordOffset, recordLength);
+            insert(hash, ((long) currentSlab << 32 | writeOffset) + 1);
+            writeOffset += entryLength;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Method to remove the record of a serialized key. This must be called after the record is locked by the write
+     * to the store, so that no read started after the invalidation can read the previous record.
+     *
+     * @param key    the array holding the key
+     * @param offset offset of the key
+     * @param length length of the key
+     */
+    void invalidate(byte[] key, int offset, int length) {
+        int hash = hash(key, offset, length);
+        lock.writeLock().lock();
+
+        try {
+            stamps.incrementAndGet(stripe(hash));
+            int slot = findSlot(hash, key, offset, length);
+
+            if (slot >= 0) {
+                removeSlot(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Method to remove all records. The slabs are kept to be reused.
+     */
+    void clear() {
+        lock.writeLock().lock();
+
+        try {
+            for (int i = 0; i < STAMP_STRIPES; i++) {
+                stamps.incrementAndGet(i);
+            }
+
+            resetIndex(INITIAL_INDEX_CAPACITY);
+            currentSlab = 0;
+            writeOffset = 0;
+
+            for (int i = 0; i < slabEnds.length; i++) {
+                slabEnds[i] = 0;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Method to get the number of records.
+     *
+     * @return the number of records
+     */
+    int size() {
+        lock.readLock().lock();
+
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Method to evict all records of a slab which is about to be reused.
+     *
+     * @param slabIndex the index of the slab
+     */
+    private void evictSlab(int slabIndex) {
+        ByteBuffer slab = slabs[slabIndex];
+
+        for (int entryOffset = 0; entryOffset < slabEnds[slabIndex]; ) {
+            int keyLength = slab.getInt(entryOffset);
+            long address = ((long) slabIndex << 32 | entryOffset) + 1;
+            int hash = hash(slab, entryOffset + ENTRY_HEADER_LENGTH, keyLength);
+
+            for (int slot = hash & indexMask; addresses[slot] != 0; slot = (slot + 1) & indexMask) {
+                if (addresses[slot] == address) {
+                    removeSlot(slot);
+                    break;
+                }
+            }
+
+            entryOffset += ENTRY_HEADER_LENGTH + keyLength + slab.getInt(entryOffset + 4);
+        }
+
+        slabEnds[slabIndex] = 0;
+    }
+
+    private int findSlot(int hash, byte[] key, int offset, int length) {
+        for (int slot = hash & indexMask; addresses[slot] != 0; slot = (slot + 1) & indexMask) {
+            if (hashes[slot] == hash && keyEquals(addresses[slot] - 1, key, offset, length)) {
+                return slot;
+            }
+        }
+
+        return -1;
+    }
+
+    private boolean keyEquals(long address, byte[] key, int offset, int length) {
+        ByteBuffer slab = slabs[slabOf(address)];
+        int entryOffset = offsetOf(address);
+
+        if (slab.getInt(entryOffset) != length) {
+            return false;
+        }
+
+        for (int i = 0; i < length; i++) {
+            if (slab.get(entryOffset + ENTRY_HEADER_LENGTH + i) != key[offset + i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void insert(int hash, long address) {
+        if ((size + 1) * 2 > addresses.length) {
+            int[] oldHashes = hashes;
+            long[] oldAddresses = addresses;
+            resetIndex(addresses.length * 2);
+
+            for (int i = 0; i < oldAddresses.length; i++) {
+                if (oldAddresses[i] != 0) {
+                    insert(oldHashes[i], oldAddresses[i]);
+                }
+            }
+        }
+
+        int slot = hash & indexMask;
+
+        while (addresses[slot] != 0) {
+            slot = (slot + 1) & indexMask;
+        }
+
+        hashes[slot] = hash;
+        addresses[slot] = address;
+        size++;
+    }
+
+    /**
+     * Method to remove a slot of the index, shifting back the following slots of the same probe sequence so that
+     * no tombstones are needed.
+     *
+     * @param slot the slot to remove
+     */
+    private void removeSlot(int slot) {
+        int hole = slot;
+
+        for (int next = (hole + 1) & indexMask; addresses[next] != 0; next = (next + 1) & indexMask) {
+            int ideal = hashes[next] & indexMask;
+
+            if (((next - ideal) & indexMask) >= ((next - hole) & indexMask)) {
+                hashes[hole] = hashes[next];
+                addresses[hole] = addresses[next];
+                hole = next;
+            }
+        }
+
+        addresses[hole] = 0;
+        size--;
+    }
+
+    private void resetIndex(int capacity) {
+        hashes = new int[capacity];
+        addresses = new long[capacity];
+        indexMask = capacity - 1;
+        size = 0;
+    }
+
+    private static int slabOf(long address) {
+        return (int) (address >>> 32);
+    }
+
+    private static int offsetOf(long address) {
+        return (int) address;
+    }
+
+    private static int stripe(int hash) {
+        return (hash ^ (hash >>> 16)) & (STAMP_STRIPES - 1);
+    }
+
+    private static int hash(byte[] key, int offset, int length) {
+        int hash = 1;
+
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + key[i];
+        }
+
+        return spread(hash);
+    }
+
+    private static int hash(ByteBuffer slab, int offset, int length) {
+        int hash = 1;
+
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + slab.get(i);
+        }
+
+        return spread(hash);
+    }
+
+    private static int spread(int hash) {
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
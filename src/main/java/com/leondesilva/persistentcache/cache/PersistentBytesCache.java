@@ -0,0 +1,76 @@
+package com.leondesilva.persistentcache.cache;
+
+import com.leondesilva.persistentcache.error.PersistentCacheException;
+
+import java.nio.ByteBuffer;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Interface for a persistent cache of raw bytes. Keys and values are stored as they are given, without any
+ * serialization, which suits values that are already serialized such as protobuf or avro messages.
+ *
+ * Byte buffers are read from their position to their limit and their position is not changed.
+ * Keys of the map returned by getAll are compared by identity, as is the case for any byte array.
+ *
+ */
+public interface PersistentBytesCache extends PersistentCache<byte[], byte[]> {
+    /**
+     * Method to store a given key and a value.
+     *
+     * @param key   the key to store
+     * @param value the value to store
+     * @return true if success, false if the operation is failed
+     * @throws PersistentCacheException if an error occurs while storing data.
+     */
+    public boolean put(ByteBuffer key, ByteBuffer value) throws PersistentCacheException;
+
+    /**
+     * Method to store a given key and a value with cache expiry time.
+     *
+     * @param key                 the key to store
+     * @param value               the value to store
+     * @param cacheExpiryTime     the cache expiry time
+     * @param cacheExpiryTimeUnit the cache expiry time unit
+     * @return true if success, false if the operation is failed
+     * @throws PersistentCacheException if an error occurs while storing data.
+     */
+    public boolean put(ByteBuffer key, ByteBuffer value, long cacheExpiryTime, ChronoUnit cacheExpiryTimeUnit) throws PersistentCacheException;
+
+    /**
+     * Method to store a given key and a value if the key is absent.
+     *
+     * @param key   the key to store
+     * @param value the value to store
+     * @return true if success, false if the operation is failed or key already exists
+     * @throws PersistentCacheException if an error occurs while storing data.
+     */
+    public boolean putIfAbsent(ByteBuffer key, ByteBuffer value) throws PersistentCacheException;
+
+    /**
+     * Method to get the value of a given key. The returned buffer wraps the bytes read from the database
+     * without copying them.
+     *
+     * @param key the key to get the value
+     * @return the value or null if the key does not exist
+     * @throws PersistentCacheException if an error occurs while retrieving data.
+     */
+    public ByteBuffer get(ByteBuffer key) throws PersistentCacheException;
+
+    /**
+     * Method to check whether the cache contains the key.
+     *
+     * @param key the key to check
+     * @return true if the key is available and false if not
+     * @throws PersistentCacheException if error occurs while checking for the key
+     */
+    public boolean containsKey(ByteBuffer key) throws PersistentCacheException;
+
+    /**
+     * Method to delete the record for a given key.
+     *
+     * @param key the key to delete
+     * @return true if success, false if the operation is failed
+     * @throws PersistentCacheException if an error occurs while deleting data.
+     */
+    public boolean delete(ByteBuffer key) throws PersistentCacheException;
+}
@@ -1,11 +1,21 @@
 package com.leondesilva.persistentcache.cache;
 
+import com.leondesilva.persistentcache.cache.model.pojo.BulkLoadStats;
+import com.leondesilva.persistentcache.cache.model.pojo.ChunkResult;
+import com.leondesilva.persistentcache.cache.model.pojo.KeyFilterStats;
 import com.leondesilva.persistentcache.error.PersistentCacheException;
 
+import java.io.InputStream;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Interface for berkeley db operations.
@@ -22,6 +32,18 @@ public interface PersistentCache<K extends Serializable, V extends Serializable>
      */
     public boolean put(K key, V value) throws PersistentCacheException;
 
+    /**
+     * Method to store a given key and a value, committed with the given durability policy instead of the durability
+     * policy of the cache.
+     *
+     * @param key              the key to store
+     * @param value            the value to store
+     * @param durabilityPolicy the durability policy of the commit
+     * @return true if success, false if the operation is failed
+     * @throws PersistentCacheException if an error occurs while storing data.
+     */
+    public boolean put(K key, V value, DurabilityPolicy durabilityPolicy) throws PersistentCacheException;
+
     /**
      * Method to store a given key and a value with cache expiry time.
      *
@@ -65,6 +87,47 @@ public interface PersistentCache<K extends Serializable, V extends Serializable>
      */
     public boolean putAll(Map<K, V> data) throws PersistentCacheException;
 
+    /**
+     * Method to store a given map into the cache, committed with the given durability policy instead of the
+     * durability policy of the cache.
+     *
+     * @param data             the data to store
+     * @param durabilityPolicy the durability policy of the commit
+     * @return true if success and false if the operation is failed
+     * @throws PersistentCacheException if an error occurs while storing data.
+     */
+    public boolean putAll(Map<K, V> data, DurabilityPolicy durabilityPolicy) throws PersistentCacheException;
+
+    /**
+     * Method to store a given map into the cache in chunks, each written in its own transaction, so that a large map
+     * does not hold the locks of all its records in one transaction and a failed chunk does not abort the others.
+     *
+     * @param data      the data to store
+     * @param chunkSize the max number of records of a chunk
+     * @return the results of the chunks, in the order of their keys
+     * @throws PersistentCacheException if the cache is closed, the chunk size is not positive or a key is null
+     */
+    public List<ChunkResult<K>> putAllInChunks(Map<K, V> data, int chunkSize) throws PersistentCacheException;
+
+    /**
+     * Method to load the records of a large data set into an empty cache, such as when the cache is rebuilt from an
+     * export. The records are written without transactions and the cache is not available to other operations
+     * until the load is completed.
+     *
+     * Records which are not sorted are sorted with an external merge sort, which writes temporary run files to the
+     * directory of the cache, and a key given more than once is stored with its last value. Records given as sorted
+     * must be in the strictly increasing order of their serialized keys, and the load fails at the first key which
+     * is not.
+     *
+     * @param records  the records to load
+     * @param sorted   true if the records are sorted by their serialized keys, without duplicate keys
+     * @param listener the listener of the progress of the load or null
+     * @return the number of records read and the time spent
+     * @throws PersistentCacheException if the cache is closed or not empty, a key is null, the records are given as
+     *                                  sorted and are not sorted or the load fails
+     */
+    public BulkLoadStats bulkLoad(Iterator<Map.Entry<K, V>> records, boolean sorted, BulkLoadListener listener) throws PersistentCacheException;
+
     /**
      * Method to get the value of a given key.
      *
@@ -84,6 +147,70 @@ public interface PersistentCache<K extends Serializable, V extends Serializable>
      */
     public V get(K key, boolean deleteRecordAfterRetrieving) throws PersistentCacheException;
 
+    /**
+     * Method to store a given key and a value which is already serialized by the value serializer of the cache.
+     * The value is stored without being de-serialized.
+     *
+     * @param key             the key to store
+     * @param serializedValue the serialized value, read from its position to its limit
+     * @return true if success, false if the operation is failed
+     * @throws PersistentCacheException if an error occurs while storing data.
+     */
+    public boolean putSerialized(K key, ByteBuffer serializedValue) throws PersistentCacheException;
+
+    /**
+     * Method to store a given key and a value which is already serialized by the value serializer of the cache,
+     * if the key is absent.
+     *
+     * @param key             the key to store
+     * @param serializedValue the serialized value, read from its position to its limit
+     * @return true if success, false if the operation is failed or key already exists
+     * @throws PersistentCacheException if an error occurs while storing data.
+     */
+    public boolean putSerializedIfAbsent(K key, ByteBuffer serializedValue) throws PersistentCacheException;
+
+    /**
+     * Method to copy the serialized value of a given key into a buffer, without de-serializing the value.
+     * If the remaining space of the buffer is smaller than the value, nothing is copied.
+     *
+     * @param key    the key to get the value
+     * @param target the buffer to copy the serialized value to
+     * @return the length of the serialized value or -1 if the key does not exist
+     * @throws PersistentCacheException if an error occurs while retrieving data.
+     */
+    public int get(K key, ByteBuffer target) throws PersistentCacheException;
+
+    /**
+     * Method to write the serialized value of a given key to a channel, without de-serializing the value.
+     * The channel is expected to be in blocking mode.
+     *
+     * @param key     the key to get the value
+     * @param channel the channel to write the serialized value to
+     * @return the number of bytes written or -1 if the key does not exist
+     * @throws PersistentCacheException if an error occurs while retrieving data or writing to the channel.
+     */
+    public long transferTo(K key, WritableByteChannel channel) throws PersistentCacheException;
+
+    /**
+     * Method to get a stream of the serialized value of a given key, without de-serializing the value.
+     * Values stored in chunks are read one chunk at a time, so large values can be read without loading them fully.
+     *
+     * @param key the key to get the value
+     * @return the stream of the serialized value or null if the key does not exist
+     * @throws PersistentCacheException if an error occurs while retrieving data.
+     */
+    public InputStream getInputStream(K key) throws PersistentCacheException;
+
+    /**
+     * Method to get a channel of the serialized value of a given key, without de-serializing the value.
+     * Values stored in chunks are read one chunk at a time, so large values can be read without loading them fully.
+     *
+     * @param key the key to get the value
+     * @return the channel of the serialized value or null if the key does not exist
+     * @throws PersistentCacheException if an error occurs while retrieving data.
+     */
+    public ReadableByteChannel getChannel(K key) throws PersistentCacheException;
+
     /**
      * Method to get all records.
      *
@@ -92,11 +219,91 @@ public interface PersistentCache<K extends Serializable, V extends Serializable>
      */
     public Map<K, V> getAll() throws PersistentCacheException;
 
+    /**
+     * Method to get the values of the given keys, reading the records of all keys with a single cursor.
+     * Expired records and loading are handled the same as by get.
+     *
+     * @param keys the keys to retrieve the values
+     * @return map of the keys which have values to their values
+     * @throws PersistentCacheException if an error occurs while retrieving data.
+     */
+    public Map<K, V> getAll(Collection<K> keys) throws PersistentCacheException;
+
+    /**
+     * Method to get an iterator of all records, which reads and de-serializes the records in batches as it is
+     * consumed, so that any number of records can be read in bounded memory. Expired records are skipped.
+     * The iterator does not see a consistent snapshot: records written while iterating may or may not be returned.
+     * The iterator should be closed if it is not fully read.
+     *
+     * @return the iterator of the records in the order of their serialized keys
+     * @throws PersistentCacheException if the cache is closed.
+     */
+    public CloseableIterator<Map.Entry<K, V>> iterator() throws PersistentCacheException;
+
+    /**
+     * Method to get a stream of all records, backed by {@link #iterator()}. The stream should be closed if it is
+     * not fully consumed, for example using try-with-resources.
+     *
+     * @return the stream of the records in the order of their serialized keys
+     * @throws PersistentCacheException if the cache is closed.
+     */
+    public Stream<Map.Entry<K, V>> stream() throws PersistentCacheException;
+
+    /**
+     * Method to get a stream of the records whose keys are from a given key, inclusive, to a given key, exclusive,
+     * skipping expired records. The key serializer must be an order preserving serializer. The stream should be
+     * closed if it is not fully consumed.
+     *
+     * @param fromKey the first key of the range or null to start from the first record
+     * @param toKey   the key after the range or null to end at the last record
+     * @return the stream of the records in the order of their keys
+     * @throws PersistentCacheException if the cache is closed or the key serializer does not preserve order.
+     */
+    public Stream<Map.Entry<K, V>> scanRange(K fromKey, K toKey) throws PersistentCacheException;
+
+    /**
+     * Method to get a stream of the records whose serialized keys start with the serialized prefix, skipping expired
+     * records. The key serializer must be an order preserving serializer. The stream should be closed if it is not
+     * fully consumed.
+     *
+     * @param prefix the prefix of the keys
+     * @return the stream of the records in the order of their keys
+     * @throws PersistentCacheException if the cache is closed, the prefix is null or the key serializer does not
+     *                                  preserve order.
+     */
+    public Stream<Map.Entry<K, V>> scanPrefix(K prefix) throws PersistentCacheException;
+
+    /**
+     * Method to get a stream of all keys, without reading their values. Keys of expired records are skipped.
+     * The stream should be closed if it is not fully consumed.
+     *
+     * @return the stream of the keys in the order of their serialized keys
+     * @throws PersistentCacheException if the cache is closed.
+     */
+    public Stream<K> keys() throws PersistentCacheException;
+
+    /**
+     * Method to get the exact number of stored records, without reading the records. Expired records which are not
+     * deleted yet are counted.
+     *
+     * @return the number of records
+     * @throws PersistentCacheException if the cache is closed.
+     */
+    public long count() throws PersistentCacheException;
+
+    /**
+     * Method to get the number of stored records, using a maintained count when available instead of counting them.
+     *
+     * @return the estimated number of records
+     * @throws PersistentCacheException if the cache is closed.
+     */
+    public long estimatedSize() throws PersistentCacheException;
+
     /**
      * Method to check whether the cache contains the key.
      *
      * @param key the key to check
-     * @return true if available, false if not
+     * @return true if available and not expired, false if not
      * @throws PersistentCacheException if an error occurs while checking for the key.
      */
     public boolean containsKey(K key) throws PersistentCacheException;
@@ -110,6 +317,17 @@ public interface PersistentCache<K extends Serializable, V extends Serializable>
      */
     public boolean delete(K key) throws PersistentCacheException;
 
+    /**
+     * Method to delete the record for a given key, committed with the given durability policy instead of the
+     * durability policy of the cache.
+     *
+     * @param key              the key to delete record
+     * @param durabilityPolicy the durability policy of the commit
+     * @return true if the success, false if the operation is failed
+     * @throws PersistentCacheException if an error occurs while deleting data.
+     */
+    public boolean delete(K key, DurabilityPolicy durabilityPolicy) throws PersistentCacheException;
+
     /**
      * Method to delete a list of given keys.
      *
@@ -126,6 +344,14 @@ public interface PersistentCache<K extends Serializable, V extends Serializable>
      */
     public boolean deleteAll() throws PersistentCacheException;
 
+    /**
+     * Method to write the records kept in the write-behind buffer to the store.
+     *
+     * @return true if all buffered records are written or write-behind is not enabled, false if the operation is failed
+     * @throws PersistentCacheException if the cache is closed
+     */
+    public boolean flush() throws PersistentCacheException;
+
     /**
      * Method to truncate.
      *
@@ -139,4 +365,12 @@ public interface PersistentCache<K extends Serializable, V extends Serializable>
      * @throws PersistentCacheException if an error occurs while closing the cache
      */
     public void close() throws PersistentCacheException;
+
+    /**
+     * Method to get the statistics of the key filter, which answers lookups of keys that are not stored without
+     * reading the store.
+     *
+     * @return the statistics or null if the key filter is not enabled
+     */
+    public KeyFilterStats getKeyFilterStats();
 }
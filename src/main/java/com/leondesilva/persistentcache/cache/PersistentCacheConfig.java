@@ -0,0 +1,677 @@
+package com.leondesilva.persistentcache.cache;
+
+import com.leondesilva.persistentcache.serializer.JavaSerializer;
+import com.leondesilva.persistentcache.serializer.SchemaEvolutionHandler;
+import com.leondesilva.persistentcache.serializer.Serializer;
+
+import java.io.Serializable;
+import java.util.zip.Deflater;
+
+/**
+ * Class to represent the optional configurations of a persistent cache.
+ * A new instance has the default configurations, which use java serialization for keys and values
+ * and store values uncompressed.
+ *
+ */
+public class PersistentCacheConfig<K extends Serializable, V extends Serializable> {
+    public static final int DEFAULT_COMPRESSION_THRESHOLD = 1024;
+    public static final int DEFAULT_DICTIONARY_SAMPLE_COUNT = 1000;
+    public static final int DEFAULT_DICTIONARY_SIZE = 8 * 1024;
+    public static final int DEFAULT_CHUNKING_THRESHOLD = 1024 * 1024;
+    public static final int DEFAULT_CHUNK_SIZE = 256 * 1024;
+    public static final int DEFAULT_NEAR_CACHE_MAXIMUM_SIZE = 10000;
+    public static final long DEFAULT_OFF_HEAP_CAPACITY = 64L * 1024 * 1024;
+    public static final int DEFAULT_OFF_HEAP_SLAB_SIZE = 4 * 1024 * 1024;
+    public static final long DEFAULT_KEY_FILTER_EXPECTED_KEYS = 1000000;
+    public static final double DEFAULT_KEY_FILTER_FALSE_POSITIVE_RATE = 0.01;
+    public static final int DEFAULT_ITERATOR_BATCH_SIZE = 1000;
+    public static final int DEFAULT_SCAN_PARALLELISM = 1;
+    public static final int DEFAULT_WRITE_BEHIND_BUFFER_SIZE = 10000;
+    public static final int DEFAULT_WRITE_BEHIND_FLUSH_SIZE = 1000;
+    public static final long DEFAULT_WRITE_BEHIND_FLUSH_INTERVAL_MILLIS = 100;
+    public static final long DEFAULT_LOG_SYNC_INTERVAL_MILLIS = 0;
+    public static final int DEFAULT_BULK_WRITE_PARALLELISM = 1;
+
+    private Serializer<K> keySerializer = new JavaSerializer<>();
+    private Serializer<V> valueSerializer = new JavaSerializer<>();
+    private boolean compressionEnabled = false;
+    private int compressionThreshold = DEFAULT_COMPRESSION_THRESHOLD;
+    private int compressionLevel = Deflater.BEST_SPEED;
+    private boolean dictionaryCompressionEnabled = false;
+    private int dictionarySampleCount = DEFAULT_DICTIONARY_SAMPLE_COUNT;
+    private int dictionarySize = DEFAULT_DICTIONARY_SIZE;
+    private boolean classRegistryEnabled = false;
+    private SchemaEvolutionHandler schemaEvolutionHandler;
+    private boolean chunkingEnabled = false;
+    private int chunkingThreshold = DEFAULT_CHUNKING_THRESHOLD;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private boolean nearCacheEnabled = false;
+    private int nearCacheMaximumSize = DEFAULT_NEAR_CACHE_MAXIMUM_SIZE;
+    private boolean offHeapCacheEnabled = false;
+    private long offHeapCapacity = DEFAULT_OFF_HEAP_CAPACITY;
+    private int offHeapSlabSize = DEFAULT_OFF_HEAP_SLAB_SIZE;
+    private boolean keyFilterEnabled = false;
+    private long keyFilterExpectedKeys = DEFAULT_KEY_FILTER_EXPECTED_KEYS;
+    private double keyFilterFalsePositiveRate = DEFAULT_KEY_FILTER_FALSE_POSITIVE_RATE;
+    private int iteratorBatchSize = DEFAULT_ITERATOR_BATCH_SIZE;
+    private int scanParallelism = DEFAULT_SCAN_PARALLELISM;
+    private ReadConsistency readConsistency = ReadConsistency.READ_COMMITTED;
+    private boolean writeBehindEnabled = false;
+    private int writeBehindBufferSize = DEFAULT_WRITE_BEHIND_BUFFER_SIZE;
+    private int writeBehindFlushSize = DEFAULT_WRITE_BEHIND_FLUSH_SIZE;
+    private long writeBehindFlushIntervalMillis = DEFAULT_WRITE_BEHIND_FLUSH_INTERVAL_MILLIS;
+    private DurabilityPolicy durabilityPolicy = DurabilityPolicy.SYNC;
+    private long logSyncIntervalMillis = DEFAULT_LOG_SYNC_INTERVAL_MILLIS;
+    private int bulkWriteParallelism = DEFAULT_BULK_WRITE_PARALLELISM;
+
+    /**
+     * Method to get the key serializer.
+     *
+     * @return the key serializer
+     */
+    public Serializer<K> getKeySerializer() {
+        return keySerializer;
+    }
+
+    /**
+     * Method to set the key serializer.
+     * The same key serializer should be used every time the cache is opened.
+     *
+     * @param keySerializer the key serializer
+     */
+    public void setKeySerializer(Serializer<K> keySerializer) {
+        this.keySerializer = keySerializer;
+    }
+
+    /**
+     * Method to get the value serializer.
+     *
+     * @return the value serializer
+     */
+    public Serializer<V> getValueSerializer() {
+        return valueSerializer;
+    }
+
+    /**
+     * Method to set the value serializer.
+     * The same value serializer should be used every time the cache is opened.
+     *
+     * @param valueSerializer the value serializer
+     */
+    public void setValueSerializer(Serializer<V> valueSerializer) {
+        this.valueSerializer = valueSerializer;
+    }
+
+    /**
+     * Method to check whether values are compressed.
+     *
+     * @return true if values are compressed and false if not
+     */
+    public boolean isCompressionEnabled() {
+        return compressionEnabled;
+    }
+
+    /**
+     * Method to enable or disable the compression of values.
+     * Compression can be enabled or disabled when re-opening a cache, as records stored either way can be read back.
+     *
+     * @param compressionEnabled true to compress values and false to store them uncompressed
+     */
+    public void setCompressionEnabled(boolean compressionEnabled) {
+        this.compressionEnabled = compressionEnabled;
+    }
+
+    /**
+     * Method to get the compression threshold.
+     *
+     * @return the min length of a serialized value in bytes to be compressed
+     */
+    public int getCompressionThreshold() {
+        return compressionThreshold;
+    }
+
+    /**
+     * Method to set the compression threshold. Serialized values smaller than the threshold are stored uncompressed,
+     * as compressing small values costs more time than it saves space.
+     *
+     * @param compressionThreshold the min length of a serialized value in bytes to be compressed
+     */
+    public void setCompressionThreshold(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    /**
+     * Method to get the compression level.
+     *
+     * @return the deflate compression level
+     */
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    /**
+     * Method to set the compression level. Defaults to the fastest level.
+     *
+     * @param compressionLevel the deflate compression level from 1 (fastest) to 9 (smallest)
+     */
+    public void setCompressionLevel(int compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
+
+    /**
+     * Method to check whether values are compressed against a trained dictionary.
+     *
+     * @return true if dictionary compression is enabled and false if not
+     */
+    public boolean isDictionaryCompressionEnabled() {
+        return dictionaryCompressionEnabled;
+    }
+
+    /**
+     * Method to enable or disable dictionary compression. When enabled, the cache samples the stored values, trains a
+     * dictionary from them and compresses new values against it, which suits many small values of a similar structure.
+     * Values are compressed as usual until the dictionary is trained. This also enables compression, and the
+     * compression threshold should be lowered to the size of the smallest values to be compressed.
+     *
+     * @param dictionaryCompressionEnabled true to compress values against a dictionary and false if not
+     */
+    public void setDictionaryCompressionEnabled(boolean dictionaryCompressionEnabled) {
+        this.dictionaryCompressionEnabled = dictionaryCompressionEnabled;
+    }
+
+    /**
+     * Method to get the number of values sampled for training the dictionary.
+     *
+     * @return the number of sampled values
+     */
+    public int getDictionarySampleCount() {
+        return dictionarySampleCount;
+    }
+
+    /**
+     * Method to set the number of values sampled for training the dictionary.
+     *
+     * @param dictionarySampleCount the number of sampled values
+     */
+    public void setDictionarySampleCount(int dictionarySampleCount) {
+        this.dictionarySampleCount = dictionarySampleCount;
+    }
+
+    /**
+     * Method to get the max size of the dictionary.
+     *
+     * @return the max size of the dictionary in bytes
+     */
+    public int getDictionarySize() {
+        return dictionarySize;
+    }
+
+    /**
+     * Method to set the max size of the dictionary. Deflate only uses the last 32 KB of a dictionary, and a larger
+     * dictionary takes longer to load for each compressed value.
+     *
+     * @param dictionarySize the max size of the dictionary in bytes
+     */
+    public void setDictionarySize(int dictionarySize) {
+        this.dictionarySize = dictionarySize;
+    }
+
+    /**
+     * Method to check whether values are written with the ids of their class layouts in a class registry.
+     *
+     * @return true if the class registry is enabled and false if not
+     */
+    public boolean isClassRegistryEnabled() {
+        return classRegistryEnabled;
+    }
+
+    /**
+     * Method to enable or disable the class registry. When enabled, values are written as the id of their class layout
+     * followed by their field values, instead of with the class descriptors written by java serialization.
+     * The class layouts are kept in a side database named &lt;dbName&gt;__classes in the same environment.
+     * The class registry is used in place of the value serializer. Records written using java serialization before it
+     * was enabled can still be read, but it should stay enabled once records are written with it.
+     *
+     * @param classRegistryEnabled true to enable the class registry and false if not
+     */
+    public void setClassRegistryEnabled(boolean classRegistryEnabled) {
+        this.classRegistryEnabled = classRegistryEnabled;
+    }
+
+    /**
+     * Method to get the schema evolution handler.
+     *
+     * @return the schema evolution handler or null if there is none
+     */
+    public SchemaEvolutionHandler getSchemaEvolutionHandler() {
+        return schemaEvolutionHandler;
+    }
+
+    /**
+     * Method to set the handler to upgrade values read from records written with a previous layout of their class.
+     * This is only used when the class registry is enabled.
+     *
+     * @param schemaEvolutionHandler the schema evolution handler
+     */
+    public void setSchemaEvolutionHandler(SchemaEvolutionHandler schemaEvolutionHandler) {
+        this.schemaEvolutionHandler = schemaEvolutionHandler;
+    }
+
+    /**
+     * Method to check whether large values are stored in chunks.
+     *
+     * @return true if large values are stored in chunks and false if not
+     */
+    public boolean isChunkingEnabled() {
+        return chunkingEnabled;
+    }
+
+    /**
+     * Method to enable or disable storing large values in chunks. When enabled, records with a stored value of at
+     * least the chunking threshold are split into chunks kept in a side database named &lt;dbName&gt;__chunks in the
+     * same environment, so that a large value is not written as a single log record and can be read as a stream.
+     * Chunking can be disabled when re-opening a cache, as records stored in chunks can still be read.
+     *
+     * @param chunkingEnabled true to store large values in chunks and false if not
+     */
+    public void setChunkingEnabled(boolean chunkingEnabled) {
+        this.chunkingEnabled = chunkingEnabled;
+    }
+
+    /**
+     * Method to get the chunking threshold.
+     *
+     * @return the min length of a stored value in bytes to be stored in chunks
+     */
+    public int getChunkingThreshold() {
+        return chunkingThreshold;
+    }
+
+    /**
+     * Method to set the chunking threshold. The length is compared after the value is compressed.
+     *
+     * @param chunkingThreshold the min length of a stored value in bytes to be stored in chunks
+     */
+    public void setChunkingThreshold(int chunkingThreshold) {
+        this.chunkingThreshold = chunkingThreshold;
+    }
+
+    /**
+     * Method to get the chunk size.
+     *
+     * @return the size of a chunk in bytes
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Method to set the chunk size. A chunk should be well below the max log file size of the cache.
+     *
+     * @param chunkSize the size of a chunk in bytes
+     */
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Method to check whether de-serialized values are kept in memory in front of the store.
+     *
+     * @return true if the near cache is enabled and false if not
+     */
+    public boolean isNearCacheEnabled() {
+        return nearCacheEnabled;
+    }
+
+    /**
+     * Method to enable or disable the near cache. When enabled, up to the near cache maximum size of the frequently
+     * read values are kept in memory, so that reading them needs no I/O and no de-serialization. The values are
+     * shared by all readers and must not be modified. Writes and deletes through the cache invalidate the near cache,
+     * and values are not returned from memory after their records expire.
+     *
+     * @param nearCacheEnabled true to enable the near cache and false if not
+     */
+    public void setNearCacheEnabled(boolean nearCacheEnabled) {
+        this.nearCacheEnabled = nearCacheEnabled;
+    }
+
+    /**
+     * Method to get the max number of values kept in the near cache.
+     *
+     * @return the max number of values
+     */
+    public int getNearCacheMaximumSize() {
+        return nearCacheMaximumSize;
+    }
+
+    /**
+     * Method to set the max number of values kept in the near cache.
+     *
+     * @param nearCacheMaximumSize the max number of values
+     */
+    public void setNearCacheMaximumSize(int nearCacheMaximumSize) {
+        this.nearCacheMaximumSize = nearCacheMaximumSize;
+    }
+
+    /**
+     * Method to check whether serialized records are kept in off-heap memory in front of the store.
+     *
+     * @return true if the off-heap cache is enabled and false if not
+     */
+    public boolean isOffHeapCacheEnabled() {
+        return offHeapCacheEnabled;
+    }
+
+    /**
+     * Method to enable or disable the off-heap cache. When enabled, the serialized records read from the store are
+     * kept in direct memory slabs up to the off-heap capacity, which is not limited by the max heap size. Reading a
+     * record kept off-heap does not access the database, but its value is still de-serialized. When the slabs are
+     * full, the records of the oldest slab are evicted. Writes and deletes through the cache invalidate the records.
+     *
+     * @param offHeapCacheEnabled true to enable the off-heap cache and false if not
+     */
+    public void setOffHeapCacheEnabled(boolean offHeapCacheEnabled) {
+        this.offHeapCacheEnabled = offHeapCacheEnabled;
+    }
+
+    /**
+     * Method to get the size of the off-heap memory used by the off-heap cache.
+     *
+     * @return the capacity in bytes
+     */
+    public long getOffHeapCapacity() {
+        return offHeapCapacity;
+    }
+
+    /**
+     * Method to set the size of the off-heap memory used by the off-heap cache.
+     * The JVM option -XX:MaxDirectMemorySize must allow at least this size.
+     *
+     * @param offHeapCapacity the capacity in bytes
+     */
+    public void setOffHeapCapacity(long offHeapCapacity) {
+        this.offHeapCapacity = offHeapCapacity;
+    }
+
+    /**
+     * Method to get the size of the slabs of the off-heap cache.
+     *
+     * @return the slab size in bytes
+     */
+    public int getOffHeapSlabSize() {
+        return offHeapSlabSize;
+    }
+
+    /**
+     * Method to set the size of the slabs of the off-heap cache. Records larger than a slab are not kept off-heap, and
+     * a slab is the amount of records evicted at once.
+     *
+     * @param offHeapSlabSize the slab size in bytes
+     */
+    public void setOffHeapSlabSize(int offHeapSlabSize) {
+        this.offHeapSlabSize = offHeapSlabSize;
+    }
+
+    /**
+     * Method to check whether lookups are checked against a filter of the stored keys.
+     *
+     * @return true if the key filter is enabled and false if not
+     */
+    public boolean isKeyFilterEnabled() {
+        return keyFilterEnabled;
+    }
+
+    /**
+     * Method to enable or disable the key filter. When enabled, a counting Bloom filter of the stored keys is kept in
+     * memory, so that get and containsKey of a key which is not stored return without reading the database. The filter
+     * is stored when the cache is closed, and rebuilt from the stored keys when the cache is opened after it was not
+     * closed. Statistics of the filter are returned by getKeyFilterStats.
+     *
+     * @param keyFilterEnabled true to enable the key filter and false if not
+     */
+    public void setKeyFilterEnabled(boolean keyFilterEnabled) {
+        this.keyFilterEnabled = keyFilterEnabled;
+    }
+
+    /**
+     * Method to get the number of keys the key filter is sized for.
+     *
+     * @return the expected number of keys
+     */
+    public long getKeyFilterExpectedKeys() {
+        return keyFilterExpectedKeys;
+    }
+
+    /**
+     * Method to set the number of keys the key filter is sized for. The filter uses about 5 bytes per expected key
+     * with the default false positive rate, and more keys than expected raise the false positive rate.
+     * The filter is rebuilt when the cache is opened with a different size.
+     *
+     * @param keyFilterExpectedKeys the expected number of keys
+     */
+    public void setKeyFilterExpectedKeys(long keyFilterExpectedKeys) {
+        this.keyFilterExpectedKeys = keyFilterExpectedKeys;
+    }
+
+    /**
+     * Method to get the false positive rate of the key filter when it holds the expected number of keys.
+     *
+     * @return the false positive rate
+     */
+    public double getKeyFilterFalsePositiveRate() {
+        return keyFilterFalsePositiveRate;
+    }
+
+    /**
+     * Method to set the false positive rate of the key filter when it holds the expected number of keys, which is the
+     * probability that a lookup of a key which is not stored still reads the database.
+     *
+     * @param keyFilterFalsePositiveRate the false positive rate, greater than 0 and less than 1
+     */
+    public void setKeyFilterFalsePositiveRate(double keyFilterFalsePositiveRate) {
+        this.keyFilterFalsePositiveRate = keyFilterFalsePositiveRate;
+    }
+
+    /**
+     * Method to get the number of records read from the database at a time by iterators and streams of the cache.
+     *
+     * @return the batch size
+     */
+    public int getIteratorBatchSize() {
+        return iteratorBatchSize;
+    }
+
+    /**
+     * Method to set the number of records read from the database at a time by iterators and streams of the cache.
+     * An iterator keeps at most one batch of de-serialized records in memory, and holds no database cursor or lock
+     * between batches.
+     *
+     * @param iteratorBatchSize the batch size
+     */
+    public void setIteratorBatchSize(int iteratorBatchSize) {
+        this.iteratorBatchSize = iteratorBatchSize;
+    }
+
+    /**
+     * Method to get the number of threads which de-serialize and check the expiry of the records read by scans.
+     *
+     * @return the scan parallelism
+     */
+    public int getScanParallelism() {
+        return scanParallelism;
+    }
+
+    /**
+     * Method to set the number of threads which de-serialize and check the expiry of the records read by scans of
+     * all records, such as getAll, iterators and streams. Each batch read by the cursor is split between the threads
+     * of a fork-join pool of the cache and the records keep the order of their keys. When set to 1, records are
+     * processed by the scanning thread.
+     *
+     * @param scanParallelism the scan parallelism
+     */
+    public void setScanParallelism(int scanParallelism) {
+        this.scanParallelism = scanParallelism;
+    }
+
+    /**
+     * Method to get the isolation of the reads of the cache from concurrent writes.
+     *
+     * @return the read consistency
+     */
+    public ReadConsistency getReadConsistency() {
+        return readConsistency;
+    }
+
+    /**
+     * Method to set the isolation of the reads of the cache from concurrent writes, which applies to get,
+     * containsKey and scans of the records. READ_UNCOMMITTED reads do not wait for writers but may return values
+     * of writes which are later rolled back. When the near cache or the off-heap cache is enabled, the reads which
+     * add records to them are always READ_COMMITTED, so that a value which is not committed is never kept in memory.
+     *
+     * @param readConsistency the read consistency
+     */
+    public void setReadConsistency(ReadConsistency readConsistency) {
+        this.readConsistency = readConsistency;
+    }
+
+    /**
+     * Method to check whether puts are kept in a write-behind buffer and written to the store by a background thread.
+     *
+     * @return true if write-behind is enabled and false if not
+     */
+    public boolean isWriteBehindEnabled() {
+        return writeBehindEnabled;
+    }
+
+    /**
+     * Method to enable or disable the write-behind buffer. When enabled, puts which overwrite the value of a key are
+     * kept in a bounded in-memory buffer and return without writing the store. The buffered records are read by get
+     * and containsKey, and are written by a background thread in batches, each in a single transaction, keeping only
+     * the last value of a key which is put more than once. Buffered records which are not flushed are lost if the
+     * process stops without closing the cache.
+     *
+     * @param writeBehindEnabled true to enable write-behind
+     */
+    public void setWriteBehindEnabled(boolean writeBehindEnabled) {
+        this.writeBehindEnabled = writeBehindEnabled;
+    }
+
+    /**
+     * Method to get the max number of keys kept in the write-behind buffer.
+     *
+     * @return the write-behind buffer size
+     */
+    public int getWriteBehindBufferSize() {
+        return writeBehindBufferSize;
+    }
+
+    /**
+     * Method to set the max number of keys kept in the write-behind buffer. A put waits while the buffer
+     * is full until the background thread has written enough records.
+     *
+     * @param writeBehindBufferSize the write-behind buffer size
+     */
+    public void setWriteBehindBufferSize(int writeBehindBufferSize) {
+        this.writeBehindBufferSize = writeBehindBufferSize;
+    }
+
+    /**
+     * Method to get the max number of records written by a transaction of the write-behind buffer.
+     *
+     * @return the write-behind flush size
+     */
+    public int getWriteBehindFlushSize() {
+        return writeBehindFlushSize;
+    }
+
+    /**
+     * Method to set the max number of records written by a transaction of the write-behind buffer. The background
+     * thread flushes the buffer as soon as it holds this many keys. A flush size larger than the buffer size is
+     * reduced to the buffer size.
+     *
+     * @param writeBehindFlushSize the write-behind flush size
+     */
+    public void setWriteBehindFlushSize(int writeBehindFlushSize) {
+        this.writeBehindFlushSize = writeBehindFlushSize;
+    }
+
+    /**
+     * Method to get the max time in millis a record is kept in the write-behind buffer before it is flushed.
+     *
+     * @return the write-behind flush interval in millis
+     */
+    public long getWriteBehindFlushIntervalMillis() {
+        return writeBehindFlushIntervalMillis;
+    }
+
+    /**
+     * Method to set the max time in millis a record is kept in the write-behind buffer before it is flushed, which
+     * is also the time the background thread waits before retrying a flush which failed.
+     *
+     * @param writeBehindFlushIntervalMillis the write-behind flush interval in millis
+     */
+    public void setWriteBehindFlushIntervalMillis(long writeBehindFlushIntervalMillis) {
+        this.writeBehindFlushIntervalMillis = writeBehindFlushIntervalMillis;
+    }
+
+    /**
+     * Method to get the durability of the commits of the cache.
+     *
+     * @return the durability policy
+     */
+    public DurabilityPolicy getDurabilityPolicy() {
+        return durabilityPolicy;
+    }
+
+    /**
+     * Method to set the durability of the commits of the cache, which applies to all writes which are not given
+     * their own durability policy. SYNC flushes the log to disk on each commit, WRITE_NO_SYNC writes the log to the
+     * file system without flushing it and NO_SYNC leaves the log in memory until its buffer is full, which gives
+     * the highest write throughput but loses the last writes if the process crashes.
+     *
+     * @param durabilityPolicy the durability policy
+     */
+    public void setDurabilityPolicy(DurabilityPolicy durabilityPolicy) {
+        this.durabilityPolicy = durabilityPolicy;
+    }
+
+    /**
+     * Method to get the interval in millis at which the log is flushed to disk by a background thread.
+     *
+     * @return the log sync interval in millis
+     */
+    public long getLogSyncIntervalMillis() {
+        return logSyncIntervalMillis;
+    }
+
+    /**
+     * Method to set the interval in millis at which the log is written and flushed to disk by a background thread,
+     * which bounds the writes lost by a crash when commits do not sync. When set to 0, the log is not flushed in the
+     * background.
+     *
+     * @param logSyncIntervalMillis the log sync interval in millis
+     */
+    public void setLogSyncIntervalMillis(long logSyncIntervalMillis) {
+        this.logSyncIntervalMillis = logSyncIntervalMillis;
+    }
+
+    /**
+     * Method to get the number of threads which commit the chunks of a bulk write.
+     *
+     * @return the bulk write parallelism
+     */
+    public int getBulkWriteParallelism() {
+        return bulkWriteParallelism;
+    }
+
+    /**
+     * Method to set the number of threads which commit the chunks of a bulk write by putAllInChunks. The chunks are
+     * ranges of the serialized keys, so that parallel transactions write different parts of the database. When set
+     * to 1, chunks are written one after the other by the calling thread.
+     *
+     * @param bulkWriteParallelism the bulk write parallelism
+     */
+    public void setBulkWriteParallelism(int bulkWriteParallelism) {
+        this.bulkWriteParallelism = bulkWriteParallelism;
+    }
+}
@@ -2,9 +2,16 @@ package com.leondesilva.persistentcache.cache;
 
 import com.leondesilva.persistentcache.cache.loaders.CacheLoader;
 import com.leondesilva.persistentcache.error.PersistentCacheException;
+import com.leondesilva.persistentcache.serializer.ByteArraySerializer;
+import com.leondesilva.persistentcache.serializer.IntegerSerializer;
+import com.leondesilva.persistentcache.serializer.LongSerializer;
+import com.leondesilva.persistentcache.serializer.Serializer;
+import com.leondesilva.persistentcache.serializer.StringSerializer;
+import com.leondesilva.persistentcache.serializer.UUIDSerializer;
 
 import java.io.Serializable;
 import java.time.temporal.ChronoUnit;
+import java.util.UUID;
 
 /**
  * Interface for the persistent cache factory.
@@ -33,6 +40,22 @@ public class PersistentCacheFactory {
         return new BdbPersistentCacheImpl<>(dbName, dbFilePath, maxLogFileSize);
     }
 
+    /**
+     * Creates an instance of the PersistentCache with the given configurations
+     *
+     * @param dbName         database name of the persistent cache DB
+     * @param dbFilePath     database file path of the persistent cache DB
+     * @param maxLogFileSize database file size (of a single file) of the persistent cache DB
+     * @param config         configurations such as the key and value serializers
+     * @param <K>            serializable type of object for key
+     * @param <V>            serializable type of object for value
+     *
+     * @return               persistent cache
+     */
+    public static <K extends Serializable, V extends Serializable> PersistentCache<K, V> createCache(String dbName, String dbFilePath, long maxLogFileSize, PersistentCacheConfig<K, V> config) throws PersistentCacheException {
+        return new BdbPersistentCacheImpl<>(dbName, dbFilePath, maxLogFileSize, config);
+    }
+
     /**
      * Creates an instance of the PersistentCache with TTL
      *
@@ -50,6 +73,24 @@ public class PersistentCacheFactory {
         return new BdbPersistentTTLCacheImpl<>(dbName, dbFilePath, maxLogFileSize, cacheExpiryTime, cacheExpiryTimeUnit);
     }
 
+    /**
+     * Creates an instance of the PersistentCache with TTL and the given configurations
+     *
+     * @param dbName              database name of the persistent cache DB
+     * @param dbFilePath          database file path of the persistent cache DB
+     * @param maxLogFileSize      database file size (of a single file) of the persistent cache DB
+     * @param cacheExpiryTime     cache expiry time
+     * @param cacheExpiryTimeUnit cache expiry time unit
+     * @param config              configurations such as the key and value serializers
+     * @param <K>                 serializable type of object for key
+     * @param <V>                 serializable type of object for value
+     *
+     * @return                    persistent cache with TTL
+     */
+    public static <K extends Serializable, V extends Serializable> PersistentCache<K, V> createTTLCache(String dbName, String dbFilePath, long maxLogFileSize, long cacheExpiryTime, ChronoUnit cacheExpiryTimeUnit, PersistentCacheConfig<K, V> config) throws PersistentCacheException {
+        return new BdbPersistentTTLCacheImpl<>(dbName, dbFilePath, maxLogFileSize, cacheExpiryTime, cacheExpiryTimeUnit, config);
+    }
+
     /**
      * Creates an instance of the PersistentCache with per row TTL
      *
@@ -65,6 +106,22 @@ public class PersistentCacheFactory {
         return new BdbPersistentPerRowTTLCacheImpl<>(dbName, dbFilePath, maxLogFileSize);
     }
 
+    /**
+     * Creates an instance of the PersistentCache with per row TTL and the given configurations
+     *
+     * @param dbName         database name of the persistent cache DB
+     * @param dbFilePath     database file path of the persistent cache DB
+     * @param maxLogFileSize database file size (of a single file) of the persistent cache DB
+     * @param config         configurations such as the key and value serializers
+     * @param <K>            serializable type of object for key
+     * @param <V>            serializable type of object for value
+     *
+     * @return              persistent cache with per row TTL
+     */
+    public static <K extends Serializable, V extends Serializable> PersistentCache<K, V> createPerRowTTLCache(String dbName, String dbFilePath, long maxLogFileSize, PersistentCacheConfig<K, V> config) throws PersistentCacheException {
+        return new BdbPersistentPerRowTTLCacheImpl<>(dbName, dbFilePath, maxLogFileSize, config);
+    }
+
     /**
      * Creates an instance of the Persistent loading cache with TTL
      *
@@ -81,4 +138,230 @@ public class PersistentCacheFactory {
     public static <K extends Serializable, V extends Serializable> PersistentCache<K, V> createLoadingCache(String dbName, String dbFilePath, long maxLogFileSize, long cacheExpiryTime, ChronoUnit cacheExpiryTimeUnit, CacheLoader<K, V> cacheLoader) throws PersistentCacheException {
         return new BdbPersistentLoadingCacheImpl<>(dbName, dbFilePath, maxLogFileSize, cacheExpiryTime, cacheExpiryTimeUnit, cacheLoader);
     }
+
+    /**
+     * Creates an instance of the Persistent loading cache with TTL and the given configurations
+     *
+     * @param dbName              database name of the persistent cache DB
+     * @param dbFilePath          database file path of the persistent cache DB
+     * @param maxLogFileSize      database file size (of a single file) of the persistent cache DB
+     * @param cacheExpiryTime     cache expiry time
+     * @param cacheExpiryTimeUnit cache expiry time unit
+     * @param cacheLoader         cache loader to get value for keys when cache is expired
+     * @param config              configurations such as the key and value serializers
+     * @param <K>                 serializable type of object for key
+     * @param <V>                 serializable type of object for value
+     * @return                    persistent loading cache with TTL
+     */
+    public static <K extends Serializable, V extends Serializable> PersistentCache<K, V> createLoadingCache(String dbName, String dbFilePath, long maxLogFileSize, long cacheExpiryTime, ChronoUnit cacheExpiryTimeUnit, CacheLoader<K, V> cacheLoader, PersistentCacheConfig<K, V> config) throws PersistentCacheException {
+        return new BdbPersistentLoadingCacheImpl<>(dbName, dbFilePath, maxLogFileSize, cacheExpiryTime, cacheExpiryTimeUnit, cacheLoader, config);
+    }
+
+    /**
+     * Creates an instance of the PersistentCache with Long keys.
+     * Keys are stored in a compact form which preserves their natural order.
+     *
+     * @param dbName         database name of the persistent cache DB
+     * @param dbFilePath     database file path of the persistent cache DB
+     * @param maxLogFileSize database file size (of a single file) of the persistent cache DB
+     * @param <V>            serializable type of object for value
+     *
+     * @return               persistent cache
+     */
+    public static <V extends Serializable> PersistentCache<Long, V> createLongKeyCache(String dbName, String dbFilePath, long maxLogFileSize) throws PersistentCacheException {
+        return createCache(dbName, dbFilePath, maxLogFileSize, createKeyConfig(new LongSerializer()));
+    }
+
+    /**
+     * Creates an instance of the PersistentCache with Integer keys.
+     * Keys are stored in a compact form which preserves their natural order.
+     *
+     * @param dbName         database name of the persistent cache DB
+     * @param dbFilePath     database file path of the persistent cache DB
+     * @param maxLogFileSize database file size (of a single file) of the persistent cache DB
+     * @param <V>            serializable type of object for value
+     *
+     * @return               persistent cache
+     */
+    public static <V extends Serializable> PersistentCache<Integer, V> createIntegerKeyCache(String dbName, String dbFilePath, long maxLogFileSize) throws PersistentCacheException {
+        return createCache(dbName, dbFilePath, maxLogFileSize, createKeyConfig(new IntegerSerializer()));
+    }
+
+    /**
+     * Creates an instance of the PersistentCache with String keys.
+     * Keys are stored in a compact form which preserves their natural order.
+     *
+     * @param dbName         database name of the persistent cache DB
+     * @param dbFilePath     database file path of the persistent cache DB
+     * @param maxLogFileSize database file size (of a single file) of the persistent cache DB
+     * @param <V>            serializable type of object for value
+     *
+     * @return               persistent cache
+     */
+    public static <V extends Serializable> PersistentCache<String, V> createStringKeyCache(String dbName, String dbFilePath, long maxLogFileSize) throws PersistentCacheException {
+        return createCache(dbName, dbFilePath, maxLogFileSize, createKeyConfig(new StringSerializer()));
+    }
+
+    /**
+     * Creates an instance of the PersistentCache with UUID keys.
+     * Keys are stored in a compact form which preserves their natural order.
+     *
+     * @param dbName         database name of the persistent cache DB
+     * @param dbFilePath     database file path of the persistent cache DB
+     * @param maxLogFileSize database file size (of a single file) of the persistent cache DB
+     * @param <V>            serializable type of object for value
+     *
+     * @return               persistent cache
+     */
+    public static <V extends Serializable> PersistentCache<UUID, V> createUUIDKeyCache(String dbName, String dbFilePath, long maxLogFileSize) throws PersistentCacheException {
+        return createCache(dbName, dbFilePath, maxLogFileSize, createKeyConfig(new UUIDSerializer()));
+    }
+
+    /**
+     * Creates an instance of the PersistentBytesCache, which stores byte array keys and values without serialization
+     *
+     * @param dbName         database name of the persistent cache DB
+     * @param dbFilePath     database file path of the persistent cache DB
+     * @param maxLogFileSize database file size (of a single file) of the persistent cache DB
+     *
+     * @return               persistent bytes cache
+     */
+    public static PersistentBytesCache createBytesCache(String dbName, String dbFilePath, long maxLogFileSize) throws PersistentCacheException {
+        return createBytesCache(dbName, dbFilePath, maxLogFileSize, new PersistentCacheConfig<>());
+    }
+
+    /**
+     * Creates an instance of the PersistentBytesCache with the given configurations.
+     * The key and value serializers of the configurations are set to the byte array serializer.
+     *
+     * @param dbName         database name of the persistent cache DB
+     * @param dbFilePath     database file path of the persistent cache DB
+     * @param maxLogFileSize database file size (of a single file) of the persistent cache DB
+     * @param config         configurations such as compression
+     *
+     * @return               persistent bytes cache
+     */
+    public static PersistentBytesCache createBytesCache(String dbName, String dbFilePath, long maxLogFileSize, PersistentCacheConfig<byte[], byte[]> config) throws PersistentCacheException {
+        return new BdbPersistentBytesCacheImpl(new BdbPersistentCacheImpl<>(dbName, dbFilePath, maxLogFileSize, toBytesConfig(config)));
+    }
+
+    /**
+     * Creates an instance of the PersistentBytesCache with TTL
+     *
+     * @param dbName              database name of the persistent cache DB
+     * @param dbFilePath          database file path of the persistent cache DB
+     * @param maxLogFileSize      database file size (of a single file) of the persistent cache DB
+     * @param cacheExpiryTime     cache expiry time
+     * @param cacheExpiryTimeUnit cache expiry time unit
+     *
+     * @return                    persistent bytes cache with TTL
+     */
+    public static PersistentBytesCache createBytesTTLCache(String dbName, String dbFilePath, long maxLogFileSize, long cacheExpiryTime, ChronoUnit cacheExpiryTimeUnit) throws PersistentCacheException {
+        return createBytesTTLCache(dbName, dbFilePath, maxLogFileSize, cacheExpiryTime, cacheExpiryTimeUnit, new PersistentCacheConfig<>());
+    }
+
+    /**
+     * Creates an instance of the PersistentBytesCache with TTL and the given configurations.
+     * The key and value serializers of the configurations are set to the byte array serializer.
+     *
+     * @param dbName              database name of the persistent cache DB
+     * @param dbFilePath          database file path of the persistent cache DB
+     * @param maxLogFileSize      database file size (of a single file) of the persistent cache DB
+     * @param cacheExpiryTime     cache expiry time
+     * @param cacheExpiryTimeUnit cache expiry time unit
+     * @param config              configurations such as compression
+     *
+     * @return                    persistent bytes cache with TTL
+     */
+    public static PersistentBytesCache createBytesTTLCache(String dbName, String dbFilePath, long maxLogFileSize, long cacheExpiryTime, ChronoUnit cacheExpiryTimeUnit, PersistentCacheConfig<byte[], byte[]> config) throws PersistentCacheException {
+        return new BdbPersistentBytesCacheImpl(new BdbPersistentTTLCacheImpl<>(dbName, dbFilePath, maxLogFileSize, cacheExpiryTime, cacheExpiryTimeUnit, toBytesConfig(config)));
+    }
+
+    /**
+     * Creates an instance of the PersistentBytesCache with per row TTL
+     *
+     * @param dbName         database name of the persistent cache DB
+     * @param dbFilePath     database file path of the persistent cache DB
+     * @param maxLogFileSize database file size (of a single file) of the persistent cache DB
+     *
+     * @return               persistent bytes cache with per row TTL
+     */
+    public static PersistentBytesCache createBytesPerRowTTLCache(String dbName, String dbFilePath, long maxLogFileSize) throws PersistentCacheException {
+        return createBytesPerRowTTLCache(dbName, dbFilePath, maxLogFileSize, new PersistentCacheConfig<>());
+    }
+
+    /**
+     * Creates an instance of the PersistentBytesCache with per row TTL and the given configurations.
+     * The key and value serializers of the configurations are set to the byte array serializer.
+     *
+     * @param dbName         database name of the persistent cache DB
+     * @param dbFilePath     database file path of the persistent cache DB
+     * @param maxLogFileSize database file size (of a single file) of the persistent cache DB
+     * @param config         configurations such as compression
+     *
+     * @return               persistent bytes cache with per row TTL
+     */
+    public static PersistentBytesCache createBytesPerRowTTLCache(String dbName, String dbFilePath, long maxLogFileSize, PersistentCacheConfig<byte[], byte[]> config) throws PersistentCacheException {
+        return new BdbPersistentBytesCacheImpl(new BdbPersistentPerRowTTLCacheImpl<>(dbName, dbFilePath, maxLogFileSize, toBytesConfig(config)));
+    }
+
+    /**
+     * Creates an instance of the persistent loading bytes cache with TTL
+     *
+     * @param dbName              database name of the persistent cache DB
+     * @param dbFilePath          database file path of the persistent cache DB
+     * @param maxLogFileSize      database file size (of a single file) of the persistent cache DB
+     * @param cacheExpiryTime     cache expiry time
+     * @param cacheExpiryTimeUnit cache expiry time unit
+     * @param cacheLoader         cache loader
+     *
+     * @return                    persistent loading bytes cache
+     */
+    public static PersistentBytesCache createBytesLoadingCache(String dbName, String dbFilePath, long maxLogFileSize, long cacheExpiryTime, ChronoUnit cacheExpiryTimeUnit, CacheLoader<byte[], byte[]> cacheLoader) throws PersistentCacheException {
+        return createBytesLoadingCache(dbName, dbFilePath, maxLogFileSize, cacheExpiryTime, cacheExpiryTimeUnit, cacheLoader, new PersistentCacheConfig<>());
+    }
+
+    /**
+     * Creates an instance of the persistent loading bytes cache with TTL and the given configurations.
+     * The key and value serializers of the configurations are set to the byte array serializer.
+     *
+     * @param dbName              database name of the persistent cache DB
+     * @param dbFilePath          database file path of the persistent cache DB
+     * @param maxLogFileSize      database file size (of a single file) of the persistent cache DB
+     * @param cacheExpiryTime     cache expiry time
+     * @param cacheExpiryTimeUnit cache expiry time unit
+     * @param cacheLoader         cache loader
+     * @param config              configurations such as compression
+     *
+     * @return                    persistent loading bytes cache
+     */
+    public static PersistentBytesCache createBytesLoadingCache(String dbName, String dbFilePath, long maxLogFileSize, long cacheExpiryTime, ChronoUnit cacheExpiryTimeUnit, CacheLoader<byte[], byte[]> cacheLoader, PersistentCacheConfig<byte[], byte[]> config) throws PersistentCacheException {
+        return new BdbPersistentBytesCacheImpl(new BdbPersistentLoadingCacheImpl<>(dbName, dbFilePath, maxLogFileSize, cacheExpiryTime, cacheExpiryTimeUnit, cacheLoader, toBytesConfig(config)));
+    }
+
+    /**
+     * Method to create the configurations with a given key serializer.
+     *
+     * @param keySerializer the key serializer
+     * @param <K>           serializable type of object for key
+     * @param <V>           serializable type of object for value
+     * @return the configurations
+     */
+    private static <K extends Serializable, V extends Serializable> PersistentCacheConfig<K, V> createKeyConfig(Serializer<K> keySerializer) {
+        PersistentCacheConfig<K, V> config = new PersistentCacheConfig<>();
+        config.setKeySerializer(keySerializer);
+        return config;
+    }
+
+    /**
+     * Method to set the byte array serializer for the keys and values of the given configurations.
+     *
+     * @param config the configurations
+     * @return the configurations
+     */
+    private static PersistentCacheConfig<byte[], byte[]> toBytesConfig(PersistentCacheConfig<byte[], byte[]> config) {
+        config.setKeySerializer(new ByteArraySerializer());
+        config.setValueSerializer(new ByteArraySerializer());
+        return config;
+    }
 }
@@ -0,0 +1,19 @@
+package com.leondesilva.persistentcache.cache;
+
+/**
+ * Isolation of the reads of a persistent cache from concurrent writes.
+ *
+ */
+public enum ReadConsistency {
+    /**
+     * Reads return only committed records, and wait for the writers which hold the locks of the records they read.
+     */
+    READ_COMMITTED,
+
+    /**
+     * Reads take no record locks and may return records written by transactions which are not committed yet, and
+     * which may still be aborted. Reads never wait for writers, so hot keys which are written often can be read
+     * without contention.
+     */
+    READ_UNCOMMITTED
+}
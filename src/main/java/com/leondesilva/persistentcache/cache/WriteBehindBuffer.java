@@ -0,0 +1,271 @@
+package com.leondesilva.persistentcache.cache;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded in-memory buffer of serialized records which are written to the Berkeley DB store by a background thread,
+ * so that each write does not wait for its own transaction to be committed.
+ *
+ * Records are kept by their serialized keys, so that a key which is written again before it is flushed is written
+ * only once with its last record. The flusher thread writes the buffered records in batches, each in a single
+ * transaction, when the buffer holds a batch or when the flush interval has passed.
+ *
+ * A record is removed from the buffer only after the transaction which wrote it is committed, and only if it was not
+ * replaced in the meantime, so that reads which check the buffer before the store never miss a write. Writers wait
+ * while the buffer is full, which must be done without holding the locks of the cache that a flush needs. A writer
+ * which waits marks a flush as requested, so that the flusher does not wait for the flush interval even when the
+ * request arrives while it is busy with a flush.
+ *
+ */
+class WriteBehindBuffer {
+    private final Map<ByteBuffer, PendingWrite> pendingWrites = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final Condition flushRequested = lock.newCondition();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final BatchWriter writer;
+    private final int maximumSize;
+    private final int flushSize;
+    private final long flushIntervalMillis;
+    private final Thread flusher;
+    private boolean flushPending;
+    private volatile boolean closed;
+
+    /**
+     * Constructor to instantiate a WriteBehindBuffer and start its flusher thread.
+     *
+     * @param name                name of the flusher thread
+     * @param maximumSize         the max number of buffered keys
+     * @param flushSize           the max number of records written in a transaction, limited to the max number of keys
+     * @param flushIntervalMillis the max time in millis a record is buffered before it is flushed
+     * @param writer              the writer of the batches
+     */
+    WriteBehindBuffer(String name, int maximumSize, int flushSize, long flushIntervalMillis, BatchWriter writer) {
+        this.maximumSize = maximumSize;
+        this.flushSize = Math.min(flushSize, maximumSize);
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.writer = writer;
+        this.flusher = new Thread(this::runFlusher, name);
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Method to wait until the buffer is not full. This must not be called while holding a lock which is needed
+     * to write a batch.
+     */
+    void awaitCapacity() {
+        if (pendingWrites.size() < maximumSize) {
+            return;
+        }
+
+        lock.lock();
+
+        try {
+            while (pendingWrites.size() >= maximumSize && !closed) {
+                flushPending = true;
+                flushRequested.signal();
+                notFull.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method to buffer a copy of a serialized key and record, replacing the buffered record of the key.
+     *
+     * @param key          the array holding the key
+     * @param keyOffset    offset of the key
+     * @param keyLength    length of the key
+     * @param record       the array holding the record
+     * @param recordOffset offset of the record
+     * @param recordLength length of the record
+     */
+    void put(byte[] key, int keyOffset, int keyLength, byte[] record, int recordOffset, int recordLength) {
+        PendingWrite write = new PendingWrite(Arrays.copyOfRange(key, keyOffset, keyOffset + keyLength),
+                Arrays.copyOfRange(record, recordOffset, recordOffset + recordLength));
+        pendingWrites.put(ByteBuffer.wrap(write.key), write);
+
+        if (pendingWrites.size() >= flushSize) {
+            signal(flushRequested);
+        }
+    }
+
+    /**
+     * Method to get a copy of the buffered record of a serialized key.
+     *
+     * @param key    the array holding the key
+     * @param offset offset of the key
+     * @param length length of the key
+     * @return the record or null if the key is not buffered
+     */
+    byte[] get(byte[] key, int offset, int length) {
+        if (pendingWrites.isEmpty()) {
+            return null;
+        }
+
+        PendingWrite write = pendingWrites.get(ByteBuffer.wrap(key, offset, length));
+        return write != null ? write.record.clone() : null;
+    }
+
+    /**
+     * Method to get the number of buffered keys.
+     *
+     * @return the number of buffered keys
+     */
+    int size() {
+        return pendingWrites.size();
+    }
+
+    /**
+     * Method to write all records buffered when the flush starts. This must not be called while holding a lock
+     * which is needed to write a batch.
+     *
+     * @return true if all records were written and false if a batch failed, in which case its records stay buffered
+     */
+    boolean flush() {
+        flushLock.lock();
+
+        try {
+            List<PendingWrite> writes = new ArrayList<>(pendingWrites.values());
+
+            for (int from = 0; from < writes.size(); from += flushSize) {
+                List<PendingWrite> batch = writes.subList(from, Math.min(writes.size(), from + flushSize));
+
+                if (!writer.write(batch)) {
+                    return false;
+                }
+
+                for (PendingWrite write : batch) {
+                    pendingWrites.remove(ByteBuffer.wrap(write.key), write);
+                }
+
+                signalAll(notFull);
+            }
+
+            return true;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Method to discard all buffered records, after waiting for a flush in progress.
+     */
+    void clear() {
+        flushLock.lock();
+
+        try {
+            pendingWrites.clear();
+            signalAll(notFull);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Method to stop the flusher thread and write the buffered records.
+     *
+     * @return true if all records were written and false if not
+     */
+    boolean close() {
+        closed = true;
+        signal(flushRequested);
+        signalAll(notFull);
+
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        return flush();
+    }
+
+    /**
+     * Method run by the flusher thread, which flushes the buffer when it holds a batch, when a waiting writer
+     * requested a flush or when the flush interval has passed, and waits for the flush interval before retrying a
+     * flush which failed.
+     */
+    private void runFlusher() {
+        boolean failed = false;
+
+        while (!closed) {
+            lock.lock();
+
+            try {
+                if (!closed && (failed || (!flushPending && pendingWrites.size() < flushSize))) {
+                    flushRequested.await(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                }
+
+                flushPending = false;
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            if (!closed && !pendingWrites.isEmpty()) {
+                failed = !flush();
+            }
+        }
+    }
+
+    private void signal(Condition condition) {
+        lock.lock();
+
+        try {
+            condition.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void signalAll(Condition condition) {
+        lock.lock();
+
+        try {
+            condition.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writer of a batch of buffered records in a single transaction.
+     */
+    interface BatchWriter {
+
+        /**
+         * Method to write a batch of records in a single transaction.
+         *
+         * @param writes the records to write
+         * @return true if the transaction is committed and false if not
+         */
+        boolean write(List<PendingWrite> writes);
+    }
+
+    /**
+     * Serialized key and record which is buffered until it is written to the store.
+     */
+    static final class PendingWrite {
+        final byte[] key;
+        final byte[] record;
+
+        private PendingWrite(byte[] key, byte[] record) {
+            this.key = key;
+            this.record = record;
+        }
+    }
+}
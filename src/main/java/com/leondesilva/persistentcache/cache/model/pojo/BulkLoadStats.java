@@ -0,0 +1,55 @@
+package com.leondesilva.persistentcache.cache.model.pojo;
+
+/**
+ * Class to represent the progress and throughput of a bulk load of a cache.
+ *
+ */
+public class BulkLoadStats {
+    private long recordCount;
+    private long elapsedMillis;
+
+    /**
+     * Method to get the number of records loaded.
+     *
+     * @return the record count
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Method to set the number of records loaded.
+     *
+     * @param recordCount the record count
+     */
+    public void setRecordCount(long recordCount) {
+        this.recordCount = recordCount;
+    }
+
+    /**
+     * Method to get the time spent loading the records in millis.
+     *
+     * @return the elapsed time in millis
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Method to set the time spent loading the records in millis.
+     *
+     * @param elapsedMillis the elapsed time in millis
+     */
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Method to get the number of records loaded per second.
+     *
+     * @return the records per second or 0 if no time has elapsed
+     */
+    public double getRecordsPerSecond() {
+        return elapsedMillis == 0 ? 0 : recordCount * 1000.0 / elapsedMillis;
+    }
+}
@@ -0,0 +1,67 @@
+package com.leondesilva.persistentcache.cache.model.pojo;
+
+import java.util.List;
+
+/**
+ * Class to represent the result of a chunk of a bulk write, which is written in its own transaction.
+ *
+ */
+public class ChunkResult<K> {
+    private int chunkIndex;
+    private List<K> keys;
+    private boolean successful;
+
+    /**
+     * Method to get the index of the chunk in the bulk write.
+     *
+     * @return the chunk index
+     */
+    public int getChunkIndex() {
+        return chunkIndex;
+    }
+
+    /**
+     * Method to set the index of the chunk in the bulk write.
+     *
+     * @param chunkIndex the chunk index
+     */
+    public void setChunkIndex(int chunkIndex) {
+        this.chunkIndex = chunkIndex;
+    }
+
+    /**
+     * Method to get the keys written by the chunk, which can be written again if the chunk failed.
+     *
+     * @return the keys
+     */
+    public List<K> getKeys() {
+        return keys;
+    }
+
+    /**
+     * Method to set the keys written by the chunk.
+     *
+     * @param keys the keys
+     */
+    public void setKeys(List<K> keys) {
+        this.keys = keys;
+    }
+
+    /**
+     * Method to check whether the transaction of the chunk was committed.
+     *
+     * @return true if all records of the chunk were written and false if none was written
+     */
+    public boolean isSuccessful() {
+        return successful;
+    }
+
+    /**
+     * Method to set whether the transaction of the chunk was committed.
+     *
+     * @param successful true if the chunk was written
+     */
+    public void setSuccessful(boolean successful) {
+        this.successful = successful;
+    }
+}
@@ -0,0 +1,95 @@
+package com.leondesilva.persistentcache.cache.model.pojo;
+
+/**
+ * Class to represent the statistics of the key filter of a cache, which rejects lookups of keys that are not stored.
+ *
+ */
+public class KeyFilterStats {
+    private long lookupCount;
+    private long rejectedCount;
+    private long falsePositiveCount;
+    private double expectedFalsePositiveRate;
+
+    /**
+     * Method to get the number of lookups checked against the filter.
+     *
+     * @return the lookup count
+     */
+    public long getLookupCount() {
+        return lookupCount;
+    }
+
+    /**
+     * Method to set the number of lookups checked against the filter.
+     *
+     * @param lookupCount the lookup count
+     */
+    public void setLookupCount(long lookupCount) {
+        this.lookupCount = lookupCount;
+    }
+
+    /**
+     * Method to get the number of lookups rejected by the filter without reading the store.
+     *
+     * @return the rejected count
+     */
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    /**
+     * Method to set the number of lookups rejected by the filter without reading the store.
+     *
+     * @param rejectedCount the rejected count
+     */
+    public void setRejectedCount(long rejectedCount) {
+        this.rejectedCount = rejectedCount;
+    }
+
+    /**
+     * Method to get the number of lookups passed by the filter for keys which were not found in the store.
+     *
+     * @return the false positive count
+     */
+    public long getFalsePositiveCount() {
+        return falsePositiveCount;
+    }
+
+    /**
+     * Method to set the number of lookups passed by the filter for keys which were not found in the store.
+     *
+     * @param falsePositiveCount the false positive count
+     */
+    public void setFalsePositiveCount(long falsePositiveCount) {
+        this.falsePositiveCount = falsePositiveCount;
+    }
+
+    /**
+     * Method to get the false positive probability of the filter for the number of keys it currently holds.
+     *
+     * @return the expected false positive rate
+     */
+    public double getExpectedFalsePositiveRate() {
+        return expectedFalsePositiveRate;
+    }
+
+    /**
+     * Method to set the false positive probability of the filter for the number of keys it currently holds.
+     *
+     * @param expectedFalsePositiveRate the expected false positive rate
+     */
+    public void setExpectedFalsePositiveRate(double expectedFalsePositiveRate) {
+        this.expectedFalsePositiveRate = expectedFalsePositiveRate;
+    }
+
+    /**
+     * Method to get the observed false positive rate, which is the share of the lookups of keys not in the store
+     * which were passed by the filter.
+     *
+     * @return the false positive rate or 0 if no key which is not in the store was looked up
+     */
+    public double getFalsePositiveRate() {
+        long missCount = rejectedCount + falsePositiveCount;
+        return missCount == 0 ? 0 : (double) falsePositiveCount / missCount;
+    }
+}
@@ -0,0 +1,112 @@
+package com.leondesilva.persistentcache.serializer;
+
+import org.apache.commons.lang3.SerializationException;
+
+/**
+ * Utility methods to read and write big-endian primitives from and to byte arrays.
+ *
+ */
+public final class BinaryUtils {
+
+    /**
+     * Private constructor
+     *
+     */
+    private BinaryUtils() {
+    }
+
+    /**
+     * Method to write a long in big-endian order.
+     *
+     * @param data   the target array
+     * @param offset the offset to write at
+     * @param value  the value to write
+     */
+    public static void writeLong(byte[] data, int offset, long value) {
+        for (int i = 7; i >= 0; i--) {
+            data[offset + i] = (byte) value;
+            value >>>= 8;
+        }
+    }
+
+    /**
+     * Method to read a big-endian long.
+     *
+     * @param data   the source array
+     * @param offset the offset to read from
+     * @return the long value
+     */
+    public static long readLong(byte[] data, int offset) {
+        long value = 0;
+
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (data[offset + i] & 0xFF);
+        }
+
+        return value;
+    }
+
+    /**
+     * Method to write an int in big-endian order.
+     *
+     * @param data   the target array
+     * @param offset the offset to write at
+     * @param value  the value to write
+     */
+    public static void writeInt(byte[] data, int offset, int value) {
+        data[offset] = (byte) (value >>> 24);
+        data[offset + 1] = (byte) (value >>> 16);
+        data[offset + 2] = (byte) (value >>> 8);
+        data[offset + 3] = (byte) value;
+    }
+
+    /**
+     * Method to read a big-endian int.
+     *
+     * @param data   the source array
+     * @param offset the offset to read from
+     * @return the int value
+     */
+    public static int readInt(byte[] data, int offset) {
+        return ((data[offset] & 0xFF) << 24)
+                | ((data[offset + 1] & 0xFF) << 16)
+                | ((data[offset + 2] & 0xFF) << 8)
+                | (data[offset + 3] & 0xFF);
+    }
+
+    /**
+     * Method to write a short in big-endian order.
+     *
+     * @param data   the target array
+     * @param offset the offset to write at
+     * @param value  the value to write
+     */
+    public static void writeShort(byte[] data, int offset, short value) {
+        data[offset] = (byte) (value >>> 8);
+        data[offset + 1] = (byte) value;
+    }
+
+    /**
+     * Method to read a big-endian short.
+     *
+     * @param data   the source array
+     * @param offset the offset to read from
+     * @return the short value
+     */
+    public static short readShort(byte[] data, int offset) {
+        return (short) (((data[offset] & 0xFF) << 8) | (data[offset + 1] & 0xFF));
+    }
+
+    /**
+     * Method to check that a serialized region has the expected fixed length.
+     *
+     * @param length         actual length
+     * @param expectedLength expected length
+     * @param type           name of the type being de-serialized
+     */
+    public static void checkLength(int length, int expectedLength, String type) {
+        if (length != expectedLength) {
+            throw new SerializationException("Invalid length " + length + " for " + type + ", expected " + expectedLength + ".");
+        }
+    }
+}
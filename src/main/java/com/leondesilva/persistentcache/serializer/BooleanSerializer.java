@@ -0,0 +1,27 @@
+package com.leondesilva.persistentcache.serializer;
+
+/**
+ * Serializer for Boolean values using a single byte.
+ *
+ */
+public class BooleanSerializer implements OrderPreservingSerializer<Boolean> {
+    private static final int LENGTH = 1;
+
+    @Override
+    public byte[] serialize(Boolean object) {
+        DataBuffer buffer = new DataBuffer(LENGTH, LENGTH);
+        serialize(object, buffer);
+        return buffer.getData();
+    }
+
+    @Override
+    public void serialize(Boolean object, DataBuffer buffer) {
+        buffer.write(object ? 1 : 0);
+    }
+
+    @Override
+    public Boolean deserialize(byte[] data, int offset, int length) {
+        BinaryUtils.checkLength(length, LENGTH, "Boolean");
+        return data[offset] != 0;
+    }
+}
@@ -0,0 +1,35 @@
+package com.leondesilva.persistentcache.serializer;
+
+import java.util.Arrays;
+
+/**
+ * Serializer for byte arrays. The bytes are stored as they are and sort as unsigned bytes.
+ *
+ */
+public class ByteArraySerializer implements OrderPreservingSerializer<byte[]> {
+
+    /**
+     * Method to serialize a byte array. The given array is returned without copying.
+     *
+     * @param object the byte array
+     * @return the same byte array
+     */
+    @Override
+    public byte[] serialize(byte[] object) {
+        return object;
+    }
+
+    @Override
+    public void serialize(byte[] object, DataBuffer buffer) {
+        buffer.write(object, 0, object.length);
+    }
+
+    @Override
+    public byte[] deserialize(byte[] data, int offset, int length) {
+        if (offset == 0 && length == data.length) {
+            return data;
+        }
+
+        return Arrays.copyOfRange(data, offset, offset + length);
+    }
+}
@@ -0,0 +1,28 @@
+package com.leondesilva.persistentcache.serializer;
+
+/**
+ * Serializer for Byte values using a single byte,
+ * with the sign bit flipped so that negative values sort before positive values.
+ *
+ */
+public class ByteSerializer implements OrderPreservingSerializer<Byte> {
+    private static final int LENGTH = 1;
+
+    @Override
+    public byte[] serialize(Byte object) {
+        DataBuffer buffer = new DataBuffer(LENGTH, LENGTH);
+        serialize(object, buffer);
+        return buffer.getData();
+    }
+
+    @Override
+    public void serialize(Byte object, DataBuffer buffer) {
+        buffer.write(object ^ Byte.MIN_VALUE);
+    }
+
+    @Override
+    public Byte deserialize(byte[] data, int offset, int length) {
+        BinaryUtils.checkLength(length, LENGTH, "Byte");
+        return (byte) (data[offset] ^ Byte.MIN_VALUE);
+    }
+}
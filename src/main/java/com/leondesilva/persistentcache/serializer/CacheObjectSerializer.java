@@ -0,0 +1,429 @@
+package com.leondesilva.persistentcache.serializer;
+
+import com.leondesilva.persistentcache.cache.model.pojo.CacheObject;
+import org.apache.commons.lang3.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Serializer for cache objects which delegates the serialization of the value to a given serializer.
+ * A record consists of a fixed width {@link RecordHeader} followed by the serialized value.
+ * Records written by the previous versions of the cache are read using the {@link LegacyRecordReader}.
+ *
+ * When a compressor is given, values of at least the compression threshold are compressed if that makes them smaller.
+ * Compressed and uncompressed records are told apart by the header, so they can be mixed in the same cache.
+ * When compression dictionaries are given, values are compressed against the active dictionary and the id of the
+ * dictionary is stored with the record. The bodies of large records can be stored in chunks outside of the record,
+ * as described in {@link ChunkedRecord}, in which case the body is read back by the cache before de-serializing.
+ *
+ */
+public class CacheObjectSerializer<V extends Serializable> implements Serializer<CacheObject<V>> {
+    private static final int UNCOMPRESSED_LENGTH_SIZE = 4;
+    private static final int DICTIONARY_ID_SIZE = 4;
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+    private static final String CHUNKED_RECORD_ERROR = "The value of the record is stored in chunks and has to be read from its blob.";
+    private static final DeflateCompressor DEFAULT_DECOMPRESSOR = new DeflateCompressor();
+
+    private final Serializer<V> valueSerializer;
+    private final DeflateCompressor compressor;
+    private final int compressionThreshold;
+    private final CompressionDictionaries dictionaries;
+    private final LegacyRecordReader<V> legacyRecordReader = new LegacyRecordReader<>();
+
+    /**
+     * Constructor to instantiate a CacheObjectSerializer without compression
+     *
+     * @param valueSerializer serializer to be used for the value of the cache object
+     */
+    public CacheObjectSerializer(Serializer<V> valueSerializer) {
+        this(valueSerializer, null, 0);
+    }
+
+    /**
+     * Constructor to instantiate a CacheObjectSerializer
+     *
+     * @param valueSerializer      serializer to be used for the value of the cache object
+     * @param compressor           compressor to be used for the values or null to store values uncompressed
+     * @param compressionThreshold min length of a serialized value in bytes to be compressed
+     */
+    public CacheObjectSerializer(Serializer<V> valueSerializer, DeflateCompressor compressor, int compressionThreshold) {
+        this(valueSerializer, compressor, compressionThreshold, null);
+    }
+
+    /**
+     * Constructor to instantiate a CacheObjectSerializer with compression dictionaries
+     *
+     * @param valueSerializer      serializer to be used for the value of the cache object
+     * @param compressor           compressor to be used for the values or null to store values uncompressed
+     * @param compressionThreshold min length of a serialized value in bytes to be compressed
+     * @param dictionaries         the compression dictionaries or null to compress without dictionaries
+     */
+    public CacheObjectSerializer(Serializer<V> valueSerializer, DeflateCompressor compressor, int compressionThreshold, CompressionDictionaries dictionaries) {
+        this.valueSerializer = valueSerializer;
+        this.compressor = compressor;
+        this.compressionThreshold = compressionThreshold;
+        this.dictionaries = dictionaries;
+    }
+
+    @Override
+    public byte[] serialize(CacheObject<V> object) {
+        DataBuffer buffer = new DataBuffer();
+        serialize(object, buffer);
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Method to serialize a cache object into a buffer. The header is reserved first and filled after the value is
+     * written, so that the value is serialized directly after the header without an intermediate array.
+     *
+     * @param object the cache object to serialize
+     * @param buffer the buffer to write to
+     */
+    @Override
+    public void serialize(CacheObject<V> object, DataBuffer buffer) {
+        int headerOffset = buffer.reserve(RecordHeader.HEADER_LENGTH);
+        byte flags = getFlags(object);
+
+        if (object.getValueObject() != null) {
+            valueSerializer.serialize(object.getValueObject(), buffer);
+
+            flags |= compressValue(buffer, headerOffset + RecordHeader.HEADER_LENGTH);
+        }
+
+        RecordHeader.write(buffer.getData(), headerOffset, flags, toEpochMillis(object.getCachedDatetime()));
+    }
+
+    /**
+     * Method to serialize a record from a value which is already serialized by the value serializer.
+     * The bytes of the value are written directly after the header without being de-serialized.
+     *
+     * @param value          the serialized value, read from its position to its limit
+     * @param cachedDatetime the expiry date time or null if the record does not expire
+     * @param buffer         the buffer to write to
+     */
+    public void serializeValueBuffer(ByteBuffer value, LocalDateTime cachedDatetime, DataBuffer buffer) {
+        int headerOffset = buffer.reserve(RecordHeader.HEADER_LENGTH);
+        byte flags = cachedDatetime != null ? RecordHeader.FLAG_HAS_EXPIRY : 0;
+
+        buffer.write(value);
+        flags |= compressValue(buffer, headerOffset + RecordHeader.HEADER_LENGTH);
+
+        RecordHeader.write(buffer.getData(), headerOffset, flags, toEpochMillis(cachedDatetime));
+    }
+
+    @Override
+    public CacheObject<V> deserialize(byte[] data, int offset, int length) {
+        if (!RecordHeader.hasHeader(data, offset, length)) {
+            return legacyRecordReader.read(data, offset, length);
+        }
+
+        CacheObject<V> cacheObject = new CacheObject<>();
+
+        if (RecordHeader.isFlagSet(data, offset, RecordHeader.FLAG_HAS_EXPIRY)) {
+            cacheObject.setCachedDatetime(toLocalDateTime(RecordHeader.getExpiryMillis(data, offset)));
+        }
+
+        if (!RecordHeader.isFlagSet(data, offset, RecordHeader.FLAG_NULL_VALUE)) {
+            cacheObject.setValueObject(readValue(data, offset, length));
+        }
+
+        return cacheObject;
+    }
+
+    /**
+     * Method to de-serialize only the value of a record, without creating the cache object and its expiry date time.
+     *
+     * @param data   the record
+     * @param offset offset of the record
+     * @param length length of the record
+     * @return the value or null if the record has a null value
+     */
+    public V deserializeValue(byte[] data, int offset, int length) {
+        if (!RecordHeader.hasHeader(data, offset, length)) {
+            return legacyRecordReader.read(data, offset, length).getValueObject();
+        }
+
+        if (RecordHeader.isFlagSet(data, offset, RecordHeader.FLAG_NULL_VALUE)) {
+            return null;
+        }
+
+        return readValue(data, offset, length);
+    }
+
+    /**
+     * Method to get the serialized bytes of the value of a record, without de-serializing the value.
+     * The returned buffer shares the given array unless the value is compressed or the record was written
+     * by a previous version of the cache.
+     *
+     * @param data   the record
+     * @param offset offset of the record
+     * @param length length of the record
+     * @return buffer holding the serialized value or null if the record has a null value
+     */
+    public ByteBuffer deserializeValueBuffer(byte[] data, int offset, int length) {
+        if (!RecordHeader.hasHeader(data, offset, length)) {
+            V value = legacyRecordReader.read(data, offset, length).getValueObject();
+            return value != null ? ByteBuffer.wrap(valueSerializer.serialize(value)) : null;
+        }
+
+        if (RecordHeader.isFlagSet(data, offset, RecordHeader.FLAG_NULL_VALUE)) {
+            return null;
+        }
+
+        if (RecordHeader.isFlagSet(data, offset, RecordHeader.FLAG_CHUNKED)) {
+            throw new SerializationException(CHUNKED_RECORD_ERROR);
+        }
+
+        if (RecordHeader.isFlagSet(data, offset, RecordHeader.FLAG_COMPRESSED)) {
+            return ByteBuffer.wrap(decompressValue(data, offset, length));
+        }
+
+        return ByteBuffer.wrap(data, offset + RecordHeader.HEADER_LENGTH, length - RecordHeader.HEADER_LENGTH).slice();
+    }
+
+    /**
+     * Method to get a stream of the serialized bytes of the value of a record, without de-serializing the value.
+     * For a chunked record, the body is read from the given stream of its blob and decompressed while it is read,
+     * so that the value is never fully held in memory.
+     *
+     * @param data   the record
+     * @param offset offset of the record
+     * @param length length of the record
+     * @param body   stream of the blob holding the body of a chunked record, not used for other records
+     * @return stream of the serialized value or null if the record has a null value
+     * @throws IOException if an error occurs while reading the start of the body
+     */
+    public InputStream deserializeValueStream(byte[] data, int offset, int length, InputStream body) throws IOException {
+        if (!ChunkedRecord.isChunked(data, offset, length)) {
+            ByteBuffer value = deserializeValueBuffer(data, offset, length);
+            return value != null ? new ByteArrayInputStream(value.array(), value.arrayOffset() + value.position(), value.remaining()) : null;
+        }
+
+        if (!RecordHeader.isFlagSet(data, offset, RecordHeader.FLAG_COMPRESSED)) {
+            return body;
+        }
+
+        DataInputStream in = new DataInputStream(body);
+        in.readInt();
+        Inflater inflater = new Inflater(true);
+
+        if (RecordHeader.isFlagSet(data, offset, RecordHeader.FLAG_DICTIONARY)) {
+            int dictionaryId = in.readInt();
+            CompressionDictionary dictionary = dictionaries != null ? dictionaries.getDictionary(dictionaryId) : null;
+
+            if (dictionary == null) {
+                inflater.end();
+                throw new SerializationException("Compression dictionary " + dictionaryId + " is not available.");
+            }
+
+            inflater.setDictionary(dictionary.getData());
+        }
+
+        return new InflaterInputStream(in, inflater, STREAM_BUFFER_SIZE) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    inflater.end();
+                }
+            }
+        };
+    }
+
+    /**
+     * Method to check whether a record is expired. Only the header is read for records written in the current format.
+     *
+     * @param data      the record
+     * @param offset    offset of the record
+     * @param length    length of the record
+     * @param nowMillis the current time as epoch millis
+     * @return true if expired and false if not
+     */
+    public boolean isExpired(byte[] data, int offset, int length, long nowMillis) {
+        if (RecordHeader.hasHeader(data, offset, length)) {
+            return RecordHeader.isExpired(data, offset, nowMillis);
+        }
+
+        LocalDateTime cachedDatetime = legacyRecordReader.read(data, offset, length).getCachedDatetime();
+        return cachedDatetime != null && nowMillis > toEpochMillis(cachedDatetime);
+    }
+
+    /**
+     * Method to get the expiry time of a record.
+     *
+     * @param data   the record
+     * @param offset offset of the record
+     * @param length length of the record
+     * @return the expiry time as epoch millis or Long.MAX_VALUE if the record does not expire
+     */
+    public long getExpiryMillis(byte[] data, int offset, int length) {
+        if (RecordHeader.hasHeader(data, offset, length)) {
+            return RecordHeader.getExpiryMillis(data, offset);
+        }
+
+        LocalDateTime cachedDatetime = legacyRecordReader.read(data, offset, length).getCachedDatetime();
+        return cachedDatetime != null ? toEpochMillis(cachedDatetime) : Long.MAX_VALUE;
+    }
+
+    /**
+     * Method to offer the value of a stored record as a sample for training a compression dictionary.
+     * Records without a value and records written by the previous versions of the cache are ignored.
+     *
+     * @param data   the record
+     * @param offset offset of the record
+     * @param length length of the record
+     */
+    public void addDictionarySample(byte[] data, int offset, int length) {
+        if (dictionaries == null || !RecordHeader.hasHeader(data, offset, length) || RecordHeader.isFlagSet(data, offset, RecordHeader.FLAG_NULL_VALUE)
+                || RecordHeader.isFlagSet(data, offset, RecordHeader.FLAG_CHUNKED)) {
+            return;
+        }
+
+        if (RecordHeader.isFlagSet(data, offset, RecordHeader.FLAG_COMPRESSED)) {
+            byte[] value = decompressValue(data, offset, length);
+            dictionaries.addSample(value, 0, value.length);
+        } else {
+            dictionaries.addSample(data, offset + RecordHeader.HEADER_LENGTH, length - RecordHeader.HEADER_LENGTH);
+        }
+    }
+
+    /**
+     * Method to compress the serialized value at the end of a buffer in place.
+     * The value is left as it is if it is below the compression threshold or does not get smaller.
+     *
+     * @param buffer      the buffer holding the serialized value
+     * @param valueOffset offset of the serialized value in the buffer
+     * @return the compression flags to be set in the header
+     */
+    private byte compressValue(DataBuffer buffer, int valueOffset) {
+        int valueLength = buffer.size() - valueOffset;
+
+        if (compressor == null || valueLength < compressionThreshold) {
+            return 0;
+        }
+
+        CompressionDictionary dictionary = null;
+
+        if (dictionaries != null) {
+            dictionaries.addSample(buffer.getData(), valueOffset, valueLength);
+            dictionary = dictionaries.getActiveDictionary();
+        }
+
+        int prefixLength = dictionary != null ? UNCOMPRESSED_LENGTH_SIZE + DICTIONARY_ID_SIZE : UNCOMPRESSED_LENGTH_SIZE;
+
+        if (valueLength <= prefixLength) {
+            return 0;
+        }
+
+        // The compressed bytes are appended after the value and then moved to the value offset.
+        int compressedOffset = buffer.size();
+        byte[] dictionaryData = dictionary != null ? dictionary.getData() : null;
+        int compressedLength = compressor.compress(buffer.getData(), valueOffset, valueLength, buffer, valueLength - prefixLength, dictionaryData);
+
+        if (compressedLength < 0) {
+            return 0;
+        }
+
+        byte[] data = buffer.getData();
+        BinaryUtils.writeInt(data, valueOffset, valueLength);
+
+        if (dictionary != null) {
+            BinaryUtils.writeInt(data, valueOffset + UNCOMPRESSED_LENGTH_SIZE, dictionary.getId());
+        }
+
+        System.arraycopy(data, compressedOffset, data, valueOffset + prefixLength, compressedLength);
+        buffer.setSize(valueOffset + prefixLength + compressedLength);
+
+        return dictionary != null ? (byte) (RecordHeader.FLAG_COMPRESSED | RecordHeader.FLAG_DICTIONARY) : RecordHeader.FLAG_COMPRESSED;
+    }
+
+    /**
+     * Method to decompress the value of a compressed record.
+     *
+     * @param data   the record
+     * @param offset offset of the record
+     * @param length length of the record
+     * @return the serialized value
+     */
+    private byte[] decompressValue(byte[] data, int offset, int length) {
+        int valueOffset = offset + RecordHeader.HEADER_LENGTH;
+        int valueLength = length - RecordHeader.HEADER_LENGTH;
+        int uncompressedLength = BinaryUtils.readInt(data, valueOffset);
+        DeflateCompressor decompressor = compressor != null ? compressor : DEFAULT_DECOMPRESSOR;
+
+        if (!RecordHeader.isFlagSet(data, offset, RecordHeader.FLAG_DICTIONARY)) {
+            return decompressor.decompress(data, valueOffset + UNCOMPRESSED_LENGTH_SIZE, valueLength - UNCOMPRESSED_LENGTH_SIZE, uncompressedLength);
+        }
+
+        int dictionaryId = BinaryUtils.readInt(data, valueOffset + UNCOMPRESSED_LENGTH_SIZE);
+        CompressionDictionary dictionary = dictionaries != null ? dictionaries.getDictionary(dictionaryId) : null;
+
+        if (dictionary == null) {
+            throw new SerializationException("Compression dictionary " + dictionaryId + " is not available.");
+        }
+
+        int prefixLength = UNCOMPRESSED_LENGTH_SIZE + DICTIONARY_ID_SIZE;
+        return decompressor.decompress(data, valueOffset + prefixLength, valueLength - prefixLength, uncompressedLength, dictionary.getData());
+    }
+
+    /**
+     * Method to de-serialize the value of a record with a header, decompressing it if needed.
+     *
+     * @param data   the record
+     * @param offset offset of the record
+     * @param length length of the record
+     * @return the value
+     */
+    private V readValue(byte[] data, int offset, int length) {
+        if (RecordHeader.isFlagSet(data, offset, RecordHeader.FLAG_CHUNKED)) {
+            throw new SerializationException(CHUNKED_RECORD_ERROR);
+        }
+
+        int valueOffset = offset + RecordHeader.HEADER_LENGTH;
+        int valueLength = length - RecordHeader.HEADER_LENGTH;
+
+        if (!RecordHeader.isFlagSet(data, offset, RecordHeader.FLAG_COMPRESSED)) {
+            return valueSerializer.deserialize(data, valueOffset, valueLength);
+        }
+
+        byte[] value = decompressValue(data, offset, length);
+        return valueSerializer.deserialize(value, 0, value.length);
+    }
+
+    private byte getFlags(CacheObject<V> object) {
+        byte flags = 0;
+
+        if (object.getCachedDatetime() != null) {
+            flags |= RecordHeader.FLAG_HAS_EXPIRY;
+        }
+
+        if (object.getValueObject() == null) {
+            flags |= RecordHeader.FLAG_NULL_VALUE;
+        }
+
+        return flags;
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return 0L;
+        }
+
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
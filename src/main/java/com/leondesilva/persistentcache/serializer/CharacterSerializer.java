@@ -0,0 +1,27 @@
+package com.leondesilva.persistentcache.serializer;
+
+/**
+ * Serializer for Character values using a fixed width big-endian encoding of 2 bytes.
+ *
+ */
+public class CharacterSerializer implements OrderPreservingSerializer<Character> {
+    private static final int LENGTH = 2;
+
+    @Override
+    public byte[] serialize(Character object) {
+        DataBuffer buffer = new DataBuffer(LENGTH, LENGTH);
+        serialize(object, buffer);
+        return buffer.getData();
+    }
+
+    @Override
+    public void serialize(Character object, DataBuffer buffer) {
+        buffer.writeShort((short) object.charValue());
+    }
+
+    @Override
+    public Character deserialize(byte[] data, int offset, int length) {
+        BinaryUtils.checkLength(length, LENGTH, "Character");
+        return (char) BinaryUtils.readShort(data, offset);
+    }
+}
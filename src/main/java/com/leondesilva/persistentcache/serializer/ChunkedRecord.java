@@ -0,0 +1,92 @@
+package com.leondesilva.persistentcache.serializer;
+
+/**
+ * Class to read and write the records of large values stored in chunks. Such a record keeps the header of the record,
+ * with {@link RecordHeader#FLAG_CHUNKED} set, followed by the id of the chunked blob and the length of the record body.
+ *
+ * <pre>
+ * | record header (10 bytes) | blob id (8 bytes) | body length (4 bytes) |
+ * </pre>
+ * The blob holds the record body as it would have been stored without chunking, compressed or not.
+ *
+ */
+public final class ChunkedRecord {
+    public static final int LENGTH = RecordHeader.HEADER_LENGTH + 12;
+
+    private static final int BLOB_ID_OFFSET = RecordHeader.HEADER_LENGTH;
+    private static final int BODY_LENGTH_OFFSET = RecordHeader.HEADER_LENGTH + 8;
+
+    /**
+     * Private constructor
+     *
+     */
+    private ChunkedRecord() {
+    }
+
+    /**
+     * Method to check whether a record is stored in chunks.
+     *
+     * @param data   the record
+     * @param offset offset of the record
+     * @param length length of the record
+     * @return true if the record is stored in chunks and false if not
+     */
+    public static boolean isChunked(byte[] data, int offset, int length) {
+        return length >= LENGTH && RecordHeader.hasHeader(data, offset, length) && RecordHeader.isFlagSet(data, offset, RecordHeader.FLAG_CHUNKED);
+    }
+
+    /**
+     * Method to write the chunked record of a given record, the body of which is stored as a blob.
+     *
+     * @param record the record
+     * @param offset offset of the record
+     * @param length length of the record
+     * @param blobId id of the blob holding the body of the record
+     * @return the chunked record
+     */
+    public static byte[] write(byte[] record, int offset, int length, long blobId) {
+        byte[] data = new byte[LENGTH];
+        System.arraycopy(record, offset, data, 0, RecordHeader.HEADER_LENGTH);
+        RecordHeader.setFlag(data, 0, RecordHeader.FLAG_CHUNKED, true);
+        BinaryUtils.writeLong(data, BLOB_ID_OFFSET, blobId);
+        BinaryUtils.writeInt(data, BODY_LENGTH_OFFSET, length - RecordHeader.HEADER_LENGTH);
+        return data;
+    }
+
+    /**
+     * Method to get the id of the blob holding the body of a chunked record.
+     *
+     * @param data   the chunked record
+     * @param offset offset of the chunked record
+     * @return the blob id
+     */
+    public static long getBlobId(byte[] data, int offset) {
+        return BinaryUtils.readLong(data, offset + BLOB_ID_OFFSET);
+    }
+
+    /**
+     * Method to get the length of the body of a chunked record.
+     *
+     * @param data   the chunked record
+     * @param offset offset of the chunked record
+     * @return the body length
+     */
+    public static int getBodyLength(byte[] data, int offset) {
+        return BinaryUtils.readInt(data, offset + BODY_LENGTH_OFFSET);
+    }
+
+    /**
+     * Method to create the array of the full record of a chunked record, holding the header without the chunked flag.
+     * The body of the record is to be read into the array after the header.
+     *
+     * @param data   the chunked record
+     * @param offset offset of the chunked record
+     * @return the array of the full record
+     */
+    public static byte[] createRecord(byte[] data, int offset) {
+        byte[] record = new byte[RecordHeader.HEADER_LENGTH + getBodyLength(data, offset)];
+        System.arraycopy(data, offset, record, 0, RecordHeader.HEADER_LENGTH);
+        RecordHeader.setFlag(record, 0, RecordHeader.FLAG_CHUNKED, false);
+        return record;
+    }
+}
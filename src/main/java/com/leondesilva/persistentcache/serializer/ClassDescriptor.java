@@ -0,0 +1,165 @@
+package com.leondesilva.persistentcache.serializer;
+
+import org.apache.commons.lang3.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Class to represent the field layout of a class registered in a {@link ClassRegistry}.
+ * A class gets a new descriptor with a new id every time its fields change, so that the records written with
+ * the previous layouts can still be read.
+ *
+ */
+public final class ClassDescriptor {
+    private final int id;
+    private final String className;
+    private final List<String> fieldNames;
+    private final List<String> fieldTypeNames;
+
+    /**
+     * Constructor to instantiate a ClassDescriptor
+     *
+     * @param id             the id of the descriptor
+     * @param className      the name of the class
+     * @param fieldNames     the names of the fields in the order they are written
+     * @param fieldTypeNames the type names of the fields in the order they are written
+     */
+    public ClassDescriptor(int id, String className, List<String> fieldNames, List<String> fieldTypeNames) {
+        this.id = id;
+        this.className = className;
+        this.fieldNames = Collections.unmodifiableList(new ArrayList<>(fieldNames));
+        this.fieldTypeNames = Collections.unmodifiableList(new ArrayList<>(fieldTypeNames));
+    }
+
+    /**
+     * Method to create a copy of the descriptor with a given id.
+     *
+     * @param id the id
+     * @return the descriptor with the given id
+     */
+    public ClassDescriptor withId(int id) {
+        return new ClassDescriptor(id, className, fieldNames, fieldTypeNames);
+    }
+
+    /**
+     * Method to check whether the descriptor has the same class and field layout as another descriptor.
+     *
+     * @param other the other descriptor
+     * @return true if the layouts are the same and false if not
+     */
+    public boolean hasSameLayout(ClassDescriptor other) {
+        return className.equals(other.className) && fieldNames.equals(other.fieldNames) && fieldTypeNames.equals(other.fieldTypeNames);
+    }
+
+    /**
+     * Method to get the id of the descriptor.
+     *
+     * @return the id
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Method to get the name of the class.
+     *
+     * @return the class name
+     */
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * Method to get the names of the fields in the order they are written.
+     *
+     * @return the field names
+     */
+    public List<String> getFieldNames() {
+        return fieldNames;
+    }
+
+    /**
+     * Method to get the type names of the fields in the order they are written.
+     *
+     * @return the field type names
+     */
+    public List<String> getFieldTypeNames() {
+        return fieldTypeNames;
+    }
+
+    /**
+     * Method to serialize the layout of the descriptor. The id is not included.
+     *
+     * @return serialized bytes
+     */
+    public byte[] toBytes() {
+        DataBuffer buffer = new DataBuffer();
+
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            out.writeUTF(className);
+            out.writeInt(fieldNames.size());
+
+            for (int i = 0; i < fieldNames.size(); i++) {
+                out.writeUTF(fieldNames.get(i));
+                out.writeUTF(fieldTypeNames.get(i));
+            }
+        } catch (IOException e) {
+            throw new SerializationException("Error occurred while serializing descriptor of " + className, e);
+        }
+
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Method to de-serialize a descriptor.
+     *
+     * @param id     the id of the descriptor
+     * @param data   the source array
+     * @param offset offset of the serialized descriptor
+     * @param length length of the serialized descriptor
+     * @return the descriptor
+     */
+    public static ClassDescriptor fromBytes(int id, byte[] data, int offset, int length) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, offset, length))) {
+            String className = in.readUTF();
+            int fieldCount = in.readInt();
+            List<String> fieldNames = new ArrayList<>(fieldCount);
+            List<String> fieldTypeNames = new ArrayList<>(fieldCount);
+
+            for (int i = 0; i < fieldCount; i++) {
+                fieldNames.add(in.readUTF());
+                fieldTypeNames.add(in.readUTF());
+            }
+
+            return new ClassDescriptor(id, className, fieldNames, fieldTypeNames);
+        } catch (IOException e) {
+            throw new SerializationException("Error occurred while de-serializing class descriptor " + id, e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        ClassDescriptor that = (ClassDescriptor) o;
+        return id == that.id && hasSameLayout(that);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, className, fieldNames, fieldTypeNames);
+    }
+}
@@ -0,0 +1,25 @@
+package com.leondesilva.persistentcache.serializer;
+
+/**
+ * Interface for the registry of the class layouts used by the {@link ClassRegistrySerializer}.
+ * Ids must never be reused, as records refer to the layout they were written with by its id.
+ *
+ */
+public interface ClassRegistry {
+
+    /**
+     * Method to register a class layout. If the same layout is already registered, the existing descriptor is returned.
+     *
+     * @param descriptor the descriptor of the layout, the id of which is ignored
+     * @return the registered descriptor with its id
+     */
+    ClassDescriptor register(ClassDescriptor descriptor);
+
+    /**
+     * Method to get a registered descriptor by its id.
+     *
+     * @param id the id of the descriptor
+     * @return the descriptor or null if there is no descriptor for the given id
+     */
+    ClassDescriptor getDescriptor(int id);
+}
@@ -0,0 +1,332 @@
+package com.leondesilva.persistentcache.serializer;
+
+import org.apache.commons.lang3.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compact serializer which replaces the class descriptor written by java serialization with the id of the class layout
+ * in a {@link ClassRegistry}, followed by the field values of the object written in the same form as the
+ * {@link ReflectiveSerializer}.
+ *
+ * Objects of classes which cannot be written field by field, such as JDK classes, arrays, enums, classes without a
+ * no argument constructor and classes with custom serialization methods, are written using java serialization.
+ * A java serialization stream is told apart from a class id by its stream header, so records written using java
+ * serialization before this serializer was used can still be read.
+ *
+ * When a class changes, its new layout gets a new id and records written with the previous layouts are read by
+ * matching the stored fields to the current fields by name. A {@link SchemaEvolutionHandler} can be given to upgrade
+ * those objects further.
+ *
+ */
+public class ClassRegistrySerializer<T> implements Serializer<T> {
+    private static final int STREAM_MAGIC_FIRST_BYTE = 0xAC;
+    private static final int STREAM_MAGIC_SECOND_BYTE = 0xED;
+    private static final String[] SERIALIZATION_METHOD_NAMES = {"writeObject", "readObject", "writeReplace", "readResolve"};
+
+    private final ClassRegistry registry;
+    private final SchemaEvolutionHandler evolutionHandler;
+    private final JavaSerializer<T> javaSerializer = new JavaSerializer<>();
+    private final Map<Class<?>, WriteLayout> writeLayouts = new ConcurrentHashMap<>();
+    private final Map<Integer, ReadLayout> readLayouts = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor to instantiate a ClassRegistrySerializer without a schema evolution handler
+     *
+     * @param registry the class registry
+     */
+    public ClassRegistrySerializer(ClassRegistry registry) {
+        this(registry, null);
+    }
+
+    /**
+     * Constructor to instantiate a ClassRegistrySerializer
+     *
+     * @param registry         the class registry
+     * @param evolutionHandler the handler to upgrade objects read from records written with a previous class layout, can be null
+     */
+    public ClassRegistrySerializer(ClassRegistry registry, SchemaEvolutionHandler evolutionHandler) {
+        this.registry = registry;
+        this.evolutionHandler = evolutionHandler;
+    }
+
+    /**
+     * Method to serialize a given object.
+     *
+     * @param object the object to serialize
+     * @return serialized bytes
+     */
+    @Override
+    public byte[] serialize(T object) {
+        DataBuffer buffer = new DataBuffer();
+        serialize(object, buffer);
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Method to serialize a given object into a buffer.
+     *
+     * @param object the object to serialize
+     * @param buffer the buffer to write to
+     */
+    @Override
+    public void serialize(T object, DataBuffer buffer) {
+        WriteLayout layout = object == null ? null : writeLayouts.computeIfAbsent(object.getClass(), this::createWriteLayout);
+
+        if (layout == null || layout.descriptor == null) {
+            javaSerializer.serialize(object, buffer);
+            return;
+        }
+
+        writeVarInt(buffer, layout.descriptor.getId());
+        DataOutputStream out = new DataOutputStream(buffer);
+
+        try {
+            for (Field field : layout.fields) {
+                FieldCodec.writeField(out, field.getType(), field.get(object));
+            }
+        } catch (IOException | IllegalAccessException e) {
+            throw new SerializationException("Error occurred while serializing " + object.getClass().getName(), e);
+        }
+    }
+
+    /**
+     * Method to de-serialize an object.
+     *
+     * @param data   the byte array
+     * @param offset offset of the first byte of the object
+     * @param length number of bytes of the object
+     * @return de-serialized object
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T deserialize(byte[] data, int offset, int length) {
+        if (isJavaSerialization(data, offset, length)) {
+            return javaSerializer.deserialize(data, offset, length);
+        }
+
+        int id = 0;
+        int shift = 0;
+        int position = offset;
+        int end = offset + length;
+        byte current;
+
+        do {
+            if (position == end || shift > 28) {
+                throw new SerializationException("Invalid class id in serialized object.");
+            }
+
+            current = data[position++];
+            id |= (current & 0x7F) << shift;
+            shift += 7;
+        } while ((current & 0x80) != 0);
+
+        ReadLayout layout = getReadLayout(id);
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, position, end - position))) {
+            return (T) layout.read(in);
+        } catch (SerializationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new SerializationException("Error occurred while de-serializing " + layout.descriptor.getClassName(), e);
+        }
+    }
+
+    /**
+     * Method to check whether the serialized bytes are a java serialization stream. A class id never starts with the
+     * stream header, as a class id ending with a zero byte after its first byte is not written.
+     *
+     * @param data   the byte array
+     * @param offset offset of the first byte of the object
+     * @param length number of bytes of the object
+     * @return true if the bytes are a java serialization stream and false if not
+     */
+    private static boolean isJavaSerialization(byte[] data, int offset, int length) {
+        return length >= 4 && (data[offset] & 0xFF) == STREAM_MAGIC_FIRST_BYTE && (data[offset + 1] & 0xFF) == STREAM_MAGIC_SECOND_BYTE
+                && data[offset + 2] == 0;
+    }
+
+    private static void writeVarInt(DataBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        buffer.write(value);
+    }
+
+    /**
+     * Method to create the write layout of a class, registering the layout if the class can be written field by field.
+     *
+     * @param type the class
+     * @return the write layout, with a null descriptor if the class is written using java serialization
+     */
+    private WriteLayout createWriteLayout(Class<?> type) {
+        if (!isSupported(type)) {
+            return new WriteLayout(null, null);
+        }
+
+        List<Field> fields = FieldCodec.findFields(type);
+        List<String> fieldNames = new ArrayList<>(fields.size());
+        List<String> fieldTypeNames = new ArrayList<>(fields.size());
+
+        for (Field field : fields) {
+            fieldNames.add(field.getName());
+            fieldTypeNames.add(field.getType().getName());
+        }
+
+        ClassDescriptor descriptor = registry.register(new ClassDescriptor(0, type.getName(), fieldNames, fieldTypeNames));
+        return new WriteLayout(descriptor, fields);
+    }
+
+    /**
+     * Method to check whether objects of a class can be written field by field.
+     *
+     * @param type the class
+     * @return true if the class can be written field by field and false if java serialization should be used
+     */
+    private static boolean isSupported(Class<?> type) {
+        String name = type.getName();
+
+        if (type.isArray() || type.isEnum() || type.isPrimitive() || type.isInterface() || name.startsWith("java.") || name.startsWith("javax.")
+                || type.isAnonymousClass() || type.isLocalClass() || type.isSynthetic() || Externalizable.class.isAssignableFrom(type)) {
+            return false;
+        }
+
+        try {
+            type.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Method method : current.getDeclaredMethods()) {
+                for (String methodName : SERIALIZATION_METHOD_NAMES) {
+                    if (methodName.equals(method.getName())) {
+                        return false;
+                    }
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private ReadLayout getReadLayout(int id) {
+        ReadLayout layout = readLayouts.get(id);
+
+        if (layout != null) {
+            return layout;
+        }
+
+        ClassDescriptor descriptor = registry.getDescriptor(id);
+
+        if (descriptor == null) {
+            throw new SerializationException("Class id " + id + " is not registered.");
+        }
+
+        layout = new ReadLayout(descriptor);
+        readLayouts.put(id, layout);
+        return layout;
+    }
+
+    /**
+     * Class to represent the layout used to write the objects of a class.
+     */
+    private static final class WriteLayout {
+        private final ClassDescriptor descriptor;
+        private final List<Field> fields;
+
+        private WriteLayout(ClassDescriptor descriptor, List<Field> fields) {
+            this.descriptor = descriptor;
+            this.fields = fields;
+        }
+    }
+
+    /**
+     * Class to represent the layout used to read the records written with a registered descriptor.
+     * Each stored field is mapped to the current field with the same name and a compatible type, if there is one.
+     */
+    private final class ReadLayout {
+        private final ClassDescriptor descriptor;
+        private final Constructor<?> constructor;
+        private final Class<?>[] storedTypes;
+        private final Field[] targetFields;
+        private final boolean currentLayout;
+
+        private ReadLayout(ClassDescriptor descriptor) {
+            this.descriptor = descriptor;
+            Class<?> type = FieldCodec.resolveType(descriptor.getClassName());
+
+            if (type == null) {
+                throw new SerializationException("Class " + descriptor.getClassName() + " of class id " + descriptor.getId() + " is not available.");
+            }
+
+            try {
+                constructor = type.getDeclaredConstructor();
+                constructor.setAccessible(true);
+            } catch (NoSuchMethodException e) {
+                throw new SerializationException(type.getName() + " does not have a no argument constructor.", e);
+            }
+
+            Map<String, Field> currentFields = new HashMap<>();
+
+            for (Field field : FieldCodec.findFields(type)) {
+                currentFields.putIfAbsent(field.getName(), field);
+            }
+
+            int fieldCount = descriptor.getFieldNames().size();
+            storedTypes = new Class<?>[fieldCount];
+            targetFields = new Field[fieldCount];
+            boolean sameLayout = fieldCount == currentFields.size();
+
+            for (int i = 0; i < fieldCount; i++) {
+                // The value of a type which is not available anymore is an enum name or a java serialized object,
+                // both of which are written as a length prefixed byte array.
+                Class<?> storedType = FieldCodec.resolveType(descriptor.getFieldTypeNames().get(i));
+                storedTypes[i] = storedType != null ? storedType : byte[].class;
+                Field field = currentFields.get(descriptor.getFieldNames().get(i));
+
+                if (storedType != null && field != null && FieldCodec.isAssignable(field.getType(), storedType)) {
+                    targetFields[i] = field;
+                }
+
+                sameLayout &= field != null && field.getType() == storedType;
+            }
+
+            currentLayout = sameLayout;
+        }
+
+        private Object read(DataInputStream in) throws Exception {
+            Object object = constructor.newInstance();
+            Map<String, Object> values = currentLayout || evolutionHandler == null ? null : new HashMap<>();
+
+            for (int i = 0; i < storedTypes.length; i++) {
+                Object value = FieldCodec.readField(in, storedTypes[i]);
+                Field field = targetFields[i];
+
+                if (field != null && (value != null || !field.getType().isPrimitive())) {
+                    field.set(object, value);
+                }
+
+                if (values != null) {
+                    values.put(descriptor.getFieldNames().get(i), value);
+                }
+            }
+
+            return values == null ? object : evolutionHandler.evolve(descriptor, values, object);
+        }
+    }
+}
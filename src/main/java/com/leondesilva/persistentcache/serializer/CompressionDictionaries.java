@@ -0,0 +1,33 @@
+package com.leondesilva.persistentcache.serializer;
+
+/**
+ * Interface for the store of the compression dictionaries of a cache.
+ *
+ */
+public interface CompressionDictionaries {
+
+    /**
+     * Method to get the dictionary to be used for compressing new values.
+     *
+     * @return the active dictionary or null if there is no dictionary to compress with yet
+     */
+    CompressionDictionary getActiveDictionary();
+
+    /**
+     * Method to get a dictionary by its id, to decompress a value compressed against it.
+     *
+     * @param id the id of the dictionary
+     * @return the dictionary or null if there is no dictionary for the given id
+     */
+    CompressionDictionary getDictionary(int id);
+
+    /**
+     * Method to offer a serialized value as a sample for training a dictionary.
+     * The bytes are copied if the sample is kept.
+     *
+     * @param data   the source array
+     * @param offset offset of the serialized value
+     * @param length length of the serialized value
+     */
+    void addSample(byte[] data, int offset, int length);
+}
@@ -0,0 +1,40 @@
+package com.leondesilva.persistentcache.serializer;
+
+/**
+ * Class to represent a preset dictionary used to compress small values which share most of their structure.
+ * The id of the dictionary is stored with each record compressed against it.
+ *
+ */
+public final class CompressionDictionary {
+    private final int id;
+    private final byte[] data;
+
+    /**
+     * Constructor to instantiate a CompressionDictionary
+     *
+     * @param id   the id of the dictionary
+     * @param data the dictionary bytes
+     */
+    public CompressionDictionary(int id, byte[] data) {
+        this.id = id;
+        this.data = data;
+    }
+
+    /**
+     * Method to get the id of the dictionary.
+     *
+     * @return the id
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Method to get the dictionary bytes.
+     *
+     * @return the dictionary bytes
+     */
+    public byte[] getData() {
+        return data;
+    }
+}
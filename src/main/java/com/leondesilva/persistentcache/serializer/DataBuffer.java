@@ -0,0 +1,176 @@
+package com.leondesilva.persistentcache.serializer;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer used to serialize keys and values without allocating a new array for each operation.
+ * A buffer is meant to be reused by a single thread, calling {@link #reset()} before writing the next object.
+ *
+ */
+public class DataBuffer extends OutputStream {
+    private static final int DEFAULT_INITIAL_CAPACITY = 256;
+    private static final int DEFAULT_MAX_RETAINED_CAPACITY = 1024 * 1024;
+
+    private final int initialCapacity;
+    private final int maxRetainedCapacity;
+    private byte[] data;
+    private int size;
+
+    /**
+     * Constructor to instantiate a DataBuffer with the default capacities
+     *
+     */
+    public DataBuffer() {
+        this(DEFAULT_INITIAL_CAPACITY, DEFAULT_MAX_RETAINED_CAPACITY);
+    }
+
+    /**
+     * Constructor to instantiate a DataBuffer
+     *
+     * @param initialCapacity     the initial capacity in bytes
+     * @param maxRetainedCapacity the max capacity kept after a reset, larger arrays are released
+     */
+    public DataBuffer(int initialCapacity, int maxRetainedCapacity) {
+        this.initialCapacity = initialCapacity;
+        this.maxRetainedCapacity = maxRetainedCapacity;
+        this.data = new byte[initialCapacity];
+    }
+
+    /**
+     * Method to clear the buffer so that it can be reused. The underlying array is kept unless it has grown
+     * beyond the max retained capacity, so that a single large value does not stay in memory.
+     */
+    public void reset() {
+        size = 0;
+
+        if (data.length > maxRetainedCapacity) {
+            data = new byte[initialCapacity];
+        }
+    }
+
+    /**
+     * Method to make sure that a given number of bytes can be written without growing the buffer again.
+     *
+     * @param length number of bytes to be written
+     */
+    public void ensureCapacity(int length) {
+        int required = size + length;
+
+        if (required > data.length) {
+            data = Arrays.copyOf(data, Math.max(required, data.length << 1));
+        }
+    }
+
+    /**
+     * Method to reserve a region of a given length to be filled later.
+     *
+     * @param length length of the region
+     * @return offset of the reserved region
+     */
+    public int reserve(int length) {
+        ensureCapacity(length);
+        int offset = size;
+        size += length;
+        return offset;
+    }
+
+    @Override
+    public void write(int b) {
+        ensureCapacity(1);
+        data[size++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) {
+        ensureCapacity(length);
+        System.arraycopy(bytes, offset, data, size, length);
+        size += length;
+    }
+
+    /**
+     * Method to write the remaining bytes of a byte buffer. The position of the byte buffer is not changed.
+     *
+     * @param bytes the byte buffer to write
+     */
+    public void write(ByteBuffer bytes) {
+        int length = bytes.remaining();
+        ensureCapacity(length);
+        bytes.duplicate().get(data, size, length);
+        size += length;
+    }
+
+    /**
+     * Method to write a big-endian long.
+     *
+     * @param value the value to write
+     */
+    public void writeLong(long value) {
+        int offset = reserve(8);
+        BinaryUtils.writeLong(data, offset, value);
+    }
+
+    /**
+     * Method to write a big-endian int.
+     *
+     * @param value the value to write
+     */
+    public void writeInt(int value) {
+        int offset = reserve(4);
+        BinaryUtils.writeInt(data, offset, value);
+    }
+
+    /**
+     * Method to write a big-endian short.
+     *
+     * @param value the value to write
+     */
+    public void writeShort(short value) {
+        int offset = reserve(2);
+        BinaryUtils.writeShort(data, offset, value);
+    }
+
+    /**
+     * Method to get the underlying array. Only the first {@link #size()} bytes are valid.
+     * The returned array can change when more data is written.
+     *
+     * @return the underlying array
+     */
+    public byte[] getData() {
+        return data;
+    }
+
+    /**
+     * Method to get the number of bytes written.
+     *
+     * @return number of bytes written
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Method to set the number of valid bytes. This is used to drop the bytes written after a given position,
+     * or to include the bytes written directly into the array returned by {@link #getData()}.
+     *
+     * @param size the number of valid bytes
+     * @throws IllegalArgumentException if the size is negative or larger than the capacity
+     */
+    public void setSize(int size) {
+        if (size < 0 || size > data.length) {
+            throw new IllegalArgumentException("Invalid buffer size " + size + " for capacity " + data.length);
+        }
+
+        this.size = size;
+    }
+
+    /**
+     * Method to copy the written bytes to a new array.
+     *
+     * @return a copy of the written bytes
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(data, size);
+    }
+}
@@ -0,0 +1,158 @@
+package com.leondesilva.persistentcache.serializer;
+
+import org.apache.commons.lang3.SerializationException;
+
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compressor for record values using the deflate codec of the JDK.
+ * A deflater and an inflater are kept per thread, as creating them allocates native memory.
+ *
+ */
+public class DeflateCompressor {
+    private static final int MIN_OUTPUT_CHUNK = 64;
+
+    private final ThreadLocal<Deflater> deflaters;
+    private final ThreadLocal<Inflater> inflaters = ThreadLocal.withInitial(() -> new Inflater(true));
+
+    /**
+     * Constructor to instantiate a DeflateCompressor with the fastest compression level
+     *
+     */
+    public DeflateCompressor() {
+        this(Deflater.BEST_SPEED);
+    }
+
+    /**
+     * Constructor to instantiate a DeflateCompressor
+     *
+     * @param level the compression level from 1 (fastest) to 9 (smallest)
+     */
+    public DeflateCompressor(int level) {
+        this.deflaters = ThreadLocal.withInitial(() -> new Deflater(level, true));
+    }
+
+    /**
+     * Method to compress a region of an array and append the compressed bytes to a buffer.
+     * Compression is given up as soon as the output reaches the given max length, in which case nothing is appended.
+     *
+     * @param data      the source array
+     * @param offset    offset of the bytes to compress
+     * @param length    number of bytes to compress
+     * @param buffer    the buffer to append the compressed bytes to
+     * @param maxLength the max number of compressed bytes worth keeping
+     * @return number of compressed bytes appended or -1 if the data did not compress below the max length
+     */
+    public int compress(byte[] data, int offset, int length, DataBuffer buffer, int maxLength) {
+        return compress(data, offset, length, buffer, maxLength, null);
+    }
+
+    /**
+     * Method to compress a region of an array against a preset dictionary and append the compressed bytes to a buffer.
+     * Compression is given up as soon as the output reaches the given max length, in which case nothing is appended.
+     *
+     * @param data       the source array
+     * @param offset     offset of the bytes to compress
+     * @param length     number of bytes to compress
+     * @param buffer     the buffer to append the compressed bytes to
+     * @param maxLength  the max number of compressed bytes worth keeping
+     * @param dictionary the preset dictionary or null to compress without a dictionary
+     * @return number of compressed bytes appended or -1 if the data did not compress below the max length
+     */
+    public int compress(byte[] data, int offset, int length, DataBuffer buffer, int maxLength, byte[] dictionary) {
+        Deflater deflater = deflaters.get();
+        int start = buffer.size();
+
+        try {
+            if (dictionary != null) {
+                deflater.setDictionary(dictionary);
+            }
+
+            deflater.setInput(data, offset, length);
+            deflater.finish();
+
+            while (!deflater.finished()) {
+                int written = buffer.size() - start;
+
+                if (written >= maxLength) {
+                    buffer.setSize(start);
+                    return -1;
+                }
+
+                buffer.ensureCapacity(Math.max(MIN_OUTPUT_CHUNK, Math.min(maxLength - written, length)));
+                int count = deflater.deflate(buffer.getData(), buffer.size(), buffer.getData().length - buffer.size());
+                buffer.setSize(buffer.size() + count);
+            }
+
+            int compressedLength = buffer.size() - start;
+
+            if (compressedLength >= maxLength) {
+                buffer.setSize(start);
+                return -1;
+            }
+
+            return compressedLength;
+        } finally {
+            deflater.reset();
+        }
+    }
+
+    /**
+     * Method to decompress a region of an array.
+     *
+     * @param data               the source array
+     * @param offset             offset of the compressed bytes
+     * @param length             number of compressed bytes
+     * @param uncompressedLength number of bytes expected after decompression
+     * @return the decompressed bytes
+     */
+    public byte[] decompress(byte[] data, int offset, int length, int uncompressedLength) {
+        return decompress(data, offset, length, uncompressedLength, null);
+    }
+
+    /**
+     * Method to decompress a region of an array compressed against a preset dictionary.
+     *
+     * @param data               the source array
+     * @param offset             offset of the compressed bytes
+     * @param length             number of compressed bytes
+     * @param uncompressedLength number of bytes expected after decompression
+     * @param dictionary         the preset dictionary used for compression or null if none was used
+     * @return the decompressed bytes
+     */
+    public byte[] decompress(byte[] data, int offset, int length, int uncompressedLength, byte[] dictionary) {
+        Inflater inflater = inflaters.get();
+        byte[] result = new byte[uncompressedLength];
+
+        try {
+            if (dictionary != null) {
+                inflater.setDictionary(dictionary);
+            }
+
+            inflater.setInput(data, offset, length);
+            int count = 0;
+
+            while (count < uncompressedLength && !inflater.finished()) {
+                int inflated = inflater.inflate(result, count, uncompressedLength - count);
+
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+
+                count += inflated;
+            }
+
+            if (count != uncompressedLength) {
+                throw new SerializationException("Compressed value is truncated. Expected " + uncompressedLength + " bytes but found " + count);
+            }
+
+            return result;
+        } catch (DataFormatException e) {
+            throw new SerializationException("Error occurred while decompressing value.", e);
+        } finally {
+            inflater.reset();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.leondesilva.persistentcache.serializer;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Utility to train a compression dictionary from sample values.
+ *
+ * The trainer looks for byte sequences which are common to many of the samples and concatenates them into a
+ * dictionary, with the most common sequences at the end, as deflate encodes nearer matches with fewer bits.
+ * Sequences mostly covered by the sequences already selected are skipped, so that the dictionary is not filled
+ * with near duplicates.
+ *
+ */
+public final class DictionaryTrainer {
+    private static final int GRAM_LENGTH = 8;
+    private static final int MIN_FREQUENCY = 2;
+    private static final int MIN_FREQUENCY_PERCENTAGE = 1;
+
+    /**
+     * Private constructor
+     *
+     */
+    private DictionaryTrainer() {
+    }
+
+    /**
+     * Method to train a dictionary from the given samples.
+     *
+     * @param samples the sample values
+     * @param maxSize the max size of the dictionary in bytes
+     * @return the dictionary bytes
+     */
+    public static byte[] train(List<byte[]> samples, int maxSize) {
+        Map<Long, Integer> frequencies = countSampleFrequencies(samples);
+        int minFrequency = Math.max(MIN_FREQUENCY, samples.size() * MIN_FREQUENCY_PERCENTAGE / 100);
+        Map<ByteBuffer, Integer> segmentScores = new HashMap<>();
+
+        for (byte[] sample : samples) {
+            int position = 0;
+
+            while (position + GRAM_LENGTH <= sample.length) {
+                if (frequencies.get(BinaryUtils.readLong(sample, position)) < minFrequency) {
+                    position++;
+                    continue;
+                }
+
+                int start = position;
+                int score = 0;
+
+                while (position + GRAM_LENGTH <= sample.length) {
+                    int frequency = frequencies.get(BinaryUtils.readLong(sample, position));
+
+                    if (frequency < minFrequency) {
+                        break;
+                    }
+
+                    score += frequency;
+                    position++;
+                }
+
+                byte[] segment = new byte[position - 1 + GRAM_LENGTH - start];
+                System.arraycopy(sample, start, segment, 0, segment.length);
+                segmentScores.merge(ByteBuffer.wrap(segment), score, Integer::sum);
+            }
+        }
+
+        List<Map.Entry<ByteBuffer, Integer>> segments = new ArrayList<>(segmentScores.entrySet());
+        segments.sort((first, second) -> Integer.compare(second.getValue(), first.getValue()));
+
+        return buildDictionary(segments, samples, maxSize);
+    }
+
+    /**
+     * Method to check whether most of the sequences of a segment are not yet covered by the selected segments.
+     *
+     * @param segment      the segment
+     * @param coveredGrams the sequences of the selected segments
+     * @return true if at least half of the sequences are new and false if not
+     */
+    private static boolean isMostlyNew(byte[] segment, Set<Long> coveredGrams) {
+        int grams = segment.length - GRAM_LENGTH + 1;
+        int newGrams = 0;
+
+        for (int position = 0; position < grams; position++) {
+            if (!coveredGrams.contains(BinaryUtils.readLong(segment, position))) {
+                newGrams++;
+            }
+        }
+
+        return newGrams * 2 >= grams;
+    }
+
+    /**
+     * Method to count the number of samples each sequence of bytes of the gram length appears in.
+     *
+     * @param samples the sample values
+     * @return the number of samples per sequence
+     */
+    private static Map<Long, Integer> countSampleFrequencies(List<byte[]> samples) {
+        Map<Long, Integer> frequencies = new HashMap<>();
+
+        for (byte[] sample : samples) {
+            Set<Long> grams = new HashSet<>();
+
+            for (int position = 0; position + GRAM_LENGTH <= sample.length; position++) {
+                grams.add(BinaryUtils.readLong(sample, position));
+            }
+
+            for (Long gram : grams) {
+                frequencies.merge(gram, 1, Integer::sum);
+            }
+        }
+
+        return frequencies;
+    }
+
+    /**
+     * Method to concatenate the highest scoring segments into a dictionary. If there are no common segments,
+     * the samples themselves are used so that the dictionary still captures the structure of the values.
+     *
+     * @param segments segments sorted by descending score
+     * @param samples  the sample values
+     * @param maxSize  the max size of the dictionary in bytes
+     * @return the dictionary bytes
+     */
+    private static byte[] buildDictionary(List<Map.Entry<ByteBuffer, Integer>> segments, List<byte[]> samples, int maxSize) {
+        List<byte[]> selected = new ArrayList<>();
+        Set<Long> coveredGrams = new HashSet<>();
+        int size = 0;
+
+        for (Map.Entry<ByteBuffer, Integer> segment : segments) {
+            byte[] bytes = segment.getKey().array();
+
+            if (size + bytes.length > maxSize || !isMostlyNew(bytes, coveredGrams)) {
+                continue;
+            }
+
+            for (int position = 0; position + GRAM_LENGTH <= bytes.length; position++) {
+                coveredGrams.add(BinaryUtils.readLong(bytes, position));
+            }
+
+            selected.add(bytes);
+            size += bytes.length;
+        }
+
+        if (selected.isEmpty()) {
+            for (int i = samples.size() - 1; i >= 0 && size + samples.get(i).length <= maxSize; i--) {
+                selected.add(samples.get(i));
+                size += samples.get(i).length;
+            }
+        }
+
+        DataBuffer dictionary = new DataBuffer(Math.max(size, 1), Math.max(size, 1));
+
+        for (int i = selected.size() - 1; i >= 0; i--) {
+            dictionary.write(selected.get(i), 0, selected.get(i).length);
+        }
+
+        return dictionary.toByteArray();
+    }
+}
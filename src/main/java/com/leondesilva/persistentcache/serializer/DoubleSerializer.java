@@ -0,0 +1,33 @@
+package com.leondesilva.persistentcache.serializer;
+
+/**
+ * Serializer for Double values using the IEEE 754 bits, with the sign bit flipped for positive values and
+ * all bits flipped for negative values, so that the bytes sort in numeric order.
+ *
+ */
+public class DoubleSerializer implements OrderPreservingSerializer<Double> {
+    private static final int LENGTH = 8;
+
+    @Override
+    public byte[] serialize(Double object) {
+        DataBuffer buffer = new DataBuffer(LENGTH, LENGTH);
+        serialize(object, buffer);
+        return buffer.getData();
+    }
+
+    @Override
+    public void serialize(Double object, DataBuffer buffer) {
+        long bits = Double.doubleToLongBits(object);
+        buffer.writeLong(bits ^ ((bits >> 63) | Long.MIN_VALUE));
+    }
+
+    @Override
+    public Double deserialize(byte[] data, int offset, int length) {
+        BinaryUtils.checkLength(length, LENGTH, "Double");
+        return Double.longBitsToDouble(decode(BinaryUtils.readLong(data, offset)));
+    }
+
+    private static long decode(long bits) {
+        return bits ^ (((~bits) >> 63) | Long.MIN_VALUE);
+    }
+}
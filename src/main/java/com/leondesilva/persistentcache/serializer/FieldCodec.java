@@ -0,0 +1,260 @@
+package com.leondesilva.persistentcache.serializer;
+
+import org.apache.commons.lang3.SerializationUtils;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Utility methods to write and read field values in the compact form used by the field based serializers.
+ * Primitive, boxed primitive, string, byte array and enum values are written in a compact binary form.
+ * Values of any other type are written using java serialization.
+ *
+ */
+final class FieldCodec {
+    private static final int NULL_MARKER = 0;
+    private static final int VALUE_MARKER = 1;
+    private static final Class<?>[] PRIMITIVE_TYPES = {int.class, long.class, double.class, float.class, boolean.class, short.class, byte.class, char.class};
+    private static final Class<?>[] BOXED_TYPES = {Integer.class, Long.class, Double.class, Float.class, Boolean.class, Short.class, Byte.class, Character.class};
+
+    /**
+     * Private constructor
+     *
+     */
+    private FieldCodec() {
+    }
+
+    /**
+     * Method to write a single field value.
+     *
+     * @param out       the output to write to
+     * @param fieldType the declared type of the field
+     * @param value     the field value
+     * @throws IOException if an error occurs while writing
+     */
+    static void writeField(DataOutputStream out, Class<?> fieldType, Object value) throws IOException {
+        if (fieldType.isPrimitive()) {
+            writePrimitive(out, fieldType, value);
+            return;
+        }
+
+        if (value == null) {
+            out.writeByte(NULL_MARKER);
+            return;
+        }
+
+        out.writeByte(VALUE_MARKER);
+
+        if (isBoxedPrimitive(fieldType)) {
+            writePrimitive(out, toPrimitiveType(fieldType), value);
+        } else if (fieldType == String.class) {
+            writeBytes(out, ((String) value).getBytes(StandardCharsets.UTF_8));
+        } else if (fieldType == byte[].class) {
+            writeBytes(out, (byte[]) value);
+        } else if (fieldType.isEnum()) {
+            writeBytes(out, ((Enum<?>) value).name().getBytes(StandardCharsets.UTF_8));
+        } else {
+            writeBytes(out, SerializationUtils.serialize((Serializable) value));
+        }
+    }
+
+    /**
+     * Method to read a single field value.
+     *
+     * @param in        the input to read from
+     * @param fieldType the declared type of the field
+     * @return the field value
+     * @throws IOException if an error occurs while reading
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static Object readField(DataInputStream in, Class<?> fieldType) throws IOException {
+        if (fieldType.isPrimitive()) {
+            return readPrimitive(in, fieldType);
+        }
+
+        if (in.readByte() == NULL_MARKER) {
+            return null;
+        }
+
+        if (isBoxedPrimitive(fieldType)) {
+            return readPrimitive(in, toPrimitiveType(fieldType));
+        } else if (fieldType == String.class) {
+            return new String(readBytes(in), StandardCharsets.UTF_8);
+        } else if (fieldType == byte[].class) {
+            return readBytes(in);
+        } else if (fieldType.isEnum()) {
+            return Enum.valueOf((Class<Enum>) fieldType, new String(readBytes(in), StandardCharsets.UTF_8));
+        }
+
+        return SerializationUtils.deserialize(readBytes(in));
+    }
+
+    private static void writePrimitive(DataOutputStream out, Class<?> primitiveType, Object value) throws IOException {
+        if (primitiveType == int.class) {
+            out.writeInt((Integer) value);
+        } else if (primitiveType == long.class) {
+            out.writeLong((Long) value);
+        } else if (primitiveType == double.class) {
+            out.writeDouble((Double) value);
+        } else if (primitiveType == float.class) {
+            out.writeFloat((Float) value);
+        } else if (primitiveType == boolean.class) {
+            out.writeBoolean((Boolean) value);
+        } else if (primitiveType == short.class) {
+            out.writeShort((Short) value);
+        } else if (primitiveType == byte.class) {
+            out.writeByte((Byte) value);
+        } else {
+            out.writeChar((Character) value);
+        }
+    }
+
+    private static Object readPrimitive(DataInputStream in, Class<?> primitiveType) throws IOException {
+        if (primitiveType == int.class) {
+            return in.readInt();
+        } else if (primitiveType == long.class) {
+            return in.readLong();
+        } else if (primitiveType == double.class) {
+            return in.readDouble();
+        } else if (primitiveType == float.class) {
+            return in.readFloat();
+        } else if (primitiveType == boolean.class) {
+            return in.readBoolean();
+        } else if (primitiveType == short.class) {
+            return in.readShort();
+        } else if (primitiveType == byte.class) {
+            return in.readByte();
+        }
+
+        return in.readChar();
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    private static boolean isBoxedPrimitive(Class<?> type) {
+        return toPrimitiveType(type) != null;
+    }
+
+    private static Class<?> toPrimitiveType(Class<?> type) {
+        if (type == Integer.class) {
+            return int.class;
+        } else if (type == Long.class) {
+            return long.class;
+        } else if (type == Double.class) {
+            return double.class;
+        } else if (type == Float.class) {
+            return float.class;
+        } else if (type == Boolean.class) {
+            return boolean.class;
+        } else if (type == Short.class) {
+            return short.class;
+        } else if (type == Byte.class) {
+            return byte.class;
+        } else if (type == Character.class) {
+            return char.class;
+        }
+
+        return null;
+    }
+
+    /**
+     * Method to check whether a value stored for a field of a given type can be set to a field of another type.
+     * A primitive type and its boxed type are treated as the same type.
+     *
+     * @param fieldType  the type of the field to set
+     * @param storedType the type the value was stored with
+     * @return true if the value can be set and false if not
+     */
+    static boolean isAssignable(Class<?> fieldType, Class<?> storedType) {
+        return toBoxedType(fieldType).isAssignableFrom(toBoxedType(storedType));
+    }
+
+    /**
+     * Method to find a type by the name returned by {@link Class#getName()}, including the primitive types.
+     *
+     * @param typeName the name of the type
+     * @return the type or null if the type is not available
+     */
+    static Class<?> resolveType(String typeName) {
+        for (Class<?> primitiveType : PRIMITIVE_TYPES) {
+            if (primitiveType.getName().equals(typeName)) {
+                return primitiveType;
+            }
+        }
+
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+
+        try {
+            return Class.forName(typeName, false, classLoader != null ? classLoader : FieldCodec.class.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+
+    private static Class<?> toBoxedType(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+
+        for (Class<?> boxedType : BOXED_TYPES) {
+            if (toPrimitiveType(boxedType) == type) {
+                return boxedType;
+            }
+        }
+
+        return type;
+    }
+
+    /**
+     * Method to find the serializable fields of a class including the fields of its super classes.
+     * Fields are ordered by the class hierarchy and then by name so the layout does not depend on reflection order.
+     *
+     * @param type the class
+     * @return list of fields
+     */
+    static List<Field> findFields(Class<?> type) {
+        List<Field> result = new ArrayList<>();
+        List<Class<?>> hierarchy = new ArrayList<>();
+
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            hierarchy.add(0, current);
+        }
+
+        for (Class<?> current : hierarchy) {
+            List<Field> declaredFields = new ArrayList<>();
+
+            for (Field field : current.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+                    continue;
+                }
+
+                field.setAccessible(true);
+                declaredFields.add(field);
+            }
+
+            declaredFields.sort(Comparator.comparing(Field::getName));
+            result.addAll(declaredFields);
+        }
+
+        return result;
+    }
+}
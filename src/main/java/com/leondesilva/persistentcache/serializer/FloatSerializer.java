@@ -0,0 +1,33 @@
+package com.leondesilva.persistentcache.serializer;
+
+/**
+ * Serializer for Float values using the IEEE 754 bits, with the sign bit flipped for positive values and
+ * all bits flipped for negative values, so that the bytes sort in numeric order.
+ *
+ */
+public class FloatSerializer implements OrderPreservingSerializer<Float> {
+    private static final int LENGTH = 4;
+
+    @Override
+    public byte[] serialize(Float object) {
+        DataBuffer buffer = new DataBuffer(LENGTH, LENGTH);
+        serialize(object, buffer);
+        return buffer.getData();
+    }
+
+    @Override
+    public void serialize(Float object, DataBuffer buffer) {
+        int bits = Float.floatToIntBits(object);
+        buffer.writeInt(bits ^ ((bits >> 31) | Integer.MIN_VALUE));
+    }
+
+    @Override
+    public Float deserialize(byte[] data, int offset, int length) {
+        BinaryUtils.checkLength(length, LENGTH, "Float");
+        return Float.intBitsToFloat(decode(BinaryUtils.readInt(data, offset)));
+    }
+
+    private static int decode(int bits) {
+        return bits ^ (((~bits) >> 31) | Integer.MIN_VALUE);
+    }
+}
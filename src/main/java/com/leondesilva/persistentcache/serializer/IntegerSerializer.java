@@ -0,0 +1,28 @@
+package com.leondesilva.persistentcache.serializer;
+
+/**
+ * Serializer for Integer values using a fixed width big-endian encoding of 4 bytes,
+ * with the sign bit flipped so that negative values sort before positive values.
+ *
+ */
+public class IntegerSerializer implements OrderPreservingSerializer<Integer> {
+    private static final int LENGTH = 4;
+
+    @Override
+    public byte[] serialize(Integer object) {
+        DataBuffer buffer = new DataBuffer(LENGTH, LENGTH);
+        serialize(object, buffer);
+        return buffer.getData();
+    }
+
+    @Override
+    public void serialize(Integer object, DataBuffer buffer) {
+        buffer.writeInt(object ^ Integer.MIN_VALUE);
+    }
+
+    @Override
+    public Integer deserialize(byte[] data, int offset, int length) {
+        BinaryUtils.checkLength(length, LENGTH, "Integer");
+        return BinaryUtils.readInt(data, offset) ^ Integer.MIN_VALUE;
+    }
+}
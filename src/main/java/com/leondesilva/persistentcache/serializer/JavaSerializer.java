@@ -0,0 +1,49 @@
+package com.leondesilva.persistentcache.serializer;
+
+import org.apache.commons.lang3.SerializationUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.Serializable;
+
+/**
+ * Serializer which uses standard java serialization. This is the fallback serializer
+ * used when no specific serializer is available for a type.
+ *
+ */
+public class JavaSerializer<T> implements Serializer<T> {
+
+    /**
+     * Method to serialize a given object using java serialization.
+     *
+     * @param object the object to serialize
+     * @return serialized bytes
+     */
+    @Override
+    public byte[] serialize(T object) {
+        return SerializationUtils.serialize((Serializable) object);
+    }
+
+    /**
+     * Method to serialize a given object using java serialization, writing directly into a buffer.
+     *
+     * @param object the object to serialize
+     * @param buffer the buffer to write to
+     */
+    @Override
+    public void serialize(T object, DataBuffer buffer) {
+        SerializationUtils.serialize((Serializable) object, buffer);
+    }
+
+    /**
+     * Method to de-serialize an object using java serialization.
+     *
+     * @param data   the byte array
+     * @param offset offset of the first byte of the object
+     * @param length number of bytes of the object
+     * @return de-serialized object
+     */
+    @Override
+    public T deserialize(byte[] data, int offset, int length) {
+        return SerializationUtils.deserialize(new ByteArrayInputStream(data, offset, length));
+    }
+}
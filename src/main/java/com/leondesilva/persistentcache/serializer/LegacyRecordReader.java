@@ -0,0 +1,37 @@
+package com.leondesilva.persistentcache.serializer;
+
+import com.leondesilva.persistentcache.cache.model.pojo.CacheObject;
+import org.apache.commons.lang3.SerializationUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.Serializable;
+
+/**
+ * Class to read the records written by the previous versions of the cache.
+ * Those records are java serialized cache objects (TTL, per-row TTL and loading caches) or
+ * java serialized values (basic cache), without a record header.
+ *
+ */
+public class LegacyRecordReader<V extends Serializable> {
+
+    /**
+     * Method to read a legacy record as a cache object.
+     *
+     * @param data   the record
+     * @param offset offset of the record
+     * @param length length of the record
+     * @return the cache object
+     */
+    @SuppressWarnings("unchecked")
+    public CacheObject<V> read(byte[] data, int offset, int length) {
+        Object object = SerializationUtils.deserialize(new ByteArrayInputStream(data, offset, length));
+
+        if (object instanceof CacheObject) {
+            return (CacheObject<V>) object;
+        }
+
+        CacheObject<V> cacheObject = new CacheObject<>();
+        cacheObject.setValueObject((V) object);
+        return cacheObject;
+    }
+}
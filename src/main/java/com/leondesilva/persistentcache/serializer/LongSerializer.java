@@ -0,0 +1,28 @@
+package com.leondesilva.persistentcache.serializer;
+
+/**
+ * Serializer for Long values using a fixed width big-endian encoding of 8 bytes,
+ * with the sign bit flipped so that negative values sort before positive values.
+ *
+ */
+public class LongSerializer implements OrderPreservingSerializer<Long> {
+    private static final int LENGTH = 8;
+
+    @Override
+    public byte[] serialize(Long object) {
+        DataBuffer buffer = new DataBuffer(LENGTH, LENGTH);
+        serialize(object, buffer);
+        return buffer.getData();
+    }
+
+    @Override
+    public void serialize(Long object, DataBuffer buffer) {
+        buffer.writeLong(object ^ Long.MIN_VALUE);
+    }
+
+    @Override
+    public Long deserialize(byte[] data, int offset, int length) {
+        BinaryUtils.checkLength(length, LENGTH, "Long");
+        return BinaryUtils.readLong(data, offset) ^ Long.MIN_VALUE;
+    }
+}
@@ -0,0 +1,10 @@
+package com.leondesilva.persistentcache.serializer;
+
+/**
+ * Marker interface for serializers whose serialized bytes, compared as unsigned bytes, sort in the same order as
+ * the objects themselves. Berkeley DB keeps keys sorted by their bytes, so caches using such a key serializer
+ * keep their keys in natural order and can be scanned by key ranges.
+ *
+ */
+public interface OrderPreservingSerializer<T> extends Serializer<T> {
+}
@@ -0,0 +1,127 @@
+package com.leondesilva.persistentcache.serializer;
+
+/**
+ * Class to read and write the fixed width header of the records stored in the cache.
+ *
+ * A record is laid out as below, followed by the serialized value.
+ * <pre>
+ * | format version (1 byte) | flags (1 byte) | expiry time as epoch millis (8 bytes) |
+ * </pre>
+ * As the header has a fixed width, expiry checks only need to read the first few bytes of a record.
+ *
+ * When the compressed flag is set, the value is stored as the uncompressed length (4 bytes) followed by the
+ * deflate compressed bytes of the serialized value. When the dictionary flag is set as well, the id of the
+ * compression dictionary (4 bytes) follows the uncompressed length. When the chunked flag is set, the value is
+ * stored in chunks outside of the record, as described in {@link ChunkedRecord}.
+ *
+ */
+public final class RecordHeader {
+    public static final byte FORMAT_VERSION = 1;
+    public static final int HEADER_LENGTH = 10;
+
+    public static final byte FLAG_HAS_EXPIRY = 0x01;
+    public static final byte FLAG_NULL_VALUE = 0x02;
+    public static final byte FLAG_COMPRESSED = 0x04;
+    public static final byte FLAG_DICTIONARY = 0x08;
+    public static final byte FLAG_CHUNKED = 0x10;
+
+    private static final int VERSION_OFFSET = 0;
+    private static final int FLAGS_OFFSET = 1;
+    private static final int EXPIRY_OFFSET = 2;
+
+    /**
+     * Private constructor
+     *
+     */
+    private RecordHeader() {
+    }
+
+    /**
+     * Method to write a header.
+     *
+     * @param data         the target array
+     * @param offset       the offset to write at
+     * @param flags        the flags of the record
+     * @param expiryMillis the expiry time as epoch millis, ignored if the expiry flag is not set
+     */
+    public static void write(byte[] data, int offset, byte flags, long expiryMillis) {
+        data[offset + VERSION_OFFSET] = FORMAT_VERSION;
+        data[offset + FLAGS_OFFSET] = flags;
+        BinaryUtils.writeLong(data, offset + EXPIRY_OFFSET, (flags & FLAG_HAS_EXPIRY) != 0 ? expiryMillis : 0L);
+    }
+
+    /**
+     * Method to check whether a record is written in the current format.
+     * Records written by previous versions are java serialized and start with the java stream magic number.
+     *
+     * @param data   the record
+     * @param offset offset of the record
+     * @param length length of the record
+     * @return true if the record has a header and false if not
+     */
+    public static boolean hasHeader(byte[] data, int offset, int length) {
+        return length >= HEADER_LENGTH && data[offset + VERSION_OFFSET] == FORMAT_VERSION;
+    }
+
+    /**
+     * Method to get the flags of a record.
+     *
+     * @param data   the record
+     * @param offset offset of the record
+     * @return the flags
+     */
+    public static byte getFlags(byte[] data, int offset) {
+        return data[offset + FLAGS_OFFSET];
+    }
+
+    /**
+     * Method to check whether a given flag is set in the header.
+     *
+     * @param data   the record
+     * @param offset offset of the record
+     * @param flag   the flag to check
+     * @return true if set and false if not
+     */
+    public static boolean isFlagSet(byte[] data, int offset, byte flag) {
+        return (data[offset + FLAGS_OFFSET] & flag) != 0;
+    }
+
+    /**
+     * Method to get the expiry time of a record.
+     *
+     * @param data   the record
+     * @param offset offset of the record
+     * @return the expiry time as epoch millis or Long.MAX_VALUE if the record does not expire
+     */
+    public static long getExpiryMillis(byte[] data, int offset) {
+        if (!isFlagSet(data, offset, FLAG_HAS_EXPIRY)) {
+            return Long.MAX_VALUE;
+        }
+
+        return BinaryUtils.readLong(data, offset + EXPIRY_OFFSET);
+    }
+
+    /**
+     * Method to check whether a record is expired at a given time.
+     *
+     * @param data       the record
+     * @param offset     offset of the record
+     * @param nowMillis  the current time as epoch millis
+     * @return true if expired and false if not
+     */
+    public static boolean isExpired(byte[] data, int offset, long nowMillis) {
+        return nowMillis > getExpiryMillis(data, offset);
+    }
+
+    /**
+     * Method to set or clear a flag of a header.
+     *
+     * @param data   the array holding the header
+     * @param offset offset of the header
+     * @param flag   the flag
+     * @param set    true to set the flag and false to clear it
+     */
+    public static void setFlag(byte[] data, int offset, byte flag, boolean set) {
+        data[offset + FLAGS_OFFSET] = (byte) (set ? data[offset + FLAGS_OFFSET] | flag : data[offset + FLAGS_OFFSET] & ~flag);
+    }
+}
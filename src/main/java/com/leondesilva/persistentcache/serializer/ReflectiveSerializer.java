@@ -0,0 +1,104 @@
+package com.leondesilva.persistentcache.serializer;
+
+import org.apache.commons.lang3.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.List;
+
+/**
+ * Compact serializer which writes the field values of an object one after the other without any class descriptors.
+ * Primitive, boxed primitive, string, byte array and enum fields are written in a compact binary form.
+ * Fields of any other type are written using java serialization.
+ *
+ * The field layout is derived from the class, therefore the class must not change while records written by
+ * this serializer are still in the cache. The class must have a no argument constructor.
+ *
+ */
+public class ReflectiveSerializer<T> implements Serializer<T> {
+    private final Class<T> type;
+    private final Constructor<T> constructor;
+    private final List<Field> fields;
+
+    /**
+     * Constructor to instantiate a ReflectiveSerializer
+     *
+     * @param type the class to be serialized
+     * @throws IllegalArgumentException if the class does not have a no argument constructor
+     */
+    public ReflectiveSerializer(Class<T> type) {
+        this.type = type;
+        this.fields = FieldCodec.findFields(type);
+
+        try {
+            this.constructor = type.getDeclaredConstructor();
+            this.constructor.setAccessible(true);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException(type.getName() + " does not have a no argument constructor.", e);
+        }
+    }
+
+    /**
+     * Method to serialize the fields of a given object.
+     *
+     * @param object the object to serialize
+     * @return serialized bytes
+     */
+    @Override
+    public byte[] serialize(T object) {
+        DataBuffer buffer = new DataBuffer();
+        serialize(object, buffer);
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Method to serialize the fields of a given object into a buffer.
+     *
+     * @param object the object to serialize
+     * @param buffer the buffer to write to
+     */
+    @Override
+    public void serialize(T object, DataBuffer buffer) {
+        DataOutputStream out = new DataOutputStream(buffer);
+
+        try {
+            for (Field field : fields) {
+                FieldCodec.writeField(out, field.getType(), field.get(object));
+            }
+        } catch (IOException | IllegalAccessException e) {
+            throw new SerializationException("Error occurred while serializing " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Method to de-serialize an object by reading back its field values.
+     *
+     * @param data   the byte array
+     * @param offset offset of the first byte of the object
+     * @param length number of bytes of the object
+     * @return de-serialized object
+     */
+    @Override
+    public T deserialize(byte[] data, int offset, int length) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, offset, length))) {
+            T object = constructor.newInstance();
+
+            for (Field field : fields) {
+                Object value = FieldCodec.readField(in, field.getType());
+
+                if (value != null || !field.getType().isPrimitive()) {
+                    field.set(object, value);
+                }
+            }
+
+            return object;
+        } catch (Exception e) {
+            throw new SerializationException("Error occurred while de-serializing " + type.getName(), e);
+        }
+    }
+
+}
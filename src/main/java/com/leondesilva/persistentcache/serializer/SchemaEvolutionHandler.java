@@ -0,0 +1,24 @@
+package com.leondesilva.persistentcache.serializer;
+
+import java.util.Map;
+
+/**
+ * Interface to upgrade objects read from records written with a previous layout of their class.
+ *
+ * Before the handler is called, the stored values are copied to the fields of the current class which have the same
+ * name and a compatible type. Fields which did not exist in the previous layout keep the values set by the no argument
+ * constructor. The handler can fill them in from the stored values, for example when a field was renamed.
+ *
+ */
+public interface SchemaEvolutionHandler {
+
+    /**
+     * Method to upgrade an object read from a record written with a previous layout of its class.
+     *
+     * @param descriptor the layout the record was written with
+     * @param values     the stored values by field name, values of unknown types are given as raw bytes
+     * @param object     the object with the stored values of the matching fields already set
+     * @return the upgraded object
+     */
+    Object evolve(ClassDescriptor descriptor, Map<String, Object> values, Object object);
+}
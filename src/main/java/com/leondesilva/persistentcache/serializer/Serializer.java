@@ -0,0 +1,52 @@
+package com.leondesilva.persistentcache.serializer;
+
+/**
+ * Interface to represent a serializer used to convert keys and values to bytes and back.
+ * Implementations should be thread safe as a single instance is shared by all the operations of a cache.
+ *
+ */
+public interface Serializer<T> {
+
+    /**
+     * Method to serialize a given object.
+     *
+     * @param object the object to serialize
+     * @return serialized bytes
+     * @throws org.apache.commons.lang3.SerializationException if an error occurs while serializing
+     */
+    public byte[] serialize(T object);
+
+    /**
+     * Method to serialize a given object into a buffer. The default implementation copies the result of
+     * {@link #serialize(Object)}, serializers should override this to write directly into the buffer.
+     *
+     * @param object the object to serialize
+     * @param buffer the buffer to write to
+     * @throws org.apache.commons.lang3.SerializationException if an error occurs while serializing
+     */
+    public default void serialize(T object, DataBuffer buffer) {
+        byte[] data = serialize(object);
+        buffer.write(data, 0, data.length);
+    }
+
+    /**
+     * Method to de-serialize an object from a region of a byte array.
+     *
+     * @param data   the byte array
+     * @param offset offset of the first byte of the object
+     * @param length number of bytes of the object
+     * @return de-serialized object
+     * @throws org.apache.commons.lang3.SerializationException if an error occurs while de-serializing
+     */
+    public T deserialize(byte[] data, int offset, int length);
+
+    /**
+     * Method to de-serialize an object from a byte array.
+     *
+     * @param data the byte array
+     * @return de-serialized object
+     */
+    public default T deserialize(byte[] data) {
+        return deserialize(data, 0, data.length);
+    }
+}
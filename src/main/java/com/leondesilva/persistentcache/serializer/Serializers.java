@@ -0,0 +1,87 @@
+package com.leondesilva.persistentcache.serializer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Class to provide the built in serializers.
+ *
+ */
+public final class Serializers {
+    private static final Map<Class<?>, Serializer<?>> BUILT_IN_SERIALIZERS = new HashMap<>();
+
+    static {
+        BUILT_IN_SERIALIZERS.put(String.class, new StringSerializer());
+        BUILT_IN_SERIALIZERS.put(byte[].class, new ByteArraySerializer());
+        BUILT_IN_SERIALIZERS.put(Long.class, new LongSerializer());
+        BUILT_IN_SERIALIZERS.put(Integer.class, new IntegerSerializer());
+        BUILT_IN_SERIALIZERS.put(Short.class, new ShortSerializer());
+        BUILT_IN_SERIALIZERS.put(Byte.class, new ByteSerializer());
+        BUILT_IN_SERIALIZERS.put(Double.class, new DoubleSerializer());
+        BUILT_IN_SERIALIZERS.put(Float.class, new FloatSerializer());
+        BUILT_IN_SERIALIZERS.put(Boolean.class, new BooleanSerializer());
+        BUILT_IN_SERIALIZERS.put(Character.class, new CharacterSerializer());
+        BUILT_IN_SERIALIZERS.put(UUID.class, new UUIDSerializer());
+    }
+
+    /**
+     * Private constructor
+     *
+     */
+    private Serializers() {
+    }
+
+    /**
+     * Method to get the serializer for a given class. If there is no built in serializer for the class,
+     * java serialization is used.
+     *
+     * @param type the class
+     * @param <T>  type of the objects to serialize
+     * @return serializer for the class
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Serializer<T> forClass(Class<T> type) {
+        Serializer<?> serializer = BUILT_IN_SERIALIZERS.get(type);
+
+        if (serializer == null) {
+            return new JavaSerializer<>();
+        }
+
+        return (Serializer<T>) serializer;
+    }
+
+    /**
+     * Method to get the java serialization based serializer.
+     *
+     * @param <T> type of the objects to serialize
+     * @return java serializer
+     */
+    public static <T> Serializer<T> java() {
+        return new JavaSerializer<>();
+    }
+
+    /**
+     * Method to get the compact reflective serializer for a given class.
+     *
+     * @param type the class
+     * @param <T>  type of the objects to serialize
+     * @return reflective serializer
+     */
+    public static <T> Serializer<T> reflective(Class<T> type) {
+        return new ReflectiveSerializer<>(type);
+    }
+
+    /**
+     * Method to get the serializer which writes the field values of an object after the id of its class layout
+     * in a class registry.
+     *
+     * @param registry         the class registry
+     * @param evolutionHandler the handler to upgrade objects read from records written with a previous class layout, can be null
+     * @param <T>              type of the objects to serialize
+     * @return class registry serializer
+     */
+    public static <T> Serializer<T> classRegistry(ClassRegistry registry, SchemaEvolutionHandler evolutionHandler) {
+        return new ClassRegistrySerializer<>(registry, evolutionHandler);
+    }
+}
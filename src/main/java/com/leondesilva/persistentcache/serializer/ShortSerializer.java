@@ -0,0 +1,28 @@
+package com.leondesilva.persistentcache.serializer;
+
+/**
+ * Serializer for Short values using a fixed width big-endian encoding of 2 bytes,
+ * with the sign bit flipped so that negative values sort before positive values.
+ *
+ */
+public class ShortSerializer implements OrderPreservingSerializer<Short> {
+    private static final int LENGTH = 2;
+
+    @Override
+    public byte[] serialize(Short object) {
+        DataBuffer buffer = new DataBuffer(LENGTH, LENGTH);
+        serialize(object, buffer);
+        return buffer.getData();
+    }
+
+    @Override
+    public void serialize(Short object, DataBuffer buffer) {
+        buffer.writeShort((short) (object ^ Short.MIN_VALUE));
+    }
+
+    @Override
+    public Short deserialize(byte[] data, int offset, int length) {
+        BinaryUtils.checkLength(length, LENGTH, "Short");
+        return (short) (BinaryUtils.readShort(data, offset) ^ Short.MIN_VALUE);
+    }
+}
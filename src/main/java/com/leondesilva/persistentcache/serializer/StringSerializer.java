@@ -0,0 +1,57 @@
+package com.leondesilva.persistentcache.serializer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Serializer for strings. Strings are stored as UTF-8 bytes without any header.
+ * The bytes sort in the order of the unicode code points of the strings.
+ *
+ */
+public class StringSerializer implements OrderPreservingSerializer<String> {
+
+    @Override
+    public byte[] serialize(String object) {
+        return object.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Method to write the UTF-8 bytes of a string directly into a buffer without an intermediate array.
+     * Unpaired surrogates are written as '?', same as {@link String#getBytes(java.nio.charset.Charset)}.
+     *
+     * @param object the string to serialize
+     * @param buffer the buffer to write to
+     */
+    @Override
+    public void serialize(String object, DataBuffer buffer) {
+        int length = object.length();
+        buffer.ensureCapacity(length * 3);
+
+        for (int i = 0; i < length; i++) {
+            char c = object.charAt(i);
+
+            if (c < 0x80) {
+                buffer.write(c);
+            } else if (c < 0x800) {
+                buffer.write(0xC0 | (c >> 6));
+                buffer.write(0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(object.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, object.charAt(++i));
+                buffer.write(0xF0 | (codePoint >> 18));
+                buffer.write(0x80 | ((codePoint >> 12) & 0x3F));
+                buffer.write(0x80 | ((codePoint >> 6) & 0x3F));
+                buffer.write(0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buffer.write('?');
+            } else {
+                buffer.write(0xE0 | (c >> 12));
+                buffer.write(0x80 | ((c >> 6) & 0x3F));
+                buffer.write(0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    @Override
+    public String deserialize(byte[] data, int offset, int length) {
+        return new String(data, offset, length, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,31 @@
+package com.leondesilva.persistentcache.serializer;
+
+import java.util.UUID;
+
+/**
+ * Serializer for UUIDs using the 16 bytes of the UUID in big-endian order.
+ * The bytes sort in the same order as the canonical string form of the UUIDs.
+ *
+ */
+public class UUIDSerializer implements OrderPreservingSerializer<UUID> {
+    private static final int LENGTH = 16;
+
+    @Override
+    public byte[] serialize(UUID object) {
+        DataBuffer buffer = new DataBuffer(LENGTH, LENGTH);
+        serialize(object, buffer);
+        return buffer.getData();
+    }
+
+    @Override
+    public void serialize(UUID object, DataBuffer buffer) {
+        buffer.writeLong(object.getMostSignificantBits());
+        buffer.writeLong(object.getLeastSignificantBits());
+    }
+
+    @Override
+    public UUID deserialize(byte[] data, int offset, int length) {
+        BinaryUtils.checkLength(length, LENGTH, "UUID");
+        return new UUID(BinaryUtils.readLong(data, offset), BinaryUtils.readLong(data, offset + 8));
+    }
+}
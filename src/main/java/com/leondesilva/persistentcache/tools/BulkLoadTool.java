@@ -0,0 +1,143 @@
+package com.leondesilva.persistentcache.tools;
+
+import com.leondesilva.persistentcache.cache.PersistentCache;
+import com.leondesilva.persistentcache.cache.PersistentCacheConfig;
+import com.leondesilva.persistentcache.cache.PersistentCacheFactory;
+import com.leondesilva.persistentcache.cache.model.pojo.BulkLoadStats;
+import com.leondesilva.persistentcache.serializer.StringSerializer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Command line tool to load a file of tab separated keys and values into an empty persistent cache with
+ * {@link PersistentCache#bulkLoad}. Keys and values are stored as strings with the {@link StringSerializer}, so the
+ * cache must be opened with string serializers for its keys and values.
+ *
+ * Without --sorted, the lines may be in any order and are sorted with temporary files in the database directory,
+ * and the last value of a repeated key is kept. With --sorted, the keys must be unique and in the byte order of their
+ * UTF-8 encoding, as written by LC_ALL=C sort, and the load fails at the first key which is not.
+ *
+ * Usage: BulkLoadTool dbName dbFilePath inputFile [--sorted] [--max-log-file-size=bytes]
+ *
+ */
+public class BulkLoadTool {
+    private static final String SORTED_OPTION = "--sorted";
+    private static final String MAX_LOG_FILE_SIZE_OPTION = "--max-log-file-size=";
+    private static final long DEFAULT_MAX_LOG_FILE_SIZE = 10000000;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("Usage: BulkLoadTool dbName dbFilePath inputFile [" + SORTED_OPTION + "] [" + MAX_LOG_FILE_SIZE_OPTION + "bytes]");
+            System.err.println("  Lines of inputFile are a key and a value separated by a tab, in any order unless " + SORTED_OPTION + " is given.");
+            System.err.println("  " + SORTED_OPTION + " requires unique keys in the byte order of their UTF-8 encoding, as written by LC_ALL=C sort,");
+            System.err.println("  and the load fails at the first key which is out of order.");
+            System.exit(1);
+        }
+
+        boolean sorted = false;
+        long maxLogFileSize = DEFAULT_MAX_LOG_FILE_SIZE;
+
+        for (int i = 3; i < args.length; i++) {
+            if (args[i].equals(SORTED_OPTION)) {
+                sorted = true;
+            } else if (args[i].startsWith(MAX_LOG_FILE_SIZE_OPTION)) {
+                maxLogFileSize = Long.parseLong(args[i].substring(MAX_LOG_FILE_SIZE_OPTION.length()));
+            } else {
+                System.err.println("Unknown option : " + args[i]);
+                System.exit(1);
+            }
+        }
+
+        Files.createDirectories(Paths.get(args[1]));
+        PersistentCacheConfig<String, String> config = new PersistentCacheConfig<>();
+        config.setKeySerializer(new StringSerializer());
+        config.setValueSerializer(new StringSerializer());
+        PersistentCache<String, String> cache = PersistentCacheFactory.createCache(args[0], args[1], maxLogFileSize, config);
+
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(args[2]), StandardCharsets.UTF_8)) {
+            BulkLoadStats stats = cache.bulkLoad(new LineIterator(reader), sorted, BulkLoadTool::printProgress);
+            printStats("Completed loading", stats);
+        } finally {
+            cache.close();
+        }
+    }
+
+    /**
+     * Method to print the progress of a running bulk load to stdout.
+     *
+     * @param progress the stats of the records loaded so far
+     */
+    private static void printProgress(BulkLoadStats progress) {
+        printStats("Loaded", progress);
+    }
+
+    /**
+     * Method to print the number of loaded records, the elapsed time and the throughput of a bulk load to stdout.
+     *
+     * @param label the label of the line
+     * @param stats the stats of the bulk load
+     */
+    private static void printStats(String label, BulkLoadStats stats) {
+        System.out.printf("%s %d records in %.1f s (%.0f records/s)%n", label, stats.getRecordCount(), stats.getElapsedMillis() / 1000.0, stats.getRecordsPerSecond());
+    }
+
+    /**
+     * Iterator of the keys and values of the lines of a file, where the key is separated from the value by the first
+     * tab of the line. Empty lines are skipped.
+     */
+    private static final class LineIterator implements Iterator<Map.Entry<String, String>> {
+        private final BufferedReader reader;
+        private String nextLine;
+        private long lineNumber;
+
+        private LineIterator(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (nextLine == null) {
+                    String line = reader.readLine();
+
+                    if (line == null) {
+                        return false;
+                    }
+
+                    lineNumber++;
+                    nextLine = line.isEmpty() ? null : line;
+                }
+
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public Map.Entry<String, String> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            int separator = nextLine.indexOf('\t');
+
+            if (separator < 0) {
+                throw new IllegalArgumentException("Line " + lineNumber + " has no tab between the key and the value.");
+            }
+
+            Map.Entry<String, String> entry = new AbstractMap.SimpleImmutableEntry<>(nextLine.substring(0, separator), nextLine.substring(separator + 1));
+            nextLine = null;
+            return entry;
+        }
+    }
+}
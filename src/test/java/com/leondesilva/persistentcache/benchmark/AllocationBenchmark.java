@@ -0,0 +1,69 @@
+package com.leondesilva.persistentcache.benchmark;
+
+import com.leondesilva.persistentcache.cache.PersistentCache;
+import com.leondesilva.persistentcache.cache.PersistentCacheConfig;
+import com.leondesilva.persistentcache.cache.PersistentCacheFactory;
+import com.leondesilva.persistentcache.serializer.StringSerializer;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Benchmark to measure the bytes allocated per put and get operation by the calling thread.
+ * Run using: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.leondesilva.persistentcache.benchmark.AllocationBenchmark
+ *
+ */
+public class AllocationBenchmark {
+    private static final int WARM_UP_OPERATIONS = 20000;
+    private static final int OPERATIONS = 50000;
+    private static final int KEY_SPACE = 1000;
+    private static final String VALUE = "value-of-a-typical-cache-entry-with-some-payload-0123456789";
+
+    public static void main(String[] args) throws Exception {
+        run("java serialization", new PersistentCacheConfig<>());
+
+        PersistentCacheConfig<String, String> config = new PersistentCacheConfig<>();
+        config.setKeySerializer(new StringSerializer());
+        config.setValueSerializer(new StringSerializer());
+        run("string serializers", config);
+    }
+
+    private static void run(String name, PersistentCacheConfig<String, String> config) throws Exception {
+        File dbPath = Files.createTempDirectory("allocation-benchmark").toFile();
+        PersistentCache<String, String> cache = PersistentCacheFactory.createTTLCache("AllocationBenchmarkDB", dbPath.getAbsolutePath(), 10000000, 1, ChronoUnit.HOURS, config);
+        String[] keys = new String[KEY_SPACE];
+
+        for (int i = 0; i < KEY_SPACE; i++) {
+            keys[i] = "key-" + i;
+        }
+
+        try {
+            for (int i = 0; i < WARM_UP_OPERATIONS; i++) {
+                cache.put(keys[i % KEY_SPACE], VALUE);
+                cache.get(keys[i % KEY_SPACE]);
+            }
+
+            long before = allocatedBytes();
+            for (int i = 0; i < OPERATIONS; i++) {
+                cache.put(keys[i % KEY_SPACE], VALUE);
+            }
+            long putBytes = (allocatedBytes() - before) / OPERATIONS;
+
+            before = allocatedBytes();
+            for (int i = 0; i < OPERATIONS; i++) {
+                cache.get(keys[i % KEY_SPACE]);
+            }
+            long getBytes = (allocatedBytes() - before) / OPERATIONS;
+
+            System.out.println(String.format("%-20s put: %6d bytes/op   get: %6d bytes/op", name, putBytes, getBytes));
+        } finally {
+            cache.close();
+        }
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
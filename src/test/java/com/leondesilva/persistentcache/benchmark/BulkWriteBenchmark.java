@@ -0,0 +1,63 @@
+package com.leondesilva.persistentcache.benchmark;
+
+import com.leondesilva.persistentcache.cache.PersistentCache;
+import com.leondesilva.persistentcache.cache.PersistentCacheConfig;
+import com.leondesilva.persistentcache.cache.PersistentCacheFactory;
+import com.leondesilva.persistentcache.serializer.StringSerializer;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Benchmark to measure the time to write a large map with a single transaction, in chunks with each bulk write
+ * parallelism and with a bulk load into an empty cache.
+ * Run using: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.leondesilva.persistentcache.benchmark.BulkWriteBenchmark
+ *
+ */
+public class BulkWriteBenchmark {
+    private static final int RECORD_COUNT = 200000;
+    private static final int CHUNK_SIZE = 5000;
+    private static final String VALUE = "value-of-a-typical-cache-entry-with-some-payload-0123456789";
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> data = new HashMap<>();
+
+        for (int i = 0; i < RECORD_COUNT; i++) {
+            data.put("key-" + i, VALUE);
+        }
+
+        run(data, 0);
+        run(data, 1);
+        run(data, 4);
+        run(data, -1);
+    }
+
+    private static void run(Map<String, String> data, int bulkWriteParallelism) throws Exception {
+        PersistentCacheConfig<String, String> config = new PersistentCacheConfig<>();
+        config.setKeySerializer(new StringSerializer());
+        config.setValueSerializer(new StringSerializer());
+        config.setBulkWriteParallelism(Math.max(1, bulkWriteParallelism));
+        File dbPath = Files.createTempDirectory("bulk-write-benchmark").toFile();
+        PersistentCache<String, String> cache = PersistentCacheFactory.createCache("BulkWriteBenchmarkDB", dbPath.getAbsolutePath(), 10000000, config);
+
+        try {
+            long start = System.nanoTime();
+
+            if (bulkWriteParallelism < 0) {
+                cache.bulkLoad(data.entrySet().iterator(), false, null);
+            } else if (bulkWriteParallelism == 0) {
+                cache.putAll(data);
+            } else {
+                cache.putAllInChunks(data, CHUNK_SIZE);
+            }
+
+            double seconds = (System.nanoTime() - start) / 1e9;
+            String mode = bulkWriteParallelism < 0 ? "bulkLoad" : bulkWriteParallelism == 0 ? "putAll" : "putAllInChunks x" + bulkWriteParallelism;
+            System.out.println(String.format("%-20s records: %10.0f ops/s", mode, data.size() / seconds));
+        } finally {
+            cache.close();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.leondesilva.persistentcache.benchmark;
+
+import com.leondesilva.persistentcache.cache.DurabilityPolicy;
+import com.leondesilva.persistentcache.cache.PersistentCache;
+import com.leondesilva.persistentcache.cache.PersistentCacheConfig;
+import com.leondesilva.persistentcache.cache.PersistentCacheFactory;
+import com.leondesilva.persistentcache.serializer.StringSerializer;
+
+import java.io.File;
+import java.nio.file.Files;
+
+/**
+ * Benchmark to measure the throughput of puts of distinct keys with each durability policy.
+ * Run using: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.leondesilva.persistentcache.benchmark.DurabilityBenchmark
+ *
+ */
+public class DurabilityBenchmark {
+    private static final int PUT_COUNT = 20000;
+    private static final long LOG_SYNC_INTERVAL_MILLIS = 1000;
+    private static final String VALUE = "value-of-a-typical-cache-entry-with-some-payload-0123456789";
+
+    public static void main(String[] args) throws Exception {
+        for (DurabilityPolicy durabilityPolicy : DurabilityPolicy.values()) {
+            run(durabilityPolicy);
+        }
+    }
+
+    private static void run(DurabilityPolicy durabilityPolicy) throws Exception {
+        PersistentCacheConfig<String, String> config = new PersistentCacheConfig<>();
+        config.setKeySerializer(new StringSerializer());
+        config.setValueSerializer(new StringSerializer());
+        config.setDurabilityPolicy(durabilityPolicy);
+        config.setLogSyncIntervalMillis(LOG_SYNC_INTERVAL_MILLIS);
+        File dbPath = Files.createTempDirectory("durability-benchmark").toFile();
+        PersistentCache<String, String> cache = PersistentCacheFactory.createCache("DurabilityBenchmarkDB", dbPath.getAbsolutePath(), 10000000, config);
+
+        try {
+            long start = System.nanoTime();
+
+            for (int i = 0; i < PUT_COUNT; i++) {
+                cache.put("key-" + i, VALUE);
+            }
+
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.println(String.format("%-14s puts: %10.0f ops/s", durabilityPolicy, PUT_COUNT / seconds));
+        } finally {
+            cache.close();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.leondesilva.persistentcache.benchmark;
+
+import com.leondesilva.persistentcache.cache.PersistentCache;
+import com.leondesilva.persistentcache.cache.PersistentCacheConfig;
+import com.leondesilva.persistentcache.cache.PersistentCacheFactory;
+import com.leondesilva.persistentcache.cache.ReadConsistency;
+import com.leondesilva.persistentcache.serializer.StringSerializer;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Benchmark to measure the throughput of concurrent reads and writes of a small set of hot keys with each read
+ * consistency.
+ * Run using: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.leondesilva.persistentcache.benchmark.ReadConsistencyBenchmark
+ *
+ */
+public class ReadConsistencyBenchmark {
+    private static final int READER_THREADS = 6;
+    private static final int WRITER_THREADS = 2;
+    private static final int HOT_KEYS = 16;
+    private static final long WARM_UP_MILLIS = 2000;
+    private static final long MEASURE_MILLIS = 5000;
+    private static final String VALUE = "value-of-a-typical-cache-entry-with-some-payload-0123456789";
+
+    public static void main(String[] args) throws Exception {
+        for (ReadConsistency readConsistency : ReadConsistency.values()) {
+            run(readConsistency);
+        }
+    }
+
+    private static void run(ReadConsistency readConsistency) throws Exception {
+        PersistentCacheConfig<String, String> config = new PersistentCacheConfig<>();
+        config.setKeySerializer(new StringSerializer());
+        config.setValueSerializer(new StringSerializer());
+        config.setReadConsistency(readConsistency);
+        File dbPath = Files.createTempDirectory("read-consistency-benchmark").toFile();
+        PersistentCache<String, String> cache = PersistentCacheFactory.createCache("ReadConsistencyBenchmarkDB", dbPath.getAbsolutePath(), 10000000, config);
+
+        for (int i = 0; i < HOT_KEYS; i++) {
+            cache.put("key-" + i, VALUE);
+        }
+
+        AtomicBoolean measuring = new AtomicBoolean();
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder reads = new LongAdder();
+        LongAdder writes = new LongAdder();
+        CountDownLatch finished = new CountDownLatch(READER_THREADS + WRITER_THREADS);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int i = 0; i < READER_THREADS + WRITER_THREADS; i++) {
+            boolean writer = i < WRITER_THREADS;
+            threads.add(new Thread(() -> {
+                try {
+                    while (running.get()) {
+                        String key = "key-" + ThreadLocalRandom.current().nextInt(HOT_KEYS);
+
+                        if (writer) {
+                            cache.put(key, VALUE);
+                        } else {
+                            cache.get(key);
+                        }
+
+                        if (measuring.get()) {
+                            (writer ? writes : reads).increment();
+                        }
+                    }
+                } catch (Exception e) {
+                    e.printStackTrace();
+                } finally {
+                    finished.countDown();
+                }
+            }));
+        }
+
+        try {
+            threads.forEach(Thread::start);
+            Thread.sleep(WARM_UP_MILLIS);
+            measuring.set(true);
+            Thread.sleep(MEASURE_MILLIS);
+            measuring.set(false);
+            running.set(false);
+            finished.await();
+
+            double seconds = MEASURE_MILLIS / 1000.0;
+            System.out.println(String.format("%-16s reads: %10.0f ops/s   writes: %10.0f ops/s", readConsistency, reads.sum() / seconds, writes.sum() / seconds));
+        } finally {
+            cache.close();
+        }
+    }
+}
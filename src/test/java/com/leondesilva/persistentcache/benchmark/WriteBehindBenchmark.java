@@ -0,0 +1,48 @@
+package com.leondesilva.persistentcache.benchmark;
+
+import com.leondesilva.persistentcache.cache.PersistentCache;
+import com.leondesilva.persistentcache.cache.PersistentCacheConfig;
+import com.leondesilva.persistentcache.cache.PersistentCacheFactory;
+import com.leondesilva.persistentcache.serializer.StringSerializer;
+
+import java.io.File;
+import java.nio.file.Files;
+
+/**
+ * Benchmark to measure the throughput of puts of distinct keys, each written in its own transaction and with the
+ * write-behind buffer.
+ * Run using: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.leondesilva.persistentcache.benchmark.WriteBehindBenchmark
+ *
+ */
+public class WriteBehindBenchmark {
+    private static final int PUT_COUNT = 20000;
+    private static final String VALUE = "value-of-a-typical-cache-entry-with-some-payload-0123456789";
+
+    public static void main(String[] args) throws Exception {
+        run(false);
+        run(true);
+    }
+
+    private static void run(boolean writeBehindEnabled) throws Exception {
+        PersistentCacheConfig<String, String> config = new PersistentCacheConfig<>();
+        config.setKeySerializer(new StringSerializer());
+        config.setValueSerializer(new StringSerializer());
+        config.setWriteBehindEnabled(writeBehindEnabled);
+        File dbPath = Files.createTempDirectory("write-behind-benchmark").toFile();
+        PersistentCache<String, String> cache = PersistentCacheFactory.createCache("WriteBehindBenchmarkDB", dbPath.getAbsolutePath(), 10000000, config);
+
+        try {
+            long start = System.nanoTime();
+
+            for (int i = 0; i < PUT_COUNT; i++) {
+                cache.put("key-" + i, VALUE);
+            }
+
+            cache.flush();
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.println(String.format("write-behind %-5s puts: %10.0f ops/s", writeBehindEnabled, PUT_COUNT / seconds));
+        } finally {
+            cache.close();
+        }
+    }
+}
@@ -0,0 +1,797 @@
+package com.leondesilva.persistentcache.cache;
+
+import com.leondesilva.persistentcache.cache.model.pojo.BulkLoadStats;
+import com.leondesilva.persistentcache.cache.model.pojo.ChunkResult;
+import com.leondesilva.persistentcache.cache.model.pojo.KeyFilterStats;
+import com.leondesilva.persistentcache.error.PersistentCacheException;
+import org.junit.*;
+import org.junit.rules.TemporaryFolder;
+import com.leondesilva.persistentcache.serializer.ByteArraySerializer;
+import com.leondesilva.persistentcache.serializer.DataBuffer;
+import com.sleepycat.je.DatabaseEntry;
+import com.sleepycat.je.Durability;
+import com.sleepycat.je.OperationStatus;
+import com.sleepycat.je.StatsConfig;
+import com.sleepycat.je.Transaction;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class BdbPersistentBytesCacheImplTest {
+    private static final String dbName = "PersistentBytesCacheImplTestDB";
+    private static final long maxLogFileSize = 5000000;
+
+    private static final byte[] KEY1 = CacheTestUtils.bytes("k1");
+    private static final byte[] KEY2 = CacheTestUtils.bytes("k2");
+    private static final byte[] VALUE1 = CacheTestUtils.bytes("value1");
+    private static final byte[] VALUE2 = CacheTestUtils.bytes("value2");
+
+    private PersistentBytesCache persistentCache;
+    private String dbPath;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Before
+    public void setup() throws IOException, PersistentCacheException {
+        dbPath = temporaryFolder.newFolder().getAbsolutePath();
+        persistentCache = PersistentCacheFactory.createBytesCache(dbName, dbPath, maxLogFileSize);
+    }
+
+    @After
+    public void tearDown() throws PersistentCacheException {
+        persistentCache.close();
+    }
+
+    @Test
+    public void should_store_and_retrieve_byte_arrays() throws PersistentCacheException {
+        Assert.assertTrue(persistentCache.put(KEY1, VALUE1));
+        Assert.assertTrue(persistentCache.putIfAbsent(KEY2, VALUE2));
+        Assert.assertFalse(persistentCache.putIfAbsent(KEY2, VALUE1));
+
+        Assert.assertArrayEquals(VALUE1, persistentCache.get(CacheTestUtils.bytes("k1")));
+        Assert.assertArrayEquals(VALUE2, persistentCache.get(CacheTestUtils.bytes("k2")));
+        Assert.assertTrue(persistentCache.containsKey(CacheTestUtils.bytes("k1")));
+        Assert.assertEquals(2, persistentCache.getAll().size());
+
+        Assert.assertTrue(persistentCache.delete(CacheTestUtils.bytes("k1")));
+        Assert.assertNull(persistentCache.get(KEY1));
+    }
+
+    @Test
+    public void should_store_and_retrieve_byte_buffers() throws PersistentCacheException {
+        ByteBuffer key = ByteBuffer.wrap(CacheTestUtils.bytes("xxk1xx"), 2, 2);
+        ByteBuffer value = ByteBuffer.allocateDirect(VALUE1.length);
+        value.put(VALUE1).flip();
+
+        Assert.assertTrue(persistentCache.put(key, value));
+        Assert.assertEquals(2, key.position());
+        Assert.assertEquals(0, value.position());
+
+        Assert.assertArrayEquals(VALUE1, persistentCache.get(KEY1));
+        Assert.assertEquals(ByteBuffer.wrap(VALUE1), persistentCache.get(ByteBuffer.wrap(KEY1)));
+        Assert.assertTrue(persistentCache.containsKey(ByteBuffer.wrap(KEY1)));
+        Assert.assertNull(persistentCache.get(ByteBuffer.wrap(KEY2)));
+
+        Assert.assertTrue(persistentCache.delete(ByteBuffer.wrap(KEY1)));
+        Assert.assertFalse(persistentCache.containsKey(KEY1));
+    }
+
+    @Test
+    public void should_store_byte_arrays_without_serialization() throws PersistentCacheException, IOException {
+        BaseBdbPersistentCache<byte[], byte[]> cache = new BdbPersistentCacheImpl<>(dbName, temporaryFolder.newFolder().getAbsolutePath(), maxLogFileSize, CacheTestUtils.createBytesConfig());
+        Assert.assertTrue(cache.put(KEY1, VALUE1));
+
+        Assert.assertEquals(KEY1.length, cache.createKeyEntry(KEY1).getSize());
+        Assert.assertEquals(ByteBuffer.wrap(VALUE1), cache.getValueBuffer(KEY1));
+        cache.close();
+    }
+
+    @Test
+    public void should_expire_values_of_a_per_row_ttl_bytes_cache() throws PersistentCacheException, IOException, InterruptedException {
+        PersistentBytesCache perRowCache = PersistentCacheFactory.createBytesPerRowTTLCache(dbName, temporaryFolder.newFolder().getAbsolutePath(), maxLogFileSize);
+
+        Assert.assertTrue(perRowCache.put(ByteBuffer.wrap(KEY1), ByteBuffer.wrap(VALUE1), 200, ChronoUnit.MILLIS));
+        Assert.assertTrue(perRowCache.put(KEY2, VALUE2));
+        Thread.sleep(400);
+
+        Assert.assertNull(perRowCache.get(ByteBuffer.wrap(KEY1)));
+        Assert.assertArrayEquals(VALUE2, perRowCache.get(KEY2));
+        perRowCache.close();
+    }
+
+    @Test
+    public void should_load_values_of_a_loading_bytes_cache() throws PersistentCacheException, IOException {
+        PersistentBytesCache loadingCache = PersistentCacheFactory.createBytesLoadingCache(dbName, temporaryFolder.newFolder().getAbsolutePath(), maxLogFileSize, 10, ChronoUnit.SECONDS, key -> CacheTestUtils.bytes("loaded-" + new String(key, StandardCharsets.UTF_8)));
+
+        Assert.assertEquals(ByteBuffer.wrap(CacheTestUtils.bytes("loaded-k1")), loadingCache.get(ByteBuffer.wrap(KEY1)));
+        Assert.assertArrayEquals(CacheTestUtils.bytes("loaded-k2"), loadingCache.get(KEY2));
+        loadingCache.close();
+    }
+
+    @Test
+    public void should_copy_values_into_a_given_buffer() throws PersistentCacheException {
+        Assert.assertTrue(persistentCache.putSerialized(KEY1, ByteBuffer.wrap(VALUE1)));
+        ByteBuffer target = ByteBuffer.allocate(VALUE1.length + 2);
+        target.put((byte) 1);
+
+        Assert.assertEquals(VALUE1.length, persistentCache.get(KEY1, target));
+        Assert.assertEquals(VALUE1.length + 1, target.position());
+        target.flip().get();
+        Assert.assertEquals(ByteBuffer.wrap(VALUE1), target);
+
+        ByteBuffer smallTarget = ByteBuffer.allocate(2);
+        Assert.assertEquals(VALUE1.length, persistentCache.get(KEY1, smallTarget));
+        Assert.assertEquals(0, smallTarget.position());
+        Assert.assertEquals(-1, persistentCache.get(KEY2, smallTarget));
+    }
+
+    @Test
+    public void should_transfer_compressed_values_to_a_channel() throws PersistentCacheException, IOException {
+        PersistentCacheConfig<byte[], byte[]> config = new PersistentCacheConfig<>();
+        config.setCompressionEnabled(true);
+        config.setCompressionThreshold(16);
+        PersistentBytesCache compressedCache = PersistentCacheFactory.createBytesTTLCache(dbName, temporaryFolder.newFolder().getAbsolutePath(), maxLogFileSize, 10, ChronoUnit.SECONDS, config);
+        byte[] value = new byte[100000];
+        Arrays.fill(value, (byte) 7);
+
+        Assert.assertTrue(compressedCache.putSerializedIfAbsent(KEY1, ByteBuffer.wrap(value)));
+        Assert.assertFalse(compressedCache.putSerializedIfAbsent(KEY1, ByteBuffer.wrap(VALUE1)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        Assert.assertEquals(value.length, compressedCache.transferTo(KEY1, Channels.newChannel(out)));
+        Assert.assertArrayEquals(value, out.toByteArray());
+        Assert.assertEquals(-1, compressedCache.transferTo(KEY2, Channels.newChannel(out)));
+        compressedCache.close();
+    }
+
+    @Test
+    public void should_store_large_values_in_chunks() throws PersistentCacheException, IOException {
+        PersistentCacheConfig<byte[], byte[]> config = CacheTestUtils.createBytesConfig();
+        config.setChunkingEnabled(true);
+        config.setChunkingThreshold(1000);
+        config.setChunkSize(4096);
+        BaseBdbPersistentCache<byte[], byte[]> cache = new BdbPersistentCacheImpl<>(dbName, temporaryFolder.newFolder().getAbsolutePath(), maxLogFileSize, config);
+        byte[] value = CacheTestUtils.randomBytes(100000);
+        byte[] otherValue = CacheTestUtils.randomBytes(10000);
+
+        Assert.assertTrue(cache.put(KEY1, value));
+        Assert.assertTrue(cache.put(KEY2, VALUE2));
+        Assert.assertFalse(cache.putIfAbsent(KEY1, VALUE1));
+        Assert.assertArrayEquals(value, cache.get(KEY1));
+        Assert.assertArrayEquals(VALUE2, cache.get(KEY2));
+        Assert.assertTrue(cache.containsKey(KEY1));
+        Assert.assertEquals(25, CacheTestUtils.countChunks(cache, dbName));
+
+        Assert.assertTrue(cache.put(KEY1, otherValue));
+        Assert.assertArrayEquals(otherValue, cache.get(KEY1));
+        Assert.assertEquals(ByteBuffer.wrap(otherValue), cache.getValueBuffer(KEY1));
+        Assert.assertEquals(3, CacheTestUtils.countChunks(cache, dbName));
+
+        Assert.assertTrue(cache.delete(KEY1));
+        Assert.assertNull(cache.get(KEY1));
+        Assert.assertNull(cache.getInputStream(KEY1));
+        Assert.assertEquals(0, CacheTestUtils.countChunks(cache, dbName));
+        cache.close();
+    }
+
+    @Test
+    public void should_stream_values_stored_in_chunks() throws PersistentCacheException, IOException {
+        PersistentCacheConfig<byte[], byte[]> config = new PersistentCacheConfig<>();
+        config.setCompressionEnabled(true);
+        config.setChunkingEnabled(true);
+        config.setChunkingThreshold(1000);
+        config.setChunkSize(4096);
+        String path = temporaryFolder.newFolder().getAbsolutePath();
+        PersistentBytesCache chunkedCache = PersistentCacheFactory.createBytesCache(dbName, path, maxLogFileSize, config);
+        byte[] compressibleValue = new byte[1000000];
+
+        for (int i = 0; i < compressibleValue.length; i++) {
+            compressibleValue[i] = (byte) (i % 251 + i / 100000);
+        }
+
+        byte[] value = CacheTestUtils.randomBytes(50000);
+        Assert.assertTrue(chunkedCache.put(KEY1, compressibleValue));
+        Assert.assertTrue(chunkedCache.put(ByteBuffer.wrap(KEY2), ByteBuffer.wrap(value)));
+        Assert.assertArrayEquals(compressibleValue, readFully(chunkedCache.getInputStream(KEY1)));
+        Assert.assertArrayEquals(value, readFully(Channels.newInputStream(chunkedCache.getChannel(KEY2))));
+        chunkedCache.close();
+
+        chunkedCache = PersistentCacheFactory.createBytesCache(dbName, path, maxLogFileSize);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        Assert.assertEquals(compressibleValue.length, chunkedCache.transferTo(KEY1, Channels.newChannel(out)));
+        Assert.assertArrayEquals(compressibleValue, out.toByteArray());
+        Assert.assertArrayEquals(value, chunkedCache.get(KEY2));
+        Assert.assertTrue(chunkedCache.truncate());
+        Assert.assertNull(chunkedCache.get(KEY2));
+        chunkedCache.close();
+    }
+
+    @Test
+    public void should_keep_the_near_cache_consistent_with_the_store() throws PersistentCacheException, IOException, InterruptedException {
+        PersistentCacheConfig<byte[], byte[]> config = new PersistentCacheConfig<>();
+        config.setNearCacheEnabled(true);
+        config.setNearCacheMaximumSize(10);
+        PersistentBytesCache nearCachedCache = PersistentCacheFactory.createBytesPerRowTTLCache(dbName, temporaryFolder.newFolder().getAbsolutePath(), maxLogFileSize, config);
+
+        Assert.assertTrue(nearCachedCache.put(KEY1, VALUE1));
+        Assert.assertArrayEquals(VALUE1, nearCachedCache.get(CacheTestUtils.bytes("k1")));
+        Assert.assertSame(nearCachedCache.get(KEY1), nearCachedCache.get(CacheTestUtils.bytes("k1")));
+
+        Assert.assertTrue(nearCachedCache.put(ByteBuffer.wrap(KEY1), ByteBuffer.wrap(VALUE2)));
+        Assert.assertArrayEquals(VALUE2, nearCachedCache.get(KEY1));
+        Assert.assertTrue(nearCachedCache.delete(KEY1));
+        Assert.assertNull(nearCachedCache.get(KEY1));
+
+        Assert.assertTrue(nearCachedCache.put(KEY2, VALUE2, 200, ChronoUnit.MILLIS));
+        Assert.assertArrayEquals(VALUE2, nearCachedCache.get(KEY2));
+        Thread.sleep(400);
+        Assert.assertNull(nearCachedCache.get(KEY2));
+
+        Assert.assertTrue(nearCachedCache.put(KEY1, VALUE1));
+        Assert.assertArrayEquals(VALUE1, nearCachedCache.get(KEY1));
+        Assert.assertTrue(nearCachedCache.containsKey(KEY1));
+        Assert.assertTrue(nearCachedCache.truncate());
+        Assert.assertNull(nearCachedCache.get(KEY1));
+        nearCachedCache.close();
+    }
+
+    @Test
+    public void should_keep_the_off_heap_cache_consistent_with_the_store() throws PersistentCacheException, IOException, InterruptedException {
+        PersistentCacheConfig<byte[], byte[]> config = new PersistentCacheConfig<>();
+        config.setOffHeapCacheEnabled(true);
+        config.setOffHeapCapacity(64 * 1024);
+        config.setOffHeapSlabSize(16 * 1024);
+        PersistentBytesCache offHeapCache = PersistentCacheFactory.createBytesPerRowTTLCache(dbName, temporaryFolder.newFolder().getAbsolutePath(), maxLogFileSize, config);
+
+        Assert.assertTrue(offHeapCache.put(KEY1, VALUE1));
+        Assert.assertArrayEquals(VALUE1, offHeapCache.get(KEY1));
+        Assert.assertArrayEquals(VALUE1, offHeapCache.get(CacheTestUtils.bytes("k1")));
+
+        Assert.assertTrue(offHeapCache.put(ByteBuffer.wrap(KEY1), ByteBuffer.wrap(VALUE2)));
+        Assert.assertArrayEquals(VALUE2, offHeapCache.get(KEY1));
+        Assert.assertTrue(offHeapCache.delete(KEY1));
+        Assert.assertNull(offHeapCache.get(KEY1));
+
+        Assert.assertTrue(offHeapCache.put(KEY2, VALUE2, 200, ChronoUnit.MILLIS));
+        Assert.assertArrayEquals(VALUE2, offHeapCache.get(KEY2));
+        Thread.sleep(400);
+        Assert.assertNull(offHeapCache.get(KEY2));
+
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertTrue(offHeapCache.put(CacheTestUtils.bytes("key" + i), CacheTestUtils.randomBytes(100)));
+            Assert.assertNotNull(offHeapCache.get(CacheTestUtils.bytes("key" + i)));
+        }
+
+        byte[] value = CacheTestUtils.randomBytes(100);
+        Assert.assertTrue(offHeapCache.put(CacheTestUtils.bytes("key0"), value));
+        Assert.assertArrayEquals(value, offHeapCache.get(CacheTestUtils.bytes("key0")));
+        Assert.assertArrayEquals(value, offHeapCache.get(CacheTestUtils.bytes("key0")));
+        Assert.assertTrue(offHeapCache.truncate());
+        Assert.assertNull(offHeapCache.get(CacheTestUtils.bytes("key0")));
+        offHeapCache.close();
+    }
+
+    @Test
+    public void should_reject_lookups_of_keys_which_are_not_stored() throws PersistentCacheException, IOException {
+        String path = temporaryFolder.newFolder().getAbsolutePath();
+        PersistentBytesCache cache = PersistentCacheFactory.createBytesCache(dbName, path, maxLogFileSize);
+        Assert.assertTrue(cache.put(KEY1, VALUE1));
+        Assert.assertNull(cache.getKeyFilterStats());
+        cache.close();
+
+        PersistentCacheConfig<byte[], byte[]> config = new PersistentCacheConfig<>();
+        config.setKeyFilterEnabled(true);
+        config.setKeyFilterExpectedKeys(1000);
+        PersistentBytesCache filteredCache = PersistentCacheFactory.createBytesPerRowTTLCache(dbName, path, maxLogFileSize, config);
+
+        Assert.assertArrayEquals(VALUE1, filteredCache.get(KEY1));
+        Assert.assertNull(filteredCache.get(KEY2));
+        Assert.assertFalse(filteredCache.containsKey(KEY2));
+        Assert.assertTrue(filteredCache.put(KEY2, VALUE2));
+        Assert.assertArrayEquals(VALUE2, filteredCache.get(KEY2));
+        Assert.assertTrue(filteredCache.put(KEY2, VALUE1));
+        Assert.assertTrue(filteredCache.delete(Arrays.asList(KEY1, KEY2)));
+        Assert.assertNull(filteredCache.get(KEY1));
+        Assert.assertTrue(filteredCache.put(KEY1, VALUE1));
+
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertNull(filteredCache.get(CacheTestUtils.bytes("missing" + i)));
+        }
+
+        KeyFilterStats stats = filteredCache.getKeyFilterStats();
+        Assert.assertEquals(1005, stats.getLookupCount());
+        Assert.assertTrue(stats.getRejectedCount() > 990);
+        Assert.assertEquals(stats.getLookupCount() - stats.getRejectedCount() - 2, stats.getFalsePositiveCount());
+        Assert.assertTrue(stats.getFalsePositiveRate() < 0.01);
+        filteredCache.close();
+
+        filteredCache = PersistentCacheFactory.createBytesPerRowTTLCache(dbName, path, maxLogFileSize, config);
+        Assert.assertArrayEquals(VALUE1, filteredCache.get(KEY1));
+        Assert.assertNull(filteredCache.get(KEY2));
+        Assert.assertTrue(filteredCache.truncate());
+        Assert.assertFalse(filteredCache.containsKey(KEY1));
+        Assert.assertEquals(2, filteredCache.getKeyFilterStats().getRejectedCount());
+        filteredCache.close();
+    }
+
+    @Test
+    public void should_stream_keys_and_estimate_size_from_the_key_filter() throws PersistentCacheException, IOException {
+        PersistentCacheConfig<byte[], byte[]> config = new PersistentCacheConfig<>();
+        config.setKeyFilterEnabled(true);
+        config.setKeyFilterExpectedKeys(1000);
+        config.setIteratorBatchSize(7);
+        PersistentBytesCache countedCache = PersistentCacheFactory.createBytesCache(dbName, temporaryFolder.newFolder().getAbsolutePath(), maxLogFileSize, config);
+
+        for (int i = 0; i < 100; i++) {
+            Assert.assertTrue(countedCache.put(CacheTestUtils.bytes(String.format("key%04d", i)), CacheTestUtils.bytes("value" + i)));
+        }
+
+        Assert.assertTrue(countedCache.put(CacheTestUtils.bytes("key0000"), VALUE1));
+        Assert.assertTrue(countedCache.delete(CacheTestUtils.bytes("key0099")));
+
+        try (Stream<byte[]> keys = countedCache.keys()) {
+            List<String> keyList = keys.map(key -> new String(key, StandardCharsets.UTF_8)).collect(Collectors.toList());
+            Assert.assertEquals(99, keyList.size());
+            Assert.assertEquals("key0000", keyList.get(0));
+            Assert.assertEquals("key0098", keyList.get(98));
+        }
+
+        Assert.assertEquals(99, countedCache.count());
+        Assert.assertEquals(99, countedCache.estimatedSize());
+        Assert.assertTrue(countedCache.truncate());
+        Assert.assertEquals(0, countedCache.count());
+        Assert.assertEquals(0, countedCache.estimatedSize());
+        countedCache.close();
+    }
+
+    @Test
+    public void should_iterate_all_records_in_batches() throws PersistentCacheException, IOException, InterruptedException {
+        PersistentCacheConfig<byte[], byte[]> config = new PersistentCacheConfig<>();
+        config.setIteratorBatchSize(100);
+        PersistentBytesCache iteratedCache = PersistentCacheFactory.createBytesPerRowTTLCache(dbName, temporaryFolder.newFolder().getAbsolutePath(), maxLogFileSize, config);
+
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertTrue(iteratedCache.put(CacheTestUtils.bytes(String.format("key%04d", i)), CacheTestUtils.bytes("value" + i)));
+        }
+
+        for (int i = 1000; i < 1050; i++) {
+            Assert.assertTrue(iteratedCache.put(CacheTestUtils.bytes(String.format("key%04d", i)), CacheTestUtils.bytes("value" + i), 100, ChronoUnit.MILLIS));
+        }
+
+        Thread.sleep(300);
+        int count = 0;
+
+        try (CloseableIterator<Map.Entry<byte[], byte[]>> iterator = iteratedCache.iterator()) {
+            while (iterator.hasNext()) {
+                Map.Entry<byte[], byte[]> entry = iterator.next();
+                Assert.assertArrayEquals(CacheTestUtils.bytes(String.format("key%04d", count)), entry.getKey());
+                Assert.assertArrayEquals(CacheTestUtils.bytes("value" + count), entry.getValue());
+
+                if (count == 150) {
+                    Assert.assertTrue(iteratedCache.delete(CacheTestUtils.bytes("key0250")));
+                }
+
+                count += count == 249 ? 2 : 1;
+            }
+        }
+
+        Assert.assertEquals(1000, count);
+
+        try (Stream<Map.Entry<byte[], byte[]>> stream = iteratedCache.stream()) {
+            Assert.assertEquals(Arrays.asList("key0000", "key0001", "key0002"), stream.limit(3).map(entry -> new String(entry.getKey(), StandardCharsets.UTF_8)).collect(Collectors.toList()));
+        }
+
+        Assert.assertEquals(999, iteratedCache.getAll().size());
+        iteratedCache.close();
+    }
+
+    @Test
+    public void should_get_the_values_of_given_keys_with_a_single_cursor() throws PersistentCacheException, IOException, InterruptedException {
+        PersistentCacheConfig<byte[], byte[]> config = new PersistentCacheConfig<>();
+        config.setNearCacheEnabled(true);
+        config.setOffHeapCacheEnabled(true);
+        config.setKeyFilterEnabled(true);
+        config.setKeyFilterExpectedKeys(1000);
+        PersistentBytesCache multiGetCache = PersistentCacheFactory.createBytesPerRowTTLCache(dbName, temporaryFolder.newFolder().getAbsolutePath(), maxLogFileSize, config);
+
+        for (int i = 0; i < 100; i++) {
+            Assert.assertTrue(multiGetCache.put(CacheTestUtils.bytes(String.format("key%04d", i)), CacheTestUtils.bytes("value" + i)));
+        }
+
+        Assert.assertTrue(multiGetCache.put(KEY1, VALUE1, 100, ChronoUnit.MILLIS));
+        Thread.sleep(300);
+        Assert.assertArrayEquals(CacheTestUtils.bytes("value7"), multiGetCache.get(CacheTestUtils.bytes("key0007")));
+
+        byte[] key7 = CacheTestUtils.bytes("key0007");
+        byte[] key42 = CacheTestUtils.bytes("key0042");
+        byte[] key3 = CacheTestUtils.bytes("key0003");
+        byte[] missing = CacheTestUtils.bytes("missing");
+        Map<byte[], byte[]> records = multiGetCache.getAll(Arrays.asList(key42, missing, KEY1, key7, key3));
+
+        Assert.assertEquals(Arrays.asList(key42, key7, key3), new ArrayList<>(records.keySet()));
+        Assert.assertArrayEquals(CacheTestUtils.bytes("value42"), records.get(key42));
+        Assert.assertArrayEquals(CacheTestUtils.bytes("value7"), records.get(key7));
+        Assert.assertArrayEquals(CacheTestUtils.bytes("value3"), records.get(key3));
+        Assert.assertFalse(multiGetCache.containsKey(KEY1));
+
+        Assert.assertTrue(multiGetCache.put(key42, VALUE2));
+        Assert.assertArrayEquals(VALUE2, multiGetCache.getAll(Collections.singletonList(key42)).get(key42));
+        Assert.assertArrayEquals(VALUE2, multiGetCache.get(key42));
+        Assert.assertTrue(multiGetCache.getAll(Collections.emptyList()).isEmpty());
+        multiGetCache.close();
+    }
+
+    @Test
+    public void should_process_scanned_records_in_parallel() throws PersistentCacheException, IOException, InterruptedException {
+        PersistentCacheConfig<byte[], byte[]> config = new PersistentCacheConfig<>();
+        config.setIteratorBatchSize(500);
+        config.setScanParallelism(4);
+        PersistentBytesCache scannedCache = PersistentCacheFactory.createBytesPerRowTTLCache(dbName, temporaryFolder.newFolder().getAbsolutePath(), maxLogFileSize, config);
+
+        for (int i = 0; i < 2000; i++) {
+            if (i % 10 == 0) {
+                Assert.assertTrue(scannedCache.put(CacheTestUtils.bytes(String.format("key%04d", i)), CacheTestUtils.bytes("value" + i), 100, ChronoUnit.MILLIS));
+            } else {
+                Assert.assertTrue(scannedCache.put(CacheTestUtils.bytes(String.format("key%04d", i)), CacheTestUtils.bytes("value" + i)));
+            }
+        }
+
+        Thread.sleep(300);
+        Map<byte[], byte[]> records = scannedCache.getAll();
+        Assert.assertEquals(1800, records.size());
+        int i = 1;
+
+        for (Map.Entry<byte[], byte[]> entry : records.entrySet()) {
+            Assert.assertArrayEquals(CacheTestUtils.bytes(String.format("key%04d", i)), entry.getKey());
+            Assert.assertArrayEquals(CacheTestUtils.bytes("value" + i), entry.getValue());
+            i += i % 10 == 9 ? 2 : 1;
+        }
+
+        try (Stream<Map.Entry<byte[], byte[]>> stream = scannedCache.stream()) {
+            Assert.assertEquals(1800, stream.count());
+        }
+
+        scannedCache.close();
+    }
+
+    @Test
+    public void should_read_without_waiting_for_writers_when_reads_are_uncommitted() throws PersistentCacheException, IOException {
+        PersistentCacheConfig<byte[], byte[]> config = CacheTestUtils.createBytesConfig();
+        config.setReadConsistency(ReadConsistency.READ_UNCOMMITTED);
+        BaseBdbPersistentCache<byte[], byte[]> cache = new BdbPersistentCacheImpl<>(dbName, temporaryFolder.newFolder().getAbsolutePath(), maxLogFileSize, config);
+        Assert.assertTrue(cache.put(KEY1, VALUE1));
+        Assert.assertTrue(cache.put(KEY2, VALUE2));
+
+        Transaction transaction = cache.dbEnvironment.beginTransaction(null, null);
+        Assert.assertEquals(OperationStatus.SUCCESS, cache.database.delete(transaction, new DatabaseEntry(KEY1)));
+
+        Assert.assertNull(cache.get(KEY1));
+        Assert.assertFalse(cache.containsKey(KEY1));
+        Assert.assertEquals(1, cache.getAll().size());
+        Assert.assertArrayEquals(VALUE2, cache.get(KEY2));
+
+        transaction.abort();
+        Assert.assertArrayEquals(VALUE1, cache.get(KEY1));
+        Assert.assertTrue(cache.containsKey(KEY1));
+        cache.close();
+    }
+
+    @Test
+    public void should_buffer_puts_and_write_them_in_batches_when_write_behind_is_enabled() throws PersistentCacheException, IOException {
+        PersistentCacheConfig<byte[], byte[]> config = CacheTestUtils.createBytesConfig();
+        config.setWriteBehindEnabled(true);
+        config.setWriteBehindFlushIntervalMillis(60000);
+        String path = temporaryFolder.newFolder().getAbsolutePath();
+        BaseBdbPersistentCache<byte[], byte[]> cache = new BdbPersistentCacheImpl<>(dbName, path, maxLogFileSize, config);
+
+        Assert.assertTrue(cache.put(KEY1, VALUE2));
+        Assert.assertTrue(cache.put(KEY1, VALUE1));
+        Assert.assertEquals(OperationStatus.NOTFOUND, cache.database.get(null, new DatabaseEntry(KEY1), new DatabaseEntry(), null));
+        Assert.assertArrayEquals(VALUE1, cache.get(KEY1));
+        Assert.assertTrue(cache.containsKey(KEY1));
+        Assert.assertFalse(cache.putIfAbsent(KEY1, VALUE2));
+
+        Assert.assertTrue(cache.put(KEY2, VALUE2));
+        Assert.assertTrue(cache.flush());
+        Assert.assertEquals(2, cache.database.count());
+        Assert.assertArrayEquals(VALUE2, cache.get(KEY2));
+
+        Assert.assertTrue(cache.put(KEY2, VALUE1));
+        cache.close();
+
+        cache = new BdbPersistentCacheImpl<>(dbName, path, maxLogFileSize, config);
+        Assert.assertArrayEquals(VALUE1, cache.get(KEY1));
+        Assert.assertArrayEquals(VALUE1, cache.get(KEY2));
+        cache.close();
+    }
+
+    @Test
+    public void should_wait_for_the_flusher_when_the_write_behind_buffer_is_full() throws PersistentCacheException, IOException {
+        PersistentCacheConfig<byte[], byte[]> config = CacheTestUtils.createBytesConfig();
+        config.setWriteBehindEnabled(true);
+        config.setWriteBehindBufferSize(2);
+        config.setWriteBehindFlushIntervalMillis(60000);
+        BaseBdbPersistentCache<byte[], byte[]> cache = new BdbPersistentCacheImpl<>(dbName, temporaryFolder.newFolder().getAbsolutePath(), maxLogFileSize, config);
+
+        for (int i = 0; i < 200; i++) {
+            long start = System.nanoTime();
+            Assert.assertTrue(cache.put(CacheTestUtils.bytes("k" + i), CacheTestUtils.bytes("value" + i)));
+            Assert.assertTrue("A put waited for the flush interval.", System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        }
+
+        Assert.assertTrue(cache.database.count() >= 198);
+
+        for (int i = 0; i < 200; i++) {
+            Assert.assertArrayEquals(CacheTestUtils.bytes("value" + i), cache.get(CacheTestUtils.bytes("k" + i)));
+        }
+
+        Assert.assertEquals(200, cache.count());
+        cache.close();
+    }
+
+    @Test
+    public void should_keep_buffered_puts_and_fail_a_delete_when_the_buffer_can_not_be_written() throws PersistentCacheException, IOException {
+        PersistentCacheConfig<byte[], byte[]> config = CacheTestUtils.createBytesConfig();
+        config.setWriteBehindEnabled(true);
+        config.setWriteBehindFlushIntervalMillis(60000);
+        BaseBdbPersistentCache<byte[], byte[]> cache = new BdbPersistentCacheImpl<>(dbName, temporaryFolder.newFolder().getAbsolutePath(), maxLogFileSize, config);
+        Assert.assertTrue(cache.put(KEY1, VALUE1));
+
+        Transaction transaction = cache.dbEnvironment.beginTransaction(null, null);
+        Assert.assertEquals(OperationStatus.SUCCESS, cache.database.put(transaction, new DatabaseEntry(KEY1), new DatabaseEntry(VALUE2)));
+
+        try {
+            cache.delete(KEY1);
+            Assert.fail("Delete should fail when the buffered put of the key cannot be written.");
+        } catch (PersistentCacheException e) {
+            Assert.assertArrayEquals(VALUE1, cache.get(KEY1));
+        } finally {
+            transaction.abort();
+        }
+
+        Assert.assertTrue(cache.delete(KEY1));
+        Assert.assertTrue(cache.flush());
+        Assert.assertNull(cache.get(KEY1));
+        Assert.assertEquals(0, cache.count());
+        cache.close();
+    }
+
+    @Test
+    public void should_sync_the_log_only_for_writes_with_the_sync_durability_policy() throws PersistentCacheException, IOException {
+        PersistentCacheConfig<byte[], byte[]> config = CacheTestUtils.createBytesConfig();
+        config.setDurabilityPolicy(DurabilityPolicy.NO_SYNC);
+        String path = temporaryFolder.newFolder().getAbsolutePath();
+        BaseBdbPersistentCache<byte[], byte[]> cache = new BdbPersistentCacheImpl<>(dbName, path, maxLogFileSize, config);
+        Assert.assertEquals(Durability.COMMIT_NO_SYNC, cache.dbEnvironment.getConfig().getDurability());
+
+        long logSyncs = countLogSyncs(cache);
+        Assert.assertTrue(cache.put(KEY1, VALUE2));
+        Assert.assertTrue(cache.putAll(Collections.singletonMap(KEY2, VALUE2), DurabilityPolicy.WRITE_NO_SYNC));
+        Assert.assertEquals(logSyncs, countLogSyncs(cache));
+
+        Assert.assertTrue(cache.put(KEY1, VALUE1, DurabilityPolicy.SYNC));
+        Assert.assertTrue(countLogSyncs(cache) > logSyncs);
+        Assert.assertArrayEquals(VALUE1, cache.get(KEY1));
+
+        logSyncs = countLogSyncs(cache);
+        Assert.assertTrue(cache.delete(KEY1, DurabilityPolicy.NO_SYNC));
+        Assert.assertEquals(logSyncs, countLogSyncs(cache));
+        Assert.assertNull(cache.get(KEY1));
+
+        Assert.assertTrue(cache.delete(KEY2, DurabilityPolicy.SYNC));
+        Assert.assertTrue(countLogSyncs(cache) > logSyncs);
+
+        logSyncs = countLogSyncs(cache);
+        Assert.assertTrue(cache.putAll(Collections.singletonMap(KEY2, VALUE2), DurabilityPolicy.SYNC));
+        Assert.assertTrue(countLogSyncs(cache) > logSyncs);
+        Assert.assertTrue(cache.put(KEY1, VALUE2));
+        cache.close();
+
+        cache = new BdbPersistentCacheImpl<>(dbName, path, maxLogFileSize, config);
+        Assert.assertArrayEquals(VALUE2, cache.get(KEY1));
+        Assert.assertArrayEquals(VALUE2, cache.get(KEY2));
+        cache.close();
+    }
+
+    @Test(expected = PersistentCacheException.class)
+    public void should_throw_an_exception_when_the_log_sync_interval_is_negative() throws PersistentCacheException, IOException {
+        PersistentCacheConfig<byte[], byte[]> config = CacheTestUtils.createBytesConfig();
+        config.setLogSyncIntervalMillis(-1);
+        new BdbPersistentCacheImpl<>(dbName, temporaryFolder.newFolder().getAbsolutePath(), maxLogFileSize, config);
+    }
+
+    @Test
+    public void should_write_a_map_in_chunks_and_report_the_failed_chunks() throws PersistentCacheException, IOException {
+        byte[] badValue = CacheTestUtils.bytes("bad");
+        PersistentCacheConfig<byte[], byte[]> config = CacheTestUtils.createBytesConfig();
+        config.setBulkWriteParallelism(2);
+        config.setValueSerializer(new ByteArraySerializer() {
+            @Override
+            public void serialize(byte[] object, DataBuffer buffer) {
+                if (Arrays.equals(badValue, object)) {
+                    throw new IllegalArgumentException("Value can not be serialized.");
+                }
+
+                super.serialize(object, buffer);
+            }
+        });
+        BaseBdbPersistentCache<byte[], byte[]> cache = new BdbPersistentCacheImpl<>(dbName, temporaryFolder.newFolder().getAbsolutePath(), maxLogFileSize, config);
+        Map<byte[], byte[]> data = new HashMap<>();
+
+        for (int i = 9; i >= 0; i--) {
+            data.put(CacheTestUtils.bytes("key" + i), i == 4 ? badValue : CacheTestUtils.bytes("value" + i));
+        }
+
+        List<ChunkResult<byte[]>> results = cache.putAllInChunks(data, 3);
+        Assert.assertEquals(4, results.size());
+
+        for (int i = 0; i < results.size(); i++) {
+            Assert.assertEquals(i, results.get(i).getChunkIndex());
+            Assert.assertEquals(i != 1, results.get(i).isSuccessful());
+        }
+
+        List<byte[]> failedKeys = results.get(1).getKeys();
+        Assert.assertEquals(3, failedKeys.size());
+        Assert.assertArrayEquals(CacheTestUtils.bytes("key3"), failedKeys.get(0));
+        Assert.assertArrayEquals(CacheTestUtils.bytes("key5"), failedKeys.get(2));
+        Assert.assertNull(cache.get(CacheTestUtils.bytes("key3")));
+        Assert.assertArrayEquals(CacheTestUtils.bytes("value9"), cache.get(CacheTestUtils.bytes("key9")));
+        Assert.assertEquals(7, cache.count());
+
+        Map<byte[], byte[]> retry = new HashMap<>();
+        failedKeys.forEach(key -> retry.put(key, CacheTestUtils.bytes("retried")));
+        Assert.assertTrue(cache.putAllInChunks(retry, 3).get(0).isSuccessful());
+        Assert.assertArrayEquals(CacheTestUtils.bytes("retried"), cache.get(CacheTestUtils.bytes("key4")));
+        Assert.assertEquals(10, cache.count());
+        cache.close();
+    }
+
+    @Test
+    public void should_delete_all_records_and_their_chunks_in_batches() throws PersistentCacheException, IOException {
+        PersistentCacheConfig<byte[], byte[]> config = CacheTestUtils.createBytesConfig();
+        config.setChunkingEnabled(true);
+        config.setChunkingThreshold(1000);
+        config.setChunkSize(4096);
+        config.setKeyFilterEnabled(true);
+        BaseBdbPersistentCache<byte[], byte[]> cache = new BdbPersistentCacheImpl<>(dbName, temporaryFolder.newFolder().getAbsolutePath(), maxLogFileSize, config);
+
+        for (int i = 0; i < 2500; i++) {
+            Assert.assertTrue(cache.put(CacheTestUtils.bytes("key" + i), i % 500 == 0 ? CacheTestUtils.randomBytes(10000) : CacheTestUtils.bytes("value" + i)));
+        }
+
+        Assert.assertEquals(15, CacheTestUtils.countChunks(cache, dbName));
+        Assert.assertTrue(cache.deleteAll());
+        Assert.assertEquals(0, cache.count());
+        Assert.assertEquals(0, cache.estimatedSize());
+        Assert.assertEquals(0, CacheTestUtils.countChunks(cache, dbName));
+        Assert.assertFalse(cache.containsKey(CacheTestUtils.bytes("key0")));
+
+        Assert.assertTrue(cache.put(KEY1, VALUE1));
+        Assert.assertArrayEquals(VALUE1, cache.get(KEY1));
+        cache.close();
+    }
+
+    @Test
+    public void should_bulk_load_unsorted_records_into_an_empty_cache() throws PersistentCacheException, IOException {
+        PersistentCacheConfig<byte[], byte[]> config = CacheTestUtils.createBytesConfig();
+        config.setKeyFilterEnabled(true);
+        String path = temporaryFolder.newFolder().getAbsolutePath();
+        BaseBdbPersistentCache<byte[], byte[]> cache = new BdbPersistentCacheImpl<>(dbName, path, maxLogFileSize, config);
+        List<Map.Entry<byte[], byte[]>> records = new ArrayList<>();
+
+        for (int i = 0; i < 2500; i++) {
+            records.add(new HashMap.SimpleEntry<>(CacheTestUtils.bytes("key" + i), CacheTestUtils.bytes("value" + i)));
+        }
+
+        Collections.shuffle(records, new Random(1));
+        AtomicInteger progressCount = new AtomicInteger();
+        BulkLoadStats stats = cache.bulkLoad(records.iterator(), false, progress -> progressCount.incrementAndGet());
+
+        Assert.assertEquals(2500, stats.getRecordCount());
+        Assert.assertTrue(progressCount.get() > 0);
+        Assert.assertEquals(2500, cache.count());
+        Assert.assertArrayEquals(CacheTestUtils.bytes("value42"), cache.get(CacheTestUtils.bytes("key42")));
+        Assert.assertTrue(cache.containsKey(CacheTestUtils.bytes("key2499")));
+        Assert.assertFalse(cache.containsKey(CacheTestUtils.bytes("key2500")));
+        Assert.assertTrue(cache.put(KEY1, VALUE1));
+
+        try {
+            cache.bulkLoad(Collections.<Map.Entry<byte[], byte[]>>emptyList().iterator(), true, null);
+            Assert.fail("Bulk load of a cache which is not empty should fail.");
+        } catch (PersistentCacheException e) {
+            Assert.assertEquals(2501, cache.count());
+        }
+
+        cache.close();
+
+        cache = new BdbPersistentCacheImpl<>(dbName, path, maxLogFileSize, config);
+        Assert.assertEquals(2501, cache.count());
+        Assert.assertArrayEquals(CacheTestUtils.bytes("value0"), cache.get(CacheTestUtils.bytes("key0")));
+        Assert.assertArrayEquals(VALUE1, cache.get(KEY1));
+        cache.close();
+    }
+
+    @Test
+    public void should_keep_the_last_value_of_a_key_given_more_than_once() throws PersistentCacheException, IOException {
+        PersistentCacheConfig<byte[], byte[]> config = CacheTestUtils.createBytesConfig();
+        config.setKeyFilterEnabled(true);
+        BaseBdbPersistentCache<byte[], byte[]> cache = new BdbPersistentCacheImpl<>(dbName, temporaryFolder.newFolder().getAbsolutePath(), maxLogFileSize, config);
+        List<Map.Entry<byte[], byte[]>> records = new ArrayList<>();
+        records.add(new HashMap.SimpleEntry<>(CacheTestUtils.bytes("key2"), CacheTestUtils.bytes("first")));
+        records.add(new HashMap.SimpleEntry<>(CacheTestUtils.bytes("key1"), VALUE1));
+        records.add(new HashMap.SimpleEntry<>(CacheTestUtils.bytes("key2"), CacheTestUtils.bytes("second")));
+
+        Assert.assertEquals(3, cache.bulkLoad(records.iterator(), false, null).getRecordCount());
+        Assert.assertEquals(2, cache.count());
+        Assert.assertEquals(2, cache.estimatedSize());
+        Assert.assertArrayEquals(CacheTestUtils.bytes("second"), cache.get(CacheTestUtils.bytes("key2")));
+        cache.close();
+    }
+
+    @Test
+    public void should_fail_a_sorted_bulk_load_at_the_first_key_which_is_out_of_order() throws PersistentCacheException, IOException {
+        BaseBdbPersistentCache<byte[], byte[]> cache = new BdbPersistentCacheImpl<>(dbName, temporaryFolder.newFolder().getAbsolutePath(), maxLogFileSize, CacheTestUtils.createBytesConfig());
+        List<Map.Entry<byte[], byte[]>> records = new ArrayList<>();
+        records.add(new HashMap.SimpleEntry<>(CacheTestUtils.bytes("key1"), VALUE1));
+        records.add(new HashMap.SimpleEntry<>(CacheTestUtils.bytes("key3"), VALUE1));
+        records.add(new HashMap.SimpleEntry<>(CacheTestUtils.bytes("key2"), VALUE1));
+
+        try {
+            cache.bulkLoad(records.iterator(), true, null);
+            Assert.fail("Bulk load of records which are not sorted should fail.");
+        } catch (PersistentCacheException e) {
+            Assert.assertTrue(e.getMessage().contains("not sorted"));
+        }
+
+        records.set(2, new HashMap.SimpleEntry<>(CacheTestUtils.bytes("key3"), VALUE1));
+        Assert.assertTrue(cache.truncate());
+
+        try {
+            cache.bulkLoad(records.iterator(), true, null);
+            Assert.fail("Bulk load of sorted records with a repeated key should fail.");
+        } catch (PersistentCacheException e) {
+            Assert.assertTrue(e.getMessage().contains("not sorted"));
+        }
+
+        Assert.assertTrue(cache.truncate());
+        records.remove(2);
+        Assert.assertEquals(2, cache.bulkLoad(records.iterator(), true, null).getRecordCount());
+        Assert.assertArrayEquals(VALUE1, cache.get(CacheTestUtils.bytes("key3")));
+        Assert.assertTrue(cache.put(KEY1, VALUE1));
+        cache.close();
+    }
+
+    private static long countLogSyncs(BaseBdbPersistentCache<byte[], byte[]> cache) {
+        return cache.dbEnvironment.getStats(new StatsConfig()).getNLogFSyncs();
+    }
+
+    private static byte[] readFully(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1000];
+
+        for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+            out.write(buffer, 0, read);
+        }
+
+        in.close();
+        return out.toByteArray();
+    }
+}
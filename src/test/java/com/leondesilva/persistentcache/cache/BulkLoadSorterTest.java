@@ -0,0 +1,99 @@
+package com.leondesilva.persistentcache.cache;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class BulkLoadSorterTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void should_merge_sorted_runs_written_to_files() throws IOException {
+        File directory = temporaryFolder.newFolder();
+        BulkLoadSorter sorter = new BulkLoadSorter(directory, 10000);
+        List<Integer> numbers = new ArrayList<>();
+
+        for (int i = 0; i < 5000; i++) {
+            numbers.add(i);
+        }
+
+        Collections.shuffle(numbers, new Random(1));
+
+        for (int number : numbers) {
+            add(sorter, String.format("key%05d", number), "value" + number);
+        }
+
+        Assert.assertTrue(sorter.getRunCount() > 10);
+        Assert.assertEquals(sorter.getRunCount(), directory.list().length);
+        List<String> written = new ArrayList<>();
+
+        Assert.assertTrue(sorter.writeSorted((key, record) -> {
+            written.add(new String(key, StandardCharsets.UTF_8) + "=" + new String(record, StandardCharsets.UTF_8));
+            return true;
+        }));
+
+        Assert.assertEquals(5000, written.size());
+
+        for (int i = 0; i < 5000; i++) {
+            Assert.assertEquals(String.format("key%05d", i) + "=value" + i, written.get(i));
+        }
+
+        sorter.close();
+        Assert.assertEquals(0, directory.list().length);
+    }
+
+    @Test
+    public void should_write_the_last_record_of_a_key_added_more_than_once() throws IOException {
+        BulkLoadSorter sorter = new BulkLoadSorter(temporaryFolder.newFolder(), 200);
+
+        for (int i = 0; i < 20; i++) {
+            add(sorter, "key" + (i % 3), "value" + i);
+        }
+
+        Assert.assertTrue(sorter.getRunCount() > 1);
+        List<String> written = new ArrayList<>();
+
+        Assert.assertTrue(sorter.writeSorted((key, record) -> {
+            written.add(new String(key, StandardCharsets.UTF_8) + "=" + new String(record, StandardCharsets.UTF_8));
+            return true;
+        }));
+
+        Assert.assertEquals(3, written.size());
+        Assert.assertEquals("key0=value18", written.get(0));
+        Assert.assertEquals("key1=value19", written.get(1));
+        Assert.assertEquals("key2=value17", written.get(2));
+        sorter.close();
+    }
+
+    @Test
+    public void should_sort_in_memory_and_stop_when_a_record_is_not_written() throws IOException {
+        BulkLoadSorter sorter = new BulkLoadSorter(temporaryFolder.newFolder(), Long.MAX_VALUE);
+        add(sorter, "b", "2");
+        add(sorter, "a", "1");
+        add(sorter, "c", "3");
+        Assert.assertEquals(0, sorter.getRunCount());
+        List<String> written = new ArrayList<>();
+
+        Assert.assertFalse(sorter.writeSorted((key, record) -> written.add(new String(key, StandardCharsets.UTF_8)) && written.size() < 2));
+        Assert.assertEquals(2, written.size());
+        Assert.assertEquals("a", written.get(0));
+        sorter.close();
+    }
+
+    private static void add(BulkLoadSorter sorter, String key, String record) throws IOException {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] recordBytes = record.getBytes(StandardCharsets.UTF_8);
+        sorter.add(keyBytes, 0, keyBytes.length, recordBytes, 0, recordBytes.length);
+    }
+}
@@ -0,0 +1,105 @@
+package com.leondesilva.persistentcache.cache;
+
+import com.leondesilva.persistentcache.serializer.ByteArraySerializer;
+import com.sleepycat.je.Cursor;
+import com.sleepycat.je.Database;
+import com.sleepycat.je.DatabaseConfig;
+import com.sleepycat.je.DatabaseEntry;
+import com.sleepycat.je.LockMode;
+import com.sleepycat.je.OperationStatus;
+import com.sleepycat.je.Transaction;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * Helpers shared by the tests of the caches of byte arrays.
+ */
+final class CacheTestUtils {
+    private static final String CHUNKS_DB_SUFFIX = "__chunks";
+
+    private CacheTestUtils() {
+    }
+
+    /**
+     * Method to create a config of a cache of byte array keys and values.
+     *
+     * @return the config
+     */
+    static PersistentCacheConfig<byte[], byte[]> createBytesConfig() {
+        PersistentCacheConfig<byte[], byte[]> config = new PersistentCacheConfig<>();
+        config.setKeySerializer(new ByteArraySerializer());
+        config.setValueSerializer(new ByteArraySerializer());
+        return config;
+    }
+
+    /**
+     * Method to get the UTF-8 bytes of a string.
+     *
+     * @param value the string
+     * @return the bytes
+     */
+    static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Method to get random bytes which are the same for the same length.
+     *
+     * @param length the number of bytes
+     * @return the bytes
+     */
+    static byte[] randomBytes(int length) {
+        byte[] data = new byte[length];
+        new Random(length).nextBytes(data);
+        return data;
+    }
+
+    /**
+     * Method to count the chunks stored in the chunk database of a cache.
+     *
+     * @param cache  the cache
+     * @param dbName the name of the database of the cache
+     * @return the number of chunks
+     */
+    static long countChunks(BaseBdbPersistentCache<byte[], byte[]> cache, String dbName) {
+        Database chunks = openChunkDatabase(cache, dbName);
+
+        try {
+            return chunks.count();
+        } finally {
+            chunks.close();
+        }
+    }
+
+    /**
+     * Method to delete all chunks stored in the chunk database of a cache, leaving the records which refer to them.
+     *
+     * @param cache  the cache
+     * @param dbName the name of the database of the cache
+     */
+    static void deleteChunks(BaseBdbPersistentCache<byte[], byte[]> cache, String dbName) {
+        Database chunks = openChunkDatabase(cache, dbName);
+        Transaction transaction = cache.dbEnvironment.beginTransaction(null, null);
+        Cursor cursor = chunks.openCursor(transaction, null);
+
+        try {
+            DatabaseEntry keyEntry = new DatabaseEntry();
+            DatabaseEntry valueEntry = new DatabaseEntry();
+
+            while (cursor.getNext(keyEntry, valueEntry, LockMode.DEFAULT) == OperationStatus.SUCCESS) {
+                cursor.delete();
+            }
+        } finally {
+            cursor.close();
+            transaction.commit();
+            chunks.close();
+        }
+    }
+
+    private static Database openChunkDatabase(BaseBdbPersistentCache<byte[], byte[]> cache, String dbName) {
+        DatabaseConfig dbConfig = new DatabaseConfig();
+        dbConfig.setTransactional(true);
+        return cache.dbEnvironment.openDatabase(null, dbName + CHUNKS_DB_SUFFIX, dbConfig);
+    }
+}
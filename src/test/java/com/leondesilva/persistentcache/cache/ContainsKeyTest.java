@@ -0,0 +1,95 @@
+package com.leondesilva.persistentcache.cache;
+
+import com.leondesilva.persistentcache.error.PersistentCacheException;
+import com.leondesilva.persistentcache.serializer.ByteArraySerializer;
+import com.leondesilva.persistentcache.serializer.RecordHeader;
+import com.sleepycat.je.Database;
+import com.sleepycat.je.DatabaseEntry;
+import com.sleepycat.je.LockMode;
+import com.sleepycat.je.OperationStatus;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+
+public class ContainsKeyTest {
+    private static final String dbName = "ContainsKeyTestDB";
+    private static final long maxLogFileSize = 5000000;
+
+    private static final byte[] KEY1 = CacheTestUtils.bytes("k1");
+    private static final byte[] KEY2 = CacheTestUtils.bytes("k2");
+    private static final byte[] KEY3 = CacheTestUtils.bytes("k3");
+    private static final byte[] KEY4 = CacheTestUtils.bytes("k4");
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void should_return_false_from_contains_key_when_data_is_expired() throws PersistentCacheException, IOException, InterruptedException {
+        PersistentCache<String, TestCacheObject> persistentCache = PersistentCacheFactory.createPerRowTTLCache(dbName, temporaryFolder.newFolder().getAbsolutePath(), maxLogFileSize);
+        Assert.assertTrue(persistentCache.put("k1", new TestCacheObject("1")));
+        Assert.assertTrue(persistentCache.put("k2", new TestCacheObject("2"), 1, ChronoUnit.SECONDS));
+
+        Assert.assertTrue(persistentCache.containsKey("k1"));
+        Assert.assertTrue(persistentCache.containsKey("k2"));
+        Thread.sleep(1500);
+
+        Assert.assertTrue(persistentCache.containsKey("k1"));
+        Assert.assertFalse(persistentCache.containsKey("k2"));
+        Assert.assertFalse(persistentCache.containsKey("k3"));
+        Assert.assertNull(persistentCache.get("k2"));
+        persistentCache.close();
+    }
+
+    @Test
+    public void should_detect_compressed_and_chunked_records_from_their_header() throws PersistentCacheException, IOException, InterruptedException {
+        PersistentCacheConfig<byte[], byte[]> config = new PersistentCacheConfig<>();
+        config.setKeySerializer(new ByteArraySerializer());
+        config.setValueSerializer(new ByteArraySerializer());
+        config.setCompressionEnabled(true);
+        config.setCompressionThreshold(100);
+        config.setChunkingEnabled(true);
+        config.setChunkingThreshold(1000);
+        config.setChunkSize(4096);
+        BaseBdbPersistentCache<byte[], byte[]> cache = new BdbPersistentCacheImpl<>(dbName, temporaryFolder.newFolder().getAbsolutePath(), maxLogFileSize, config);
+        PersistentCache<byte[], byte[]> perRowCache = PersistentCacheFactory.createPerRowTTLCache(dbName, temporaryFolder.newFolder().getAbsolutePath(), maxLogFileSize, config);
+
+        byte[] compressibleValue = new byte[500];
+        Arrays.fill(compressibleValue, (byte) 'a');
+        Assert.assertTrue(cache.put(KEY1, compressibleValue));
+        Assert.assertTrue(cache.put(KEY2, CacheTestUtils.randomBytes(10000)));
+        Assert.assertTrue(perRowCache.put(KEY3, CacheTestUtils.randomBytes(10000), 1, ChronoUnit.SECONDS));
+        Assert.assertTrue(perRowCache.put(KEY4, compressibleValue, 1, ChronoUnit.SECONDS));
+
+        removePayload(cache.database, KEY1);
+        CacheTestUtils.deleteChunks(cache, dbName);
+        Assert.assertNull(cache.get(KEY1));
+        Assert.assertNull(cache.get(KEY2));
+        Assert.assertTrue(cache.containsKey(KEY1));
+        Assert.assertTrue(cache.containsKey(KEY2));
+
+        Assert.assertTrue(perRowCache.containsKey(KEY3));
+        Assert.assertTrue(perRowCache.containsKey(KEY4));
+        Thread.sleep(1500);
+        Assert.assertFalse(perRowCache.containsKey(KEY3));
+        Assert.assertFalse(perRowCache.containsKey(KEY4));
+
+        perRowCache.close();
+        cache.close();
+    }
+
+    /**
+     * Method to replace a stored record with its header alone, so that only its header can be read.
+     */
+    private static void removePayload(Database database, byte[] key) {
+        DatabaseEntry keyEntry = new DatabaseEntry(key);
+        DatabaseEntry valueEntry = new DatabaseEntry();
+        Assert.assertEquals(OperationStatus.SUCCESS, database.get(null, keyEntry, valueEntry, LockMode.DEFAULT));
+        byte[] header = Arrays.copyOfRange(valueEntry.getData(), valueEntry.getOffset(), valueEntry.getOffset() + RecordHeader.HEADER_LENGTH);
+        Assert.assertEquals(OperationStatus.SUCCESS, database.put(null, keyEntry, new DatabaseEntry(header)));
+    }
+}
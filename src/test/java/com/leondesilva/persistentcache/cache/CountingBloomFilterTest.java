@@ -0,0 +1,73 @@
+package com.leondesilva.persistentcache.cache;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+public class CountingBloomFilterTest {
+
+    @Test
+    public void should_contain_added_keys_until_they_are_removed() {
+        CountingBloomFilter filter = new CountingBloomFilter(1000, 0.01);
+
+        for (int i = 0; i < 1000; i++) {
+            filter.add(hash("key" + i));
+        }
+
+        for (int i = 0; i < 1000; i += 2) {
+            filter.remove(hash("key" + i));
+        }
+
+        for (int i = 1; i < 1000; i += 2) {
+            Assert.assertTrue(filter.mightContain(hash("key" + i)));
+        }
+
+        int falsePositives = 0;
+
+        for (int i = 0; i < 1000; i += 2) {
+            falsePositives += filter.mightContain(hash("key" + i)) ? 1 : 0;
+        }
+
+        Assert.assertTrue(falsePositives < 20);
+    }
+
+    @Test
+    public void should_keep_the_false_positive_rate_for_the_expected_keys() {
+        CountingBloomFilter filter = new CountingBloomFilter(10000, 0.01);
+
+        for (int i = 0; i < 10000; i++) {
+            filter.add(hash("key" + i));
+        }
+
+        int falsePositives = 0;
+
+        for (int i = 0; i < 100000; i++) {
+            falsePositives += filter.mightContain(hash("other" + i)) ? 1 : 0;
+        }
+
+        Assert.assertEquals(0.01, filter.getExpectedFalsePositiveRate(), 0.002);
+        Assert.assertTrue(falsePositives < 2000);
+    }
+
+    @Test
+    public void should_read_a_written_filter() {
+        CountingBloomFilter filter = new CountingBloomFilter(100, 0.01);
+        filter.add(hash("key"));
+
+        byte[] data = filter.toBytes();
+        CountingBloomFilter readFilter = CountingBloomFilter.fromBytes(data, 0, data.length);
+
+        Assert.assertNotNull(readFilter);
+        Assert.assertTrue(readFilter.mightContain(hash("key")));
+        Assert.assertTrue(readFilter.hasSameSize(100, 0.01));
+        Assert.assertFalse(readFilter.hasSameSize(200, 0.01));
+        Assert.assertEquals(filter.getExpectedFalsePositiveRate(), readFilter.getExpectedFalsePositiveRate(), 0);
+        Assert.assertNull(CountingBloomFilter.fromBytes(data, 0, data.length - 1));
+    }
+
+    private static long hash(String key) {
+        byte[] data = key.getBytes(StandardCharsets.UTF_8);
+        return CountingBloomFilter.hash(data, 0, data.length);
+    }
+}
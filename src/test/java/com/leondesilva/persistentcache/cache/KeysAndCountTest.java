@@ -0,0 +1,50 @@
+package com.leondesilva.persistentcache.cache;
+
+import com.leondesilva.persistentcache.error.PersistentCacheException;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class KeysAndCountTest {
+    private static final String dbName = "KeysAndCountTestDB";
+    private static final long maxLogFileSize = 5000000;
+
+    private static final String KEY1 = "k1";
+    private static final String KEY2 = "k2";
+    private static final String KEY3 = "k3";
+
+    private TestCacheObject testCacheObject1 = new TestCacheObject("1");
+    private TestCacheObject testCacheObject2 = new TestCacheObject("2");
+    private TestCacheObject testCacheObject3 = new TestCacheObject("3");
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void should_stream_keys_and_count_records() throws PersistentCacheException, IOException, InterruptedException {
+        PersistentCache<String, TestCacheObject> persistentCache = PersistentCacheFactory.createPerRowTTLCache(dbName, temporaryFolder.newFolder().getAbsolutePath(), maxLogFileSize);
+        Assert.assertEquals(0, persistentCache.count());
+        Assert.assertTrue(persistentCache.put(KEY1, testCacheObject1));
+        Assert.assertTrue(persistentCache.put(KEY2, testCacheObject2, 1, ChronoUnit.SECONDS));
+        Assert.assertTrue(persistentCache.put(KEY3, testCacheObject3));
+        Thread.sleep(1500);
+
+        try (Stream<String> keys = persistentCache.keys()) {
+            Assert.assertEquals(new HashSet<>(Arrays.asList(KEY1, KEY3)), keys.collect(Collectors.toSet()));
+        }
+
+        Assert.assertEquals(3, persistentCache.count());
+        Assert.assertEquals(3, persistentCache.estimatedSize());
+        Assert.assertNull(persistentCache.get(KEY2));
+        Assert.assertEquals(2, persistentCache.count());
+        persistentCache.close();
+    }
+}
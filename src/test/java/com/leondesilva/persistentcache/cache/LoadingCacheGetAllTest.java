@@ -0,0 +1,43 @@
+package com.leondesilva.persistentcache.cache;
+
+import com.leondesilva.persistentcache.error.PersistentCacheException;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+public class LoadingCacheGetAllTest {
+    private static final String dbName = "LoadingCacheGetAllTestDB";
+    private static final long maxLogFileSize = 5000000;
+
+    private static final String KEY1 = "k1";
+    private static final String KEY2 = "k2";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void should_return_objects_loaded_from_cache_loader_for_given_keys() throws PersistentCacheException, IOException, InterruptedException {
+        Map<String, Integer> loadCounts = new HashMap<>();
+        PersistentCache<String, TestCacheObject> persistentCache = PersistentCacheFactory.createLoadingCache(dbName, temporaryFolder.newFolder().getAbsolutePath(), maxLogFileSize, 3, ChronoUnit.SECONDS,
+                key -> new TestCacheObject(key + "##" + loadCounts.merge(key, 1, Integer::sum)));
+
+        Assert.assertEquals(new TestCacheObject(KEY1 + "##" + 1), persistentCache.get(KEY1));
+        Map<String, TestCacheObject> records = persistentCache.getAll(Arrays.asList(KEY2, KEY1));
+
+        Assert.assertEquals(Arrays.asList(KEY2, KEY1), new ArrayList<>(records.keySet()));
+        Assert.assertEquals(new TestCacheObject(KEY2 + "##" + 1), records.get(KEY2));
+        Assert.assertEquals(new TestCacheObject(KEY1 + "##" + 1), records.get(KEY1));
+        Thread.sleep(3000);
+
+        Assert.assertEquals(new TestCacheObject(KEY1 + "##" + 2), persistentCache.getAll(Arrays.asList(KEY1)).get(KEY1));
+        persistentCache.close();
+    }
+}
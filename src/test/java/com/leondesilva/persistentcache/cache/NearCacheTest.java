@@ -0,0 +1,67 @@
+package com.leondesilva.persistentcache.cache;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class NearCacheTest {
+    private static final long NO_EXPIRY = Long.MAX_VALUE;
+
+    @Test
+    public void should_keep_frequently_read_keys_when_many_keys_are_read_once() {
+        NearCache<String> nearCache = new NearCache<>(100);
+
+        for (int round = 0; round < 5; round++) {
+            for (int key = 0; key < 50; key++) {
+                read(nearCache, key);
+            }
+        }
+
+        for (int key = 1000; key < 11000; key++) {
+            read(nearCache, key);
+            read(nearCache, key % 50);
+        }
+
+        for (int key = 0; key < 50; key++) {
+            Assert.assertEquals("value-" + key, nearCache.get(key, 0));
+        }
+
+        Assert.assertEquals(100, nearCache.size());
+    }
+
+    @Test
+    public void should_not_add_values_read_before_the_key_was_invalidated() {
+        NearCache<String> nearCache = new NearCache<>(10);
+        long stamp = nearCache.getStamp("key");
+
+        nearCache.invalidate("key");
+        nearCache.put("key", "old", NO_EXPIRY, stamp);
+        Assert.assertNull(nearCache.get("key", 0));
+
+        nearCache.put("key", "new", NO_EXPIRY, nearCache.getStamp("key"));
+        Assert.assertEquals("new", nearCache.get("key", 0));
+
+        stamp = nearCache.getStamp("key");
+        nearCache.invalidateAll();
+        nearCache.put("key", "old", NO_EXPIRY, stamp);
+        Assert.assertNull(nearCache.get("key", 0));
+        Assert.assertEquals(0, nearCache.size());
+    }
+
+    @Test
+    public void should_not_return_expired_values() {
+        NearCache<String> nearCache = new NearCache<>(10);
+        nearCache.put("key", "value", 1000, nearCache.getStamp("key"));
+
+        Assert.assertEquals("value", nearCache.get("key", 1000));
+        Assert.assertNull(nearCache.get("key", 1001));
+        Assert.assertEquals(0, nearCache.size());
+        Assert.assertEquals(1, nearCache.getHitCount());
+        Assert.assertEquals(1, nearCache.getMissCount());
+    }
+
+    private static void read(NearCache<String> nearCache, int key) {
+        if (nearCache.get(key, 0) == null) {
+            nearCache.put(key, "value-" + key, NO_EXPIRY, nearCache.getStamp(key));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.leondesilva.persistentcache.cache;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class OffHeapStoreTest {
+
+    @Test
+    public void should_get_records_added_to_the_store() {
+        OffHeapStore store = new OffHeapStore(1024 * 1024, 64 * 1024);
+        byte[] key = CacheTestUtils.bytes("xxkey1xx");
+        byte[] record = CacheTestUtils.bytes("yyrecord1yy");
+
+        store.put(key, 2, 4, record, 2, 7, store.getStamp(key, 2, 4));
+        Assert.assertArrayEquals(CacheTestUtils.bytes("record1"), store.get(CacheTestUtils.bytes("key1"), 0, 4));
+        Assert.assertNull(store.get(CacheTestUtils.bytes("key2"), 0, 4));
+
+        store.put(CacheTestUtils.bytes("key1"), 0, 4, CacheTestUtils.bytes("record2"), 0, 7, store.getStamp(CacheTestUtils.bytes("key1"), 0, 4));
+        Assert.assertArrayEquals(CacheTestUtils.bytes("record2"), store.get(CacheTestUtils.bytes("key1"), 0, 4));
+        Assert.assertEquals(1, store.size());
+
+        for (int i = 0; i < 10000; i++) {
+            byte[] otherKey = CacheTestUtils.bytes("other" + i);
+            store.put(otherKey, 0, otherKey.length, otherKey, 0, otherKey.length, store.getStamp(otherKey, 0, otherKey.length));
+        }
+
+        Assert.assertEquals(10001, store.size());
+        Assert.assertArrayEquals(CacheTestUtils.bytes("other5000"), store.get(CacheTestUtils.bytes("other5000"), 0, 9));
+        Assert.assertArrayEquals(CacheTestUtils.bytes("record2"), store.get(CacheTestUtils.bytes("key1"), 0, 4));
+    }
+
+    @Test
+    public void should_not_add_records_read_before_the_key_was_invalidated() {
+        OffHeapStore store = new OffHeapStore(1024 * 1024, 64 * 1024);
+        byte[] key = CacheTestUtils.bytes("key");
+        long stamp = store.getStamp(key, 0, key.length);
+
+        store.invalidate(key, 0, key.length);
+        store.put(key, 0, key.length, CacheTestUtils.bytes("old"), 0, 3, stamp);
+        Assert.assertNull(store.get(key, 0, key.length));
+
+        store.put(key, 0, key.length, CacheTestUtils.bytes("new"), 0, 3, store.getStamp(key, 0, key.length));
+        Assert.assertArrayEquals(CacheTestUtils.bytes("new"), store.get(key, 0, key.length));
+        store.invalidate(key, 0, key.length);
+        Assert.assertNull(store.get(key, 0, key.length));
+
+        store.put(key, 0, key.length, CacheTestUtils.bytes("new"), 0, 3, store.getStamp(key, 0, key.length));
+        stamp = store.getStamp(key, 0, key.length);
+        store.clear();
+        store.put(key, 0, key.length, CacheTestUtils.bytes("old"), 0, 3, stamp);
+        Assert.assertNull(store.get(key, 0, key.length));
+        Assert.assertEquals(0, store.size());
+    }
+
+    @Test
+    public void should_evict_the_records_of_the_oldest_slab_when_the_store_is_full() {
+        OffHeapStore store = new OffHeapStore(4 * 1024, 1024);
+        byte[] record = new byte[88];
+
+        for (int i = 0; i < 100; i++) {
+            byte[] key = CacheTestUtils.bytes(String.format("key%03d", i));
+            store.put(key, 0, key.length, record, 0, record.length, store.getStamp(key, 0, key.length));
+        }
+
+        Assert.assertNull(store.get(CacheTestUtils.bytes("key000"), 0, 6));
+        Assert.assertNull(store.get(CacheTestUtils.bytes("key059"), 0, 6));
+        Assert.assertArrayEquals(record, store.get(CacheTestUtils.bytes("key060"), 0, 6));
+        Assert.assertArrayEquals(record, store.get(CacheTestUtils.bytes("key099"), 0, 6));
+        Assert.assertEquals(40, store.size());
+
+        byte[] largeRecord = new byte[1024];
+        store.put(CacheTestUtils.bytes("large"), 0, 5, largeRecord, 0, largeRecord.length, store.getStamp(CacheTestUtils.bytes("large"), 0, 5));
+        Assert.assertNull(store.get(CacheTestUtils.bytes("large"), 0, 5));
+    }
+}
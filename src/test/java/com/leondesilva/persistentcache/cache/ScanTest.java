@@ -0,0 +1,146 @@
+package com.leondesilva.persistentcache.cache;
+
+import com.leondesilva.persistentcache.error.PersistentCacheException;
+import com.leondesilva.persistentcache.serializer.ByteArraySerializer;
+import com.leondesilva.persistentcache.serializer.StringSerializer;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class ScanTest {
+    private static final String dbName = "ScanTestDB";
+    private static final long maxLogFileSize = 5000000;
+
+    private TestCacheObject testCacheObject1 = new TestCacheObject("1");
+    private TestCacheObject testCacheObject2 = new TestCacheObject("2");
+    private TestCacheObject testCacheObject3 = new TestCacheObject("3");
+    private TestCacheObject testCacheObject4 = new TestCacheObject("4");
+    private TestCacheObject testCacheObject5 = new TestCacheObject("5");
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void should_scan_records_of_a_key_range_and_prefix_skipping_expired_records() throws PersistentCacheException, IOException, InterruptedException {
+        PersistentCacheConfig<String, TestCacheObject> config = new PersistentCacheConfig<>();
+        config.setKeySerializer(new StringSerializer());
+        config.setIteratorBatchSize(2);
+        PersistentCache<String, TestCacheObject> scannedCache = PersistentCacheFactory.createPerRowTTLCache(dbName, temporaryFolder.newFolder().getAbsolutePath(), maxLogFileSize, config);
+
+        Assert.assertTrue(scannedCache.put("tenant41:a", testCacheObject1));
+        Assert.assertTrue(scannedCache.put("tenant42:a", testCacheObject2));
+        Assert.assertTrue(scannedCache.put("tenant42:b", testCacheObject3, 1, ChronoUnit.SECONDS));
+        Assert.assertTrue(scannedCache.put("tenant42:c", testCacheObject4));
+        Assert.assertTrue(scannedCache.put("tenant42:d", testCacheObject5));
+        Assert.assertTrue(scannedCache.put("tenant43:a", testCacheObject1));
+        Thread.sleep(1500);
+
+        try (Stream<Map.Entry<String, TestCacheObject>> stream = scannedCache.scanPrefix("tenant42:")) {
+            Assert.assertEquals(Arrays.asList("tenant42:a", "tenant42:c", "tenant42:d"), stream.map(Map.Entry::getKey).collect(Collectors.toList()));
+        }
+
+        try (Stream<Map.Entry<String, TestCacheObject>> stream = scannedCache.scanRange("tenant41:b", "tenant42:d")) {
+            List<Map.Entry<String, TestCacheObject>> records = stream.collect(Collectors.toList());
+            Assert.assertEquals(2, records.size());
+            Assert.assertEquals("tenant42:a", records.get(0).getKey());
+            Assert.assertEquals(testCacheObject2, records.get(0).getValue());
+            Assert.assertEquals("tenant42:c", records.get(1).getKey());
+        }
+
+        try (Stream<Map.Entry<String, TestCacheObject>> stream = scannedCache.scanRange("tenant42:c", null)) {
+            Assert.assertEquals(Arrays.asList("tenant42:c", "tenant42:d", "tenant43:a"), stream.map(Map.Entry::getKey).collect(Collectors.toList()));
+        }
+
+        Assert.assertEquals(0, scannedCache.scanRange("tenant43:a", "tenant41:a").count());
+        Assert.assertEquals(0, scannedCache.scanPrefix("tenant44").count());
+        scannedCache.close();
+    }
+
+    @Test
+    public void should_scan_a_key_range_from_its_first_key_inclusive_to_its_last_key_exclusive() throws PersistentCacheException, IOException {
+        PersistentCache<byte[], byte[]> cache = createBytesKeyCache();
+
+        try (Stream<Map.Entry<byte[], byte[]>> stream = cache.scanRange(new byte[] {0x01, (byte) 0xFF}, new byte[] {0x02})) {
+            assertKeys(stream, new byte[] {0x01, (byte) 0xFF}, new byte[] {0x01, (byte) 0xFF, 0x00}, new byte[] {0x01, (byte) 0xFF, (byte) 0xFF});
+        }
+
+        try (Stream<Map.Entry<byte[], byte[]>> stream = cache.scanRange(null, new byte[] {0x01, (byte) 0xFF, 0x00})) {
+            assertKeys(stream, new byte[] {0x01}, new byte[] {0x01, (byte) 0xFF});
+        }
+
+        try (Stream<Map.Entry<byte[], byte[]>> stream = cache.scanRange(new byte[] {(byte) 0xFF, 0x01}, null)) {
+            assertKeys(stream, new byte[] {(byte) 0xFF, 0x01}, new byte[] {(byte) 0xFF, (byte) 0xFF, 0x05});
+        }
+
+        Assert.assertEquals(0, cache.scanRange(new byte[] {0x02}, new byte[] {0x02}).count());
+        Assert.assertEquals(8, cache.scanRange(null, null).count());
+        cache.close();
+    }
+
+    @Test
+    public void should_scan_keys_of_a_prefix_ending_with_0xff_bytes() throws PersistentCacheException, IOException {
+        PersistentCache<byte[], byte[]> cache = createBytesKeyCache();
+
+        try (Stream<Map.Entry<byte[], byte[]>> stream = cache.scanPrefix(new byte[] {0x01, (byte) 0xFF})) {
+            assertKeys(stream, new byte[] {0x01, (byte) 0xFF}, new byte[] {0x01, (byte) 0xFF, 0x00}, new byte[] {0x01, (byte) 0xFF, (byte) 0xFF});
+        }
+
+        try (Stream<Map.Entry<byte[], byte[]>> stream = cache.scanPrefix(new byte[] {(byte) 0xFF})) {
+            assertKeys(stream, new byte[] {(byte) 0xFF}, new byte[] {(byte) 0xFF, 0x01}, new byte[] {(byte) 0xFF, (byte) 0xFF, 0x05});
+        }
+
+        try (Stream<Map.Entry<byte[], byte[]>> stream = cache.scanPrefix(new byte[] {(byte) 0xFF, (byte) 0xFF})) {
+            assertKeys(stream, new byte[] {(byte) 0xFF, (byte) 0xFF, 0x05});
+        }
+
+        Assert.assertEquals(8, cache.scanPrefix(new byte[0]).count());
+        Assert.assertEquals(0, cache.scanPrefix(new byte[] {0x01, 0x00}).count());
+        cache.close();
+    }
+
+    @Test (expected = PersistentCacheException.class)
+    public void should_throw_an_exception_when_scanning_a_key_range_without_an_order_preserving_key_serializer() throws PersistentCacheException, IOException {
+        PersistentCache<String, TestCacheObject> cache = PersistentCacheFactory.createPerRowTTLCache(dbName, temporaryFolder.newFolder().getAbsolutePath(), maxLogFileSize);
+
+        try {
+            cache.scanRange("k1", "k2");
+        } finally {
+            cache.close();
+        }
+    }
+
+    private PersistentCache<byte[], byte[]> createBytesKeyCache() throws PersistentCacheException, IOException {
+        PersistentCacheConfig<byte[], byte[]> config = new PersistentCacheConfig<>();
+        config.setKeySerializer(new ByteArraySerializer());
+        config.setValueSerializer(new ByteArraySerializer());
+        config.setIteratorBatchSize(2);
+        PersistentCache<byte[], byte[]> cache = PersistentCacheFactory.createPerRowTTLCache(dbName, temporaryFolder.newFolder().getAbsolutePath(), maxLogFileSize, config);
+        byte[][] keys = {{(byte) 0xFF, (byte) 0xFF, 0x05}, {0x01, (byte) 0xFF, 0x00}, {0x02}, {0x01}, {(byte) 0xFF},
+                {0x01, (byte) 0xFF, (byte) 0xFF}, {(byte) 0xFF, 0x01}, {0x01, (byte) 0xFF}};
+
+        for (byte[] key : keys) {
+            Assert.assertTrue(cache.put(key, key));
+        }
+
+        return cache;
+    }
+
+    private static void assertKeys(Stream<Map.Entry<byte[], byte[]>> stream, byte[]... expectedKeys) {
+        List<Map.Entry<byte[], byte[]>> records = stream.collect(Collectors.toList());
+        Assert.assertEquals(expectedKeys.length, records.size());
+
+        for (int i = 0; i < expectedKeys.length; i++) {
+            Assert.assertArrayEquals(expectedKeys[i], records.get(i).getKey());
+            Assert.assertArrayEquals(expectedKeys[i], records.get(i).getValue());
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.leondesilva.persistentcache.serializer;
+
+import com.leondesilva.persistentcache.cache.model.pojo.CacheObject;
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+
+public class CacheObjectSerializerTest {
+    private CacheObjectSerializer<String> serializer = new CacheObjectSerializer<>(new StringSerializer());
+
+    @Test
+    public void should_serialize_cache_objects_with_the_value_serializer() {
+        CacheObject<String> cacheObject = createCacheObject("value", LocalDateTime.now().plusSeconds(10).truncatedTo(ChronoUnit.MILLIS));
+        byte[] data = serializer.serialize(cacheObject);
+        CacheObject<String> result = serializer.deserialize(data);
+
+        Assert.assertEquals(RecordHeader.HEADER_LENGTH + "value".length(), data.length);
+        Assert.assertEquals("value", result.getValueObject());
+        Assert.assertEquals(cacheObject.getCachedDatetime(), result.getCachedDatetime());
+    }
+
+    @Test
+    public void should_serialize_cache_objects_without_expiry_and_value() {
+        CacheObject<String> result = serializer.deserialize(serializer.serialize(createCacheObject(null, null)));
+
+        Assert.assertNull(result.getValueObject());
+        Assert.assertNull(result.getCachedDatetime());
+    }
+
+    @Test
+    public void should_check_expiry_using_the_header_only() {
+        byte[] expired = serializer.serialize(createCacheObject("value", LocalDateTime.now().minusSeconds(1)));
+        byte[] notExpired = serializer.serialize(createCacheObject("value", LocalDateTime.now().plusSeconds(10)));
+        byte[] noExpiry = serializer.serialize(createCacheObject("value", null));
+        long now = System.currentTimeMillis();
+
+        // Corrupting the value must not affect the expiry check as only the header is read.
+        expired[RecordHeader.HEADER_LENGTH] = (byte) 0xFF;
+
+        Assert.assertTrue(serializer.isExpired(expired, 0, expired.length, now));
+        Assert.assertFalse(serializer.isExpired(notExpired, 0, notExpired.length, now));
+        Assert.assertFalse(serializer.isExpired(noExpiry, 0, noExpiry.length, now));
+    }
+
+    @Test
+    public void should_read_java_serialized_cache_objects_written_by_previous_versions() {
+        CacheObject<String> cacheObject = createCacheObject("value", LocalDateTime.now().minusSeconds(1));
+        byte[] data = SerializationUtils.serialize(cacheObject);
+
+        CacheObject<String> result = serializer.deserialize(data);
+
+        Assert.assertEquals("value", result.getValueObject());
+        Assert.assertEquals(cacheObject.getCachedDatetime(), result.getCachedDatetime());
+        Assert.assertTrue(serializer.isExpired(data, 0, data.length, System.currentTimeMillis()));
+    }
+
+    @Test
+    public void should_read_java_serialized_values_written_by_previous_versions() {
+        byte[] data = SerializationUtils.serialize("value");
+
+        CacheObject<String> result = serializer.deserialize(data);
+
+        Assert.assertEquals("value", result.getValueObject());
+        Assert.assertNull(result.getCachedDatetime());
+        Assert.assertFalse(serializer.isExpired(data, 0, data.length, System.currentTimeMillis()));
+    }
+
+    @Test
+    public void should_compress_values_above_the_compression_threshold() {
+        CacheObjectSerializer<String> compressingSerializer = new CacheObjectSerializer<>(new StringSerializer(), new DeflateCompressor(), 100);
+        String value = createJsonValue(50);
+        LocalDateTime expiry = LocalDateTime.now().plusSeconds(10).truncatedTo(ChronoUnit.MILLIS);
+        byte[] data = compressingSerializer.serialize(createCacheObject(value, expiry));
+
+        Assert.assertTrue(RecordHeader.isFlagSet(data, 0, RecordHeader.FLAG_COMPRESSED));
+        Assert.assertTrue(data.length < value.length() / 2);
+        Assert.assertEquals(value, compressingSerializer.deserialize(data).getValueObject());
+        Assert.assertEquals(expiry, compressingSerializer.deserialize(data).getCachedDatetime());
+        Assert.assertEquals(value, compressingSerializer.deserializeValue(data, 0, data.length));
+        Assert.assertFalse(compressingSerializer.isExpired(data, 0, data.length, System.currentTimeMillis()));
+
+        // Records stay readable after compression is disabled.
+        Assert.assertEquals(value, serializer.deserializeValue(data, 0, data.length));
+    }
+
+    @Test
+    public void should_not_compress_small_or_incompressible_values() {
+        CacheObjectSerializer<byte[]> compressingSerializer = new CacheObjectSerializer<>(new ByteArraySerializer(), new DeflateCompressor(), 100);
+        byte[] small = createJsonValue(1).getBytes();
+        byte[] random = new byte[4096];
+        new Random(1).nextBytes(random);
+
+        byte[] smallData = compressingSerializer.serialize(createByteArrayCacheObject(small));
+        byte[] randomData = compressingSerializer.serialize(createByteArrayCacheObject(random));
+
+        Assert.assertFalse(RecordHeader.isFlagSet(smallData, 0, RecordHeader.FLAG_COMPRESSED));
+        Assert.assertFalse(RecordHeader.isFlagSet(randomData, 0, RecordHeader.FLAG_COMPRESSED));
+        Assert.assertEquals(RecordHeader.HEADER_LENGTH + random.length, randomData.length);
+        Assert.assertArrayEquals(random, compressingSerializer.deserializeValue(randomData, 0, randomData.length));
+        Assert.assertArrayEquals(small, compressingSerializer.deserializeValue(smallData, 0, smallData.length));
+    }
+
+    @Test
+    public void should_read_uncompressed_records_when_compression_is_enabled() {
+        CacheObjectSerializer<String> compressingSerializer = new CacheObjectSerializer<>(new StringSerializer(), new DeflateCompressor(), 100);
+        String value = createJsonValue(50);
+        byte[] data = serializer.serialize(createCacheObject(value, null));
+
+        Assert.assertEquals(value, compressingSerializer.deserializeValue(data, 0, data.length));
+    }
+
+    private String createJsonValue(int fields) {
+        StringBuilder builder = new StringBuilder("{");
+
+        for (int i = 0; i < fields; i++) {
+            builder.append("\"field").append(i).append("\":\"value of the field ").append(i).append("\",");
+        }
+
+        return builder.append("}").toString();
+    }
+
+    private CacheObject<byte[]> createByteArrayCacheObject(byte[] value) {
+        CacheObject<byte[]> cacheObject = new CacheObject<>();
+        cacheObject.setValueObject(value);
+        return cacheObject;
+    }
+
+    private CacheObject<String> createCacheObject(String value, LocalDateTime cachedDatetime) {
+        CacheObject<String> cacheObject = new CacheObject<>();
+        cacheObject.setValueObject(value);
+        cacheObject.setCachedDatetime(cachedDatetime);
+        return cacheObject;
+    }
+}
@@ -0,0 +1,138 @@
+package com.leondesilva.persistentcache.serializer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ClassRegistrySerializerTest {
+
+    @Test
+    public void should_serialize_and_deserialize_using_class_ids() {
+        TestRegistry registry = new TestRegistry();
+        Serializer<Serializable> serializer = new ClassRegistrySerializer<>(registry);
+        TestValue value = new TestValue(10, "name", ChronoUnit.DAYS, LocalDateTime.of(2020, 1, 1, 10, 30));
+
+        byte[] data = serializer.serialize(value);
+        TestValue result = (TestValue) serializer.deserialize(data);
+
+        Assert.assertEquals(value.id, result.id);
+        Assert.assertEquals(value.name, result.name);
+        Assert.assertEquals(value.unit, result.unit);
+        Assert.assertEquals(value.time, result.time);
+        Assert.assertEquals(1, data[0]);
+        Assert.assertTrue(data.length * 2 < new JavaSerializer<TestValue>().serialize(value).length);
+
+        serializer.serialize(new TestValue(11, null, null, null));
+        Assert.assertEquals(1, registry.descriptors.size());
+    }
+
+    @Test
+    public void should_use_java_serialization_for_unsupported_types() {
+        Serializer<Serializable> serializer = new ClassRegistrySerializer<>(new TestRegistry());
+        List<String> list = new ArrayList<>(Arrays.asList("a", "b"));
+        NoDefaultConstructorValue value = new NoDefaultConstructorValue("id");
+
+        Assert.assertEquals(list, serializer.deserialize(serializer.serialize((Serializable) list)));
+        Assert.assertEquals(ChronoUnit.HOURS, serializer.deserialize(serializer.serialize(ChronoUnit.HOURS)));
+        Assert.assertEquals("id", ((NoDefaultConstructorValue) serializer.deserialize(serializer.serialize(value))).id);
+        Assert.assertEquals(value.id, ((NoDefaultConstructorValue) serializer.deserialize(new JavaSerializer<>().serialize(value))).id);
+    }
+
+    @Test
+    public void should_read_records_written_with_a_previous_class_layout() {
+        TestRegistry registry = new TestRegistry();
+        ClassDescriptor previous = registry.register(new ClassDescriptor(0, TestValue.class.getName(),
+                Arrays.asList("id", "oldName", "removed", "unit"), Arrays.asList("long", String.class.getName(), "com.example.Removed", ChronoUnit.class.getName())));
+
+        DataBuffer buffer = new DataBuffer();
+        buffer.write(previous.getId());
+        buffer.writeLong(5L);
+        buffer.write(1);
+        buffer.writeInt(3);
+        buffer.write(new byte[]{'o', 'l', 'd'}, 0, 3);
+        buffer.write(1);
+        buffer.writeInt(2);
+        buffer.write(new byte[]{7, 8}, 0, 2);
+        buffer.write(1);
+        buffer.writeInt(4);
+        buffer.write(new byte[]{'D', 'A', 'Y', 'S'}, 0, 4);
+
+        Serializer<TestValue> serializer = new ClassRegistrySerializer<>(registry, (descriptor, values, object) -> {
+            ((TestValue) object).name = (String) values.get("oldName");
+            return object;
+        });
+        TestValue result = serializer.deserialize(buffer.toByteArray());
+
+        Assert.assertEquals(0, result.id);
+        Assert.assertEquals("old", result.name);
+        Assert.assertEquals(ChronoUnit.DAYS, result.unit);
+
+        TestValue value = new TestValue(1, "new", null, null);
+        Assert.assertEquals("new", serializer.deserialize(serializer.serialize(value)).name);
+        Assert.assertEquals(2, registry.descriptors.size());
+    }
+
+    @Test
+    public void should_convert_class_descriptors_to_bytes_and_back() {
+        ClassDescriptor descriptor = new ClassDescriptor(3, "a.B", Arrays.asList("x", "y"), Arrays.asList("int", "java.lang.String"));
+        byte[] data = descriptor.toBytes();
+
+        Assert.assertEquals(descriptor, ClassDescriptor.fromBytes(3, data, 0, data.length));
+        Assert.assertTrue(descriptor.hasSameLayout(ClassDescriptor.fromBytes(4, data, 0, data.length)));
+    }
+
+    private static class TestRegistry implements ClassRegistry {
+        private final Map<Integer, ClassDescriptor> descriptors = new HashMap<>();
+
+        @Override
+        public ClassDescriptor register(ClassDescriptor descriptor) {
+            for (ClassDescriptor registered : descriptors.values()) {
+                if (registered.hasSameLayout(descriptor)) {
+                    return registered;
+                }
+            }
+
+            ClassDescriptor registered = descriptor.withId(descriptors.size() + 1);
+            descriptors.put(registered.getId(), registered);
+            return registered;
+        }
+
+        @Override
+        public ClassDescriptor getDescriptor(int id) {
+            return descriptors.get(id);
+        }
+    }
+
+    public static class TestValue implements Serializable {
+        private int id;
+        private String name;
+        private ChronoUnit unit;
+        private LocalDateTime time;
+
+        public TestValue() {
+        }
+
+        public TestValue(int id, String name, ChronoUnit unit, LocalDateTime time) {
+            this.id = id;
+            this.name = name;
+            this.unit = unit;
+            this.time = time;
+        }
+    }
+
+    public static class NoDefaultConstructorValue implements Serializable {
+        private final String id;
+
+        public NoDefaultConstructorValue(String id) {
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.leondesilva.persistentcache.serializer;
+
+import com.leondesilva.persistentcache.cache.model.pojo.CacheObject;
+import org.apache.commons.lang3.SerializationException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class DictionaryCompressionTest {
+    private static final int SAMPLE_COUNT = 200;
+
+    private Random random = new Random(1);
+
+    @Test
+    public void should_train_a_dictionary_within_the_max_size() {
+        List<byte[]> samples = new ArrayList<>();
+
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            samples.add(createValue(i));
+        }
+
+        byte[] dictionary = DictionaryTrainer.train(samples, 1024);
+
+        Assert.assertTrue(dictionary.length > 0);
+        Assert.assertTrue(dictionary.length <= 1024);
+        Assert.assertTrue(new String(dictionary, StandardCharsets.UTF_8).contains("\"customerName\":\""));
+    }
+
+    @Test
+    public void should_compress_small_values_against_the_trained_dictionary() {
+        TestDictionaries dictionaries = new TestDictionaries(SAMPLE_COUNT);
+        CacheObjectSerializer<byte[]> serializer = new CacheObjectSerializer<>(new ByteArraySerializer(), new DeflateCompressor(), 64, dictionaries);
+        CacheObjectSerializer<byte[]> plainSerializer = new CacheObjectSerializer<>(new ByteArraySerializer(), new DeflateCompressor(), 64);
+
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            serializer.serialize(createCacheObject(createValue(i)));
+        }
+
+        Assert.assertNotNull(dictionaries.getActiveDictionary());
+
+        int rawSize = 0;
+        int plainSize = 0;
+        int dictionarySize = 0;
+
+        for (int i = SAMPLE_COUNT; i < SAMPLE_COUNT * 2; i++) {
+            byte[] value = createValue(i);
+            byte[] data = serializer.serialize(createCacheObject(value));
+
+            Assert.assertTrue(RecordHeader.isFlagSet(data, 0, RecordHeader.FLAG_DICTIONARY));
+            Assert.assertArrayEquals(value, serializer.deserializeValue(data, 0, data.length));
+
+            rawSize += RecordHeader.HEADER_LENGTH + value.length;
+            plainSize += plainSerializer.serialize(createCacheObject(value)).length;
+            dictionarySize += data.length;
+        }
+
+        Assert.assertTrue("Dictionary compressed size " + dictionarySize + " of " + rawSize, dictionarySize * 2 < rawSize);
+        Assert.assertTrue("Dictionary compressed size " + dictionarySize + " of " + plainSize, dictionarySize < plainSize);
+    }
+
+    @Test (expected = SerializationException.class)
+    public void should_throw_an_exception_when_the_dictionary_of_a_record_is_not_available() {
+        TestDictionaries dictionaries = new TestDictionaries(1);
+        CacheObjectSerializer<byte[]> serializer = new CacheObjectSerializer<>(new ByteArraySerializer(), new DeflateCompressor(), 64, dictionaries);
+        serializer.serialize(createCacheObject(createValue(0)));
+        byte[] data = serializer.serialize(createCacheObject(createValue(1)));
+
+        new CacheObjectSerializer<>(new ByteArraySerializer()).deserializeValue(data, 0, data.length);
+    }
+
+    private byte[] createValue(int id) {
+        String value = "{\"orderId\":" + id + ",\"customerName\":\"customer-" + random.nextInt(100000) + "\","
+                + "\"status\":\"" + (random.nextBoolean() ? "SHIPPED" : "PENDING") + "\",\"currency\":\"USD\","
+                + "\"amount\":" + random.nextInt(10000) + "." + random.nextInt(100) + ",\"items\":[{\"sku\":\"SKU-"
+                + random.nextInt(1000) + "\",\"quantity\":" + random.nextInt(10) + ",\"warehouse\":\"central-warehouse\"}],"
+                + "\"shippingAddress\":{\"street\":\"" + random.nextInt(1000) + " Main Street\",\"city\":\"Springfield\","
+                + "\"country\":\"United States\"},\"createdAt\":\"2020-01-" + (10 + random.nextInt(18)) + "T10:15:30Z\"}";
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private CacheObject<byte[]> createCacheObject(byte[] value) {
+        CacheObject<byte[]> cacheObject = new CacheObject<>();
+        cacheObject.setValueObject(value);
+        return cacheObject;
+    }
+
+    private static class TestDictionaries implements CompressionDictionaries {
+        private final int sampleCount;
+        private final List<byte[]> samples = new ArrayList<>();
+        private final Map<Integer, CompressionDictionary> dictionaries = new HashMap<>();
+        private CompressionDictionary activeDictionary;
+
+        private TestDictionaries(int sampleCount) {
+            this.sampleCount = sampleCount;
+        }
+
+        @Override
+        public CompressionDictionary getActiveDictionary() {
+            return activeDictionary;
+        }
+
+        @Override
+        public CompressionDictionary getDictionary(int id) {
+            return dictionaries.get(id);
+        }
+
+        @Override
+        public void addSample(byte[] data, int offset, int length) {
+            if (activeDictionary != null) {
+                return;
+            }
+
+            byte[] sample = new byte[length];
+            System.arraycopy(data, offset, sample, 0, length);
+            samples.add(sample);
+
+            if (samples.size() >= sampleCount) {
+                activeDictionary = new CompressionDictionary(1, DictionaryTrainer.train(samples, 4096));
+                dictionaries.put(1, activeDictionary);
+            }
+        }
+    }
+}
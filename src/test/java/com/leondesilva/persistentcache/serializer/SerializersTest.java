@@ -0,0 +1,159 @@
+package com.leondesilva.persistentcache.serializer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+public class SerializersTest {
+
+    @Test
+    public void should_serialize_and_deserialize_using_built_in_serializers() {
+        assertRoundTrip(String.class, "persistent-cache");
+        assertRoundTrip(Long.class, Long.MIN_VALUE);
+        assertRoundTrip(Integer.class, -42);
+        assertRoundTrip(Short.class, (short) 7);
+        assertRoundTrip(Byte.class, (byte) -1);
+        assertRoundTrip(Double.class, 3.14d);
+        assertRoundTrip(Float.class, 2.5f);
+        assertRoundTrip(Boolean.class, true);
+        assertRoundTrip(Character.class, 'x');
+
+        byte[] bytes = {1, 2, 3};
+        Assert.assertArrayEquals(bytes, Serializers.forClass(byte[].class).deserialize(Serializers.forClass(byte[].class).serialize(bytes)));
+    }
+
+    @Test
+    public void should_serialize_into_a_reused_buffer() {
+        DataBuffer buffer = new DataBuffer(4, 16);
+        String value = "a\u00e9\u20ac\ud83d\ude00 and a longer text to grow the buffer";
+
+        new StringSerializer().serialize(value, buffer);
+        Assert.assertArrayEquals(new StringSerializer().serialize(value), buffer.toByteArray());
+
+        buffer.reset();
+        new LongSerializer().serialize(42L, buffer);
+        Assert.assertEquals(8, buffer.size());
+        Assert.assertEquals(Long.valueOf(42L), new LongSerializer().deserialize(buffer.getData(), 0, buffer.size()));
+
+        buffer.reset();
+        new JavaSerializer<String>().serialize(value, buffer);
+        Assert.assertEquals(value, new JavaSerializer<String>().deserialize(buffer.getData(), 0, buffer.size()));
+    }
+
+    @Test
+    public void should_use_java_serializer_for_unknown_types() {
+        Assert.assertTrue(Serializers.forClass(TestValue.class) instanceof JavaSerializer);
+        Assert.assertTrue(Serializers.forClass(String.class) instanceof StringSerializer);
+    }
+
+    @Test
+    public void should_deserialize_from_a_region_of_an_array() {
+        byte[] data = {9, (byte) 0x80, 0, 0, 5, 9};
+        Assert.assertEquals(Integer.valueOf(5), new IntegerSerializer().deserialize(data, 1, 4));
+    }
+
+    @Test
+    public void should_serialize_fields_using_reflective_serializer() {
+        TestValue value = new TestValue();
+        value.id = 10;
+        value.name = "name";
+        value.count = null;
+        value.unit = ChronoUnit.DAYS;
+        value.payload = new byte[]{4, 5};
+        value.other = new String[]{"a", "b"};
+
+        Serializer<TestValue> serializer = Serializers.reflective(TestValue.class);
+        byte[] data = serializer.serialize(value);
+        TestValue result = serializer.deserialize(data);
+
+        Assert.assertEquals(value.id, result.id);
+        Assert.assertEquals(value.name, result.name);
+        Assert.assertNull(result.count);
+        Assert.assertEquals(value.unit, result.unit);
+        Assert.assertArrayEquals(value.payload, result.payload);
+        Assert.assertArrayEquals(value.other, result.other);
+        Assert.assertTrue(data.length < new JavaSerializer<TestValue>().serialize(value).length);
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void should_throw_an_exception_when_the_class_does_not_have_a_no_argument_constructor() {
+        Serializers.reflective(NoDefaultConstructorValue.class);
+    }
+
+    @Test
+    public void should_preserve_the_natural_order_in_serialized_bytes() {
+        assertOrderPreserved(new LongSerializer(), Long.MIN_VALUE, -100L, -1L, 0L, 1L, 255L, 256L, Long.MAX_VALUE);
+        assertOrderPreserved(new IntegerSerializer(), Integer.MIN_VALUE, -2, -1, 0, 1, 128, Integer.MAX_VALUE);
+        assertOrderPreserved(new ShortSerializer(), Short.MIN_VALUE, (short) -1, (short) 0, (short) 1, Short.MAX_VALUE);
+        assertOrderPreserved(new ByteSerializer(), Byte.MIN_VALUE, (byte) -1, (byte) 0, (byte) 1, Byte.MAX_VALUE);
+        assertOrderPreserved(new DoubleSerializer(), Double.NEGATIVE_INFINITY, -1e10, -1.5, -Double.MIN_VALUE, 0d, Double.MIN_VALUE, 1.5, 1e10, Double.POSITIVE_INFINITY);
+        assertOrderPreserved(new FloatSerializer(), Float.NEGATIVE_INFINITY, -1.5f, -0.25f, 0f, 0.25f, 1.5f, Float.POSITIVE_INFINITY);
+        assertOrderPreserved(new StringSerializer(), "", "a", "ab", "b", "\u00e9", "\u20ac");
+        assertOrderPreserved(new UUIDSerializer(), new UUID(0L, 0L), new UUID(0L, -1L), new UUID(1L, 0L), new UUID(Long.MAX_VALUE, 0L), new UUID(-1L, 5L));
+    }
+
+    @Test
+    public void should_sort_uuids_in_the_order_of_their_string_form() {
+        List<UUID> uuids = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++) {
+            uuids.add(UUID.randomUUID());
+        }
+
+        uuids.sort(Comparator.comparing(UUID::toString));
+        assertOrderPreserved(new UUIDSerializer(), uuids.toArray(new UUID[0]));
+        assertRoundTrip(UUID.class, uuids.get(0));
+        Assert.assertEquals(16, Serializers.forClass(UUID.class).serialize(uuids.get(0)).length);
+    }
+
+    @SafeVarargs
+    private final <T> void assertOrderPreserved(Serializer<T> serializer, T... sortedValues) {
+        for (int i = 1; i < sortedValues.length; i++) {
+            byte[] previous = serializer.serialize(sortedValues[i - 1]);
+            byte[] current = serializer.serialize(sortedValues[i]);
+
+            Assert.assertTrue(sortedValues[i - 1] + " should sort before " + sortedValues[i], compareUnsigned(previous, current) < 0);
+            Assert.assertEquals(sortedValues[i], serializer.deserialize(current));
+        }
+    }
+
+    private static int compareUnsigned(byte[] first, byte[] second) {
+        for (int i = 0; i < Math.min(first.length, second.length); i++) {
+            int result = Integer.compare(first[i] & 0xFF, second[i] & 0xFF);
+
+            if (result != 0) {
+                return result;
+            }
+        }
+
+        return Integer.compare(first.length, second.length);
+    }
+
+    private <T> void assertRoundTrip(Class<T> type, T value) {
+        Serializer<T> serializer = Serializers.forClass(type);
+        Assert.assertEquals(value, serializer.deserialize(serializer.serialize(value)));
+    }
+
+    public static class TestValue implements Serializable {
+        private int id;
+        private String name;
+        private Long count;
+        private ChronoUnit unit;
+        private byte[] payload;
+        private String[] other;
+    }
+
+    public static class NoDefaultConstructorValue implements Serializable {
+        private final String id;
+
+        public NoDefaultConstructorValue(String id) {
+            this.id = id;
+        }
+    }
+}